@@ -33,6 +33,8 @@ import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -40,6 +42,8 @@ import static java.lang.String.format;
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
+ * Agent state is checked each time the agent writes to its output
+ * and at least once per ping delay when the agent is silent.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
@@ -56,6 +60,12 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                                                     .setDaemon(true)
                                                                     .build());
 
+    /**
+     * Minimal delay between checks of agent state when the agent produces output,
+     * so a chatty agent doesn't cause checks in a busy loop.
+     */
+    private static final long OUTPUT_CHECK_DELAY_MS = 100;
+
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
     private final long                  agentMaxStartTimeMs;
@@ -74,11 +84,15 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             return;
         }
         ListLineConsumer agentLogger = new ListLineConsumer();
+        // output of the agent usually means that it has progressed, e.g. started to listen to its port,
+        // so the state is checked as soon as output appears instead of waiting for the whole ping delay
+        Semaphore outputReceived = new Semaphore(0);
         LineConsumer lineConsumer = new AbstractLineConsumer() {
             @Override
             public void writeLine(String line) throws IOException {
                 machine.getLogger().writeLine(line);
                 agentLogger.writeLine(line);
+                outputReceived.release();
             }
         };
         try {
@@ -89,8 +103,15 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
                 if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
                     return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
+                }
+                final long checkTimestamp = System.currentTimeMillis();
+                if (outputReceived.tryAcquire(agentPingDelayMs, TimeUnit.MILLISECONDS)) {
+                    outputReceived.drainPermits();
+                    final long minDelay = Math.min(agentPingDelayMs, OUTPUT_CHECK_DELAY_MS);
+                    final long elapsed = System.currentTimeMillis() - checkTimestamp;
+                    if (elapsed < minDelay) {
+                        Thread.sleep(minDelay - elapsed);
+                    }
                 }
             }
 
@@ -30,6 +30,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
@@ -185,6 +186,32 @@ public class AbstractAgentLauncherTest {
         }
     }
 
+    @Test
+    public void shouldCheckAgentStateWithoutWaitingForPingDelayWhenAgentProducesOutput() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(10_000, 5_000, agentChecker));
+        when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+        LineConsumer[] agentOutput = new LineConsumer[1];
+        doAnswer(invocationOnMock -> {
+            agentOutput[0] = (LineConsumer)invocationOnMock.getArguments()[2];
+            return process;
+        }).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenAnswer(invocationOnMock -> {
+            agentOutput[0].writeLine("agent is started");
+            return false;
+        }).thenReturn(true);
+
+        // when
+        long start = System.currentTimeMillis();
+        launcher.launch(machine, agent);
+
+        // then
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+        verify(agentChecker, times(2)).isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class));
+    }
+
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "agent launcher test exception")
     public void shouldThrowServerExceptionIfMachineExceptionIsThrownByAgentCheck() throws Exception {
         // given
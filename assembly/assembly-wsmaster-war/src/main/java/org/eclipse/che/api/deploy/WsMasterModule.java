@@ -62,6 +62,7 @@ public class WsMasterModule extends AbstractModule {
         bind(DataSource.class).toProvider(org.eclipse.che.core.db.h2.H2DataSourceProvider.class);
         bind(SchemaInitializer.class).to(org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer.class);
         bind(org.eclipse.che.core.db.DBInitializer.class).asEagerSingleton();
+        bind(org.eclipse.che.core.db.jpa.eclipselink.EntityCacheManager.class).asEagerSingleton();
         bind(PlaceholderReplacer.class).toProvider(org.eclipse.che.core.db.schema.impl.flyway.PlaceholderReplacerProvider.class);
 
         install(new org.eclipse.che.plugin.docker.compose.ComposeModule());
@@ -88,6 +89,11 @@ public class WsMasterModule extends AbstractModule {
         bind(org.eclipse.che.plugin.docker.machine.ext.DockerMachineTerminalChecker.class);
         bind(org.eclipse.che.everrest.EverrestDownloadFileResponseFilter.class);
         bind(org.eclipse.che.everrest.ETagResponseFilter.class);
+        bind(org.eclipse.che.everrest.ETagMethodInvokerFilter.class);
+        Multibinder<org.eclipse.che.everrest.ETagProvider> eTagProviders =
+                Multibinder.newSetBinder(binder(), org.eclipse.che.everrest.ETagProvider.class);
+        eTagProviders.addBinding().to(org.eclipse.che.api.workspace.server.stack.StackETagProvider.class);
+        eTagProviders.addBinding().to(org.eclipse.che.api.machine.server.recipe.RecipeETagProvider.class);
         bind(org.eclipse.che.api.agent.server.AgentRegistryService.class);
 
         bind(org.eclipse.che.security.oauth.OAuthAuthenticatorProvider.class)
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -26,7 +27,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Simple class to validate if we're dealing with a properly constructed
  * json represented by a string. We use {@link JsonParser} to parse string
- * message and to rise exception if json is incorrect.
+ * message and to rise exception if json is incorrect. The parsed json can
+ * be obtained with {@link #parse(String)} so the message is not to be parsed
+ * again by the entities it is decoded to.
  */
 @Singleton
 public class JsonRpcEntityValidator {
@@ -40,15 +43,32 @@ public class JsonRpcEntityValidator {
     }
 
     public void validate(String message) throws JsonRpcException {
+        parse(message);
+    }
+
+    /**
+     * Validates and parses the message in a single pass.
+     *
+     * @param message
+     *         stringified json
+     *
+     * @return json element the message is parsed to
+     *
+     * @throws JsonRpcException
+     *         if the message is not a valid json
+     */
+    public JsonElement parse(String message) throws JsonRpcException {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
         LOG.debug("Validating message: {}", message);
 
         try {
-            jsonParser.parse(message);
+            JsonElement jsonElement = jsonParser.parse(message);
 
             LOG.debug("Validation successful");
+
+            return jsonElement;
         } catch (JsonParseException e) {
             LOG.debug("Validation failed: {}", e.getMessage(), e);
 
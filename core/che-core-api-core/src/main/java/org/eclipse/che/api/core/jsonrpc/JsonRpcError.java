@@ -20,8 +20,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Represents JSON RPC error object. Can be constructed out of
- * stringified json object or by passing specific parameters.
- * Use {@link JsonRpcFactory#createError(int, String)} or
+ * stringified or already parsed json object or by passing specific parameters.
+ * Use {@link JsonRpcFactory#createError(int, String)},
+ * {@link JsonRpcFactory#createError(JsonObject)} or
  * {@link JsonRpcFactory#createError(String)} to get an instance.
  */
 public class JsonRpcError {
@@ -34,6 +35,14 @@ public class JsonRpcError {
         this.message = message;
     }
 
+    @AssistedInject
+    public JsonRpcError(@Assisted("jsonObject") JsonObject jsonObject) {
+        checkNotNull(jsonObject, "Json object must not be null");
+
+        this.code = jsonObject.get("code").getAsInt();
+        this.message = jsonObject.get("message").getAsString();
+    }
+
     @AssistedInject
     public JsonRpcError(@Assisted("message") String message, JsonParser jsonParser) {
         checkNotNull(message, "Message must not be null");
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.inject.assistedinject.Assisted;
 
 import java.util.List;
@@ -28,6 +30,16 @@ public interface JsonRpcFactory {
      */
     JsonRpcRequest createRequest(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC request instance from an already parsed json object
+     *
+     * @param jsonObject
+     *         json object
+     *
+     * @return JSON RPC request
+     */
+    JsonRpcRequest createRequest(@Assisted("jsonObject") JsonObject jsonObject);
+
     /**
      * Create a JSON RPC request instance by passing corresponding values
      *
@@ -64,6 +76,16 @@ public interface JsonRpcFactory {
      */
     JsonRpcResponse createResponse(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC response instance from an already parsed json object
+     *
+     * @param jsonObject
+     *         json object
+     *
+     * @return JSON RPC response
+     */
+    JsonRpcResponse createResponse(@Assisted("jsonObject") JsonObject jsonObject);
+
     /**
      * Create a JSON RPC response instance by passing corresponding values
      *
@@ -101,6 +123,16 @@ public interface JsonRpcFactory {
      */
     JsonRpcError createError(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC error instance from an already parsed json object
+     *
+     * @param jsonObject
+     *         json object
+     *
+     * @return JSON RPC error
+     */
+    JsonRpcError createError(@Assisted("jsonObject") JsonObject jsonObject);
+
     /**
      * Create a JSON RPC result instance from a stringified json. Result can be
      * either a list of objects or a single object.
@@ -112,6 +144,17 @@ public interface JsonRpcFactory {
      */
     JsonRpcResult createResult(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC result instance from an already parsed json. Result
+     * can be either a list of objects or a single object.
+     *
+     * @param jsonElement
+     *         json element
+     *
+     * @return JSON RPC result
+     */
+    JsonRpcResult createResult(@Assisted("jsonElement") JsonElement jsonElement);
+
     /**
      * Create a JSON RPC result as a single object by passing corresponding
      * values.
@@ -165,6 +208,17 @@ public interface JsonRpcFactory {
      */
     JsonRpcParams createParams(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC params instance from an already parsed json. Params
+     * can be either a list of objects or a single object.
+     *
+     * @param jsonElement
+     *         json element
+     *
+     * @return JSON RPC params
+     */
+    JsonRpcParams createParams(@Assisted("jsonElement") JsonElement jsonElement);
+
     /**
      * Create a JSON RPC params instance by passing corresponding values.
      * Params should be represented by a single object.
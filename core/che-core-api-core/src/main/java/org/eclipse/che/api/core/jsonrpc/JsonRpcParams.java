@@ -29,9 +29,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Represents JSON RPC params object. Can be constructed out of
- * stringified json object or by passing specific parameters.
+ * stringified or already parsed json or by passing specific parameters.
  * Use {@link JsonRpcFactory#createParams(Object)},
- * {@link JsonRpcFactory#createParamsList(List)} or
+ * {@link JsonRpcFactory#createParamsList(List)},
+ * {@link JsonRpcFactory#createParams(JsonElement)} or
  * {@link JsonRpcFactory#createParams(String)} to get an instance.
  */
 public class JsonRpcParams {
@@ -55,6 +56,19 @@ public class JsonRpcParams {
         }
     }
 
+    @AssistedInject
+    public JsonRpcParams(@Assisted("jsonElement") JsonElement jsonElement) {
+        checkNotNull(jsonElement, "Json element must not be null");
+
+        if (jsonElement.isJsonArray()) {
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
+            paramsList = new ArrayList<>(jsonArray.size());
+            jsonArray.forEach(it -> paramsList.add(it));
+        } else {
+            params = jsonElement;
+        }
+    }
+
     @AssistedInject
     public JsonRpcParams(@Assisted("params") Object params, JsonParser jsonParser) {
         this.params = params == null ? EMPTY_OBJECT : jsonParser.parse(params.toString());
@@ -29,9 +29,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Represents JSON RPC result object. Can be constructed out of
- * stringified json object or by passing specific parameters.
+ * stringified or already parsed json or by passing specific parameters.
  * Use {@link JsonRpcFactory#createResult(Object)},
- * {@link JsonRpcFactory#createResult(String)} or
+ * {@link JsonRpcFactory#createResult(String)},
+ * {@link JsonRpcFactory#createResult(JsonElement)} or
  * {@link JsonRpcFactory#createResultList(List)}
  * to get an instance of this entity.
  */
@@ -56,6 +57,19 @@ public class JsonRpcResult {
         }
     }
 
+    @AssistedInject
+    public JsonRpcResult(@Assisted("jsonElement") JsonElement jsonElement) {
+        checkNotNull(jsonElement, "Json element must not be null");
+
+        if (jsonElement.isJsonArray()) {
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
+            this.resultList = new ArrayList<>(jsonArray.size());
+            jsonArray.forEach(it -> this.resultList.add(it));
+        } else {
+            this.result = jsonElement;
+        }
+    }
+
     @AssistedInject
     public JsonRpcResult(@Assisted("result") Object result, JsonParser jsonParser) {
         this.result = result == null ? EMPTY_OBJECT : jsonParser.parse(result.toString());
@@ -10,28 +10,64 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
-import org.eclipse.che.api.core.jsonrpc.transmission.MethodNameConfigurator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.function.BiConsumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
- * Dispatches JSON RPC responses
+ * Dispatches JSON RPC responses. Promise of a request is released as soon as
+ * the response is dispatched, when the request is not responded in configured
+ * time or when the session of the endpoint the request was sent to is closed.
+ * In two latter cases failure consumer of the promise is called with
+ * an appropriate {@link JsonRpcError}.
  */
 @Singleton
 public class ResponseDispatcher {
-    private static final Logger LOG = LoggerFactory.getLogger(MethodNameConfigurator.class);
+    private static final Logger LOG = LoggerFactory.getLogger(ResponseDispatcher.class);
+
+    static final int TIMEOUT_ERROR_CODE        = -32001;
+    static final int ENDPOINT_CLOSED_ERROR_CODE = -32002;
+
+    private final Map<String, Map<String, PendingRequest>> pendingRequests = new ConcurrentHashMap<>();
 
-    private final Map<String, JsonRpcPromise> promises = new HashMap<>();
-    private final Map<String, Class<?>>       rClasses = new HashMap<>();
+    private final JsonRpcFactory              factory;
+    private final long                        timeoutMs;
+    private final ScheduledThreadPoolExecutor timer;
+
+    @Inject
+    public ResponseDispatcher(JsonRpcFactory factory,
+                              WebSocketSessionRegistry registry,
+                              @Named("che.core.jsonrpc.request_timeout_ms") long timeoutMs) {
+        this.factory = factory;
+        this.timeoutMs = timeoutMs;
+        this.timer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("JsonRpcResponseTimer")
+                                                                                  .setUncaughtExceptionHandler(
+                                                                                          LoggingUncaughtExceptionHandler.getInstance())
+                                                                                  .setDaemon(true)
+                                                                                  .build());
+        this.timer.setRemoveOnCancelPolicy(true);
+
+        registry.addRemoveListener(this::releaseEndpoint);
+    }
 
     private static void checkArguments(String endpointId, String requestId, Class<?> rClass, JsonRpcPromise success) {
         checkNotNull(endpointId, "Endpoint ID must not be null");
@@ -45,10 +81,6 @@ public class ResponseDispatcher {
         checkNotNull(success, "Json rpc promise must not be null");
     }
 
-    private static String combine(String endpointId, String requestId) {
-        return endpointId + '@' + requestId;
-    }
-
     @SuppressWarnings("unchecked")
     private static <T> T cast(Object object) {
         return (T)object;
@@ -80,26 +112,47 @@ public class ResponseDispatcher {
         String responseId = response.getId();
         LOG.debug("Fetching response ID: {}", responseId);
 
-        String key = combine(endpointId, responseId);
-        LOG.debug("Generating key: {}", key);
-
-        Class<?> rClass = rClasses.get(key);
-        LOG.debug("Fetching result class: {}", rClass);
+        PendingRequest request = remove(endpointId, responseId);
+        if (request == null) {
+            LOG.debug("No pending request found for response ID: {}, from endpoint: {}, skipping", responseId, endpointId);
+            return;
+        }
+        LOG.debug("Fetching result class: {}", request.rClass);
 
         if (response.hasResult()) {
-            processResult(endpointId, response, key, rClass);
+            processResult(endpointId, response, request);
         } else if (response.hasError()) {
-            processError(endpointId, response, key);
+            processError(endpointId, response.getError(), request);
         } else {
             LOG.error("Received incorrect response: no error, no result");
         }
     }
 
-    private void processError(String endpointId, JsonRpcResponse response, String key) {
+    /**
+     * Returns the number of requests sent to the endpoint that are not yet responded.
+     */
+    public int getInFlightCount(String endpointId) {
+        final Map<String, PendingRequest> requests = pendingRequests.get(endpointId);
+        return requests == null ? 0 : requests.size();
+    }
+
+    /**
+     * Returns the numbers of requests that are not yet responded mapped to endpoints they were sent to.
+     */
+    public Map<String, Integer> getInFlightCounts() {
+        final Map<String, Integer> counts = new HashMap<>();
+        pendingRequests.forEach((endpointId, requests) -> {
+            if (!requests.isEmpty()) {
+                counts.put(endpointId, requests.size());
+            }
+        });
+        return counts;
+    }
+
+    private void processError(String endpointId, JsonRpcError error, PendingRequest request) {
         LOG.debug("Response has error. Proceeding...");
 
-        JsonRpcError error = response.getError();
-        BiConsumer<String, JsonRpcError> consumer = cast(promises.get(key).getFailureConsumer());
+        BiConsumer<String, JsonRpcError> consumer = cast(request.promise.getFailureConsumer());
         if (consumer != null) {
             LOG.debug("Failure consumer is found, accepting...");
             consumer.accept(endpointId, error);
@@ -108,14 +161,14 @@ public class ResponseDispatcher {
         }
     }
 
-    private void processResult(String endpointId, JsonRpcResponse response, String key, Class<?> rClass) {
+    private void processResult(String endpointId, JsonRpcResponse response, PendingRequest request) {
         LOG.debug("Response has result. Proceeding...");
 
         JsonRpcResult result = response.getResult();
         if (result.isArray()) {
-            processMany(endpointId, response, rClass, cast(promises.get(key).getSuccessConsumer()));
+            processMany(endpointId, response, request.rClass, cast(request.promise.getSuccessConsumer()));
         } else {
-            processOne(endpointId, response, rClass, cast(promises.get(key).getSuccessConsumer()));
+            processOne(endpointId, response, request.rClass, cast(request.promise.getSuccessConsumer()));
         }
     }
 
@@ -131,11 +184,74 @@ public class ResponseDispatcher {
     private <R> JsonRpcPromise registerInternal(String endpointId, String requestId, Class<R> rClass, JsonRpcPromise promise) {
         checkArguments(endpointId, requestId, rClass, promise);
 
-        String key = combine(endpointId, requestId);
+        PendingRequest request = new PendingRequest(rClass, promise);
+        pendingRequests.compute(endpointId, (id, requests) -> {
+            final Map<String, PendingRequest> current = requests == null ? new ConcurrentHashMap<>() : requests;
+            current.put(requestId, request);
+            return current;
+        });
 
-        promises.put(key, promise);
-        rClasses.put(key, rClass);
+        if (timeoutMs > 0) {
+            request.timeout = timer.schedule(() -> expire(endpointId, requestId), timeoutMs, MILLISECONDS);
+        }
 
         return promise;
     }
+
+    private PendingRequest remove(String endpointId, String requestId) {
+        final PendingRequest[] removed = new PendingRequest[1];
+        pendingRequests.computeIfPresent(endpointId, (id, requests) -> {
+            removed[0] = requests.remove(requestId);
+            return requests.isEmpty() ? null : requests;
+        });
+
+        final PendingRequest request = removed[0];
+        if (request != null && request.timeout != null) {
+            request.timeout.cancel(false);
+        }
+
+        return request;
+    }
+
+    private void expire(String endpointId, String requestId) {
+        final PendingRequest request = remove(endpointId, requestId);
+        if (request != null) {
+            LOG.debug("Request {} sent to endpoint {} is not responded in {} ms", requestId, endpointId, timeoutMs);
+
+            processError(endpointId, factory.createError(TIMEOUT_ERROR_CODE, "Request timed out after " + timeoutMs + " ms"), request);
+        }
+    }
+
+    private void releaseEndpoint(String endpointId) {
+        final Map<String, PendingRequest> requests = pendingRequests.remove(endpointId);
+        if (requests == null) {
+            return;
+        }
+
+        LOG.debug("Endpoint {} is closed, releasing {} pending requests", endpointId, requests.size());
+
+        requests.values().forEach(request -> {
+            if (request.timeout != null) {
+                request.timeout.cancel(false);
+            }
+            processError(endpointId, factory.createError(ENDPOINT_CLOSED_ERROR_CODE, "Endpoint is closed"), request);
+        });
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private static class PendingRequest {
+        private final Class<?>       rClass;
+        private final JsonRpcPromise promise;
+
+        private volatile ScheduledFuture<?> timeout;
+
+        private PendingRequest(Class<?> rClass, JsonRpcPromise promise) {
+            this.rClass = rClass;
+            this.promise = promise;
+        }
+    }
 }
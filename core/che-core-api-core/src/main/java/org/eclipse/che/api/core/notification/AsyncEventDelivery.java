@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.notification.AsyncSubscriber.OverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to a single asynchronous subscriber. Events are split into
+ * lanes by their ordering keys, each lane is a bounded queue drained by at most
+ * one executor thread at a time, so events of the same lane are delivered in
+ * publication order.
+ */
+class AsyncEventDelivery {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventDelivery.class);
+
+    /** Maximal number of events delivered by a lane before giving the thread to other lanes. */
+    private static final int BATCH_SIZE = 64;
+
+    private static final ThreadLocal<Boolean> DELIVERING = ThreadLocal.withInitial(() -> false);
+
+    private final EventSubscriber subscriber;
+    private final Executor        executor;
+    private final OverflowPolicy  policy;
+    private final Lane[]          lanes;
+    private final AtomicLong      deliveredCount;
+    private final AtomicLong      droppedCount;
+    private final AtomicLong      totalHandlerNanos;
+    private final AtomicLong      maxHandlerNanos;
+
+    AsyncEventDelivery(EventSubscriber subscriber, Executor executor, int queueSize, int parallelism, OverflowPolicy policy) {
+        if (queueSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException(String.format("Queue size and parallelism of %s must be positive", subscriber));
+        }
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.policy = policy;
+        this.lanes = new Lane[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            lanes[i] = new Lane(Math.max(1, queueSize / parallelism));
+        }
+        this.deliveredCount = new AtomicLong();
+        this.droppedCount = new AtomicLong();
+        this.totalHandlerNanos = new AtomicLong();
+        this.maxHandlerNanos = new AtomicLong();
+    }
+
+    void deliver(Object event) {
+        Object key = event instanceof OrderedEvent ? ((OrderedEvent)event).getOrderingKey() : null;
+        Lane lane = key == null ? lanes[0] : lanes[(key.hashCode() & Integer.MAX_VALUE) % lanes.length];
+        lane.offer(event);
+    }
+
+    AsyncSubscriberStatistics getStatistics() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return new AsyncSubscriberStatistics(subscriber.toString(),
+                                             depth,
+                                             deliveredCount.get(),
+                                             droppedCount.get(),
+                                             totalHandlerNanos.get(),
+                                             maxHandlerNanos.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void invoke(Object event) {
+        final long start = System.nanoTime();
+        try {
+            LOG.debug("Publish event {} for {}", event, subscriber);
+            subscriber.onEvent(event);
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        } finally {
+            final long time = System.nanoTime() - start;
+            deliveredCount.incrementAndGet();
+            totalHandlerNanos.addAndGet(time);
+            maxHandlerNanos.accumulateAndGet(time, Math::max);
+        }
+    }
+
+    private class Lane implements Runnable {
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean         scheduled;
+
+        private Lane(int capacity) {
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.scheduled = new AtomicBoolean();
+        }
+
+        private void offer(Object event) {
+            switch (policy) {
+                case BLOCK:
+                    if (DELIVERING.get()) {
+                        // blocking a delivery thread may block the lane which is to free the queue
+                        dropIfFull(event);
+                    } else {
+                        try {
+                            queue.put(event);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            droppedCount.incrementAndGet();
+                            return;
+                        }
+                    }
+                    break;
+                case DROP_NEWEST:
+                    dropIfFull(event);
+                    break;
+                case DROP_OLDEST:
+                    while (!queue.offer(event)) {
+                        if (queue.poll() != null) {
+                            droppedCount.incrementAndGet();
+                        }
+                    }
+                    break;
+            }
+            schedule();
+        }
+
+        private void dropIfFull(Object event) {
+            if (!queue.offer(event)) {
+                LOG.warn("Event queue of {} is full, event {} is dropped", subscriber, event);
+                droppedCount.incrementAndGet();
+            }
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    LOG.warn("Events delivery to {} is rejected: {}", subscriber, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            DELIVERING.set(true);
+            try {
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    final Object event = queue.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    invoke(event);
+                }
+            } finally {
+                DELIVERING.set(false);
+                scheduled.set(false);
+            }
+            schedule();
+        }
+    }
+}
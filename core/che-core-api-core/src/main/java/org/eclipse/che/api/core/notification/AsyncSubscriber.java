@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks {@link EventSubscriber} which receives events asynchronously.
+ * {@link EventService} puts events for such subscriber into a bounded queue
+ * and delivers them on a shared executor, so the publisher is not delayed by
+ * the subscriber. Events that implement {@link OrderedEvent} and have equal
+ * ordering keys are delivered in the order they were published, other events
+ * are delivered in publication order as well.
+ *
+ * <p>Subscribers which must be executed in the publisher's thread, e.g. in
+ * the same transaction as cascade event subscribers, must not be asynchronous.
+ *
+ * @see EventService#subscribe(EventSubscriber)
+ * @see EventService#subscribeAsync(EventSubscriber)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncSubscriber {
+    int DEFAULT_QUEUE_SIZE  = 1024;
+    int DEFAULT_PARALLELISM = 1;
+
+    /** Maximal number of events waiting to be delivered to the subscriber. */
+    int queueSize() default DEFAULT_QUEUE_SIZE;
+
+    /**
+     * Maximal number of events delivered to the subscriber at once. Events with
+     * equal ordering keys are never delivered concurrently.
+     */
+    int parallelism() default DEFAULT_PARALLELISM;
+
+    /** What to do when the queue of the subscriber is full. */
+    OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
+    enum OverflowPolicy {
+        /** Publisher waits until there is room in the queue. */
+        BLOCK,
+        /** The published event is not delivered to the subscriber. */
+        DROP_NEWEST,
+        /** The oldest queued event is not delivered to the subscriber. */
+        DROP_OLDEST
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the delivery metrics of a single asynchronous subscriber.
+ */
+public class AsyncSubscriberStatistics {
+    private final String subscriber;
+    private final int    queueDepth;
+    private final long   deliveredCount;
+    private final long   droppedCount;
+    private final long   totalHandlerNanos;
+    private final long   maxHandlerNanos;
+
+    public AsyncSubscriberStatistics(String subscriber,
+                                     int queueDepth,
+                                     long deliveredCount,
+                                     long droppedCount,
+                                     long totalHandlerNanos,
+                                     long maxHandlerNanos) {
+        this.subscriber = subscriber;
+        this.queueDepth = queueDepth;
+        this.deliveredCount = deliveredCount;
+        this.droppedCount = droppedCount;
+        this.totalHandlerNanos = totalHandlerNanos;
+        this.maxHandlerNanos = maxHandlerNanos;
+    }
+
+    /** Returns string representation of the subscriber. */
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    /** Returns number of events waiting to be delivered. */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** Returns number of events delivered to the subscriber. */
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /** Returns number of events dropped because of the queue overflow. */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /** Returns average time spent by the subscriber on a single event, in microseconds. */
+    public long getAverageHandlerTimeMicros() {
+        return deliveredCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalHandlerNanos / deliveredCount);
+    }
+
+    /** Returns maximal time spent by the subscriber on a single event, in microseconds. */
+    public long getMaxHandlerTimeMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxHandlerNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncSubscriberStatistics{" +
+               "subscriber='" + subscriber + '\'' +
+               ", queueDepth=" + queueDepth +
+               ", deliveredCount=" + deliveredCount +
+               ", droppedCount=" + droppedCount +
+               ", totalHandlerNanos=" + totalHandlerNanos +
+               ", maxHandlerNanos=" + maxHandlerNanos +
+               '}';
+    }
+}
@@ -13,20 +13,31 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.notification.AsyncSubscriber.OverflowPolicy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +51,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are called in the publisher's thread unless they are annotated
+ * with {@link AsyncSubscriber} or subscribed with {@link #subscribeAsync(EventSubscriber)},
+ * such subscribers receive events through their own bounded queues on a shared executor.
  *
  * @author andrew00x
  */
@@ -51,12 +65,16 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]               typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>         subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncEventDelivery> asyncDeliveries;
+
+    private volatile ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncDeliveries = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -101,6 +119,11 @@ public class EventService {
             final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
             if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
                 for (EventSubscriber eventSubscriber : eventSubscribers) {
+                    final AsyncEventDelivery asyncDelivery = asyncDeliveries.isEmpty() ? null : asyncDeliveries.get(eventSubscriber);
+                    if (asyncDelivery != null) {
+                        asyncDelivery.deliver(event);
+                        continue;
+                    }
                     try {
                         LOG.debug("Publish event {} for {}", event, eventSubscriber);
                         eventSubscriber.onEvent(event);
@@ -122,6 +145,7 @@ public class EventService {
      */
     public void subscribe(EventSubscriber<?> subscriber) {
         final Class<?> eventType = getEventType(subscriber);
+        registerAsyncDelivery(subscriber, subscriber.getClass().getAnnotation(AsyncSubscriber.class) != null);
         doSubscribe(subscriber, eventType);
     }
 
@@ -133,9 +157,94 @@ public class EventService {
      * @param eventType The event to subscribe to.
      */
     public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+        registerAsyncDelivery(subscriber, subscriber.getClass().getAnnotation(AsyncSubscriber.class) != null);
+        doSubscribe(subscriber, eventType);
+    }
+
+    /**
+     * Subscribe event listener which receives events asynchronously. The event to subscribe to is inferred
+     * by checking the generic type arguments of the given subscriber. Delivery is configured with
+     * {@link AsyncSubscriber} annotation of the subscriber if present, otherwise defaults are used.
+     *
+     * @param subscriber
+     *         event subscriber
+     */
+    public void subscribeAsync(EventSubscriber<?> subscriber) {
+        final Class<?> eventType = getEventType(subscriber);
+        registerAsyncDelivery(subscriber, true);
+        doSubscribe(subscriber, eventType);
+    }
+
+    /**
+     * Subscribe to an event asynchronously. The given subscriber will be called in a shared executor whenever
+     * an instance of the specified event is published.
+     *
+     * @param subscriber The subscriber to call when an event is published.
+     * @param eventType The event to subscribe to.
+     * @see #subscribeAsync(EventSubscriber)
+     */
+    public <T> void subscribeAsync(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+        registerAsyncDelivery(subscriber, true);
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Returns delivery metrics of all the asynchronous subscribers.
+     */
+    public List<AsyncSubscriberStatistics> getAsyncSubscriberStatistics() {
+        return asyncDeliveries.values().stream().map(AsyncEventDelivery::getStatistics).collect(toList());
+    }
+
+    /**
+     * Stops delivery of events to asynchronous subscribers, events that are not yet delivered are discarded.
+     */
+    @PreDestroy
+    public void stop() {
+        final ExecutorService executor = asyncExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(3, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void registerAsyncDelivery(EventSubscriber<?> subscriber, boolean async) {
+        if (!async) {
+            return;
+        }
+        final AsyncSubscriber config = subscriber.getClass().getAnnotation(AsyncSubscriber.class);
+        asyncDeliveries.computeIfAbsent(subscriber, s -> new AsyncEventDelivery(s,
+                                                                                getAsyncExecutor(),
+                                                                                config == null ? AsyncSubscriber.DEFAULT_QUEUE_SIZE
+                                                                                               : config.queueSize(),
+                                                                                config == null ? AsyncSubscriber.DEFAULT_PARALLELISM
+                                                                                               : config.parallelism(),
+                                                                                config == null ? OverflowPolicy.BLOCK
+                                                                                               : config.overflowPolicy()));
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    asyncExecutor = executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                                                                           new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                                     .setUncaughtExceptionHandler(
+                                                                                                             LoggingUncaughtExceptionHandler
+                                                                                                                     .getInstance())
+                                                                                                     .setDaemon(true)
+                                                                                                     .build());
+                }
+            }
+        }
+        return executor;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -171,6 +280,10 @@ public class EventService {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
+                if (asyncDeliveries.containsKey(subscriber)
+                    && subscribersByEventType.values().stream().noneMatch(it -> it.contains(subscriber))) {
+                    asyncDeliveries.remove(subscriber);
+                }
             }
         }
     }
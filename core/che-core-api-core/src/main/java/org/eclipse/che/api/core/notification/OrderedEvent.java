@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Event which defines the key of its ordering. Asynchronous subscribers
+ * receive events with equal keys in the order they were published, while
+ * events with different keys may be delivered concurrently.
+ *
+ * @see AsyncSubscriber
+ */
+public interface OrderedEvent {
+    /** Returns ordering key of the event, e.g. workspace identifier. */
+    Object getOrderingKey();
+}
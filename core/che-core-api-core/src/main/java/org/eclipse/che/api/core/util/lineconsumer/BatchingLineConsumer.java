@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Buffers consumed lines and passes them to the delegate in batches from a background thread,
+ * so the threads which write lines don't wait for slow consumers like files or websockets
+ * while there is free space in the buffer.
+ *
+ * <p>Batches are passed not more often than once per flush delay and contain not more than
+ * the max batch size lines, which bounds the rate of writes or messages produced by noisy output.
+ * When the buffer is full the writing thread either waits until there is free space in it,
+ * or, if the consumer is created as a lossy one, new lines are skipped and the number
+ * of skipped lines is reported to the delegate instead of them.
+ *
+ * <p>This implementation is thread safe. {@link #close()} passes all the buffered lines
+ * to the delegate before closing it.
+ */
+public class BatchingLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingLineConsumer.class);
+
+    private static final ScheduledExecutorService FLUSHER =
+            Executors.newScheduledThreadPool(2, new ThreadFactoryBuilder().setNameFormat("BatchingLineConsumer-%d")
+                                                                          .setUncaughtExceptionHandler(
+                                                                                  LoggingUncaughtExceptionHandler.getInstance())
+                                                                          .setDaemon(true)
+                                                                          .build());
+
+    /** Receives batches of lines in the order they were consumed. */
+    public interface BatchConsumer extends Closeable {
+        void consume(List<String> lines) throws IOException;
+
+        @Override
+        default void close() throws IOException {}
+    }
+
+    private final BatchConsumer         delegate;
+    private final BlockingQueue<String> buffer;
+    private final long                  flushDelayMs;
+    private final int                   maxBatchSize;
+    private final boolean               skipWhenFull;
+    private final AtomicBoolean         flushScheduled;
+    private final AtomicLong            skipped;
+    private final Object                flushLock;
+
+    private volatile boolean isOpen;
+
+    /**
+     * Creates consumer which makes writing threads wait while the buffer is full, so no lines are lost.
+     *
+     * @param delegate
+     *         consumer of batches
+     * @param bufferSize
+     *         max number of buffered lines
+     * @param flushDelayMs
+     *         min delay between batches
+     * @param maxBatchSize
+     *         max number of lines in a batch
+     */
+    public BatchingLineConsumer(BatchConsumer delegate, int bufferSize, long flushDelayMs, int maxBatchSize) {
+        this(delegate, bufferSize, flushDelayMs, maxBatchSize, false);
+    }
+
+    /**
+     * @param delegate
+     *         consumer of batches
+     * @param bufferSize
+     *         max number of buffered lines
+     * @param flushDelayMs
+     *         min delay between batches
+     * @param maxBatchSize
+     *         max number of lines in a batch
+     * @param skipWhenFull
+     *         whether lines written while the buffer is full should be skipped instead of waiting for free space
+     */
+    public BatchingLineConsumer(BatchConsumer delegate, int bufferSize, long flushDelayMs, int maxBatchSize, boolean skipWhenFull) {
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.flushDelayMs = flushDelayMs;
+        this.maxBatchSize = maxBatchSize;
+        this.skipWhenFull = skipWhenFull;
+        this.flushScheduled = new AtomicBoolean();
+        this.skipped = new AtomicLong();
+        this.flushLock = new Object();
+        this.isOpen = true;
+    }
+
+    public boolean isOpen() {
+        return isOpen;
+    }
+
+    @Override
+    public void writeLine(String line) {
+        if (!isOpen) {
+            return;
+        }
+        final String toBuffer = line == null ? "" : line;
+        if (!buffer.offer(toBuffer)) {
+            if (skipWhenFull) {
+                skipped.incrementAndGet();
+            } else {
+                waitAndBuffer(toBuffer);
+            }
+        }
+        scheduleFlush();
+    }
+
+    /** Passes all the buffered lines to the delegate and closes it. */
+    @Override
+    public void close() throws IOException {
+        synchronized (flushLock) {
+            if (!isOpen) {
+                return;
+            }
+            isOpen = false;
+            try {
+                while (!buffer.isEmpty() || skipped.get() != 0) {
+                    flushBatch();
+                }
+            } finally {
+                delegate.close();
+            }
+        }
+    }
+
+    /**
+     * Waits until there is free space in the buffer or this consumer is closed.
+     * Interruption doesn't stop waiting, otherwise the line would be lost, but it is preserved for the caller.
+     */
+    private void waitAndBuffer(String line) {
+        boolean interrupted = false;
+        try {
+            while (isOpen) {
+                scheduleFlush();
+                try {
+                    if (buffer.offer(line, flushDelayMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            FLUSHER.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        synchronized (flushLock) {
+            if (isOpen) {
+                try {
+                    flushBatch();
+                } catch (IOException e) {
+                    LOG.error(format("An error occurred while writing lines to %s", delegate), e);
+                }
+            }
+        }
+        flushScheduled.set(false);
+        // lines written while the batch was being flushed
+        if (isOpen && !buffer.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void flushBatch() throws IOException {
+        final List<String> batch = new ArrayList<>(Math.min(buffer.size(), maxBatchSize) + 1);
+        buffer.drainTo(batch, maxBatchSize);
+        // lines are skipped only when buffer is full, so they follow the buffered ones
+        if (buffer.isEmpty()) {
+            final long skippedLines = skipped.getAndSet(0);
+            if (skippedLines != 0) {
+                batch.add(format("[%d lines of output were skipped]", skippedLines));
+            }
+        }
+        if (!batch.isEmpty()) {
+            delegate.consume(batch);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import static java.lang.String.format;
+
+/**
+ * Writes batches of lines into the file flushing it once per batch.
+ *
+ * <p>When the size of the file exceeds the limit, the file is compressed into {@code <file>.1.gz},
+ * previously rolled files are shifted, e.g. {@code <file>.1.gz} becomes {@code <file>.2.gz},
+ * the oldest rolled file beyond the max number of rolled files is removed
+ * and lines are written into the new empty file.
+ *
+ * <p>The file is renamed to {@code <file>.rolling} on rotation and compressed in the background
+ * by the compressor thread, so the thread which flushes batches of lines doesn't wait for it.
+ * The next rotation and {@link #close()} wait until the previous compression is completed.
+ *
+ * <p>This implementation is not thread safe, it is supposed to be used by {@link BatchingLineConsumer}.
+ */
+public class RotatingFileWriter implements BatchingLineConsumer.BatchConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(RotatingFileWriter.class);
+
+    private static final ExecutorService COMPRESSOR =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("RotatingFileWriter-Compressor-%d")
+                                                                        .setUncaughtExceptionHandler(
+                                                                                LoggingUncaughtExceptionHandler.getInstance())
+                                                                        .setDaemon(true)
+                                                                        .build());
+
+    private final File file;
+    private final File rollingFile;
+    private final long maxFileSize;
+    private final int  maxRolledFiles;
+
+    private Writer    writer;
+    private Future<?> compression;
+
+    /**
+     * @param file
+     *         the file to write lines into
+     * @param maxFileSize
+     *         size of the file in bytes which causes rotation
+     * @param maxRolledFiles
+     *         max number of kept rolled files, when 0 the content of the file is dropped on rotation
+     */
+    public RotatingFileWriter(File file, long maxFileSize, int maxRolledFiles) throws IOException {
+        this.file = file;
+        this.rollingFile = new File(file.getParentFile(), file.getName() + ".rolling");
+        this.maxFileSize = maxFileSize;
+        this.maxRolledFiles = maxRolledFiles;
+        this.writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Returns rolled file with given index, index 1 corresponds to the latest one. */
+    public File getRolledFile(int index) {
+        return new File(file.getParentFile(), file.getName() + '.' + index + ".gz");
+    }
+
+    @Override
+    public void consume(List<String> lines) throws IOException {
+        if (writer == null) {
+            throw new ConsumerAlreadyClosedException("Writer of file " + file + " is closed");
+        }
+        for (String line : lines) {
+            writer.write(line);
+            writer.write('\n');
+        }
+        writer.flush();
+        if (file.length() >= maxFileSize) {
+            rotate();
+        }
+    }
+
+    /** Closes the file and waits until the rolled file is compressed. */
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            awaitCompression();
+        }
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        writer = null;
+        if (maxRolledFiles > 0) {
+            awaitCompression();
+            Files.move(file.toPath(), rollingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            compression = COMPRESSOR.submit(this::compress);
+        }
+        // truncates the file
+        writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
+    }
+
+    private void compress() {
+        try {
+            Files.deleteIfExists(getRolledFile(maxRolledFiles).toPath());
+            for (int i = maxRolledFiles - 1; i > 0; i--) {
+                final Path rolled = getRolledFile(i).toPath();
+                if (Files.exists(rolled)) {
+                    Files.move(rolled, getRolledFile(i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(getRolledFile(1).toPath()))) {
+                Files.copy(rollingFile.toPath(), gzip);
+            }
+            Files.delete(rollingFile.toPath());
+        } catch (IOException e) {
+            LOG.error(format("An error occurred while compressing rolled file %s", rollingFile), e);
+        }
+    }
+
+    private void awaitCompression() throws IOException {
+        if (compression == null) {
+            return;
+        }
+        try {
+            compression.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for compression of " + rollingFile);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+        compression = null;
+    }
+
+    @Override
+    public String toString() {
+        return "RotatingFileWriter{file=" + file + '}';
+    }
+}
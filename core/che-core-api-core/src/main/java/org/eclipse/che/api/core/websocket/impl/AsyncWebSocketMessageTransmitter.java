@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.toList;
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them
+ * without blocking the calling thread. Each session has its own bounded outbound
+ * queue which is drained with the asynchronous remote of the session, so a slow
+ * client affects only its own queue. When a queue is full the configured
+ * {@link OverflowPolicy} is applied. If WEB SOCKET session is not opened adds
+ * messages to re-sender to try to send them when session will be opened again.
+ * The queue of the session is released as soon as the session is removed
+ * from the registry, its pending messages are passed to the re-sender.
+ * Messages re-sent by the re-sender go through the same queue, so the
+ * queue is the only writer to the session.
+ */
+@Singleton
+public class AsyncWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
+    private static final Logger LOG = getLogger(AsyncWebSocketMessageTransmitter.class);
+
+    private final WebSocketSessionRegistry         registry;
+    private final MessagesReSender                 reSender;
+    private final int                              capacity;
+    private final OverflowPolicy                   policy;
+    private final Map<String, SessionMessageQueue> queues;
+
+    @Inject
+    public AsyncWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                            MessagesReSender reSender,
+                                            @Named("che.websocket.outbound_queue.capacity") int capacity,
+                                            @Named("che.websocket.outbound_queue.overflow_policy") String policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Outbound queue capacity must be positive, got: " + capacity);
+        }
+
+        this.registry = registry;
+        this.reSender = reSender;
+        this.capacity = capacity;
+        this.policy = OverflowPolicy.valueOf(policy.trim().toUpperCase());
+        this.queues = new ConcurrentHashMap<>();
+
+        registry.addRemoveListener(this::releaseQueue);
+        reSender.setSender(this::resend);
+    }
+
+    @Override
+    public void transmit(String endpointId, String message) {
+        final Optional<Session> sessionOptional = registry.get(endpointId);
+
+        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+            LOG.debug("Session is not registered or closed, adding message to pending");
+
+            releaseQueue(endpointId);
+            reSender.add(endpointId, message);
+        } else {
+            LOG.debug("Session registered and open, queueing message");
+
+            enqueue(endpointId, sessionOptional.get(), message, false);
+        }
+    }
+
+    @Override
+    public void transmit(String message) {
+        LOG.debug("Broadcasting a web socket transmission: {}", message);
+
+        for (String endpointId : registry.getEndpointIds()) {
+            registry.get(endpointId)
+                    .filter(Session::isOpen)
+                    .ifPresent(session -> enqueue(endpointId, session, message, false));
+        }
+    }
+
+    /**
+     * Returns metrics of the outbound queue of the endpoint, or an empty
+     * optional if there is no queue for the endpoint.
+     */
+    public Optional<OutboundQueueStatistics> getStatistics(String endpointId) {
+        return Optional.ofNullable(queues.get(endpointId)).map(SessionMessageQueue::getStatistics);
+    }
+
+    /**
+     * Returns metrics of outbound queues of all the endpoints.
+     */
+    public List<OutboundQueueStatistics> getStatistics() {
+        return queues.values().stream().map(SessionMessageQueue::getStatistics).collect(toList());
+    }
+
+    private boolean resend(String endpointId, Session session, String message, boolean retained) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        enqueue(endpointId, session, message, retained);
+        return true;
+    }
+
+    /**
+     * Adds the message to the outbound queue of the session, {@code retained}
+     * message is kept by the re-sender until acknowledged, so it's never
+     * passed back to the re-sender.
+     */
+    private void enqueue(String endpointId, Session session, String message, boolean retained) {
+        final SessionMessageQueue queue = queues.compute(endpointId, (id, existing) -> {
+            if (existing != null && existing.getSession() == session) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.drainPending().forEach(it -> reSender.add(id, it));
+            }
+            return new SessionMessageQueue(id, session, capacity, policy);
+        });
+
+        if (!queue.offer(message, retained)) {
+            disconnect(endpointId, queue, retained ? null : message);
+        }
+    }
+
+    private void disconnect(String endpointId, SessionMessageQueue queue, String message) {
+        if (!queues.remove(endpointId, queue)) {
+            if (message != null) {
+                reSender.add(endpointId, message);
+            }
+            return;
+        }
+
+        LOG.warn("Outbound queue of endpoint {} is overflown, closing the session", endpointId);
+
+        queue.drainPending().forEach(it -> reSender.add(endpointId, it));
+        if (message != null) {
+            reSender.add(endpointId, message);
+        }
+
+        try {
+            queue.getSession().close(new CloseReason(TRY_AGAIN_LATER, "Outbound message queue is overflown"));
+        } catch (IOException e) {
+            LOG.error("Error while trying to close an overflown web socket session", e);
+        }
+    }
+
+    private void releaseQueue(String endpointId) {
+        final SessionMessageQueue queue = queues.remove(endpointId);
+        if (queue != null) {
+            queue.drainPending().forEach(it -> reSender.add(endpointId, it));
+        }
+    }
+
+    /**
+     * Defines what is done with a message sent to an endpoint whose outbound
+     * queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Removes the oldest queued message to make room for the new one. */
+        DROP_OLDEST,
+        /**
+         * Skips the new message if an equal one is already queued,
+         * otherwise behaves like {@link #DROP_OLDEST}.
+         */
+        COALESCE,
+        /**
+         * Closes the session, all queued messages are passed to the
+         * re-sender to be delivered when the client reconnects.
+         */
+        DISCONNECT
+    }
+}
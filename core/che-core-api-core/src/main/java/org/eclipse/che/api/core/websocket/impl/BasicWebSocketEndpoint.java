@@ -21,6 +21,7 @@ import javax.websocket.OnMessage;
 import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.PathParam;
+import java.util.List;
 
 /**
  * Duplex WEB SOCKET endpoint, handles messages, errors, session open/close events.
@@ -30,6 +31,19 @@ import javax.websocket.server.PathParam;
 public class BasicWebSocketEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(BasicWebSocketEndpoint.class);
 
+    /**
+     * Request parameter with sequence number of the last pending message
+     * acknowledged by a reconnecting client, messages up to this one are
+     * not re-sent.
+     */
+    public static final String LAST_ACKNOWLEDGED_PARAMETER = "last-acknowledged";
+
+    /**
+     * Prefix of the frame sent by a client to acknowledge a message re-sent with
+     * {@link MessagesReSender#RESENT_MESSAGE_PREFIX}, the frame is {@code ack:<sequence number>}.
+     */
+    public static final String ACKNOWLEDGEMENT_PREFIX = "ack:";
+
     private final WebSocketSessionRegistry registry;
     private final MessagesReSender         reSender;
     private final WebSocketMessageReceiver receiver;
@@ -52,7 +66,18 @@ public class BasicWebSocketEndpoint {
         session.setMaxIdleTimeout(0);
 
         registry.add(endpointId, session);
-        reSender.resend(endpointId);
+
+        final List<String> lastAcknowledged = session.getRequestParameterMap().get(LAST_ACKNOWLEDGED_PARAMETER);
+        if (lastAcknowledged == null || lastAcknowledged.isEmpty()) {
+            reSender.resend(endpointId);
+        } else {
+            try {
+                reSender.resend(endpointId, Long.parseLong(lastAcknowledged.get(0)));
+            } catch (NumberFormatException e) {
+                LOG.debug("Illegal last acknowledged message sequence number: {}", lastAcknowledged.get(0));
+                reSender.resend(endpointId);
+            }
+        }
     }
 
     @OnMessage
@@ -61,6 +86,15 @@ public class BasicWebSocketEndpoint {
         LOG.debug("Endpoint: {}", endpointId);
         LOG.debug("Message: {}", message);
 
+        if (message.startsWith(ACKNOWLEDGEMENT_PREFIX)) {
+            try {
+                reSender.acknowledge(endpointId, Long.parseLong(message.substring(ACKNOWLEDGEMENT_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                LOG.debug("Illegal acknowledged message sequence number: {}", message);
+            }
+            return;
+        }
+
         receiver.receive(endpointId, message);
     }
 
@@ -10,53 +10,145 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.slf4j.Logger;
+
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
  * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Pending messages of each endpoint are bounded by total size in bytes, when the
+ * limit is exceeded the oldest messages are evicted, so a reconnecting client always
+ * gets the most recent messages. Messages older than configured time to live are
+ * evicted as well, including messages of endpoints that never reconnect.
+ *
+ * <p>Each pending message gets a sequence number, the numbers are taken from a single
+ * counter shared by all the endpoints, so they grow monotonically for each endpoint
+ * though not necessarily by one. A client which supports acknowledgements reconnects
+ * with the number of the last message it has acknowledged, see
+ * {@link #resend(String, long)}, gets the pending messages framed with their sequence
+ * numbers, see {@link #RESENT_MESSAGE_PREFIX}, and acknowledges each of them, see
+ * {@link #acknowledge(String, long)}. Such messages are kept until acknowledged, so
+ * they survive one more disconnection. Messages re-sent to a client which doesn't
+ * support acknowledgements are sent as is and discarded right away.
+ *
+ * <p>Messages are re-sent with the {@link Sender} set by the transmitter, so
+ * they go through the same outbound queue of the session as the messages
+ * transmitted concurrently, see {@link #setSender(Sender)}. By default they
+ * are sent with the asynchronous remote of the session.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(MessagesReSender.class);
 
-    private final WebSocketSessionRegistry registry;
+    /**
+     * Prefix of the frame with a message re-sent to a client which supports acknowledgements,
+     * the frame is {@code resent:<sequence number>:<message>}.
+     */
+    public static final String RESENT_MESSAGE_PREFIX = "resent:";
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+    private static final long DEFAULT_TTL_MS    = MINUTES.toMillis(10);
+
+    private final WebSocketSessionRegistry     registry;
+    private final long                         maxBytes;
+    private final long                         ttlMs;
+    private final Map<String, PendingMessages> messagesMap;
+    private final AtomicLong                   lastEvictionTime;
+    private final AtomicLong                   sequenceNumbers;
+
+    private volatile Sender sender;
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
+    public MessagesReSender(WebSocketSessionRegistry registry,
+                            @Named("che.websocket.resend.max_bytes") long maxBytes,
+                            @Named("che.websocket.resend.ttl_ms") long ttlMs) {
         this.registry = registry;
+        this.maxBytes = maxBytes;
+        this.ttlMs = ttlMs;
+        this.messagesMap = new ConcurrentHashMap<>();
+        this.lastEvictionTime = new AtomicLong(System.currentTimeMillis());
+        this.sequenceNumbers = new AtomicLong();
+        this.sender = (endpointId, session, message, retained) -> {
+            if (!session.isOpen()) {
+                return false;
+            }
+            session.getAsyncRemote().sendText(message);
+            return true;
+        };
     }
 
-    public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+    public MessagesReSender(WebSocketSessionRegistry registry) {
+        this(registry, DEFAULT_MAX_BYTES, DEFAULT_TTL_MS);
+    }
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+    /**
+     * Sets the sender of re-sent messages, a transmitter which owns the
+     * outbound queues of the sessions sets it to be the only writer to them.
+     */
+    void setSender(Sender sender) {
+        this.sender = sender;
+    }
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+    /**
+     * Adds a message to the pending messages of the endpoint.
+     *
+     * @return sequence number assigned to the message, sequence numbers grow monotonically
+     */
+    public long add(String endpointId, String message) {
+        final long now = System.currentTimeMillis();
+        evictExpired(now);
+
+        final long sequenceNumber = sequenceNumbers.incrementAndGet();
+        messagesMap.compute(endpointId, (id, messages) -> {
+            final PendingMessages pending = messages == null ? new PendingMessages(id) : messages;
+            pending.add(sequenceNumber, message, now);
+            return pending;
+        });
+
+        return sequenceNumber;
     }
 
+    /**
+     * Re-sends all pending messages of the endpoint as is and discards them,
+     * used for clients which don't support acknowledgements.
+     */
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        resend(endpointId, -1, false);
+    }
+
+    /**
+     * Re-sends pending messages of the endpoint whose sequence number is greater
+     * than the last acknowledged one, messages that are already acknowledged are
+     * discarded. Re-sent messages are framed with their sequence numbers and kept
+     * until the client acknowledges them.
+     */
+    public void resend(String endpointId, long lastAcknowledged) {
+        resend(endpointId, lastAcknowledged, true);
+    }
+
+    private void resend(String endpointId, long lastAcknowledged, boolean keepUntilAcknowledged) {
+        final PendingMessages messages = messagesMap.get(endpointId);
 
-        if (messages == null || messages.isEmpty()) {
+        if (messages == null) {
             return;
         }
 
@@ -67,19 +159,171 @@ public class MessagesReSender {
         }
 
         final Session session = sessionOptional.get();
+        final List<PendingMessage> toResend = messages.takeForResend(lastAcknowledged,
+                                                                     keepUntilAcknowledged,
+                                                                     System.currentTimeMillis());
+        // sent out of the lock of pending messages as the sender may add messages back
+        for (int i = 0; i < toResend.size(); i++) {
+            final PendingMessage pending = toResend.get(i);
+            final String frame = keepUntilAcknowledged ? RESENT_MESSAGE_PREFIX + pending.sequenceNumber + ':' + pending.message
+                                                       : pending.message;
+            if (!sender.send(endpointId, session, frame, keepUntilAcknowledged)) {
+                if (!keepUntilAcknowledged) {
+                    messages.restore(toResend.subList(i, toResend.size()));
+                }
+                break;
+            }
+        }
+        removeIfEmpty(endpointId);
+    }
+
+    /**
+     * Discards pending messages of the endpoint up to and including the given sequence number.
+     */
+    public void acknowledge(String endpointId, long sequenceNumber) {
+        final PendingMessages messages = messagesMap.get(endpointId);
+
+        if (messages != null) {
+            messages.acknowledge(sequenceNumber);
+            removeIfEmpty(endpointId);
+        }
+    }
+
+    private void removeIfEmpty(String endpointId) {
+        messagesMap.computeIfPresent(endpointId, (id, messages) -> messages.isEmpty() ? null : messages);
+    }
+
+    private void evictExpired(long now) {
+        final long last = lastEvictionTime.get();
+
+        if (now - last < Math.min(ttlMs, MINUTES.toMillis(1)) || !lastEvictionTime.compareAndSet(last, now)) {
+            return;
+        }
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        messagesMap.forEach((endpointId, messages) -> {
+            messages.evictExpired(now);
+            removeIfEmpty(endpointId);
+        });
+    }
 
-        for (String message : backing) {
+    private class PendingMessages {
+        private final String                endpointId;
+        private final Deque<PendingMessage> messages;
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
+        private long totalBytes;
+
+        private PendingMessages(String endpointId) {
+            this.endpointId = endpointId;
+            this.messages = new ArrayDeque<>();
+        }
+
+        private synchronized void add(long sequenceNumber, String message, long now) {
+            final PendingMessage pending = new PendingMessage(sequenceNumber, message, now);
+
+            messages.addLast(pending);
+            totalBytes += pending.bytes;
+
+            while (totalBytes > maxBytes && messages.size() > 1) {
+                LOG.debug("Pending messages of endpoint {} exceed {} bytes, evicting the oldest", endpointId, maxBytes);
+                removeFirst();
             }
+            evictExpired(now);
         }
 
-        messagesMap.put(endpointId, messages);
+        /**
+         * Returns messages to be re-sent, they are removed from the pending
+         * ones unless they must be kept until acknowledged.
+         */
+        private synchronized List<PendingMessage> takeForResend(long lastAcknowledged, boolean keepUntilAcknowledged, long now) {
+            acknowledge(lastAcknowledged);
+            evictExpired(now);
+
+            final List<PendingMessage> result = new ArrayList<>(messages);
+            if (!keepUntilAcknowledged) {
+                messages.clear();
+                totalBytes = 0;
+            }
+            return result;
+        }
+
+        /**
+         * Returns messages which were not re-sent back to the head of the pending ones.
+         */
+        private synchronized void restore(List<PendingMessage> notSent) {
+            for (int i = notSent.size() - 1; i >= 0; i--) {
+                final PendingMessage pending = notSent.get(i);
+                messages.addFirst(pending);
+                totalBytes += pending.bytes;
+            }
+        }
+
+        private synchronized void acknowledge(long sequenceNumber) {
+            while (!messages.isEmpty() && messages.peekFirst().sequenceNumber <= sequenceNumber) {
+                removeFirst();
+            }
+        }
+
+        private synchronized void evictExpired(long now) {
+            while (!messages.isEmpty() && now - messages.peekFirst().timestamp > ttlMs) {
+                removeFirst();
+            }
+        }
+
+        private synchronized boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        private PendingMessage removeFirst() {
+            final PendingMessage removed = messages.removeFirst();
+            totalBytes -= removed.bytes;
+            return removed;
+        }
+    }
+
+    /**
+     * Sends a re-sent message to the session of the endpoint.
+     */
+    @FunctionalInterface
+    interface Sender {
+        /**
+         * Sends the message, {@code retained} is {@code true} when the message is
+         * kept by the re-sender until acknowledged, so it must not be added to
+         * the pending messages again if it can't be sent.
+         *
+         * @return {@code false} if the session is closed and re-sending must stop
+         */
+        boolean send(String endpointId, Session session, String message, boolean retained);
+    }
+
+    private static class PendingMessage {
+        private final long   sequenceNumber;
+        private final String message;
+        private final long   timestamp;
+        private final long   bytes;
+
+        private PendingMessage(long sequenceNumber, String message, long timestamp) {
+            this.sequenceNumber = sequenceNumber;
+            this.message = message;
+            this.timestamp = timestamp;
+            this.bytes = utf8Length(message);
+        }
+
+        private static long utf8Length(String message) {
+            long length = 0;
+            for (int i = 0; i < message.length(); i++) {
+                final char c = message.charAt(i);
+                if (c < 0x80) {
+                    length++;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c)) {
+                    length += 4;
+                    i++;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
     }
 }
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the outbound queue metrics of a single endpoint.
+ */
+public class OutboundQueueStatistics {
+    private final String endpointId;
+    private final int    depth;
+    private final long   maxDepth;
+    private final long   sentCount;
+    private final long   droppedCount;
+    private final long   failedCount;
+    private final long   averageLatencyNanos;
+    private final long   maxLatencyNanos;
+
+    public OutboundQueueStatistics(String endpointId,
+                                   int depth,
+                                   long maxDepth,
+                                   long sentCount,
+                                   long droppedCount,
+                                   long failedCount,
+                                   long averageLatencyNanos,
+                                   long maxLatencyNanos) {
+        this.endpointId = endpointId;
+        this.depth = depth;
+        this.maxDepth = maxDepth;
+        this.sentCount = sentCount;
+        this.droppedCount = droppedCount;
+        this.failedCount = failedCount;
+        this.averageLatencyNanos = averageLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /** Returns identifier of the endpoint the queue is bound to. */
+    public String getEndpointId() {
+        return endpointId;
+    }
+
+    /** Returns number of messages waiting to be sent. */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Returns the highest number of messages that were waiting to be sent at once. */
+    public long getMaxDepth() {
+        return maxDepth;
+    }
+
+    /** Returns number of successfully sent messages. */
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    /** Returns number of messages dropped or coalesced because of the queue overflow. */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /** Returns number of messages that failed to be sent. */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /** Returns average time between queueing and sending of a message, in milliseconds. */
+    public long getAverageLatencyMs() {
+        return TimeUnit.NANOSECONDS.toMillis(averageLatencyNanos);
+    }
+
+    /** Returns maximal time between queueing and sending of a message, in milliseconds. */
+    public long getMaxLatencyMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundQueueStatistics{" +
+               "endpointId='" + endpointId + '\'' +
+               ", depth=" + depth +
+               ", maxDepth=" + maxDepth +
+               ", sentCount=" + sentCount +
+               ", droppedCount=" + droppedCount +
+               ", failedCount=" + failedCount +
+               ", averageLatencyNanos=" + averageLatencyNanos +
+               ", maxLatencyNanos=" + maxLatencyNanos +
+               '}';
+    }
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.impl.AsyncWebSocketMessageTransmitter.OverflowPolicy;
+import org.slf4j.Logger;
+
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded outbound queue bound to a single WEB SOCKET session. Messages are
+ * sent one by one with the asynchronous remote of the session, next message
+ * is sent only when the previous one is completed, so the order of messages
+ * is preserved and a slow session never blocks a transmitting thread.
+ */
+class SessionMessageQueue {
+    private static final Logger LOG = getLogger(SessionMessageQueue.class);
+
+    private final String         endpointId;
+    private final Session        session;
+    private final int            capacity;
+    private final OverflowPolicy policy;
+    private final Deque<Pending> pending;
+
+    private boolean inFlight;
+    private boolean draining;
+    private boolean overflown;
+
+    private long sentCount;
+    private long droppedCount;
+    private long failedCount;
+    private long maxDepth;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    SessionMessageQueue(String endpointId, Session session, int capacity, OverflowPolicy policy) {
+        this.endpointId = endpointId;
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.pending = new ArrayDeque<>();
+    }
+
+    Session getSession() {
+        return session;
+    }
+
+    /**
+     * Adds a message to the queue applying the overflow policy if the queue
+     * is full. A {@code retained} message is a re-sent one which is kept by
+     * the re-sender until acknowledged, it's not returned by {@link #drainPending()}.
+     *
+     * @return {@code false} if the queue is overflown and the session must be
+     * disconnected according to {@link OverflowPolicy#DISCONNECT} policy
+     */
+    boolean offer(String message, boolean retained) {
+        synchronized (this) {
+            if (overflown) {
+                return false;
+            }
+
+            if (pending.size() >= capacity) {
+                switch (policy) {
+                    case COALESCE:
+                        if (pending.stream().anyMatch(it -> it.message.equals(message))) {
+                            LOG.debug("Outbound queue of endpoint {} is full, coalescing message", endpointId);
+                            droppedCount++;
+                            return true;
+                        }
+                        // no equal message is queued, behave like DROP_OLDEST
+                    case DROP_OLDEST:
+                        LOG.debug("Outbound queue of endpoint {} is full, dropping the oldest message", endpointId);
+                        pending.pollFirst();
+                        droppedCount++;
+                        break;
+                    case DISCONNECT:
+                        LOG.debug("Outbound queue of endpoint {} is full, session is to be disconnected", endpointId);
+                        overflown = true;
+                        return false;
+                }
+            }
+
+            pending.addLast(new Pending(message, retained, System.nanoTime()));
+            maxDepth = Math.max(maxDepth, pending.size());
+        }
+
+        drain();
+
+        return true;
+    }
+
+    /**
+     * Removes all messages that are not yet sent and returns the ones that
+     * are not retained by the re-sender in the order they were added.
+     */
+    synchronized List<String> drainPending() {
+        final List<String> messages = new ArrayList<>(pending.size());
+        for (Pending it : pending) {
+            if (!it.retained) {
+                messages.add(it.message);
+            }
+        }
+        pending.clear();
+
+        return messages;
+    }
+
+    synchronized OutboundQueueStatistics getStatistics() {
+        return new OutboundQueueStatistics(endpointId,
+                                           pending.size(),
+                                           maxDepth,
+                                           sentCount,
+                                           droppedCount,
+                                           failedCount,
+                                           sentCount == 0 ? 0 : totalLatencyNanos / sentCount,
+                                           maxLatencyNanos);
+    }
+
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+
+        while (true) {
+            final Pending next;
+            synchronized (this) {
+                if (inFlight || pending.isEmpty() || !session.isOpen()) {
+                    draining = false;
+                    return;
+                }
+                next = pending.pollFirst();
+                inFlight = true;
+            }
+
+            try {
+                session.getAsyncRemote().sendText(next.message, result -> onSent(next, result));
+            } catch (RuntimeException e) {
+                LOG.error("Error while trying to send a message to an async websocket remote endpoint", e);
+                onSent(next, new SendResult(e));
+            }
+        }
+    }
+
+    private void onSent(Pending message, SendResult result) {
+        synchronized (this) {
+            inFlight = false;
+
+            if (result.isOK()) {
+                final long latency = System.nanoTime() - message.enqueuedNanos;
+                sentCount++;
+                totalLatencyNanos += latency;
+                maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            } else {
+                failedCount++;
+                LOG.error("Error while trying to send a message to an async websocket remote endpoint",
+                          result.getException());
+            }
+        }
+
+        drain();
+    }
+
+    private static class Pending {
+        private final String  message;
+        private final boolean retained;
+        private final long    enqueuedNanos;
+
+        private Pending(String message, boolean retained, long enqueuedNanos) {
+            this.message = message;
+            this.retained = retained;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.Filter;
+import org.everrest.core.method.MethodInvokerFilter;
+import org.everrest.core.resource.GenericResourceMethod;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.util.Set;
+
+/**
+ * Answers conditional GET requests of entities which weren't modified before the resource method
+ * is invoked, using tags of the entities given by {@link ETagProvider}s.
+ *
+ * <p>When the entity was modified the tag is kept in the request context,
+ * so {@link ETagResponseFilter} adds it to the response instead of hashing the entity.
+ */
+@Filter
+@Singleton
+public class ETagMethodInvokerFilter implements MethodInvokerFilter {
+
+    /** Name of {@link ApplicationContext} attribute which keeps the tag given by {@link ETagProvider}. */
+    static final String ETAG_ATTRIBUTE = ETagMethodInvokerFilter.class.getName() + ".etag";
+
+    private final Set<ETagProvider> providers;
+
+    @Inject
+    public ETagMethodInvokerFilter(Set<ETagProvider> providers) {
+        this.providers = providers;
+    }
+
+    @Override
+    public void accept(GenericResourceMethod method, Object[] arguments) throws WebApplicationException {
+        final ApplicationContext context = ApplicationContext.getCurrent();
+        final Request request = context.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        for (ETagProvider provider : providers) {
+            final String tag = provider.getETag(method.getMethod(), arguments);
+            if (tag != null) {
+                final EntityTag entityTag = new EntityTag(tag);
+                final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+                if (notModified != null) {
+                    throw new WebApplicationException(notModified.tag(entityTag).build());
+                }
+                context.getAttributes().put(ETAG_ATTRIBUTE, entityTag);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * Provides ETags of entities returned by resource methods without invoking the methods,
+ * e.g. from a version of the entity which is changed on each modification.
+ *
+ * <p>Tags are requested before the resource method is invoked, so a conditional GET request
+ * of an entity which wasn't modified is answered with {@code 304 Not Modified} without loading
+ * and converting the entity. Entities of resource methods which are not supported by any provider
+ * are tagged with a hash of their JSON representation by {@link ETagResponseFilter}.
+ *
+ * <p>Implementations are bound with {@code Multibinder.newSetBinder(binder(), ETagProvider.class)}.
+ *
+ * @see ETagMethodInvokerFilter
+ */
+public interface ETagProvider {
+
+    /**
+     * Returns the tag of the current state of the entity returned by the given resource method.
+     * The tag must change whenever the representation of the entity changes.
+     * This method is called for each GET request, so it must be cheap.
+     *
+     * @param method
+     *         the java method of the resource to be invoked
+     * @param arguments
+     *         actual method arguments that were created from request
+     * @return the tag or null if the method is not supported by this provider
+     */
+    @Nullable
+    String getETag(Method method, Object[] arguments);
+}
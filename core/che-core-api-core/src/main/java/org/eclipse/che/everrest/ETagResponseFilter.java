@@ -38,7 +38,9 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * Tags given by {@link ETagProvider}s are used as is, other entities are tagged with the hash of their JSON.
  *
+ * @see ETagMethodInvokerFilter
  * @author Florent Benoit
  */
 @Filter
@@ -80,6 +82,15 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
+        // tag given by provider, preconditions are already evaluated before invocation of resource method
+        Object providedTag = applicationContext.getAttributes().get(ETagMethodInvokerFilter.ETAG_ATTRIBUTE);
+        if (providedTag instanceof EntityTag && containerResponse.getStatus() == Response.Status.OK.getStatusCode()) {
+            containerResponse.setResponse(Response.fromResponse(containerResponse.getResponse())
+                                                  .tag((EntityTag)providedTag)
+                                                  .build());
+            return;
+        }
+
         // calculate hash with MD5
         HashFunction hashFunction = Hashing.md5();
         Hasher hasher = hashFunction.newHasher();
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps in-memory versions of entities identified by ids, suitable for {@link ETagProvider}.
+ *
+ * <p>Each modification of an entity must be reported with {@link #update(String)}.
+ * Versions are prefixed with a random epoch, so versions issued before restart of the server
+ * never match the versions issued after it. Versions of not modified entities are the same,
+ * when too many versions are remembered they all are forgotten and not modified entities
+ * get the new version which has never been issued before.
+ *
+ * <p>This class is thread-safe.
+ */
+public class EntityVersions {
+    private final String                      epoch;
+    private final int                         maxSize;
+    private final AtomicLong                  counter;
+    private final AtomicLong                  initial;
+    private final ConcurrentMap<String, Long> versions;
+
+    public EntityVersions(int maxSize) {
+        this.epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+        this.maxSize = maxSize;
+        this.counter = new AtomicLong();
+        this.initial = new AtomicLong();
+        this.versions = new ConcurrentHashMap<>();
+    }
+
+    /** Returns the current version of the entity with given id. */
+    public String getVersion(String id) {
+        final Long version = versions.get(id);
+        return epoch + '-' + (version != null ? version : initial.get());
+    }
+
+    /** Changes the version of the entity with given id, must be called on each modification or removal of the entity. */
+    public void update(String id) {
+        if (versions.size() >= maxSize) {
+            // new initial version must be set before versions are forgotten,
+            // otherwise a modified entity might get its version prior to modification
+            initial.set(counter.incrementAndGet());
+            versions.clear();
+        }
+        versions.put(id, counter.incrementAndGet());
+    }
+}
@@ -10,6 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -17,14 +23,17 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import java.util.Collections;
-
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertSame;
 
 /**
  * Tests for {@link JsonRpcMessageReceiver}
@@ -54,8 +63,6 @@ public class JsonRpcMessageReceiverTest {
     @InjectMocks
     JsonRpcMessageReceiver  receiver;
 
-    @Mock
-    JsonRpcList     list;
     @Mock
     JsonRpcRequest  request;
     @Mock
@@ -63,24 +70,27 @@ public class JsonRpcMessageReceiverTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(qualifier.qualify(anyString())).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.UNDEFINED);
-        when(jsonRpcFactory.createList(anyString())).thenReturn(list);
-        when(jsonRpcFactory.createRequest(anyString())).thenReturn(request);
-        when(jsonRpcFactory.createResponse(anyString())).thenReturn(response);
-        when(list.toStringifiedList()).thenReturn(Collections.singletonList(OBJECT_MESSAGE));
+        JsonArray jsonArray = new JsonArray();
+        jsonArray.add(new JsonObject());
+
+        when(validator.parse(OBJECT_MESSAGE)).thenReturn(new JsonObject());
+        when(validator.parse(LIST_MESSAGE)).thenReturn(jsonArray);
+        when(qualifier.qualify(any(JsonObject.class))).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.UNDEFINED);
+        when(jsonRpcFactory.createRequest(any(JsonObject.class))).thenReturn(request);
+        when(jsonRpcFactory.createResponse(any(JsonObject.class))).thenReturn(response);
     }
 
     @Test
     public void shouldRunValidate() throws Exception {
         receiver.receive(ENDPOINT_ID, OBJECT_MESSAGE);
 
-        verify(validator).validate(OBJECT_MESSAGE);
+        verify(validator).parse(OBJECT_MESSAGE);
     }
 
     @Test
     public void shouldRunErrorTransmitterOnValidationFailure() throws Exception {
         JsonRpcException exception = new JsonRpcException(ERROR_CODE, ERROR_MESSAGE);
-        doThrow(exception).when(validator).validate(anyString());
+        doThrow(exception).when(validator).parse(anyString());
 
         receiver.receive(ENDPOINT_ID, OBJECT_MESSAGE);
 
@@ -95,43 +105,47 @@ public class JsonRpcMessageReceiverTest {
     }
 
     @Test
-    public void shouldCreateListIfMessageIsList() throws Exception {
-        receiver.receive(ENDPOINT_ID, LIST_MESSAGE);
+    public void shouldParseMessageOnlyOnce() throws Exception {
+        when(qualifier.qualify(any(JsonObject.class))).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.REQUEST);
 
-        verify(jsonRpcFactory).createList(LIST_MESSAGE);
+        receiver.receive(ENDPOINT_ID, OBJECT_MESSAGE);
+
+        verify(validator).parse(OBJECT_MESSAGE);
+        verify(qualifier, never()).qualify(anyString());
+        verify(jsonRpcFactory, never()).createRequest(anyString());
     }
 
     @Test
     public void shouldRunQualifyForObjectMessage() throws Exception {
         receiver.receive(ENDPOINT_ID, OBJECT_MESSAGE);
 
-        verify(qualifier).qualify(OBJECT_MESSAGE);
+        verify(qualifier).qualify(new JsonObject());
     }
 
     @Test
     public void shouldRunQualifyForListMessage() throws Exception {
         receiver.receive(ENDPOINT_ID, LIST_MESSAGE);
 
-        verify(qualifier).qualify(OBJECT_MESSAGE);
+        verify(qualifier).qualify(new JsonObject());
     }
 
     @Test
     public void shouldProcessRequest() throws Exception {
-        when(qualifier.qualify(anyString())).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.REQUEST);
+        when(qualifier.qualify(any(JsonObject.class))).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.REQUEST);
 
         receiver.receive(ENDPOINT_ID, OBJECT_MESSAGE);
 
-        verify(jsonRpcFactory).createRequest(anyString());
+        verify(jsonRpcFactory).createRequest(any(JsonObject.class));
         verify(requestDispatcher).dispatch(ENDPOINT_ID, request);
     }
 
     @Test
     public void shouldProcessResponse() throws Exception {
-        when(qualifier.qualify(anyString())).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.RESPONSE);
+        when(qualifier.qualify(any(JsonObject.class))).thenReturn(JsonRpcEntityQualifier.JsonRpcEntityType.RESPONSE);
 
         receiver.receive(ENDPOINT_ID, OBJECT_MESSAGE);
 
-        verify(jsonRpcFactory).createResponse(anyString());
+        verify(jsonRpcFactory).createResponse(any(JsonObject.class));
         verify(responseDispatcher).dispatch(ENDPOINT_ID, response);
     }
 
@@ -141,4 +155,48 @@ public class JsonRpcMessageReceiverTest {
 
         verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
     }
+
+    @Test
+    public void shouldBuildEntitiesOfBatchOutOfJsonTreeParsedOnce() throws Exception {
+        JsonParser jsonParser = new JsonParser();
+        JsonRpcEntityValidator realValidator = spy(new JsonRpcEntityValidator(jsonParser));
+        JsonRpcEntityQualifier realQualifier = spy(new JsonRpcEntityQualifier(jsonParser));
+        JsonElement[] parsed = new JsonElement[1];
+        doAnswer(invocation -> parsed[0] = (JsonElement)invocation.callRealMethod()).when(realValidator).parse(anyString());
+        when(jsonRpcFactory.createRequest(any(JsonObject.class)))
+                .thenAnswer(invocation -> new JsonRpcRequest((JsonObject)invocation.getArguments()[0], jsonRpcFactory));
+        when(jsonRpcFactory.createResponse(any(JsonObject.class)))
+                .thenAnswer(invocation -> new JsonRpcResponse((JsonObject)invocation.getArguments()[0]));
+        when(jsonRpcFactory.createParams(any(JsonElement.class)))
+                .thenAnswer(invocation -> new JsonRpcParams((JsonElement)invocation.getArguments()[0]));
+        JsonRpcMessageReceiver receiver = new JsonRpcMessageReceiver(requestDispatcher,
+                                                                     responseDispatcher,
+                                                                     realQualifier,
+                                                                     realValidator,
+                                                                     errorTransmitter,
+                                                                     jsonRpcFactory);
+
+        receiver.receive(ENDPOINT_ID, "[{\"jsonrpc\":\"2.0\",\"method\":\"notify\",\"params\":{\"path\":\"/a\"}}," +
+                                      "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"request\",\"params\":[{\"a\":1},{\"b\":2}]}," +
+                                      "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"result\":{\"c\":3}}]");
+
+        // a frame is parsed once, entities get the nodes of the parsed tree instead of parsing their stringified json
+        verify(realValidator).parse(anyString());
+        verify(realQualifier, never()).qualify(anyString());
+        verify(jsonRpcFactory, never()).createRequest(anyString());
+        verify(jsonRpcFactory, never()).createResponse(anyString());
+        verify(jsonRpcFactory, never()).createParams(anyString());
+        JsonArray batch = parsed[0].getAsJsonArray();
+        ArgumentCaptor<JsonRpcRequest> requests = ArgumentCaptor.forClass(JsonRpcRequest.class);
+        verify(requestDispatcher, times(2)).dispatch(eq(ENDPOINT_ID), requests.capture());
+        assertSame(requests.getAllValues().get(0).getParams().toJsonElement(), batch.get(0).getAsJsonObject().get("params"));
+        JsonArray listParams = batch.get(1).getAsJsonObject().get("params").getAsJsonArray();
+        JsonArray requestListParams = requests.getAllValues().get(1).getParams().toJsonElement().getAsJsonArray();
+        assertSame(requestListParams.get(0), listParams.get(0));
+        assertSame(requestListParams.get(1), listParams.get(1));
+        ArgumentCaptor<JsonRpcResponse> response = ArgumentCaptor.forClass(JsonRpcResponse.class);
+        verify(responseDispatcher).dispatch(eq(ENDPOINT_ID), response.capture());
+        assertSame(response.getValue().getResult().toJsonElement(), batch.get(2).getAsJsonObject().get("result"));
+        verify(errorTransmitter, never()).transmit(anyString(), any(JsonRpcException.class));
+    }
 }
@@ -20,6 +20,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
@@ -46,6 +47,7 @@ public class JsonRpcRequestTest {
     @BeforeMethod
     public void setUp() throws Exception {
         when(jsonRpcFactory.createParams(anyString())).thenReturn(params);
+        when(jsonRpcFactory.createParams(any(JsonElement.class))).thenReturn(params);
 
         JsonObject params = new JsonObject();
         params.addProperty("parameter", "value");
@@ -362,4 +364,27 @@ public class JsonRpcRequestTest {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void shouldToJsonObjectWhenCreatedOutOfParsedJsonObject() {
+        when(params.emptyOrAbsent()).thenReturn(false);
+
+        JsonObject expected = request;
+
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request, jsonRpcFactory);
+        JsonObject actual = jsonRpcRequest.toJsonObject();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldNotHaveIdAndParamsWhenCreatedOutOfParsedJsonObjectWithoutThem() {
+        request.remove("id");
+        request.remove("params");
+
+        JsonRpcRequest jsonRpcRequest = new JsonRpcRequest(request, jsonRpcFactory);
+
+        assertFalse(jsonRpcRequest.hasId());
+        assertFalse(jsonRpcRequest.hasParams());
+    }
 }
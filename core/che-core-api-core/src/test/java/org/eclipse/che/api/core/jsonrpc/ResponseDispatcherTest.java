@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ResponseDispatcher}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ResponseDispatcherTest {
+    static final String REQUEST_ID  = "0";
+    static final String ENDPOINT_ID = "endpointId";
+
+    @Mock
+    JsonRpcFactory           jsonRpcFactory;
+    @Mock
+    WebSocketSessionRegistry registry;
+    @Mock
+    JsonRpcResponse          response;
+    @Mock
+    JsonRpcResult            result;
+    @Mock
+    JsonRpcError             error;
+    @Mock
+    BiConsumer<String, String> successConsumer;
+    @Mock
+    BiConsumer<String, String> failureConsumer;
+
+    ArgumentCaptor<Consumer<String>> removeListener;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        removeListener = ArgumentCaptor.forClass((Class)Consumer.class);
+
+        when(response.getId()).thenReturn(REQUEST_ID);
+        when(response.hasResult()).thenReturn(true);
+        when(response.getResult()).thenReturn(result);
+        when(result.getAs(String.class)).thenReturn("result");
+
+        when(jsonRpcFactory.createError(anyInt(), anyString())).thenReturn(error);
+    }
+
+    @Test
+    public void shouldPassResultToSuccessConsumer() {
+        ResponseDispatcher dispatcher = dispatcher(0);
+        register(dispatcher);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        verify(successConsumer).accept(ENDPOINT_ID, "result");
+    }
+
+    @Test
+    public void shouldReleasePromiseAfterDispatch() {
+        ResponseDispatcher dispatcher = dispatcher(0);
+        register(dispatcher);
+        assertEquals(dispatcher.getInFlightCount(ENDPOINT_ID), 1);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        assertEquals(dispatcher.getInFlightCount(ENDPOINT_ID), 0);
+        assertTrue(dispatcher.getInFlightCounts().isEmpty());
+    }
+
+    @Test
+    public void shouldSkipResponseWithoutPendingRequest() {
+        ResponseDispatcher dispatcher = dispatcher(0);
+        register(dispatcher);
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        verify(successConsumer).accept(ENDPOINT_ID, "result");
+    }
+
+    @Test
+    public void shouldFailPromiseOnTimeout() {
+        ResponseDispatcher dispatcher = dispatcher(10);
+        register(dispatcher);
+
+        verify(failureConsumer, timeout(1000)).accept(any(), any());
+        verify(jsonRpcFactory).createError(ResponseDispatcher.TIMEOUT_ERROR_CODE, "Request timed out after 10 ms");
+        assertEquals(dispatcher.getInFlightCount(ENDPOINT_ID), 0);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+        verify(successConsumer, never()).accept(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldFailPromisesWhenEndpointIsClosed() {
+        ResponseDispatcher dispatcher = dispatcher(0);
+        register(dispatcher);
+
+        removeListener.getValue().accept(ENDPOINT_ID);
+
+        verify(jsonRpcFactory).createError(ResponseDispatcher.ENDPOINT_CLOSED_ERROR_CODE, "Endpoint is closed");
+        verify(failureConsumer).accept(any(), any());
+        assertEquals(dispatcher.getInFlightCount(ENDPOINT_ID), 0);
+    }
+
+    private ResponseDispatcher dispatcher(long timeoutMs) {
+        ResponseDispatcher dispatcher = new ResponseDispatcher(jsonRpcFactory, registry, timeoutMs);
+        verify(registry).addRemoveListener(removeListener.capture());
+        return dispatcher;
+    }
+
+    private void register(ResponseDispatcher dispatcher) {
+        dispatcher.registerPromiseOfOne(ENDPOINT_ID, REQUEST_ID, String.class, new JsonRpcPromise<String>()
+                .onSuccess(successConsumer)
+                .onFailure(failureConsumer));
+    }
+}
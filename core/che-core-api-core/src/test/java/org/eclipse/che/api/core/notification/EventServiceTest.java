@@ -11,12 +11,16 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -29,6 +33,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -218,4 +227,87 @@ public class EventServiceTest {
             super("message");
         }
     }
+
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberInAnotherThread() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribeAsync(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            }
+        });
+
+        bus.publish("hello");
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertNotEquals(threads.get(0), Thread.currentThread());
+    }
+
+    @Test
+    public void shouldDeliverEventsToAnnotatedSubscriberInPublicationOrder() throws Exception {
+        final OrderedListener listener = new OrderedListener(100);
+        bus.subscribe(listener);
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(new KeyedEvent(i % 4, i));
+        }
+
+        Assert.assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        for (int key = 0; key < 4; key++) {
+            int previous = -1;
+            for (KeyedEvent event : listener.events) {
+                if (event.key == key) {
+                    Assert.assertTrue(event.sequence > previous);
+                    previous = event.sequence;
+                }
+            }
+        }
+        Assert.assertEquals(bus.getAsyncSubscriberStatistics().size(), 1);
+    }
+
+    @Test
+    public void shouldNotDeliverEventsToUnsubscribedAsyncSubscriber() {
+        final OrderedListener listener = new OrderedListener(1);
+        bus.subscribe(listener);
+        bus.unsubscribe(listener);
+
+        bus.publish(new KeyedEvent(0, 0));
+
+        Assert.assertTrue(listener.events.isEmpty());
+        Assert.assertTrue(bus.getAsyncSubscriberStatistics().isEmpty());
+    }
+
+    static class KeyedEvent implements OrderedEvent {
+        final int key;
+        final int sequence;
+
+        KeyedEvent(int key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public Object getOrderingKey() {
+            return key;
+        }
+    }
+
+    @AsyncSubscriber(parallelism = 4)
+    static class OrderedListener implements EventSubscriber<KeyedEvent> {
+        final List<KeyedEvent> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch   latch;
+
+        OrderedListener(int expected) {
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(KeyedEvent event) {
+            events.add(event);
+            latch.countDown();
+        }
+    }
 }
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link BatchingLineConsumer}.
+ */
+public class BatchingLineConsumerTest {
+
+    @Test
+    public void shouldPassLinesInBatches() throws Exception {
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch flushed = new CountDownLatch(1);
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(lines -> {
+            batches.add(lines);
+            flushed.countDown();
+        }, 100, 50, 100);
+
+        consumer.writeLine("line1");
+        consumer.writeLine("line2");
+        consumer.writeLine("line3");
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(batches, Collections.singletonList(asList("line1", "line2", "line3")));
+    }
+
+    @Test
+    public void shouldNotPassMoreThanMaxBatchSizeLinesInBatch() throws Exception {
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch flushed = new CountDownLatch(3);
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(lines -> {
+            batches.add(lines);
+            flushed.countDown();
+        }, 100, 10, 2);
+
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("line" + i);
+        }
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(batches, asList(asList("line0", "line1"), asList("line2", "line3"), Collections.singletonList("line4")));
+    }
+
+    @Test
+    public void shouldReportSkippedLinesWhenBufferIsFull() throws Exception {
+        final List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(consumed::addAll, 2, TimeUnit.MINUTES.toMillis(1), 10, true);
+
+        consumer.writeLine("line1");
+        consumer.writeLine("line2");
+        consumer.writeLine("line3");
+        consumer.writeLine("line4");
+        consumer.close();
+
+        assertEquals(consumed, asList("line1", "line2", "[2 lines of output were skipped]"));
+    }
+
+    @Test
+    public void shouldWaitForFreeSpaceInBufferInsteadOfSkippingLines() throws Exception {
+        final List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(consumed::addAll, 2, 10, 2);
+
+        for (int i = 0; i < 10; i++) {
+            consumer.writeLine("line" + i);
+        }
+        consumer.close();
+
+        assertEquals(consumed, asList("line0", "line1", "line2", "line3", "line4",
+                                      "line5", "line6", "line7", "line8", "line9"));
+    }
+
+    @Test
+    public void shouldNotLoseLineWhenWritingThreadIsInterruptedWhileWaiting() throws Exception {
+        final List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(consumed::addAll, 1, 50, 1);
+
+        consumer.writeLine("line1");
+        Thread.currentThread().interrupt();
+        consumer.writeLine("line2");
+        final boolean interrupted = Thread.interrupted();
+        consumer.close();
+
+        assertTrue(interrupted);
+        assertEquals(consumed, asList("line1", "line2"));
+    }
+
+    @Test
+    public void shouldPassBufferedLinesAndCloseDelegateOnClose() throws Exception {
+        final List<String> consumed = new ArrayList<>();
+        final boolean[] closed = new boolean[1];
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(new BatchingLineConsumer.BatchConsumer() {
+            @Override
+            public void consume(List<String> lines) {
+                consumed.addAll(lines);
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        }, 100, TimeUnit.MINUTES.toMillis(1), 100);
+        consumer.writeLine("line1");
+
+        consumer.close();
+        consumer.writeLine("line2");
+
+        assertEquals(consumed, Collections.singletonList("line1"));
+        assertTrue(closed[0]);
+        assertFalse(consumer.isOpen());
+    }
+
+    @Test
+    public void shouldContinueFlushingAfterDelegateFailure() throws Exception {
+        final List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch flushed = new CountDownLatch(2);
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(lines -> {
+            try {
+                if (lines.contains("bad")) {
+                    throw new IOException("write failed");
+                }
+                consumed.addAll(lines);
+            } finally {
+                flushed.countDown();
+            }
+        }, 100, 10, 1);
+
+        consumer.writeLine("bad");
+        consumer.writeLine("good");
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(consumed, Collections.singletonList("good"));
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests {@link RotatingFileWriter}.
+ */
+public class RotatingFileWriterTest {
+    private File dir;
+    private File file;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("logs").toFile();
+        file = new File(dir, "machine.logs");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldWriteLinesIntoFile() throws Exception {
+        final RotatingFileWriter writer = new RotatingFileWriter(file, 1024, 2);
+
+        writer.consume(asList("line1", "line2"));
+        writer.consume(singletonList("line3"));
+
+        assertEquals(read(file), "line1\nline2\nline3\n");
+        assertFalse(writer.getRolledFile(1).exists());
+        writer.close();
+    }
+
+    @Test
+    public void shouldCompressFileAndShiftRolledFilesWhenSizeLimitIsExceeded() throws Exception {
+        final RotatingFileWriter writer = new RotatingFileWriter(file, 10, 2);
+
+        writer.consume(singletonList("first batch"));
+        writer.consume(singletonList("second batch"));
+        writer.consume(singletonList("third batch"));
+        writer.consume(singletonList("tail"));
+        // waits for the compression of the last rolled file
+        writer.close();
+
+        assertEquals(read(file), "tail\n");
+        assertEquals(readGzip(writer.getRolledFile(1)), "third batch\n");
+        assertEquals(readGzip(writer.getRolledFile(2)), "second batch\n");
+        assertFalse(writer.getRolledFile(3).exists());
+        assertFalse(new File(dir, "machine.logs.rolling").exists());
+    }
+
+    @Test
+    public void shouldDropContentOfFileWhenThereAreNoRolledFiles() throws Exception {
+        final RotatingFileWriter writer = new RotatingFileWriter(file, 10, 0);
+
+        writer.consume(singletonList("first batch"));
+        writer.consume(singletonList("tail"));
+        writer.close();
+
+        assertEquals(read(file), "tail\n");
+        assertFalse(writer.getRolledFile(1).exists());
+        assertFalse(new File(dir, "machine.logs.rolling").exists());
+    }
+
+    @Test(expectedExceptions = ConsumerAlreadyClosedException.class)
+    public void shouldNotWriteAfterClose() throws Exception {
+        final RotatingFileWriter writer = new RotatingFileWriter(file, 1024, 2);
+        writer.close();
+
+        writer.consume(singletonList("line"));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset());
+    }
+
+    private static String readGzip(File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            return IoUtil.readStream(in);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singleton;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.RESENT_MESSAGE_PREFIX;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link AsyncWebSocketMessageTransmitter}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class AsyncWebSocketMessageTransmitterTest {
+    private static final String ENDPOINT_ID = "id";
+
+    @Mock
+    private WebSocketSessionRegistry registry;
+    @Mock
+    private MessagesReSender         reSender;
+    @Mock
+    private Session                  session;
+    @Mock
+    private RemoteEndpoint.Async     remote;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        when(session.isOpen()).thenReturn(true);
+
+        when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
+        when(registry.getEndpointIds()).thenReturn(singleton(ENDPOINT_ID));
+    }
+
+    @Test
+    public void shouldSendMessageWithAsyncRemote() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+
+        transmitter.transmit(ENDPOINT_ID, "message");
+
+        verify(remote).sendText(eq("message"), any(SendHandler.class));
+        verify(reSender, never()).add(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldAddMessageToPendingIfSessionIsNotOpened() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+        when(session.isOpen()).thenReturn(false);
+
+        transmitter.transmit(ENDPOINT_ID, "message");
+
+        verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+        verify(reSender).add(ENDPOINT_ID, "message");
+    }
+
+    @Test
+    public void shouldSendNextMessageOnlyWhenPreviousIsCompleted() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), captor.capture());
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(transmitter.getStatistics(ENDPOINT_ID).get().getDepth(), 1);
+
+        captor.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(transmitter.getStatistics(ENDPOINT_ID).get().getSentCount(), 1);
+    }
+
+    @Test
+    public void shouldDropOldestMessageWhenQueueIsFull() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+
+        transmitter.transmit(ENDPOINT_ID, "in-flight");
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        transmitter.transmit(ENDPOINT_ID, "third");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("in-flight"), captor.capture());
+        captor.getValue().onResult(new SendResult());
+
+        verify(remote, never()).sendText(eq("first"), any(SendHandler.class));
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(transmitter.getStatistics(ENDPOINT_ID).get().getDroppedCount(), 1);
+    }
+
+    @Test
+    public void shouldCoalesceEqualMessagesWhenQueueIsFull() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("coalesce");
+
+        transmitter.transmit(ENDPOINT_ID, "in-flight");
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        transmitter.transmit(ENDPOINT_ID, "first");
+
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("in-flight"), captor.capture());
+        captor.getValue().onResult(new SendResult());
+
+        verify(remote, times(1)).sendText(eq("first"), any(SendHandler.class));
+        assertEquals(transmitter.getStatistics(ENDPOINT_ID).get().getDroppedCount(), 1);
+    }
+
+    @Test
+    public void shouldDisconnectAndPassMessagesToReSenderWhenQueueIsFull() throws Exception {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("disconnect");
+
+        transmitter.transmit(ENDPOINT_ID, "in-flight");
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        transmitter.transmit(ENDPOINT_ID, "third");
+
+        verify(session).close(any(CloseReason.class));
+        verify(reSender).add(ENDPOINT_ID, "first");
+        verify(reSender).add(ENDPOINT_ID, "second");
+        verify(reSender).add(ENDPOINT_ID, "third");
+        assertTrue(transmitter.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void shouldReleaseQueueWhenSessionIsRemovedFromRegistry() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+        final ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass((Class)Consumer.class);
+        verify(registry).addRemoveListener(listener.capture());
+
+        transmitter.transmit(ENDPOINT_ID, "in-flight");
+        transmitter.transmit(ENDPOINT_ID, "pending");
+        listener.getValue().accept(ENDPOINT_ID);
+
+        assertFalse(transmitter.getStatistics(ENDPOINT_ID).isPresent());
+        verify(reSender).add(ENDPOINT_ID, "pending");
+    }
+
+    @Test
+    public void shouldBroadcastToAllOpenSessions() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+
+        transmitter.transmit("message");
+
+        verify(remote).sendText(eq("message"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldSendResentMessagesThroughSessionQueue() {
+        final MessagesReSender realReSender = new MessagesReSender(registry);
+        final AsyncWebSocketMessageTransmitter transmitter = new AsyncWebSocketMessageTransmitter(registry,
+                                                                                                  realReSender,
+                                                                                                  2,
+                                                                                                  "drop_oldest");
+        final long sequenceNumber = realReSender.add(ENDPOINT_ID, "pending");
+
+        transmitter.transmit(ENDPOINT_ID, "in-flight");
+        realReSender.resend(ENDPOINT_ID, 0);
+
+        final String resent = RESENT_MESSAGE_PREFIX + sequenceNumber + ":pending";
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("in-flight"), captor.capture());
+        verify(remote, never()).sendText(eq(resent), any(SendHandler.class));
+        verify(remote, never()).sendText(anyString());
+
+        captor.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq(resent), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldNotPassRetainedResentMessagesBackToReSender() {
+        final AsyncWebSocketMessageTransmitter transmitter = transmitter("drop_oldest");
+        final ArgumentCaptor<MessagesReSender.Sender> sender = ArgumentCaptor.forClass(MessagesReSender.Sender.class);
+        final ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass((Class)Consumer.class);
+        verify(reSender).setSender(sender.capture());
+        verify(registry).addRemoveListener(listener.capture());
+
+        transmitter.transmit(ENDPOINT_ID, "in-flight");
+        assertTrue(sender.getValue().send(ENDPOINT_ID, session, "retained", true));
+        assertTrue(sender.getValue().send(ENDPOINT_ID, session, "not-retained", false));
+        listener.getValue().accept(ENDPOINT_ID);
+
+        verify(reSender, never()).add(ENDPOINT_ID, "retained");
+        verify(reSender).add(ENDPOINT_ID, "not-retained");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldFailOnUnknownOverflowPolicy() {
+        transmitter("unknown");
+    }
+
+    private AsyncWebSocketMessageTransmitter transmitter(String policy) {
+        return new AsyncWebSocketMessageTransmitter(registry, reSender, 2, policy);
+    }
+}
@@ -22,7 +22,14 @@ import org.testng.annotations.Test;
 import javax.websocket.CloseReason;
 import javax.websocket.Session;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.core.websocket.impl.BasicWebSocketEndpoint.ACKNOWLEDGEMENT_PREFIX;
+import static org.eclipse.che.api.core.websocket.impl.BasicWebSocketEndpoint.LAST_ACKNOWLEDGED_PARAMETER;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link BasicWebSocketEndpoint}
@@ -69,6 +76,23 @@ public class BasicWebSocketEndpointTest {
         verify(reSender).resend("id");
     }
 
+    @Test
+    public void shouldResendAfterLastAcknowledgedOnOpen(){
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(LAST_ACKNOWLEDGED_PARAMETER, singletonList("5")));
+
+        endpoint.onOpen(session, "id");
+
+        verify(reSender).resend("id", 5);
+    }
+
+    @Test
+    public void shouldAcknowledgeResentMessage(){
+        endpoint.onMessage(ACKNOWLEDGEMENT_PREFIX + "7", "id");
+
+        verify(reSender).acknowledge("id", 7);
+        verify(receiver, never()).receive(anyString(), anyString());
+    }
+
     @Test
     public void shouldRunReceiveOnMessage(){
         endpoint.onMessage("message", "id");
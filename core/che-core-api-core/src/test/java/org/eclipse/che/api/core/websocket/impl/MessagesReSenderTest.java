@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -20,8 +19,12 @@ import org.testng.annotations.Test;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.RESENT_MESSAGE_PREFIX;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
@@ -29,6 +32,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Tests for {@link MessagesReSender}
@@ -42,7 +46,6 @@ public class MessagesReSenderTest {
 
     @Mock
     private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
     private MessagesReSender         reSender;
 
     @Mock
@@ -153,4 +156,90 @@ public class MessagesReSenderTest {
         verify(session, times(2)).getAsyncRemote();
         verify(endpoint, times(2)).sendText(MESSAGE);
     }
+
+    @Test
+    public void shouldEvictOldestMessagesWhenSizeLimitIsExceeded() {
+        reSender = new MessagesReSender(sessionRegistry, 10, 60_000);
+
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+        reSender.add(ENDPOINT_ID, "third");
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText("first");
+        verify(endpoint, never()).sendText("second");
+        verify(endpoint).sendText("third");
+    }
+
+    @Test
+    public void shouldEvictExpiredMessages() throws Exception {
+        reSender = new MessagesReSender(sessionRegistry, 1024, 0);
+
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        Thread.sleep(5);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText(MESSAGE);
+    }
+
+    @Test
+    public void shouldResendMessagesAfterLastAcknowledged() {
+        final long first = reSender.add(ENDPOINT_ID, "first");
+        final long second = reSender.add(ENDPOINT_ID, "second");
+
+        reSender.resend(ENDPOINT_ID, first);
+
+        verify(endpoint, never()).sendText(RESENT_MESSAGE_PREFIX + first + ":first");
+        verify(endpoint).sendText(RESENT_MESSAGE_PREFIX + second + ":second");
+    }
+
+    @Test
+    public void shouldKeepResentMessagesUntilAcknowledged() {
+        final long first = reSender.add(ENDPOINT_ID, "first");
+        final long second = reSender.add(ENDPOINT_ID, "second");
+
+        reSender.resend(ENDPOINT_ID, 0);
+        reSender.acknowledge(ENDPOINT_ID, first);
+        reSender.resend(ENDPOINT_ID, 0);
+
+        verify(endpoint, times(1)).sendText(RESENT_MESSAGE_PREFIX + first + ":first");
+        verify(endpoint, times(2)).sendText(RESENT_MESSAGE_PREFIX + second + ":second");
+    }
+
+    @Test
+    public void shouldDiscardAcknowledgedMessages() {
+        reSender.add(ENDPOINT_ID, "first");
+        final long second = reSender.add(ENDPOINT_ID, "second");
+        reSender.add(ENDPOINT_ID, "third");
+
+        reSender.acknowledge(ENDPOINT_ID, second);
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText("first");
+        verify(endpoint, never()).sendText("second");
+        verify(endpoint).sendText("third");
+    }
+
+    @Test
+    public void shouldKeepMessagesWhichSenderFailedToSend() {
+        final List<String> sent = new ArrayList<>();
+        reSender.setSender((endpointId, session, message, retained) -> {
+            if (!sent.isEmpty()) {
+                return false;
+            }
+            sent.add(message);
+            return true;
+        });
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+
+        reSender.resend(ENDPOINT_ID);
+        reSender.setSender((endpointId, session, message, retained) -> sent.add(message));
+        reSender.resend(ENDPOINT_ID);
+
+        assertEquals(sent, asList("first", "second"));
+        verify(endpoint, never()).sendText(anyString());
+    }
 }
@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 import javax.ws.rs.GET;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
@@ -39,6 +40,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
@@ -69,6 +71,8 @@ public class ETagResponseFilterTest {
     @Path("/myservice")
     public static class MyJaxRSService {
 
+        static final AtomicInteger versionedInvocations = new AtomicInteger();
+
         @GET
         @Path("/list")
         @Produces(APPLICATION_JSON)
@@ -84,6 +88,14 @@ public class ETagResponseFilterTest {
         }
 
 
+        @GET
+        @Path("/versioned/{id}")
+        @Produces(APPLICATION_JSON)
+        public String getVersioned(@PathParam("id") String id) {
+            versionedInvocations.incrementAndGet();
+            return "versioned " + id;
+        }
+
         @GET
         @Path("/modify")
         @Produces(APPLICATION_JSON)
@@ -114,6 +126,13 @@ public class ETagResponseFilterTest {
         final ApplicationProviderBinder providers = new ApplicationProviderBinder();
         providers.addExceptionMapper(ApiExceptionMapper.class);
         providers.addResponseFilter(ETagResponseFilter.class);
+        providers.addMethodInvokerFilter(new ETagMethodInvokerFilter(Collections.singleton((method, arguments) -> {
+            if ("getVersioned".equals(method.getName())) {
+                return "version-of-" + arguments[0];
+            }
+            return null;
+        })));
+        MyJaxRSService.versionedInvocations.set(0);
         final URI uri = new URI(BASE_URI);
         final ContainerRequest req = new ContainerRequest(null, uri, uri, null, null, null);
         final ApplicationContext contextImpl = anApplicationContext().withRequest(req).withProviders(providers).build();
@@ -222,4 +241,35 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if ETag given by provider is used instead of hash
+     */
+    @Test
+    public void useProvidedETag() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned/id1", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(response.getEntity(), "versioned id1");
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("version-of-id1"));
+    }
+
+    /**
+     * Check if ETag given by provider is redirecting to NOT_MODIFIED without invocation of resource method
+     */
+    @Test
+    public void useProvidedETagToSkipInvocationOfResourceMethod() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("version-of-id1").toString()));
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned/id1", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        Assert.assertNull(response.getEntity());
+        Assert.assertEquals(response.getHttpHeaders().getFirst("ETag"), new EntityTag("version-of-id1"));
+        Assert.assertEquals(MyJaxRSService.versionedInvocations.get(), 0);
+    }
+
 }
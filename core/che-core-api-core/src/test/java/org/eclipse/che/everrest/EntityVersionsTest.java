@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+/**
+ * Tests {@link EntityVersions}.
+ */
+public class EntityVersionsTest {
+
+    @Test
+    public void versionIsChangedOnlyByUpdate() {
+        final EntityVersions versions = new EntityVersions(10);
+        final String initial = versions.getVersion("id1");
+
+        assertEquals(versions.getVersion("id1"), initial);
+        versions.update("id1");
+
+        assertNotEquals(versions.getVersion("id1"), initial);
+        assertEquals(versions.getVersion("id2"), initial);
+    }
+
+    @Test
+    public void versionsAreNotReusedWhenTheyAreForgotten() {
+        final EntityVersions versions = new EntityVersions(2);
+        final String initial = versions.getVersion("id1");
+        versions.update("id1");
+        final String updated = versions.getVersion("id1");
+        versions.update("id2");
+
+        versions.update("id3");
+
+        assertNotEquals(versions.getVersion("id1"), initial);
+        assertNotEquals(versions.getVersion("id1"), updated);
+    }
+
+    @Test
+    public void versionsOfDifferentInstancesDoNotMatch() {
+        assertNotEquals(new EntityVersions(10).getVersion("id"), new EntityVersions(10).getVersion("id"));
+    }
+}
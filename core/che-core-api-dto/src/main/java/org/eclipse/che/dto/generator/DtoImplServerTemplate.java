@@ -11,6 +11,7 @@
 
 package org.eclipse.che.dto.generator;
 
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -40,6 +41,10 @@ public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+    private static final String DTO_TYPE_ADAPTER  = DtoTypeAdapter.class.getCanonicalName();
+
+    /** Name of the type adapter nested into each DTO implementation. */
+    static final String TYPE_ADAPTER = "GsonTypeAdapter";
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
         super(template, superInterface);
@@ -111,6 +116,7 @@ public class DtoImplServerTemplate extends DtoImpl {
                 }
             }
         }
+        emitTypeAdapter(getters, superGetterNames, builder);
         emitPostamble(builder);
         return builder.toString();
     }
@@ -331,6 +337,165 @@ public class DtoImplServerTemplate extends DtoImpl {
         return builder;
     }
 
+    /**
+     * Emits a static nested {@link DtoTypeAdapter} which reads and writes the fields declared by this implementation
+     * and delegates the fields of the super DTO to the adapter of the super implementation.
+     */
+    private void emitTypeAdapter(List<Method> getters, Set<String> superGetterNames, StringBuilder builder) {
+        final String implClassName = getImplClassName();
+        final List<Method> fieldGetters = new ArrayList<>();
+        for (Method getter : getters) {
+            if (!superGetterNames.contains(getter.getName())) {
+                fieldGetters.add(getter);
+            }
+        }
+        final String superAdapter = getSuperTypeAdapterName();
+
+        builder.append("    public static class ").append(TYPE_ADAPTER).append(" extends ").append(DTO_TYPE_ADAPTER)
+               .append("<").append(implClassName).append("> {\n");
+        if (superAdapter != null) {
+            builder.append("      private final ").append(superAdapter).append(" superAdapter;\n");
+        }
+        for (int i = 0; i < fieldGetters.size(); i++) {
+            final Type type = fieldGetters.get(i).getGenericReturnType();
+            if (!isStreamedDirectly(type)) {
+                builder.append("      private final TypeAdapter<").append(getImplName(type, false)).append("> adapter").append(i)
+                       .append(";\n");
+            }
+        }
+        builder.append("\n");
+
+        builder.append("      public ").append(TYPE_ADAPTER).append("(Gson gson) {\n");
+        builder.append("        super(gson);\n");
+        if (superAdapter != null) {
+            builder.append("        this.superAdapter = new ").append(superAdapter).append("(gson);\n");
+        }
+        for (int i = 0; i < fieldGetters.size(); i++) {
+            final Type type = fieldGetters.get(i).getGenericReturnType();
+            if (type instanceof ParameterizedType) {
+                builder.append("        this.adapter").append(i).append(" = gson.getAdapter(new TypeToken<")
+                       .append(getImplName(type, false)).append(">() {});\n");
+            } else if (!isStreamedDirectly(type)) {
+                builder.append("        this.adapter").append(i).append(" = gson.getAdapter(")
+                       .append(getImplName(type, false)).append(".class);\n");
+            }
+        }
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      protected ").append(implClassName).append(" newInstance() {\n");
+        builder.append("        return new ").append(implClassName).append("();\n");
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public void writeFields(JsonWriter out, ").append(implClassName).append(" value) throws java.io.IOException {\n");
+        for (int i = 0; i < fieldGetters.size(); i++) {
+            final Method getter = fieldGetters.get(i);
+            final String fieldName = getJavaFieldName(getter.getName());
+            builder.append("        out.name(\"").append(getJsonFieldName(getter)).append("\");\n");
+            emitWriteValue(getter.getGenericReturnType(), "value." + fieldName, "adapter" + i, builder);
+        }
+        if (superAdapter != null) {
+            builder.append("        superAdapter.writeFields(out, value);\n");
+        }
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public boolean readField(JsonReader in, String name, ").append(implClassName)
+               .append(" value) throws java.io.IOException {\n");
+        final String readSuperField = superAdapter != null ? "superAdapter.readField(in, name, value)" : "false";
+        if (fieldGetters.isEmpty()) {
+            builder.append("        return ").append(readSuperField).append(";\n");
+        } else {
+            builder.append("        switch (name) {\n");
+            for (int i = 0; i < fieldGetters.size(); i++) {
+                final Method getter = fieldGetters.get(i);
+                builder.append("          case \"").append(getJsonFieldName(getter)).append("\":\n");
+                emitReadValue(getter.getGenericReturnType(), "value." + getJavaFieldName(getter.getName()), "adapter" + i, builder);
+                builder.append("            return true;\n");
+            }
+            builder.append("          default:\n");
+            builder.append("            return ").append(readSuperField).append(";\n");
+            builder.append("        }\n");
+        }
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    private void emitWriteValue(Type type, String field, String adapter, StringBuilder builder) {
+        builder.append("        ");
+        if (type instanceof ParameterizedType) {
+            builder.append(adapter).append(".write(out, ").append(field).append(");\n");
+            return;
+        }
+        final Class<?> rawClass = (Class<?>)type;
+        final Class<?> wrapper = Primitives.wrap(rawClass);
+        if (wrapper == Double.class) {
+            builder.append("writeDouble(out, ").append(field).append(");\n");
+        } else if (wrapper == Float.class) {
+            builder.append("writeFloat(out, ").append(field).append(");\n");
+        } else if (wrapper == Character.class) {
+            builder.append("writeCharacter(out, ").append(field).append(");\n");
+        } else if (isStreamedDirectly(rawClass)) {
+            builder.append("out.value(").append(field).append(");\n");
+        } else {
+            // the adapter of the declared type is used when the value has expected runtime type
+            builder.append("writeValue(out, ").append(field).append(", ").append(getRuntimeClassName(rawClass))
+                   .append(".class, ").append(adapter).append(");\n");
+        }
+    }
+
+    private void emitReadValue(Type type, String field, String adapter, StringBuilder builder) {
+        builder.append("            ");
+        if (!isStreamedDirectly(type)) {
+            builder.append(field).append(" = ").append(adapter).append(".read(in);\n");
+            return;
+        }
+        final Class<?> rawClass = (Class<?>)type;
+        final String reader = "read" + Primitives.wrap(rawClass).getSimpleName() + "(in)";
+        if (rawClass.isPrimitive()) {
+            // json nulls do not reset primitive fields
+            builder.append("if (!skipNull(in)) {\n");
+            builder.append("              ").append(field).append(" = ").append(reader).append(";\n");
+            builder.append("            }\n");
+        } else {
+            builder.append(field).append(" = ").append(reader).append(";\n");
+        }
+    }
+
+    /** Tests whether values of given type are read and written without delegating to another type adapter. */
+    private static boolean isStreamedDirectly(Type type) {
+        if (!(type instanceof Class<?>) || type == void.class || type == Void.class) {
+            return false;
+        }
+        return type == String.class || Primitives.isWrapperType(Primitives.wrap((Class<?>)type));
+    }
+
+    /**
+     * Returns the name of the class of values which are serialized by the adapter of the given declared class,
+     * for the DTO interfaces it is the name of their implementations.
+     */
+    private String getRuntimeClassName(Class<?> declared) {
+        if (getEnclosingTemplate().isDtoInterface(declared)) {
+            return declared.getSimpleName() + "Impl";
+        }
+        final Class<?> impl = getEnclosingTemplate().getDtoImplementation(declared);
+        return impl != null ? impl.getCanonicalName() : getImplName(declared, false);
+    }
+
+    /** Returns the name of the type adapter of the super DTO implementation or null if the DTO doesn't have super DTO. */
+    private String getSuperTypeAdapterName() {
+        final Class<?> superType = getSuperDtoInterface(getDtoInterface());
+        if (superType == null || superType == JsonSerializable.class) {
+            return null;
+        }
+        final Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+        if (superTypeImpl == null) {
+            return superType.getSimpleName() + "Impl." + TYPE_ADAPTER;
+        }
+        return superTypeImpl.getCanonicalName() + '.' + TYPE_ADAPTER;
+    }
+
     private void emitPreamble(Class<?> dtoInterface, StringBuilder builder) {
         builder.append(SERVER_DTO_MARKER);
         builder.append("  public static class ");
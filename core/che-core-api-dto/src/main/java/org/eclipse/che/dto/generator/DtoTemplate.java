@@ -201,6 +201,10 @@ public class DtoTemplate {
             builder.append("import com.google.gson.JsonObject;\n");
             builder.append("import com.google.gson.JsonParser;\n");
             builder.append("import com.google.gson.JsonPrimitive;\n");
+            builder.append("import com.google.gson.TypeAdapter;\n");
+            builder.append("import com.google.gson.reflect.TypeToken;\n");
+            builder.append("import com.google.gson.stream.JsonReader;\n");
+            builder.append("import com.google.gson.stream.JsonWriter;\n");
             builder.append("\n");
             builder.append("import java.util.List;\n");
             builder.append("import java.util.Map;\n");
@@ -250,6 +254,10 @@ public class DtoTemplate {
                 builder.append("        }\n\n");
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
+                builder.append("        }\n\n");
+                builder.append("        public TypeAdapter<? extends ").append(dtoInterface).append("> createTypeAdapter(Gson gson) {\n")
+                       .append("            return new ").append(dto.getImplClassName()).append('.')
+                       .append(DtoImplServerTemplate.TYPE_ADAPTER).append("(gson);\n");
                 builder.append("        }\n");
                 builder.append("    });\n");
             }
@@ -96,10 +96,15 @@ public final class DtoFactory {
     // Additional mapping for implementation of DTO interfaces.
     // It helps avoid reflection when need create copy of exited DTO instance.
     private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers      = new ConcurrentHashMap<>();
-    private final Gson dtoGson = new GsonBuilder()
-            .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
-            .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
-            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+    private final Gson dtoGson = createGson(new GsonBuilder());
+
+    /** Registers type adapter factories of DTOs in the given builder and creates {@link Gson} with it. */
+    Gson createGson(GsonBuilder builder) {
+        return builder.registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
+                      .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
+                      .registerTypeAdapterFactory(new DtoInterfaceTAF())
+                      .create();
+    }
 
     /**
      * Created deep copy of DTO object.
@@ -425,7 +430,8 @@ public final class DtoFactory {
 
     /**
      * A specialization of Gson's {@link ReflectiveTypeAdapterFactory} delegates operation on DTO interfaces to the
-     * corresponding implementation classes. The implementation classes generated correctly by the DTO Gson.
+     * corresponding implementation classes. The implementation classes are serialized with the adapters generated
+     * for them, see {@link DtoProvider#createTypeAdapter(Gson)}, or reflectively if there is no generated adapter.
      * 
      * @author tareq.sha@gmail.com
      */
@@ -437,6 +443,10 @@ public final class DtoFactory {
             if (prov != null) {
                 return (TypeAdapter<T>) gson.getAdapter(prov.getImplClass());
             }
+            prov = dtoImpl2Providers.get(type.getRawType());
+            if (prov != null && prov.getImplClass() == type.getRawType()) {
+                return (TypeAdapter<T>) prov.createTypeAdapter(gson);
+            }
             return null;
         }
     }
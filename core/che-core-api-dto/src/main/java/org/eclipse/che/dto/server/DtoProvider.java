@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -27,4 +29,15 @@ public interface DtoProvider<DTO> {
     DTO newInstance();
 
     DTO clone(DTO origin);
+
+    /**
+     * Creates an adapter which reads and writes {@link #getImplClass() implementation} of DTO without reflection.
+     * Returns {@code null} by default, in this case implementation is serialized by Gson's reflective adapter.
+     *
+     * @param gson
+     *         Gson instance which provides adapters for the fields of DTO
+     */
+    default TypeAdapter<? extends DTO> createTypeAdapter(Gson gson) {
+        return null;
+    }
 }
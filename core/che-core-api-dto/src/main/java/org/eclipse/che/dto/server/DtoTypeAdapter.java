@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Base class for the type adapters generated for DTO implementations.
+ *
+ * <p>Generated adapters read and write fields of DTO implementations directly with {@link JsonReader} and
+ * {@link JsonWriter}, avoiding reflective access to fields and intermediate json trees. Reading and writing
+ * of values is compatible with Gson's reflective adapters: fields are written in the same order, json nulls
+ * are ignored for primitive fields and unknown properties are skipped.
+ *
+ * @param <T>
+ *         type of DTO implementation
+ * @see DtoProvider#createTypeAdapter(Gson)
+ */
+public abstract class DtoTypeAdapter<T> extends TypeAdapter<T> {
+    protected final Gson gson;
+
+    protected DtoTypeAdapter(Gson gson) {
+        this.gson = gson;
+    }
+
+    /** Creates an empty DTO implementation instance to read fields into. */
+    protected abstract T newInstance();
+
+    /** Writes names and values of all the fields of the given DTO, including the fields of its super DTOs. */
+    public abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+    /**
+     * Reads the value of the field with the given json name into the given DTO.
+     *
+     * @return true if the field is known and its value is read, false if the value is not consumed
+     */
+    public abstract boolean readField(JsonReader in, String name, T value) throws IOException;
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final T value = newInstance();
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!readField(in, in.nextName(), value)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return value;
+    }
+
+    /**
+     * Writes value with the adapter of its runtime type as Gson does for fields which type is a class,
+     * e.g. fields of DTO type may contain implementations of sub DTOs.
+     *
+     * @param adapter
+     *         adapter of the declared field type
+     * @param type
+     *         expected runtime type of the value, for which the given adapter is used
+     */
+    @SuppressWarnings("unchecked")
+    protected final <V> void writeValue(JsonWriter out, V value, Class<?> type, TypeAdapter<V> adapter) throws IOException {
+        if (value == null || value.getClass() == type) {
+            adapter.write(out, value);
+        } else {
+            ((TypeAdapter<V>)gson.getAdapter(value.getClass())).write(out, value);
+        }
+    }
+
+    protected static void writeDouble(JsonWriter out, Double value) throws IOException {
+        if (value != null && (value.isNaN() || value.isInfinite())) {
+            throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification.");
+        }
+        out.value(value);
+    }
+
+    protected static void writeFloat(JsonWriter out, Float value) throws IOException {
+        if (value != null && (value.isNaN() || value.isInfinite())) {
+            throw new IllegalArgumentException(value + " is not a valid float value as per JSON specification.");
+        }
+        out.value(value);
+    }
+
+    protected static void writeCharacter(JsonWriter out, Character value) throws IOException {
+        out.value(value == null ? null : String.valueOf(value));
+    }
+
+    /** Consumes json null if it is the next token, returns true if null is consumed. */
+    protected static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    protected static String readString(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    protected static Boolean readBoolean(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    protected static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static Short readShort(JsonReader in) throws IOException {
+        final Integer value = readInteger(in);
+        return value == null ? null : value.shortValue();
+    }
+
+    protected static Byte readByte(JsonReader in) throws IOException {
+        final Integer value = readInteger(in);
+        return value == null ? null : value.byteValue();
+    }
+
+    protected static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static Double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextDouble();
+    }
+
+    protected static Float readFloat(JsonReader in) throws IOException {
+        final Double value = readDouble(in);
+        return value == null ? null : value.floatValue();
+    }
+
+    protected static Character readCharacter(JsonReader in) throws IOException {
+        final String value = readString(in);
+        if (value == null) {
+            return null;
+        }
+        if (value.length() != 1) {
+            throw new JsonSyntaxException("Expecting character, got: " + value);
+        }
+        return value.charAt(0);
+    }
+}
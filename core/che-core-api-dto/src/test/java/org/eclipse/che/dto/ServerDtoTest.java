@@ -28,6 +28,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -174,6 +175,39 @@ public class ServerDtoTest {
         dtoFactory.toJson(dto1);
     }
 
+    @Test
+    public void shouldSerializeDtoImplementationsWithGeneratedTypeAdapters() throws Exception {
+        SimpleDto dto = dtoFactory.createDto(SimpleDto.class);
+
+        assertTrue(dtoFactory.getGson().getAdapter(dto.getClass()) instanceof DtoTypeAdapter);
+        assertTrue(dtoFactory.getGson().getAdapter(SimpleDto.class) instanceof DtoTypeAdapter);
+    }
+
+    @Test
+    public void generatedTypeAdaptersShouldWriteSameJsonAsReflectiveGson() throws Exception {
+        GrandchildDto shadowed = dtoFactory.createDto(GrandchildDto.class);
+        shadowed.setDtoField("shadowed-dto-field");
+        GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+        dto.setDtoField("dto-field");
+        dto.setChildField("child-field");
+        dto.setParentField("parent-field");
+        dto.setShadowedField(shadowed);
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+
+        assertEquals(dtoFactory.toJson(dto), new Gson().toJson(dto));
+        assertEquals(dtoFactory.toJson(simpleDto), new Gson().toJson(simpleDto));
+    }
+
+    @Test
+    public void generatedTypeAdaptersShouldSkipUnknownPropertiesAndIgnoreNullsOfPrimitiveFields() throws Exception {
+        SimpleDto dto = dtoFactory.createDtoFromJson("{\"name\":\"name\",\"id\":null,\"unknown\":{\"a\":[1,2]},\"default\":\"d\"}",
+                                                     SimpleDto.class);
+
+        assertEquals(dto.getName(), "name");
+        assertEquals(dto.getId(), 0);
+        assertEquals(dto.getDefault(), "d");
+    }
+
     /** Intentionally call several times to ensure non-reference equality */
     private static JsonElement createTestValueForAny() {
         return new JsonParser().parse("{a:100,b:{c:'blah'}}");
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
+import org.eclipse.che.dto.definitions.DtoWithAny;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests that DTOs with generated {@link DtoTypeAdapter} are serialized and deserialized
+ * without Gson's reflective type adapters.
+ */
+public class DtoTypeAdapterTest {
+    private final DtoFactory dtoFactory = DtoFactory.getInstance();
+
+    private Gson gson;
+
+    @BeforeMethod
+    public void setUp() {
+        // Gson translates names of fields only when it creates a reflective type adapter
+        gson = dtoFactory.createGson(new GsonBuilder().setFieldNamingStrategy(field -> {
+            throw new AssertionError("Reflective type adapter is created for " + field.getDeclaringClass());
+        }));
+    }
+
+    @Test
+    public void shouldWriteAndReadDtoWithNestedDtosWithoutReflectiveAdapters() {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", "b"))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                             .withMap(singletonMap("key", simpleDto))
+                                             .withSimpleDtos(singletonList(simpleDto))
+                                             .withArrayOfArrayOfEnum(singletonList(singletonList(ComplicatedDto.SimpleEnum.ONE)));
+
+        final String json = gson.toJson(dto);
+
+        assertEquals(json, dtoFactory.toJson(dto));
+        assertEquals(gson.fromJson(json, ComplicatedDto.class), dto);
+    }
+
+    @Test
+    public void shouldWriteAndReadFieldsOfSuperDtosWithoutReflectiveAdapters() {
+        final GrandchildDto shadowed = dtoFactory.createDto(GrandchildDto.class);
+        shadowed.setDtoField("shadowed");
+        final GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+        dto.setDtoField("dto-field");
+        dto.setChildField("child-field");
+        dto.setParentField("parent-field");
+        dto.setShadowedField(shadowed);
+
+        final String json = gson.toJson(dto);
+
+        assertEquals(json, dtoFactory.toJson(dto));
+        assertEquals(gson.toJson(gson.fromJson(json, GrandchildDto.class)), json);
+    }
+
+    @Test
+    public void shouldWriteAndReadAnyValuesWithoutReflectiveAdapters() {
+        final DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class)
+                                         .withStuff(new JsonParser().parse("{\"a\":100,\"b\":{\"c\":\"blah\"}}"))
+                                         .withObjects(singletonList(new JsonParser().parse("{\"x\":1}")));
+
+        final String json = gson.toJson(dto);
+
+        assertEquals(json, dtoFactory.toJson(dto));
+        // numbers of 'any' values are read as doubles as Gson does
+        assertEquals(new JsonParser().parse(gson.toJson(gson.fromJson(json, DtoWithAny.class))), new JsonParser().parse(json));
+    }
+}
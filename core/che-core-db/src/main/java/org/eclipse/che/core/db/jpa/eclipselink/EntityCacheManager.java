@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures the EclipseLink shared (second-level) entity cache.
+ *
+ * <p>Entities read by id are served from the shared cache, when the cache is
+ * disabled with {@code db.jpa.cache.enabled=false} every read goes to the database.
+ * Cached entities expire after {@code db.jpa.cache.expiry_ms} milliseconds.
+ *
+ * <p>Changes committed on this node update the local cache by EclipseLink itself.
+ * Nodes sharing the same database don't notify each other about the changes,
+ * so the expiry time is the only bound of staleness of the entities modified
+ * by the other nodes.
+ *
+ * <p>Cache hits and misses are counted per entity class, see {@link #getStatistics()},
+ * and logged every {@code db.jpa.cache.statistics_log_period_min} minutes.
+ */
+@Singleton
+public class EntityCacheManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheManager.class);
+
+    private final EntityManagerFactory emFactory;
+    private final boolean              enabled;
+    private final long                 expiryMs;
+    private final EntityCacheProfiler  profiler;
+
+    @Inject
+    public EntityCacheManager(@SuppressWarnings("unused") DBInitializer dbInitializer,
+                              EntityManagerFactory emFactory,
+                              @Named("db.jpa.cache.enabled") boolean enabled,
+                              @Named("db.jpa.cache.expiry_ms") long expiryMs) {
+        this.emFactory = emFactory;
+        this.enabled = enabled;
+        this.expiryMs = expiryMs;
+        this.profiler = new EntityCacheProfiler();
+    }
+
+    @PostConstruct
+    public void configure() {
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+            // embeddables are cached as a part of their owners
+            if (descriptor.isAggregateDescriptor()) {
+                continue;
+            }
+            if (!enabled) {
+                descriptor.setShouldDisableCacheHits(true);
+                descriptor.setShouldAlwaysRefreshCache(true);
+                // the query used by find() is already prepared, so it doesn't take the settings above into account
+                final ReadObjectQuery findQuery = descriptor.getQueryManager().getReadObjectQuery();
+                if (findQuery != null) {
+                    findQuery.dontCheckCache();
+                    findQuery.refreshIdentityMapResult();
+                }
+            } else if (expiryMs > 0) {
+                descriptor.setCacheInvalidationPolicy(new TimeToLiveCacheInvalidationPolicy(expiryMs));
+            }
+        }
+        session.setProfiler(profiler);
+        LOG.info("Shared entity cache is {}, entities expire in {} ms",
+                 enabled ? "enabled" : "disabled",
+                 expiryMs > 0 ? expiryMs : "never");
+    }
+
+    @PreDestroy
+    public void stop() {
+        logStatistics();
+    }
+
+    /** Logs cache hits and misses of the entity classes read so far. */
+    @ScheduleRate(initialDelayParameterName = "db.jpa.cache.statistics_log_period_min",
+                  periodParameterName = "db.jpa.cache.statistics_log_period_min",
+                  unit = TimeUnit.MINUTES)
+    public void logStatistics() {
+        if (!enabled) {
+            return;
+        }
+        for (EntityCacheStatistics statistics : getStatistics()) {
+            LOG.info("Shared cache of '{}': {} hits, {} misses, hit ratio {}",
+                     statistics.getEntityClass(),
+                     statistics.getHits(),
+                     statistics.getMisses(),
+                     String.format("%.2f", statistics.getHitRatio()));
+        }
+    }
+
+    /** Returns true if entities are served from the shared cache. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns cache hits and misses of the entity classes read so far. */
+    public List<EntityCacheStatistics> getStatistics() {
+        return profiler.getStatistics();
+    }
+
+    /** Evicts the entity from the shared cache of this node. */
+    public void evict(Class<?> entityClass, Object id) {
+        emFactory.getCache().evict(entityClass, id);
+    }
+
+    /** Evicts all the entities of the given class from the shared cache of this node. */
+    public void evictAll(Class<?> entityClass) {
+        emFactory.getCache().evict(entityClass);
+    }
+
+    /** Evicts all the entities from the shared cache of this node. */
+    public void evictAll() {
+        emFactory.getCache().evictAll();
+    }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Counts shared cache hits and misses reported by EclipseLink per entity class,
+ * all the other profiling operations are ignored.
+ */
+class EntityCacheProfiler extends SessionProfilerAdapter {
+
+    private final Map<Class<?>, Counters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        if (query == null || query.getReferenceClass() == null) {
+            return;
+        }
+        if (SessionProfiler.CacheHits.equals(operationName)) {
+            counters.computeIfAbsent(query.getReferenceClass(), type -> new Counters()).hits.increment();
+        } else if (SessionProfiler.CacheMisses.equals(operationName)) {
+            counters.computeIfAbsent(query.getReferenceClass(), type -> new Counters()).misses.increment();
+        }
+    }
+
+    @Override
+    public int getProfileWeight() {
+        // the lowest weight which still makes sessions report cache hits and misses
+        return SessionProfiler.NORMAL;
+    }
+
+    /** Returns statistics of the entity classes which were read at least once. */
+    List<EntityCacheStatistics> getStatistics() {
+        return counters.entrySet()
+                       .stream()
+                       .map(e -> new EntityCacheStatistics(e.getKey().getName(),
+                                                           e.getValue().hits.sum(),
+                                                           e.getValue().misses.sum()))
+                       .collect(toList());
+    }
+
+    private static class Counters {
+        final LongAdder hits   = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+/**
+ * Hits and misses of the shared cache for the entities of one class.
+ */
+public class EntityCacheStatistics {
+
+    private final String entityClass;
+    private final long   hits;
+    private final long   misses;
+
+    public EntityCacheStatistics(String entityClass, long hits, long misses) {
+        this.entityClass = entityClass;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /** Returns fully qualified name of the entity class. */
+    public String getEntityClass() {
+        return entityClass;
+    }
+
+    /** Returns number of the entities read from the shared cache. */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Returns number of the entities which were not found in the cache and read from the database. */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Returns part of the reads served by the cache, 0 if there were no reads. */
+    public double getHitRatio() {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheStatistics{" +
+               "entityClass='" + entityClass + '\'' +
+               ", hits=" + hits +
+               ", misses=" + misses +
+               '}';
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests {@link EntityCacheManager}.
+ */
+public class EntityCacheManagerTest {
+
+    private EntityManagerFactory emFactory;
+    private EntityCacheManager   cacheManager;
+
+    @AfterMethod
+    public void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.stop();
+        }
+        if (emFactory != null) {
+            emFactory.close();
+        }
+    }
+
+    @Test
+    public void shouldServeEntitiesFromCacheWhenEnabled() {
+        createCacheManager(true, 0);
+        persist(new CachedEntity("id1", "value"));
+
+        updateInDatabase("id1", "changed");
+
+        assertEquals(find("id1").getValue(), "value");
+    }
+
+    @Test
+    public void shouldReadEntitiesFromDatabaseWhenCacheIsDisabled() {
+        createCacheManager(false, 0);
+        persist(new CachedEntity("id1", "value"));
+
+        updateInDatabase("id1", "changed");
+
+        assertFalse(cacheManager.isEnabled());
+        assertEquals(find("id1").getValue(), "changed");
+    }
+
+    @Test
+    public void shouldReadEntitiesFromDatabaseWhenCachedEntitiesExpire() throws Exception {
+        createCacheManager(true, 100);
+        persist(new CachedEntity("id1", "value"));
+        updateInDatabase("id1", "changed");
+        assertEquals(find("id1").getValue(), "value");
+
+        Thread.sleep(200);
+
+        assertEquals(find("id1").getValue(), "changed");
+    }
+
+    @Test
+    public void shouldCountCacheHitsAndMisses() {
+        createCacheManager(true, 0);
+        persist(new CachedEntity("id1", "value"));
+        cacheManager.evictAll();
+
+        find("id1");
+        find("id1");
+        find("id1");
+
+        final List<EntityCacheStatistics> statistics = cacheManager.getStatistics();
+        assertEquals(statistics.size(), 1);
+        assertEquals(statistics.get(0).getEntityClass(), CachedEntity.class.getName());
+        assertEquals(statistics.get(0).getMisses(), 1);
+        assertEquals(statistics.get(0).getHits(), 2);
+        assertEquals(statistics.get(0).getHitRatio(), 2 / 3D, 0.001);
+    }
+
+    private void createCacheManager(boolean enabled, long expiryMs) {
+        final String name = NameGenerator.generate("cache", 8);
+        emFactory = Persistence.createEntityManagerFactory("cache-test",
+                                                           ImmutableMap.of("javax.persistence.jdbc.url", "jdbc:h2:mem:" + name,
+                                                                           "eclipselink.session-name", name));
+        cacheManager = new EntityCacheManager(null, emFactory, enabled, expiryMs);
+        cacheManager.configure();
+    }
+
+    private void persist(CachedEntity entity) {
+        final EntityManager em = emFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(entity);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    /** Updates the entity bypassing the shared cache, as if it was updated by another node. */
+    private void updateInDatabase(String id, String value) {
+        final EntityManager em = emFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("UPDATE cached_entity SET value = ? WHERE id = ?")
+              .setParameter(1, value)
+              .setParameter(2, id)
+              .executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private CachedEntity find(String id) {
+        final EntityManager em = emFactory.createEntityManager();
+        try {
+            return em.find(CachedEntity.class, id);
+        } finally {
+            em.close();
+        }
+    }
+}
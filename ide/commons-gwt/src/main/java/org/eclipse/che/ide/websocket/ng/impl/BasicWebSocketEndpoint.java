@@ -22,15 +22,32 @@ import javax.inject.Singleton;
  */
 @Singleton
 public class BasicWebSocketEndpoint implements WebSocketEndpoint {
+    /**
+     * Prefix of a frame with a message re-sent by the server, must be the same as on the server side
+     */
+    private static final String RESENT_MESSAGE_PREFIX  = "resent:";
+    /**
+     * Prefix of a frame acknowledging a re-sent message, must be the same as on the server side
+     */
+    private static final String ACKNOWLEDGEMENT_PREFIX = "ack:";
+
     private final WebSocketConnectionSustainer sustainer;
     private final MessagesReSender             reSender;
     private final WebSocketDispatcher          dispatcher;
+    private final WebSocketPropertyManager     propertyManager;
+    private final WebSocketConnectionManager   connectionManager;
 
     @Inject
-    public BasicWebSocketEndpoint(WebSocketConnectionSustainer sustainer, MessagesReSender reSender, WebSocketDispatcher dispatcher) {
+    public BasicWebSocketEndpoint(WebSocketConnectionSustainer sustainer,
+                                  MessagesReSender reSender,
+                                  WebSocketDispatcher dispatcher,
+                                  WebSocketPropertyManager propertyManager,
+                                  WebSocketConnectionManager connectionManager) {
         this.sustainer = sustainer;
         this.reSender = reSender;
         this.dispatcher = dispatcher;
+        this.propertyManager = propertyManager;
+        this.connectionManager = connectionManager;
     }
 
     @Override
@@ -57,6 +74,36 @@ public class BasicWebSocketEndpoint implements WebSocketEndpoint {
     public void onMessage(String url, String message) {
         Log.debug(getClass(), "Message received: " + message);
 
-        dispatcher.dispatch(url, message);
+        if (message.startsWith(RESENT_MESSAGE_PREFIX)) {
+            onResentMessage(url, message);
+        } else {
+            dispatcher.dispatch(url, message);
+        }
+    }
+
+    /**
+     * Handles a message re-sent by the server after reconnection, the frame is
+     * {@code resent:<sequence number>:<message>}. The message is dispatched and
+     * acknowledged, so the server discards it and doesn't re-send it again.
+     */
+    private void onResentMessage(String url, String message) {
+        final int separator = message.indexOf(':', RESENT_MESSAGE_PREFIX.length());
+        final long sequenceNumber;
+        try {
+            if (separator < 0) {
+                throw new NumberFormatException();
+            }
+            sequenceNumber = Long.parseLong(message.substring(RESENT_MESSAGE_PREFIX.length(), separator));
+        } catch (NumberFormatException e) {
+            Log.warn(getClass(), "Malformed re-sent message: " + message);
+            dispatcher.dispatch(url, message);
+            return;
+        }
+
+        if (sequenceNumber > propertyManager.getLastAcknowledged(url)) {
+            dispatcher.dispatch(url, message.substring(separator + 1));
+            propertyManager.setLastAcknowledged(url, sequenceNumber);
+        }
+        connectionManager.sendMessage(url, ACKNOWLEDGEMENT_PREFIX + sequenceNumber);
     }
 }
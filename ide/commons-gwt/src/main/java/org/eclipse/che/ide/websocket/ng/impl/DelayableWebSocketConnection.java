@@ -17,6 +17,8 @@ import org.eclipse.che.ide.util.loging.Log;
 
 import javax.inject.Inject;
 
+import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.LAST_ACKNOWLEDGED;
+
 /**
  * Web socket connection that can be established or reestablished with a delay
  *
@@ -40,15 +42,16 @@ public class DelayableWebSocketConnection implements WebSocketConnection {
     @Override
     public void open() {
         final int delay = propertyManager.getConnectionDelay(url);
+        final String connectionUrl = getConnectionUrl();
 
         if (isClosed() || isClosing()) {
             if (delay == 0) {
-                webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, endpoint);
+                webSocketJsoWrapper = WebSocketJsoWrapper.connect(connectionUrl, url, endpoint);
             } else {
                 new Timer() {
                     @Override
                     public void run() {
-                        webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, endpoint);
+                        webSocketJsoWrapper = WebSocketJsoWrapper.connect(connectionUrl, url, endpoint);
                     }
                 }.schedule(delay);
             }
@@ -57,6 +60,16 @@ public class DelayableWebSocketConnection implements WebSocketConnection {
         }
     }
 
+    /**
+     * Appends the sequence number of the last acknowledged message to the url, so the
+     * server re-sends only the messages the client has not received yet.
+     */
+    private String getConnectionUrl() {
+        final long lastAcknowledged = propertyManager.getLastAcknowledged(url);
+
+        return url + (url.contains("?") ? '&' : '?') + LAST_ACKNOWLEDGED + '=' + lastAcknowledged;
+    }
+
     @Override
     public void close() {
         if (isOpen()) {
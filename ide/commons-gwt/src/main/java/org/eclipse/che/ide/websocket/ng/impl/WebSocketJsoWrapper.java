@@ -21,8 +21,8 @@ public class WebSocketJsoWrapper extends JavaScriptObject {
     protected WebSocketJsoWrapper() {
     }
 
-    public static native WebSocketJsoWrapper connect(String url, WebSocketEndpoint endpoint) /*-{
-        var webSocket = new WebSocket(url);
+    public static native WebSocketJsoWrapper connect(String connectionUrl, String url, WebSocketEndpoint endpoint) /*-{
+        var webSocket = new WebSocket(connectionUrl);
         webSocket.onopen = function () {
             endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onOpen(Ljava/lang/String;)(url);
         };
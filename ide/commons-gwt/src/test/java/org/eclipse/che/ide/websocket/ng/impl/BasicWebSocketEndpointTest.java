@@ -20,7 +20,10 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link BasicWebSocketEndpoint}
@@ -35,6 +38,10 @@ public class BasicWebSocketEndpointTest {
     private  MessagesReSender             reSender;
     @Mock
     private  WebSocketDispatcher          dispatcher;
+    @Mock
+    private  WebSocketPropertyManager     propertyManager;
+    @Mock
+    private  WebSocketConnectionManager   connectionManager;
     @InjectMocks
     private BasicWebSocketEndpoint        endpoint;
 
@@ -66,4 +73,25 @@ public class BasicWebSocketEndpointTest {
         verify(dispatcher).dispatch("url", "message");
     }
 
+    @Test
+    public void shouldDispatchAndAcknowledgeResentMessage(){
+        when(propertyManager.getLastAcknowledged("url")).thenReturn(4L);
+
+        endpoint.onMessage("url", "resent:5:message:with:colons");
+
+        verify(dispatcher).dispatch("url", "message:with:colons");
+        verify(propertyManager).setLastAcknowledged("url", 5);
+        verify(connectionManager).sendMessage("url", "ack:5");
+    }
+
+    @Test
+    public void shouldOnlyAcknowledgeAlreadyReceivedResentMessage(){
+        when(propertyManager.getLastAcknowledged("url")).thenReturn(5L);
+
+        endpoint.onMessage("url", "resent:5:message");
+
+        verify(dispatcher, never()).dispatch(anyString(), anyString());
+        verify(connectionManager).sendMessage("url", "ack:5");
+    }
+
 }
@@ -57,6 +57,24 @@ public class WebSocketPropertyManagerTest {
         assertEquals(0, attempts);
     }
 
+    @Test
+    public void shouldInitializeDefaultLastAcknowledgedOnInitialize() {
+        propertyManager.initializeConnection("url");
+
+        final long lastAcknowledged = propertyManager.getLastAcknowledged("url");
+
+        assertEquals(0, lastAcknowledged);
+    }
+
+    @Test
+    public void shouldSetLastAcknowledged() {
+        propertyManager.initializeConnection("url");
+
+        propertyManager.setLastAcknowledged("url", 5);
+
+        assertEquals(5, propertyManager.getLastAcknowledged("url"));
+    }
+
     @Test
     public void shouldInitializeDefaultUrlOnInitialize() {
         propertyManager.initializeConnection("url");
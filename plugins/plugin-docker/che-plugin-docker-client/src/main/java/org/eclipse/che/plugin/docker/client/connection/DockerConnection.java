@@ -32,6 +32,7 @@ public abstract class DockerConnection implements Closeable {
     private Entity<?> entity;
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
+    private boolean               retryable;
 
     public DockerConnection method(String method) {
         this.method = method;
@@ -91,6 +92,22 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /**
+     * Marks the request as safe to be sent again even if its method is not idempotent, e.g. POST which only reads data.
+     * Connection which reuses sockets may send such request once more when the reused socket
+     * turns out to be closed by docker API before any byte of response is received.
+     * Requests with GET, HEAD, PUT, DELETE and OPTIONS methods are considered retryable anyway.
+     */
+    public DockerConnection retryable() {
+        this.retryable = true;
+        return this;
+    }
+
+    /** Whether the request is marked with {@link #retryable()}. */
+    protected boolean isRetryable() {
+        return retryable;
+    }
+
     public DockerResponse request() throws IOException {
         return request(method, path, query.toString(), headers, entity);
     }
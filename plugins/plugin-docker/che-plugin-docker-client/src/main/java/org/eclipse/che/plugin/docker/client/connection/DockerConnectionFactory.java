@@ -51,4 +51,16 @@ public class DockerConnectionFactory {
             return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
         }
     }
+
+    protected int getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    protected int getConnectionReadTimeoutMs() {
+        return connectionReadTimeoutMs;
+    }
+
+    protected DockerCertificates getDockerCertificates() {
+        return dockerCertificates;
+    }
 }
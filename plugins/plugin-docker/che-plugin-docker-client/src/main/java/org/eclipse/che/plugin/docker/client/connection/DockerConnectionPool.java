@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps connections to docker API open between requests, so subsequent
+ * requests to the same docker API (route) don't pay for connection establishing.
+ *
+ * <p>Not more than {@code maxPerRoute} connections are kept open for a single route.
+ * When all of them are in use a new connection is still opened, so long running
+ * requests such as events or logs streaming never block other requests,
+ * but such a connection is closed as soon as the request is completed.
+ *
+ * <p>Idle connections are closed after {@code idleTimeoutMs}.
+ *
+ * @see PooledDockerConnectionFactory
+ */
+public class DockerConnectionPool {
+
+    /** Opens a new socket when there is no idle one. */
+    interface SocketOpener {
+        DockerSocket open() throws IOException;
+    }
+
+    private final ConcurrentMap<String, Route> routes;
+    private final int                          maxPerRoute;
+    private final long                         idleTimeoutMs;
+    private final ScheduledExecutorService     evictor;
+
+    private volatile boolean isShutdown;
+
+    public DockerConnectionPool(int maxPerRoute, long idleTimeoutMs) {
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.routes = new ConcurrentHashMap<>();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("DockerConnectionPoolEvictor-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+        final long evictionPeriodMs = Math.max(1000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionPeriodMs, evictionPeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns idle socket of the given route if there is one, otherwise opens a new socket.
+     * Acquired socket must be {@link #release(DockerSocket, boolean) released}.
+     *
+     * @throws IOException
+     *         when socket can't be opened
+     */
+    DockerSocket acquire(String routeKey, SocketOpener opener) throws IOException {
+        if (isShutdown) {
+            throw new IOException("Docker connection pool is shut down");
+        }
+        final Route route = routes.computeIfAbsent(routeKey, Route::new);
+        final long now = System.currentTimeMillis();
+        for (DockerSocket idle = route.pollIdle(); idle != null; idle = route.pollIdle()) {
+            if (now - idle.getLastUsed() < idleTimeoutMs && !idle.isStale()) {
+                route.leased(idle);
+                return idle;
+            }
+            route.evicted(idle);
+            idle.close();
+        }
+
+        final boolean pooled = route.reserve(maxPerRoute);
+        final DockerSocket socket;
+        try {
+            socket = opener.open();
+        } catch (IOException | RuntimeException e) {
+            route.openFailed(pooled);
+            throw e;
+        }
+        socket.setPooled(pooled);
+        route.opened(socket);
+        return socket;
+    }
+
+    /**
+     * Returns socket to the pool.
+     *
+     * @param socket
+     *         socket acquired from this pool
+     * @param reusable
+     *         whether the socket may be used for the next request,
+     *         if false the socket is closed
+     */
+    void release(DockerSocket socket, boolean reusable) {
+        final Route route = routes.get(socket.getRoute());
+        if (route == null || !route.released(socket, reusable && !isShutdown)) {
+            socket.close();
+        }
+    }
+
+    /** Returns statistics of connections of each route, mapped by route. */
+    public Map<String, DockerConnectionPoolStatistics> getStatistics() {
+        final Map<String, DockerConnectionPoolStatistics> statistics = new HashMap<>();
+        for (Route route : routes.values()) {
+            statistics.put(route.key, route.getStatistics());
+        }
+        return statistics;
+    }
+
+    /** Closes all the idle connections and stops pooling of connections. */
+    public void shutdown() {
+        isShutdown = true;
+        evictor.shutdownNow();
+        for (Route route : routes.values()) {
+            for (DockerSocket socket : route.evictIdle(Long.MAX_VALUE)) {
+                socket.close();
+            }
+        }
+    }
+
+    private void evictIdle() {
+        final long idleSince = System.currentTimeMillis() - idleTimeoutMs;
+        for (Route route : routes.values()) {
+            for (DockerSocket socket : route.evictIdle(idleSince)) {
+                socket.close();
+            }
+        }
+    }
+
+    /** Connections of a single docker API, guarded by its own monitor. */
+    private static class Route {
+        final String              key;
+        final Deque<DockerSocket> idle;
+
+        int  open;
+        int  leased;
+        long created;
+        long reused;
+        long overflow;
+        long evicted;
+        long discarded;
+
+        Route(String key) {
+            this.key = key;
+            this.idle = new ArrayDeque<>();
+        }
+
+        /** Most recently used sockets go first, so the rest get idle and evicted. */
+        synchronized DockerSocket pollIdle() {
+            return idle.pollFirst();
+        }
+
+        synchronized void leased(DockerSocket socket) {
+            socket.setReused(true);
+            leased++;
+            reused++;
+        }
+
+        synchronized void evicted(DockerSocket socket) {
+            open--;
+            evicted++;
+        }
+
+        /** Returns true if one more pooled socket may be opened. */
+        synchronized boolean reserve(int maxPerRoute) {
+            if (open < maxPerRoute) {
+                open++;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void openFailed(boolean pooled) {
+            if (pooled) {
+                open--;
+            }
+        }
+
+        synchronized void opened(DockerSocket socket) {
+            leased++;
+            if (socket.isPooled()) {
+                created++;
+            } else {
+                overflow++;
+            }
+        }
+
+        /** Returns true if the socket is kept for further requests, false if it must be closed. */
+        synchronized boolean released(DockerSocket socket, boolean reusable) {
+            leased--;
+            if (!socket.isPooled()) {
+                return false;
+            }
+            if (reusable) {
+                socket.setLastUsed(System.currentTimeMillis());
+                idle.addFirst(socket);
+                return true;
+            }
+            open--;
+            discarded++;
+            return false;
+        }
+
+        /** Removes and returns sockets which are idle since the given time. */
+        synchronized List<DockerSocket> evictIdle(long idleSince) {
+            final List<DockerSocket> evictedSockets = new ArrayList<>();
+            while (!idle.isEmpty() && idle.peekLast().getLastUsed() <= idleSince) {
+                evictedSockets.add(idle.pollLast());
+                open--;
+                evicted++;
+            }
+            return evictedSockets;
+        }
+
+        synchronized DockerConnectionPoolStatistics getStatistics() {
+            return new DockerConnectionPoolStatistics(leased,
+                                                      idle.size(),
+                                                      created,
+                                                      reused,
+                                                      overflow,
+                                                      evicted,
+                                                      discarded);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of metrics of connections to a single docker API kept by {@link DockerConnectionPool}.
+ */
+public class DockerConnectionPoolStatistics {
+    private final int  leased;
+    private final int  idle;
+    private final long created;
+    private final long reused;
+    private final long overflow;
+    private final long evicted;
+    private final long discarded;
+
+    public DockerConnectionPoolStatistics(int leased,
+                                          int idle,
+                                          long created,
+                                          long reused,
+                                          long overflow,
+                                          long evicted,
+                                          long discarded) {
+        this.leased = leased;
+        this.idle = idle;
+        this.created = created;
+        this.reused = reused;
+        this.overflow = overflow;
+        this.evicted = evicted;
+        this.discarded = discarded;
+    }
+
+    /** Returns the number of connections which are in use at the moment. */
+    public int getLeased() {
+        return leased;
+    }
+
+    /** Returns the number of open connections waiting for the next request. */
+    public int getIdle() {
+        return idle;
+    }
+
+    /** Returns the number of connections opened to be kept in the pool. */
+    public long getCreated() {
+        return created;
+    }
+
+    /** Returns how many times an idle connection has been used for a request. */
+    public long getReused() {
+        return reused;
+    }
+
+    /** Returns the number of connections opened over the per route limit, those are never reused. */
+    public long getOverflow() {
+        return overflow;
+    }
+
+    /** Returns the number of idle connections closed because of idle timeout or staleness. */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    /** Returns the number of pooled connections closed because they can't be reused after request. */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DockerConnectionPoolStatistics)) {
+            return false;
+        }
+        final DockerConnectionPoolStatistics that = (DockerConnectionPoolStatistics)obj;
+        return leased == that.leased
+               && idle == that.idle
+               && created == that.created
+               && reused == that.reused
+               && overflow == that.overflow
+               && evicted == that.evicted
+               && discarded == that.discarded;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(leased, idle, created, reused, overflow, evicted, discarded);
+    }
+
+    @Override
+    public String toString() {
+        return "DockerConnectionPoolStatistics{" +
+               "leased=" + leased +
+               ", idle=" + idle +
+               ", created=" + created +
+               ", reused=" + reused +
+               ", overflow=" + overflow +
+               ", evicted=" + evicted +
+               ", discarded=" + discarded +
+               '}';
+    }
+}
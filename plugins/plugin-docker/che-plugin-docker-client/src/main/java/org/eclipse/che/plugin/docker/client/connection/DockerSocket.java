@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.DockerCertificates;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Open connection to docker API which may be used for sending of several
+ * HTTP requests one by one, see {@link DockerConnectionPool}.
+ */
+abstract class DockerSocket {
+    private final String       route;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private boolean pooled;
+    private boolean reused;
+    private long    lastUsed;
+
+    DockerSocket(String route, InputStream input, OutputStream output) {
+        this.route = route;
+        this.input = new BufferedInputStream(input);
+        this.output = new BufferedOutputStream(output);
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    /** Opens socket connected to docker API through the unix socket located at the given path. */
+    static DockerSocket unix(String route, String dockerSocketPath) throws IOException {
+        final int fd = UnixSocketConnection.connect(dockerSocketPath);
+        return new UnixDockerSocket(route, fd);
+    }
+
+    /**
+     * Opens socket connected to docker API through TCP.
+     * If {@code certificates} are not null then TLS connection is established.
+     */
+    static DockerSocket tcp(String route,
+                            String host,
+                            int port,
+                            DockerCertificates certificates,
+                            int connectionTimeoutMs,
+                            int readTimeoutMs) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setKeepAlive(true);
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, port), connectionTimeoutMs);
+            socket.setSoTimeout(readTimeoutMs);
+            if (certificates != null) {
+                final SSLSocket sslSocket = (SSLSocket)certificates.getSslContext()
+                                                                  .getSocketFactory()
+                                                                  .createSocket(socket, host, port, true);
+                // verify host name like HttpsURLConnection does
+                final SSLParameters sslParameters = sslSocket.getSSLParameters();
+                sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(sslParameters);
+                sslSocket.startHandshake();
+                socket = sslSocket;
+            }
+            return new TcpDockerSocket(route, socket, readTimeoutMs);
+        } catch (IOException | RuntimeException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            throw e;
+        }
+    }
+
+    /** Returns key of docker API this socket is connected to. */
+    String getRoute() {
+        return route;
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    /** Whether this socket is counted in the limit of connections of its route. */
+    boolean isPooled() {
+        return pooled;
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /** Whether this socket has already been used for some previous request. */
+    boolean isReused() {
+        return reused;
+    }
+
+    void setReused(boolean reused) {
+        this.reused = reused;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    void setLastUsed(long lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+
+    /**
+     * Returns true if the socket can't be used for sending requests anymore,
+     * e.g. it is closed by the other side. Must be called only for idle sockets.
+     */
+    abstract boolean isStale();
+
+    /** Closes this socket, never throws an exception. */
+    abstract void close();
+
+    private static class UnixDockerSocket extends DockerSocket {
+        private final int fd;
+
+        UnixDockerSocket(String route, int fd) {
+            super(route, new UnixSocketInputStream(fd), new UnixSocketOutputStream(fd));
+            this.fd = fd;
+        }
+
+        @Override
+        boolean isStale() {
+            // docker daemon doesn't close idle connections on unix socket,
+            // a response can't be pending on an idle connection either
+            try {
+                return getInputStream().available() > 0;
+            } catch (IOException e) {
+                return true;
+            }
+        }
+
+        @Override
+        void close() {
+            getCLibrary().close(fd);
+        }
+    }
+
+    private static class TcpDockerSocket extends DockerSocket {
+        private final Socket socket;
+        private final int    readTimeoutMs;
+
+        TcpDockerSocket(String route, Socket socket, int readTimeoutMs) throws IOException {
+            super(route, socket.getInputStream(), socket.getOutputStream());
+            this.socket = socket;
+            this.readTimeoutMs = readTimeoutMs;
+        }
+
+        @Override
+        boolean isStale() {
+            if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+                return true;
+            }
+            final InputStream input = getInputStream();
+            try {
+                if (input.available() > 0) {
+                    // no data is expected on idle connection
+                    return true;
+                }
+                socket.setSoTimeout(1);
+                // either closed by the other side or unexpected data is read
+                input.read();
+                return true;
+            } catch (SocketTimeoutException e) {
+                // nothing to read, connection is alive
+                return false;
+            } catch (IOException e) {
+                return true;
+            } finally {
+                try {
+                    socket.setSoTimeout(readTimeoutMs);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        @Override
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -59,11 +59,19 @@ public class LimitedInputStream extends InputStream {
         return doRead(b, 0, len);
     }
 
+    /** Returns true when all the {@code limit} bytes are read from the underlying stream. */
+    synchronized boolean isExhausted() {
+        return pos >= limit;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
         int n = input.read(b, 0, Math.min(len - off, limit - pos));
+        if (n == -1) {
+            return -1;
+        }
         pos += n;
         return n;
     }
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.commons.lang.Pair;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Connection which sends request over a socket acquired from {@link DockerConnectionPool}
+ * and returns the socket to the pool on {@link #close()}, if the response was read completely.
+ *
+ * @see PooledDockerConnectionFactory
+ */
+public class PooledDockerConnection extends DockerConnection {
+    /** The maximum number of bytes of not read response entity which are skipped to reuse the connection. */
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+    private final DockerConnectionPool              pool;
+    private final String                            route;
+    private final String                            host;
+    private final DockerConnectionPool.SocketOpener opener;
+
+    private DockerSocket             socket;
+    private UnixSocketDockerResponse response;
+    private boolean                  reusable;
+
+    PooledDockerConnection(DockerConnectionPool pool, String route, String host, DockerConnectionPool.SocketOpener opener) {
+        this.pool = pool;
+        this.route = route;
+        this.host = host;
+        this.opener = opener;
+    }
+
+    @Override
+    protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+            throws IOException {
+        if (socket != null) {
+            throw new IllegalStateException("Request has been already sent");
+        }
+        // docker API can't find the end of entity without its length,
+        // so the connection is closed by the client after request
+        reusable = entity == null || hasHeader(headers, "Content-Length");
+        final List<Pair<String, ?>> requestHeaders = new ArrayList<>(headers);
+        if (!reusable) {
+            requestHeaders.add(Pair.of("Connection", "close"));
+        }
+        for (; ; ) {
+            socket = pool.acquire(route, opener);
+            try {
+                final OutputStream output = socket.getOutputStream();
+                UnixSocketConnection.writeHttpHeaders(output, method, path, query, requestHeaders, host);
+                if (entity != null) {
+                    entity.writeTo(output);
+                }
+                output.flush();
+                awaitResponse();
+            } catch (InterruptedIOException e) {
+                // read timed out, docker API might be still processing the request
+                discardSocket();
+                throw e;
+            } catch (IOException e) {
+                // idle connection might be closed by docker API, nothing is received yet
+                // so the request is retried once with a new connection if it's safe to send it again
+                final boolean retry = socket.isReused() && isSafeToRetry(method, entity);
+                discardSocket();
+                if (!retry) {
+                    throw e;
+                }
+                continue;
+            }
+            try {
+                response = new UnixSocketDockerResponse(socket.getInputStream());
+                // reads status line and headers
+                response.getStatus();
+                return response;
+            } catch (IOException e) {
+                discardSocket();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (socket == null) {
+            return;
+        }
+        boolean keep = false;
+        try {
+            keep = reusable && response != null && response.isKeepAlive() && drain();
+        } catch (IOException ignored) {
+        } finally {
+            pool.release(socket, keep);
+            socket = null;
+        }
+    }
+
+    /**
+     * Skips the rest of response entity if it is already received,
+     * so the connection may be used for the next request.
+     * Never blocks waiting for data which is not received yet.
+     */
+    private boolean drain() throws IOException {
+        final InputStream entity = response.getInputStream();
+        final InputStream raw = socket.getInputStream();
+        final byte[] buf = new byte[1024];
+        int drained = 0;
+        while (!response.isEntityConsumed() && drained < MAX_DRAIN_BYTES && raw.available() > 0) {
+            final int n = entity.read(buf);
+            if (n == -1) {
+                break;
+            }
+            drained += n;
+        }
+        return response.isEntityConsumed();
+    }
+
+    /**
+     * Waits for the first byte of response without consuming it.
+     * Fails if the connection is closed or reset by docker API before the response is sent.
+     */
+    private void awaitResponse() throws IOException {
+        final InputStream input = socket.getInputStream();
+        input.mark(1);
+        if (input.read() == -1) {
+            throw new EOFException("Connection is closed by docker API before response is sent");
+        }
+        input.reset();
+    }
+
+    private void discardSocket() {
+        pool.release(socket, false);
+        socket = null;
+        response = null;
+    }
+
+    private boolean isSafeToRetry(String method, Entity<?> entity) {
+        return (IDEMPOTENT_METHODS.contains(method.toUpperCase()) || isRetryable()) && !(entity instanceof StreamEntity);
+    }
+
+    private static boolean hasHeader(List<Pair<String, ?>> headers, String name) {
+        for (Pair<String, ?> header : headers) {
+            if (name.equalsIgnoreCase(header.first)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
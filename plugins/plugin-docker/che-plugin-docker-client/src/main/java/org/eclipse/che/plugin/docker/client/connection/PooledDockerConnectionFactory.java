@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.inject.Inject;
+
+import org.eclipse.che.plugin.docker.client.DockerCertificates;
+import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Factory for connections to docker API which keeps connections alive
+ * and reuses them for subsequent requests, both for unix socket and TCP(TLS).
+ *
+ * @see DockerConnectionPool
+ */
+@Singleton
+public class PooledDockerConnectionFactory extends DockerConnectionFactory {
+    public static final String MAX_PER_ROUTE_PROPERTY   = "che.docker.connection_pool.max_per_route";
+    public static final String IDLE_TIMEOUT_MS_PROPERTY = "che.docker.connection_pool.idle_timeout_ms";
+
+    private final DockerConnectionPool pool;
+
+    @Inject
+    public PooledDockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration,
+                                         @Named(MAX_PER_ROUTE_PROPERTY) int maxPerRoute,
+                                         @Named(IDLE_TIMEOUT_MS_PROPERTY) long idleTimeoutMs) {
+        super(connectorConfiguration);
+        this.pool = new DockerConnectionPool(maxPerRoute, idleTimeoutMs);
+    }
+
+    @Override
+    public DockerConnection openConnection(URI dockerDaemonUri) {
+        if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
+            final String socketPath = dockerDaemonUri.getPath();
+            final String route = "unix://" + socketPath;
+            return new PooledDockerConnection(pool, route, "", () -> DockerSocket.unix(route, socketPath));
+        }
+
+        final String scheme = dockerDaemonUri.getScheme();
+        final DockerCertificates certificates;
+        if ("https".equals(scheme)) {
+            certificates = getDockerCertificates();
+            if (certificates == null) {
+                throw new IllegalArgumentException("Certificates are required for https connection.");
+            }
+        } else if ("http".equals(scheme)) {
+            certificates = null;
+        } else {
+            throw new IllegalArgumentException(String.format("Invalid URL '%s', only http and https protocols are supported.",
+                                                             dockerDaemonUri));
+        }
+        final String host = dockerDaemonUri.getHost();
+        final int port = dockerDaemonUri.getPort() != -1 ? dockerDaemonUri.getPort() : certificates != null ? 443 : 80;
+        final String route = scheme + "://" + host + ':' + port;
+        final int connectionTimeoutMs = getConnectionTimeoutMs();
+        final int readTimeoutMs = getConnectionReadTimeoutMs();
+        return new PooledDockerConnection(pool,
+                                          route,
+                                          host + ':' + port,
+                                          () -> DockerSocket.tcp(route,
+                                                                 host,
+                                                                 port,
+                                                                 certificates,
+                                                                 connectionTimeoutMs,
+                                                                 readTimeoutMs));
+    }
+
+    /** Returns metrics of pooled connections mapped by docker API route e.g. 'unix:///var/run/docker.sock'. */
+    public Map<String, DockerConnectionPoolStatistics> getPoolStatistics() {
+        return pool.getStatistics();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
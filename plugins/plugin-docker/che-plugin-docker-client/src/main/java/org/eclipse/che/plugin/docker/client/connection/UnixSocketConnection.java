@@ -46,9 +46,9 @@ public class UnixSocketConnection extends DockerConnection {
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
+        fd = connect(dockerSocketPath);
         final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
+        writeHttpHeaders(output, method, path, query, headers, "");
         if (entity != null) {
             entity.writeTo(output);
         }
@@ -63,7 +63,7 @@ public class UnixSocketConnection extends DockerConnection {
         }
     }
 
-    private int connect() throws IOException {
+    static int connect(String dockerSocketPath) throws IOException {
         final CLibrary cLib = getCLibrary();
         int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
         if (fd == -1) {
@@ -77,8 +77,12 @@ public class UnixSocketConnection extends DockerConnection {
         return fd;
     }
 
-    private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
-            throws IOException {
+    static void writeHttpHeaders(OutputStream output,
+                                 String method,
+                                 String path,
+                                 String query,
+                                 List<Pair<String, ?>> headers,
+                                 String host) throws IOException {
         final Writer writer = new OutputStreamWriter(output);
         writer.write(method);
         writer.write(' ');
@@ -95,7 +99,9 @@ public class UnixSocketConnection extends DockerConnection {
             writer.write("\r\n");
         }
         // Host header is mandatory in HTTP 1.1
-        writer.write("Host: \r\n\r\n");
+        writer.write("Host: ");
+        writer.write(host);
+        writer.write("\r\n\r\n");
         writer.flush();
     }
 
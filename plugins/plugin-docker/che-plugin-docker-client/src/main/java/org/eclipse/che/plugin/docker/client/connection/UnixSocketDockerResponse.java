@@ -143,8 +143,10 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
         final int contentLength = getContentLength();
-        if (contentLength == 0) {
+        // responses with these statuses never have a body
+        if (contentLength == 0 || status == 204 || status == 304 || (status >= 100 && status < 200 && status != 101)) {
             return data = EMPTY;
         }
         if (contentLength > 0) {
@@ -152,4 +154,28 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Returns true when the whole entity of this response is read,
+     * so the next response may be read from the same connection.
+     * Entity which is not delimited by length or chunks is never considered as read.
+     */
+    synchronized boolean isEntityConsumed() {
+        if (headersFields == null) {
+            return false;
+        }
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).isExhausted();
+        }
+        return data instanceof ChunkedInputStream && ((ChunkedInputStream)data).isEof();
+    }
+
+    /** Returns true if docker API doesn't close the connection after this response. */
+    boolean isKeepAlive() throws IOException {
+        final String connection = getHeader("Connection");
+        return getStatus() != 101 && (connection == null || !"close".equalsIgnoreCase(connection));
+    }
 }
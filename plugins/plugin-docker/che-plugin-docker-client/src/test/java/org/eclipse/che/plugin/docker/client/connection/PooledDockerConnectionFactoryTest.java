@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link PooledDockerConnectionFactory} against a minimal HTTP server.
+ */
+public class PooledDockerConnectionFactoryTest {
+    private static final String ROUTE_PREFIX = "http://127.0.0.1:";
+
+    private HttpServer                    server;
+    private PooledDockerConnectionFactory factory;
+    private URI                           serverUri;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        server = new HttpServer();
+        serverUri = new URI(ROUTE_PREFIX + server.getPort());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        if (factory != null) {
+            factory.shutdown();
+        }
+        server.stop();
+    }
+
+    @Test
+    public void shouldReuseConnectionForSubsequentRequests() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = ok("{\"key\":\"value\"}");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(get(), "{\"key\":\"value\"}");
+        }
+
+        assertEquals(server.accepted.get(), 1);
+        assertEquals(getStatistics(), new DockerConnectionPoolStatistics(0, 1, 1, 2, 0, 0, 0));
+    }
+
+    @Test
+    public void shouldReuseConnectionAfterChunkedResponse() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = "HTTP/1.1 200 OK\r\n" +
+                          "Transfer-Encoding: chunked\r\n" +
+                          "\r\n" +
+                          "5\r\nhello\r\n" +
+                          "0\r\n\r\n";
+
+        for (int i = 0; i < 2; i++) {
+            try (DockerConnection connection = factory.openConnection(serverUri).method("GET").path("/info")) {
+                DockerResponse response = connection.request();
+                assertEquals(response.getStatus(), 200);
+                // read only the data, terminating chunk is left in the stream
+                byte[] data = new byte[5];
+                ByteStreams.readFully(response.getInputStream(), data);
+                assertEquals(new String(data, StandardCharsets.UTF_8), "hello");
+            }
+        }
+
+        assertEquals(server.accepted.get(), 1);
+        assertEquals(getStatistics().getReused(), 1);
+    }
+
+    @Test
+    public void shouldReuseConnectionWhenRequestHasEntityWithLength() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = ok("created");
+        byte[] entity = "{\"Image\":\"ubuntu\"}".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 2; i++) {
+            try (DockerConnection connection = factory.openConnection(serverUri)
+                                                      .method("POST")
+                                                      .path("/containers/create")
+                                                      .header("Content-Type", "application/json")
+                                                      .header("Content-Length", entity.length)
+                                                      .entity(entity)) {
+                assertEquals(read(connection.request()), "created");
+            }
+        }
+
+        assertEquals(server.accepted.get(), 1);
+        assertEquals(server.lastEntity, "{\"Image\":\"ubuntu\"}");
+    }
+
+    @Test
+    public void shouldCloseConnectionIfResponseEntityIsNotRead() throws Exception {
+        factory = createFactory(5, 60_000);
+        char[] body = new char[1024 * 1024];
+        Arrays.fill(body, 'a');
+        server.response = ok(new String(body));
+
+        try (DockerConnection connection = factory.openConnection(serverUri).method("GET").path("/events")) {
+            assertEquals(connection.request().getStatus(), 200);
+        }
+        get();
+
+        assertEquals(server.accepted.get(), 2);
+        assertEquals(getStatistics().getDiscarded(), 1);
+    }
+
+    @Test
+    public void shouldOpenNotPooledConnectionWhenLimitIsReached() throws Exception {
+        factory = createFactory(1, 60_000);
+        server.response = ok("ok");
+
+        try (DockerConnection first = factory.openConnection(serverUri).method("GET").path("/info")) {
+            DockerResponse firstResponse = first.request();
+            assertEquals(get(), "ok");
+            assertEquals(read(firstResponse), "ok");
+        }
+        assertEquals(get(), "ok");
+
+        assertEquals(server.accepted.get(), 2);
+        assertEquals(getStatistics(), new DockerConnectionPoolStatistics(0, 1, 1, 1, 1, 0, 0));
+    }
+
+    @Test
+    public void shouldEvictIdleConnections() throws Exception {
+        factory = createFactory(5, 100);
+        server.response = ok("ok");
+
+        get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        get();
+
+        assertEquals(server.accepted.get(), 2);
+        assertEquals(getStatistics().getEvicted(), 1);
+    }
+
+    @Test
+    public void shouldNotUseIdleConnectionClosedByDockerApi() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = ok("ok");
+        server.closeAfterResponse = true;
+
+        get();
+        // give the server time to close the socket
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(get(), "ok");
+
+        assertEquals(server.accepted.get(), 2);
+    }
+
+    @Test
+    public void shouldRetryIdempotentRequestWhenReusedConnectionIsClosedBeforeResponse() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = ok("ok");
+        get();
+        server.dropRequests.set(1);
+
+        assertEquals(get(), "ok");
+
+        assertEquals(server.accepted.get(), 2);
+        assertEquals(server.requests.get(), 3);
+    }
+
+    @Test
+    public void shouldNotRetryNotIdempotentRequestWhenReusedConnectionIsClosedBeforeResponse() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = ok("ok");
+        post(false);
+        server.dropRequests.set(1);
+
+        try {
+            post(false);
+            fail("Not idempotent request must not be sent again");
+        } catch (IOException ignored) {
+        }
+
+        assertEquals(server.requests.get(), 2);
+    }
+
+    @Test
+    public void shouldRetryNotIdempotentRequestMarkedAsRetryable() throws Exception {
+        factory = createFactory(5, 60_000);
+        server.response = ok("ok");
+        post(true);
+        server.dropRequests.set(1);
+
+        assertEquals(post(true), "ok");
+
+        assertEquals(server.accepted.get(), 2);
+        assertEquals(server.requests.get(), 3);
+    }
+
+    @Test
+    public void shouldNotRetryRequestWhenReadTimesOut() throws Exception {
+        factory = new PooledDockerConnectionFactory(mock(DockerConnectorConfiguration.class), 5, 60_000) {
+            @Override
+            protected int getConnectionReadTimeoutMs() {
+                return 200;
+            }
+        };
+        server.response = ok("ok");
+        get();
+        server.responseDelayMs = 1000;
+
+        try {
+            get();
+            fail("Request must fail when docker API doesn't respond in time");
+        } catch (SocketTimeoutException ignored) {
+        }
+
+        assertEquals(server.accepted.get(), 1);
+        assertEquals(server.requests.get(), 2);
+    }
+
+    private PooledDockerConnectionFactory createFactory(int maxPerRoute, long idleTimeoutMs) {
+        return new PooledDockerConnectionFactory(mock(DockerConnectorConfiguration.class), maxPerRoute, idleTimeoutMs);
+    }
+
+    private DockerConnectionPoolStatistics getStatistics() {
+        return factory.getPoolStatistics().get(ROUTE_PREFIX + server.getPort());
+    }
+
+    private String get() throws IOException {
+        try (DockerConnection connection = factory.openConnection(serverUri).method("GET").path("/info")) {
+            return read(connection.request());
+        }
+    }
+
+    private String post(boolean retryable) throws IOException {
+        try (DockerConnection connection = factory.openConnection(serverUri).method("POST").path("/containers/id/wait")) {
+            if (retryable) {
+                connection.retryable();
+            }
+            return read(connection.request());
+        }
+    }
+
+    private static String read(DockerResponse response) throws IOException {
+        assertEquals(response.getStatus(), 200);
+        return new String(ByteStreams.toByteArray(response.getInputStream()), StandardCharsets.UTF_8);
+    }
+
+    private static String ok(String body) {
+        return "HTTP/1.1 200 OK\r\n" +
+               "Content-Type: application/json\r\n" +
+               "Content-Length: " + body.getBytes(StandardCharsets.UTF_8).length + "\r\n" +
+               "\r\n" +
+               body;
+    }
+
+    /** Serves the same response to each request, keeps connections alive. */
+    private static class HttpServer {
+        final ServerSocket    serverSocket;
+        final ExecutorService executor;
+        final AtomicInteger   accepted;
+        final AtomicInteger   requests;
+        /** The number of the next requests which are read and left without response, the connection is closed. */
+        final AtomicInteger   dropRequests;
+
+        volatile String  response;
+        volatile String  lastEntity;
+        volatile boolean closeAfterResponse;
+        volatile long    responseDelayMs;
+
+        HttpServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            executor = Executors.newCachedThreadPool();
+            accepted = new AtomicInteger();
+            requests = new AtomicInteger();
+            dropRequests = new AtomicInteger();
+            executor.execute(this::accept);
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        void stop() throws IOException {
+            serverSocket.close();
+            executor.shutdownNow();
+        }
+
+        private void accept() {
+            try {
+                while (!serverSocket.isClosed()) {
+                    Socket socket = serverSocket.accept();
+                    accepted.incrementAndGet();
+                    executor.execute(() -> serve(socket));
+                }
+            } catch (IOException ignored) {
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                InputStream input = s.getInputStream();
+                OutputStream output = s.getOutputStream();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.ISO_8859_1));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int contentLength = 0;
+                    while (!(line = reader.readLine()).isEmpty()) {
+                        if (line.toLowerCase().startsWith("content-length:")) {
+                            contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                        }
+                    }
+                    if (contentLength > 0) {
+                        char[] entity = new char[contentLength];
+                        int read = 0;
+                        while (read < contentLength) {
+                            read += reader.read(entity, read, contentLength - read);
+                        }
+                        lastEntity = new String(entity);
+                    }
+                    requests.incrementAndGet();
+                    if (dropRequests.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                        return;
+                    }
+                    if (responseDelayMs > 0) {
+                        Thread.sleep(responseDelayMs);
+                    }
+                    output.write(response.getBytes(StandardCharsets.UTF_8));
+                    output.flush();
+                    if (closeAfterResponse) {
+                        return;
+                    }
+                }
+            } catch (IOException | InterruptedException ignored) {
+            }
+        }
+    }
+}
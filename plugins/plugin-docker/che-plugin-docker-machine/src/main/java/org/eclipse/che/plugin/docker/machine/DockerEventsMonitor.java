@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.network.ContainerInNetwork;
+import org.eclipse.che.plugin.docker.client.json.network.Network;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens to docker events over a single connection to docker API and shares them between subscribers.
+ *
+ * <p>Besides notifying subscribers, the monitor keeps state of docker containers and networks
+ * which is loaded once and then updated with the events, so components which periodically
+ * need the list of containers or networks don't have to request it from docker API.
+ * The state is available only while events are listened, since otherwise it may be outdated.
+ * Image events are delivered to subscribers only.
+ */
+@Singleton
+public class DockerEventsMonitor {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerEventsMonitor.class);
+
+    /** Delay before reconnection to docker API when events listening failed. */
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DockerConnector                           dockerConnector;
+    private final ExecutorService                           executor;
+    private final List<MessageProcessor<Event>>             subscribers;
+    private final ConcurrentMap<String, ContainerListEntry> containers;
+    private final ConcurrentMap<String, Network>            networks;
+
+    private volatile boolean synced;
+    private volatile boolean stateSupported;
+    private volatile boolean stopped;
+
+    // accessed only by the events listening thread
+    private long lastEventTime;
+    private long lastEventTimeNano;
+
+    @Inject
+    public DockerEventsMonitor(DockerConnectorProvider dockerConnectorProvider) {
+        this.dockerConnector = dockerConnectorProvider.get();
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.containers = new ConcurrentHashMap<>();
+        this.networks = new ConcurrentHashMap<>();
+        this.stateSupported = true;
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("DockerEventsMonitor-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /**
+     * Subscribes to all the docker events.
+     * Subscribers are notified one by one in the events listening thread,
+     * so they must not block.
+     */
+    public void subscribe(MessageProcessor<Event> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** Removes subscriber added with {@link #subscribe(MessageProcessor)}. */
+    public void unsubscribe(MessageProcessor<Event> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Returns all the docker containers, including not running ones.
+     * Returned entries have id, names, image and status, other fields
+     * are set only if the container has been known before the events listening started.
+     *
+     * @return list of containers or empty optional if the state of containers is unknown
+     *         at the moment, e.g. events listening is interrupted
+     */
+    public Optional<List<ContainerListEntry>> getContainers() {
+        if (!synced) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(containers.values()));
+    }
+
+    /**
+     * Returns all the docker networks with ids of their containers.
+     *
+     * @return list of networks or empty optional if the state of networks is unknown at the moment
+     */
+    public Optional<List<Network>> getNetworks() {
+        if (!synced) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(networks.values()));
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.execute(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        synced = false;
+        executor.shutdownNow();
+    }
+
+    private void listen() {
+        while (!stopped) {
+            try {
+                if (!synced && stateSupported) {
+                    // events which occur while state is being loaded are got from the stream afterwards
+                    lastEventTime = getDaemonTimeSeconds() - 1;
+                    loadState();
+                }
+                dockerConnector.getEvents(GetEventsParams.create().withSinceSecond(lastEventTime), this::process);
+            } catch (SocketTimeoutException e) {
+                // events are got since the last one received, so the state stays actual
+                LOG.debug(e.getLocalizedMessage(), e);
+            } catch (IOException e) {
+                synced = false;
+                LOG.debug(e.getLocalizedMessage(), e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void loadState() throws IOException {
+        containers.clear();
+        networks.clear();
+        for (ContainerListEntry container : dockerConnector.listContainers()) {
+            containers.put(container.getId(), container);
+        }
+        final List<Network> loadedNetworks = dockerConnector.getNetworks();
+        // docker might return null instead of empty list, see https://github.com/docker/docker/issues/29946
+        if (loadedNetworks != null) {
+            for (Network network : loadedNetworks) {
+                networks.put(network.getId(), network);
+            }
+        }
+        synced = true;
+    }
+
+    private long getDaemonTimeSeconds() throws IOException {
+        final String systemTime = dockerConnector.getSystemInfo().getSystemTime();
+        if (systemTime != null) {
+            try {
+                return OffsetDateTime.parse(systemTime).toEpochSecond();
+            } catch (DateTimeParseException e) {
+                LOG.debug("Can't parse docker system time '{}'", systemTime);
+            }
+        }
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+
+    private void process(Event event) {
+        // events are requested since the second of the last received one,
+        // so already processed events may be received again after reconnection
+        if (event.getTimeNano() != 0 && event.getTimeNano() <= lastEventTimeNano) {
+            return;
+        }
+        lastEventTime = event.getTime();
+        lastEventTimeNano = event.getTimeNano();
+
+        if (stateSupported) {
+            if (event.getActor() == null) {
+                // docker API older than 1.22 doesn't provide names of containers and networks in events
+                LOG.warn("Docker API doesn't provide actors of events, state of docker containers is not cached");
+                stateSupported = false;
+                synced = false;
+            } else if ("container".equals(event.getType())) {
+                updateContainer(event.getAction(), event.getActor(), event.getTime());
+            } else if ("network".equals(event.getType())) {
+                updateNetwork(event.getAction(), event.getActor());
+            }
+        }
+
+        for (MessageProcessor<Event> subscriber : subscribers) {
+            try {
+                subscriber.process(event);
+            } catch (RuntimeException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    private void updateContainer(String action, Actor actor, long time) {
+        final String id = actor.getId();
+        final Map<String, String> attributes = getAttributes(actor);
+        switch (action) {
+            case "create":
+                final ContainerListEntry created = new ContainerListEntry();
+                created.setId(id);
+                created.setNames(new String[] {'/' + attributes.getOrDefault("name", id)});
+                created.setImage(attributes.get("image"));
+                created.setCreated(time);
+                created.setStatus("Created");
+                containers.put(id, created);
+                break;
+            case "start":
+            case "unpause":
+                containers.computeIfPresent(id, (key, container) -> copyWithStatus(container, "Up"));
+                break;
+            case "pause":
+                containers.computeIfPresent(id, (key, container) -> copyWithStatus(container, "Up (Paused)"));
+                break;
+            case "die":
+                final String exitCode = attributes.get("exitCode");
+                final String status = exitCode == null ? "Exited" : "Exited (" + exitCode + ')';
+                containers.computeIfPresent(id, (key, container) -> copyWithStatus(container, status));
+                break;
+            case "rename":
+                containers.computeIfPresent(id, (key, container) -> {
+                    final ContainerListEntry renamed = copyWithStatus(container, container.getStatus());
+                    renamed.setNames(new String[] {'/' + attributes.get("name")});
+                    return renamed;
+                });
+                break;
+            case "destroy":
+                containers.remove(id);
+                break;
+            default:
+                // other events don't change state of container
+        }
+    }
+
+    private void updateNetwork(String action, Actor actor) {
+        final String id = actor.getId();
+        final Map<String, String> attributes = getAttributes(actor);
+        switch (action) {
+            case "create":
+                networks.put(id, new Network().withId(id)
+                                              .withName(attributes.get("name"))
+                                              .withDriver(attributes.get("type"))
+                                              .withContainers(Collections.emptyMap()));
+                break;
+            case "connect":
+                networks.computeIfPresent(id, (key, network) -> {
+                    final Map<String, ContainerInNetwork> networkContainers = copyContainers(network);
+                    networkContainers.put(attributes.get("container"), new ContainerInNetwork());
+                    return copyWithContainers(network, networkContainers);
+                });
+                break;
+            case "disconnect":
+                networks.computeIfPresent(id, (key, network) -> {
+                    final Map<String, ContainerInNetwork> networkContainers = copyContainers(network);
+                    networkContainers.remove(attributes.get("container"));
+                    return copyWithContainers(network, networkContainers);
+                });
+                break;
+            case "destroy":
+                networks.remove(id);
+                break;
+            default:
+                // other events don't change state of network
+        }
+    }
+
+    private static Map<String, String> getAttributes(Actor actor) {
+        return actor.getAttributes() == null ? Collections.emptyMap() : actor.getAttributes();
+    }
+
+    /** Cached entries are never modified, since they might be in use by the callers of {@link #getContainers()}. */
+    private static ContainerListEntry copyWithStatus(ContainerListEntry container, String status) {
+        final ContainerListEntry copy = new ContainerListEntry();
+        copy.setId(container.getId());
+        copy.setNames(container.getNames());
+        copy.setImage(container.getImage());
+        copy.setImageID(container.getImageID());
+        copy.setCommand(container.getCommand());
+        copy.setCreated(container.getCreated());
+        copy.setPorts(container.getPorts());
+        copy.setLabels(container.getLabels());
+        copy.setSizeRw(container.getSizeRw());
+        copy.setSizeRootFs(container.getSizeRootFs());
+        copy.setStatus(status);
+        return copy;
+    }
+
+    private static Map<String, ContainerInNetwork> copyContainers(Network network) {
+        return network.getContainers() == null ? new HashMap<>() : new HashMap<>(network.getContainers());
+    }
+
+    private static Network copyWithContainers(Network network, Map<String, ContainerInNetwork> containers) {
+        return new Network().withId(network.getId())
+                            .withName(network.getName())
+                            .withScope(network.getScope())
+                            .withDriver(network.getDriver())
+                            .withEnableIPv6(network.isEnableIPv6())
+                            .withInternal(network.isInternal())
+                            .withIPAM(network.getIPAM())
+                            .withOptions(network.getOptions())
+                            .withLabels(network.getLabels())
+                            .withContainers(containers);
+    }
+}
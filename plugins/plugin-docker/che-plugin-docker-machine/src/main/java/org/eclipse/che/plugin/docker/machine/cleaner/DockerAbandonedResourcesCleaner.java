@@ -25,6 +25,7 @@ import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.params.network.GetNetworksParams;
 import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
+import org.eclipse.che.plugin.docker.machine.DockerEventsMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +67,7 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     private final DockerConnector              dockerConnector;
     private final DockerContainerNameGenerator nameGenerator;
     private final WorkspaceRuntimes            runtimes;
+    private final DockerEventsMonitor          eventsMonitor;
     private final Set<String>                  additionalNetworks;
 
     @Inject
@@ -73,11 +75,13 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
                                            DockerConnectorProvider dockerConnectorProvider,
                                            DockerContainerNameGenerator nameGenerator,
                                            WorkspaceRuntimes workspaceRuntimes,
+                                           DockerEventsMonitor eventsMonitor,
                                            @Named("machine.docker.networks") Set<Set<String>> additionalNetworks) {
         this.environmentEngine = environmentEngine;
         this.dockerConnector = dockerConnectorProvider.get();
         this.nameGenerator = nameGenerator;
         this.runtimes = workspaceRuntimes;
+        this.eventsMonitor = eventsMonitor;
         this.additionalNetworks = additionalNetworks.stream()
                                                     .flatMap(Set::stream)
                                                     .collect(toSet());
@@ -94,12 +98,16 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
 
     /**
      * Cleans up CHE docker containers which don't tracked by API any more.
+     * Containers are requested from docker API only if they aren't known by {@link DockerEventsMonitor}.
      */
     @VisibleForTesting
     void cleanContainers() {
         List<String> activeContainers = new ArrayList<>();
         try {
-            for (ContainerListEntry container : dockerConnector.listContainers()) {
+            Optional<List<ContainerListEntry>> cachedContainers = eventsMonitor.getContainers();
+            List<ContainerListEntry> containers = cachedContainers.isPresent() ? cachedContainers.get()
+                                                                               : dockerConnector.listContainers();
+            for (ContainerListEntry container : containers) {
                 String containerName = container.getNames()[0];
                 Optional<ContainerNameInfo> optional = nameGenerator.parse(containerName);
                 if (optional.isPresent()) {
@@ -162,7 +170,10 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     @VisibleForTesting
     void cleanNetworks() {
         try {
-            List<Network> customNetworks = dockerConnector.getNetworks(GET_NETWORKS_PARAMS);
+            Optional<List<Network>> cachedNetworks = eventsMonitor.getNetworks();
+            // not custom networks are never removed as they don't match CHE network pattern
+            List<Network> customNetworks = cachedNetworks.isPresent() ? cachedNetworks.get()
+                                                                      : dockerConnector.getNetworks(GET_NETWORKS_PARAMS);
             // This workaround is added because of docker bug which returns null instead of empty list
             // See https://github.com/docker/docker/issues/29946
             if (customNetworks == null) {
@@ -66,6 +66,9 @@ public class LocalDockerModule extends AbstractModule {
                 .to(org.eclipse.che.plugin.docker.client.NoOpDockerRegistryDynamicAuthResolverImpl.class);
         bind(org.eclipse.che.plugin.docker.client.DockerRegistryChecker.class).asEagerSingleton();
 
+        bind(org.eclipse.che.plugin.docker.client.connection.DockerConnectionFactory.class)
+                .to(org.eclipse.che.plugin.docker.client.connection.PooledDockerConnectionFactory.class);
+
         MapBinder<String, DockerConnector> dockerConnectors = MapBinder.newMapBinder(binder(), String.class, DockerConnector.class);
         dockerConnectors.addBinding("default").to(DockerConnector.class);
         dockerConnectors.addBinding("openshift").to(OpenShiftConnector.class);
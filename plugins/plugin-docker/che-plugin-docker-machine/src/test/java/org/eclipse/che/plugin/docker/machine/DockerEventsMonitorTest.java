@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.SystemInfo;
+import org.eclipse.che.plugin.docker.client.json.network.ContainerInNetwork;
+import org.eclipse.che.plugin.docker.client.json.network.Network;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.mockito.Mock;
+import org.mockito.stubbing.Answer;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toMap;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link DockerEventsMonitor}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsMonitorTest {
+    private static final String DAEMON_TIME         = "2017-03-01T10:00:00.123456789+02:00";
+    private static final long   DAEMON_TIME_SECONDS = 1488355200L;
+
+    @Mock
+    private DockerConnectorProvider dockerConnectorProvider;
+    @Mock
+    private DockerConnector         dockerConnector;
+
+    private DockerEventsMonitor monitor;
+    private CountDownLatch      stopStreaming;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        stopStreaming = new CountDownLatch(1);
+        when(dockerConnectorProvider.get()).thenReturn(dockerConnector);
+        final SystemInfo systemInfo = new SystemInfo();
+        systemInfo.setSystemTime(DAEMON_TIME);
+        when(dockerConnector.getSystemInfo()).thenReturn(systemInfo);
+        when(dockerConnector.listContainers()).thenReturn(Collections.emptyList());
+        when(dockerConnector.getNetworks()).thenReturn(Collections.emptyList());
+        monitor = new DockerEventsMonitor(dockerConnectorProvider);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        monitor.stop();
+        stopStreaming.countDown();
+    }
+
+    @Test
+    public void shouldNotProvideStateUntilItIsLoaded() {
+        assertFalse(monitor.getContainers().isPresent());
+        assertFalse(monitor.getNetworks().isPresent());
+    }
+
+    @Test
+    public void shouldRequestEventsOccurredWhileStateIsLoaded() throws Exception {
+        final CountDownLatch streamed = new CountDownLatch(1);
+        doAnswer(stream(streamed)).when(dockerConnector).getEvents(any(), any());
+
+        monitor.start();
+
+        assertTrue(streamed.await(5, TimeUnit.SECONDS));
+        verify(dockerConnector).getEvents(eq(GetEventsParams.create().withSinceSecond(DAEMON_TIME_SECONDS - 1)), processor());
+    }
+
+    @Test
+    public void shouldUpdateContainersStateWithEvents() throws Exception {
+        when(dockerConnector.listContainers()).thenReturn(asList(container("running", "/running", "Up 2 hours"),
+                                                                 container("removed", "/removed", "Exited (0) 1 hour ago")));
+        final CountDownLatch streamed = new CountDownLatch(1);
+        doAnswer(stream(streamed,
+                        event("container", "create", "new", 1, ImmutableMap.of("name", "new", "image", "ubuntu")),
+                        event("container", "start", "new", 2, ImmutableMap.of("name", "new")),
+                        event("container", "die", "running", 3, ImmutableMap.of("name", "running", "exitCode", "137")),
+                        event("container", "destroy", "removed", 4, ImmutableMap.of("name", "removed")),
+                        event("container", "rename", "new", 5, ImmutableMap.of("name", "renamed", "oldName", "/new"))))
+                .when(dockerConnector).getEvents(any(), any());
+
+        monitor.start();
+
+        assertTrue(streamed.await(5, TimeUnit.SECONDS));
+        final Map<String, ContainerListEntry> containers = monitor.getContainers()
+                                                                  .get()
+                                                                  .stream()
+                                                                  .collect(toMap(ContainerListEntry::getId, c -> c));
+        assertEquals(containers.keySet().size(), 2);
+        assertEquals(containers.get("new").getNames(), new String[] {"/renamed"});
+        assertEquals(containers.get("new").getImage(), "ubuntu");
+        assertEquals(containers.get("new").getStatus(), "Up");
+        assertEquals(containers.get("running").getNames(), new String[] {"/running"});
+        assertEquals(containers.get("running").getStatus(), "Exited (137)");
+        verify(dockerConnector, times(1)).listContainers();
+    }
+
+    @Test
+    public void shouldUpdateNetworksStateWithEvents() throws Exception {
+        when(dockerConnector.getNetworks()).thenReturn(asList(new Network().withId("existing")
+                                                                           .withName("existing")
+                                                                           .withContainers(ImmutableMap.of("container1",
+                                                                                                           new ContainerInNetwork())),
+                                                              new Network().withId("removed").withName("removed")));
+        final CountDownLatch streamed = new CountDownLatch(1);
+        doAnswer(stream(streamed,
+                        event("network", "create", "new", 1, ImmutableMap.of("name", "new", "type", "bridge")),
+                        event("network", "connect", "new", 2, ImmutableMap.of("name", "new", "container", "container2")),
+                        event("network", "disconnect", "existing", 3, ImmutableMap.of("name", "existing", "container", "container1")),
+                        event("network", "destroy", "removed", 4, ImmutableMap.of("name", "removed"))))
+                .when(dockerConnector).getEvents(any(), any());
+
+        monitor.start();
+
+        assertTrue(streamed.await(5, TimeUnit.SECONDS));
+        final Map<String, Network> networks = monitor.getNetworks()
+                                                     .get()
+                                                     .stream()
+                                                     .collect(toMap(Network::getId, n -> n));
+        assertEquals(networks.keySet().size(), 2);
+        assertEquals(networks.get("new").getName(), "new");
+        assertEquals(networks.get("new").getDriver(), "bridge");
+        assertEquals(networks.get("new").getContainers().keySet(), Collections.singleton("container2"));
+        assertTrue(networks.get("existing").getContainers().isEmpty());
+    }
+
+    @Test
+    public void shouldNotifySubscribersOnceWhenEventsAreReceivedAgainAfterReconnection() throws Exception {
+        final Event first = event("container", "create", "id", 1, ImmutableMap.of("name", "name"));
+        final Event second = event("image", "pull", "ubuntu", 2, ImmutableMap.of("name", "ubuntu"));
+        final Event third = event("container", "start", "id", 3, ImmutableMap.of("name", "name"));
+        final CountDownLatch streamed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            final MessageProcessor<Event> processor = getProcessor(invocation.getArguments());
+            processor.process(first);
+            processor.process(second);
+            throw new SocketTimeoutException("Read timed out");
+        }).doAnswer(stream(streamed, second, third)).when(dockerConnector).getEvents(any(), any());
+        final List<Event> received = new ArrayList<>();
+        monitor.subscribe(received::add);
+
+        monitor.start();
+
+        assertTrue(streamed.await(5, TimeUnit.SECONDS));
+        assertEquals(received, asList(first, second, third));
+        // state is still actual, so it is not loaded again
+        verify(dockerConnector, times(1)).listContainers();
+        verify(dockerConnector).getEvents(eq(GetEventsParams.create().withSinceSecond(second.getTime())), processor());
+    }
+
+    @Test
+    public void shouldLoadStateAgainAfterEventsListeningFailure() throws Exception {
+        final CountDownLatch streamed = new CountDownLatch(1);
+        doThrow(new IOException("Connection refused")).doAnswer(stream(streamed))
+                                                      .when(dockerConnector).getEvents(any(), any());
+
+        monitor.start();
+
+        assertTrue(streamed.await(5, TimeUnit.SECONDS));
+        verify(dockerConnector, timeout(1000).times(2)).listContainers();
+        assertTrue(monitor.getContainers().isPresent());
+    }
+
+    @Test
+    public void shouldNotProvideStateIfDockerApiDoesNotProvideActorsOfEvents() throws Exception {
+        final CountDownLatch streamed = new CountDownLatch(1);
+        doAnswer(stream(streamed, new Event().withStatus("die").withId("id").withTime(1))).when(dockerConnector)
+                                                                                            .getEvents(any(), any());
+        final List<Event> received = new ArrayList<>();
+        monitor.subscribe(received::add);
+
+        monitor.start();
+
+        assertTrue(streamed.await(5, TimeUnit.SECONDS));
+        assertEquals(received.size(), 1);
+        assertFalse(monitor.getContainers().isPresent());
+    }
+
+    /** Sends given events to the processor, then blocks as docker API does while no new events occur. */
+    private Answer<Void> stream(CountDownLatch streamed, Event... events) {
+        return invocation -> {
+            final MessageProcessor<Event> processor = getProcessor(invocation.getArguments());
+            for (Event event : events) {
+                processor.process(event);
+            }
+            streamed.countDown();
+            stopStreaming.await();
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MessageProcessor<Event> getProcessor(Object[] arguments) {
+        return (MessageProcessor<Event>)arguments[1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MessageProcessor<Event> processor() {
+        return any(MessageProcessor.class);
+    }
+
+    private static Event event(String type, String action, String actorId, long timeNano, Map<String, String> attributes) {
+        return new Event().withType(type)
+                          .withAction(action)
+                          .withStatus(action)
+                          .withId(actorId)
+                          .withActor(new Actor().withId(actorId).withAttributes(attributes))
+                          .withTime(DAEMON_TIME_SECONDS + timeNano)
+                          .withTimeNano(timeNano);
+    }
+
+    private static ContainerListEntry container(String id, String name, String status) {
+        final ContainerListEntry container = new ContainerListEntry();
+        container.setId(id);
+        container.setNames(new String[] {name});
+        container.setStatus(status);
+        return container;
+    }
+}
@@ -22,6 +22,7 @@ import org.eclipse.che.plugin.docker.client.json.network.ContainerInNetwork;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
+import org.eclipse.che.plugin.docker.machine.DockerEventsMonitor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -97,6 +98,8 @@ public class DockerAbandonedResourcesCleanerTest {
     private DockerContainerNameGenerator nameGenerator;
     @Mock
     private WorkspaceRuntimes            workspaceRuntimes;
+    @Mock
+    private DockerEventsMonitor          eventsMonitor;
 
     @Mock
     private Instance instance;
@@ -150,6 +153,7 @@ public class DockerAbandonedResourcesCleanerTest {
                                                           dockerConnectorProvider,
                                                           nameGenerator,
                                                           workspaceRuntimes,
+                                                          eventsMonitor,
                                                           additionalNetworks));
 
         when(environmentEngine.getMachine(workspaceId1, machineId1)).thenReturn(instance);
@@ -157,6 +161,8 @@ public class DockerAbandonedResourcesCleanerTest {
         when(machineImpl1.getId()).thenReturn(machineId1);
         when(machineImpl1.getWorkspaceId()).thenReturn(workspaceId1);
 
+        when(eventsMonitor.getContainers()).thenReturn(Optional.empty());
+        when(eventsMonitor.getNetworks()).thenReturn(Optional.empty());
         when(dockerConnector.listContainers()).thenReturn(asList(container1, container2, container3));
 
         when(container1.getNames()).thenReturn(new String[] {containerName1});
@@ -347,6 +353,7 @@ public class DockerAbandonedResourcesCleanerTest {
                                                           dockerConnectorProvider,
                                                           nameGenerator,
                                                           workspaceRuntimes,
+                                                          eventsMonitor,
                                                           additionalNetworks));
         networks.add(additionalNetwork);
 
@@ -367,6 +374,7 @@ public class DockerAbandonedResourcesCleanerTest {
                                                           dockerConnectorProvider,
                                                           nameGenerator,
                                                           workspaceRuntimes,
+                                                          eventsMonitor,
                                                           additionalNetworks));
 
         when(additionalNetwork.getName()).thenReturn(additionalNetworkName);
@@ -427,4 +435,30 @@ public class DockerAbandonedResourcesCleanerTest {
         verify(dockerConnector).removeNetwork(abandonedNetworkId);
     }
 
+    @Test
+    public void shouldUseContainersKnownByEventsMonitor() throws Exception {
+        // given
+        when(eventsMonitor.getContainers()).thenReturn(of(asList(container1, container2)));
+
+        // when
+        cleaner.cleanContainers();
+
+        // then
+        verify(dockerConnector, never()).listContainers();
+        verify(dockerConnector).killContainer(containerId2);
+        verify(dockerConnector, never()).killContainer(containerId3);
+    }
+
+    @Test
+    public void shouldUseNetworksKnownByEventsMonitor() throws Exception {
+        // given
+        when(eventsMonitor.getNetworks()).thenReturn(of(asList(abandonedNetwork)));
+
+        // when
+        cleaner.cleanNetworks();
+
+        // then
+        verify(dockerConnector, never()).getNetworks(any());
+        verify(dockerConnector).removeNetwork(abandonedNetworkId);
+    }
 }
@@ -14,39 +14,104 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.google.common.annotations.VisibleForTesting;
 
 import org.eclipse.che.api.core.util.CommandLine;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.ProcessUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.testing.classpath.server.TestClasspathProvider;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Maven implementation for the test classpath provider.
  *
+ * <p>Dependencies of the project are taken from the model resolved by the Maven plugin,
+ * {@code mvn dependency:build-classpath} is used only for the projects which are not
+ * resolved yet. Test sources are compiled with {@code mvn test-compile} only when the
+ * project files were modified since the previous compilation.
+ *
+ * <p>The class loader of the library jars is reused until the libraries of the project change,
+ * while the output folders of the project and of the other projects it depends on are loaded
+ * by a new class loader every time, so the classes of the projects are always up to date and
+ * their static state doesn't survive between test runs. The class loaders which are replaced
+ * are closed, so the previously returned class loader of the project must not be used anymore.
+ *
  * @author Mirage Abeysekara
  */
+@Singleton
 public class MavenTestClasspathProvider implements TestClasspathProvider {
 
+    private static final Logger LOG = LoggerFactory.getLogger(MavenTestClasspathProvider.class);
+
+    private static final String CLASSPATH_FILE = "test.classpath.maven";
+
+    private final MavenProjectManager                     projectManager;
+    private final String                                  workspacePath;
+    private final ConcurrentMap<String, ProjectClasspath> classpaths;
+
+    @Inject
+    public MavenTestClasspathProvider(MavenProjectManager projectManager,
+                                      @Named("che.user.workspaces.storage") String workspacePath) {
+        this.projectManager = projectManager;
+        this.workspacePath = workspacePath;
+        this.classpaths = new ConcurrentHashMap<>();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public ClassLoader getClassLoader(String projectPath, boolean updateClasspath) throws Exception {
-        List<URL> classUrls;
-        try {
-            if (updateClasspath) {
-                buildClasspath(projectPath);
+        final ProjectClasspath classpath = classpaths.computeIfAbsent(projectPath, path -> new ProjectClasspath());
+        synchronized (classpath) {
+            try {
+                final MavenProject mavenProject = findMavenProject(projectPath);
+                if (updateClasspath || classpath.classLoader == null) {
+                    compileIfModified(projectPath, mavenProject, classpath);
+                }
+                final List<String> outputs = new ArrayList<>();
+                final List<String> libraries = new ArrayList<>();
+                for (String entry : getProjectClasspath(projectPath, mavenProject)) {
+                    if (new File(entry).isFile()) {
+                        libraries.add(entry);
+                    } else {
+                        outputs.add(entry);
+                    }
+                }
+                closeQuietly(classpath.classLoader);
+                classpath.classLoader = null;
+                if (classpath.librariesLoader == null || !libraries.equals(classpath.libraries)) {
+                    closeQuietly(classpath.librariesLoader);
+                    classpath.librariesLoader = new URLClassLoader(toUrls(libraries), null);
+                    classpath.libraries = libraries;
+                }
+                classpath.classLoader = new URLClassLoader(toUrls(outputs), classpath.librariesLoader);
+                return classpath.classLoader;
+            } catch (IOException | UncheckedIOException | InterruptedException e) {
+                throw new Exception("Failed to build Maven classpath.", e);
             }
-            classUrls = getProjectClasspath(projectPath);
-        } catch (IOException | InterruptedException e) {
-            throw new Exception("Failed to build Maven classpath.", e);
         }
-        return new URLClassLoader(classUrls.toArray(new URL[classUrls.size()]), null);
     }
 
     /**
@@ -57,35 +122,126 @@ public class MavenTestClasspathProvider implements TestClasspathProvider {
         return "maven";
     }
 
-    private boolean buildClasspath(String projectPath) throws IOException, InterruptedException {
-        final CommandLine commandLineClassPath = new CommandLine("mvn", "clean", "dependency:build-classpath",
-                "-Dmdep.outputFile=target/test.classpath.maven");
-        Process processBuildClassPath = new ProcessBuilder().redirectErrorStream(true).directory(new File(projectPath))
-                .command(commandLineClassPath.toShellCommand()).start();
-        ProcessUtil.process(processBuildClassPath, LineConsumer.DEV_NULL, LineConsumer.DEV_NULL);
-        processBuildClassPath.waitFor();
-        final CommandLine commandLineTestCompile = new CommandLine("mvn", "test-compile");
-        Process processTestCompile = new ProcessBuilder().redirectErrorStream(true).directory(new File(projectPath))
-                .command(commandLineTestCompile.toShellCommand()).start();
-        ProcessUtil.process(processTestCompile, LineConsumer.DEV_NULL, LineConsumer.DEV_NULL);
-        return processTestCompile.waitFor() == 0;
+    private static URL[] toUrls(List<String> entries) throws IOException {
+        final URL[] urls = new URL[entries.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = new File(entries.get(i)).toURI().toURL();
+        }
+        return urls;
+    }
+
+    private static void closeQuietly(URLClassLoader classLoader) {
+        if (classLoader != null) {
+            try {
+                classLoader.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close class loader of the tests", e);
+            }
+        }
+    }
+
+    private MavenProject findMavenProject(String projectPath) {
+        if (!projectPath.startsWith(workspacePath)) {
+            return null;
+        }
+        return projectManager.findMavenProject(ResourcesPlugin.getWorkspace()
+                                                              .getRoot()
+                                                              .getProject(projectPath.substring(workspacePath.length())));
+    }
+
+    private void compileIfModified(String projectPath, MavenProject mavenProject, ProjectClasspath classpath)
+            throws IOException, InterruptedException {
+        final Path testClasses = Paths.get(projectPath, "target", "test-classes");
+        final long modifiedAt = getLastModified(Paths.get(projectPath));
+        if (classpath.compiledAt != 0 && modifiedAt < classpath.compiledAt && Files.isDirectory(testClasses)) {
+            return;
+        }
+        final long compilationStartedAt = System.currentTimeMillis();
+        if (mavenProject == null) {
+            execute(projectPath, "mvn", "dependency:build-classpath", "-Dmdep.outputFile=target/" + CLASSPATH_FILE);
+        }
+        // no clean, compiler plugin recompiles only stale sources
+        if (execute(projectPath, "mvn", "test-compile")) {
+            classpath.compiledAt = compilationStartedAt;
+        } else {
+            LOG.warn("Compilation of the tests of the project '{}' failed", projectPath);
+        }
+    }
+
+    @VisibleForTesting
+    boolean execute(String projectPath, String... command) throws IOException, InterruptedException {
+        final CommandLine commandLine = new CommandLine(command);
+        Process process = new ProcessBuilder().redirectErrorStream(true).directory(new File(projectPath))
+                .command(commandLine.toShellCommand()).start();
+        ProcessUtil.process(process, LineConsumer.DEV_NULL, LineConsumer.DEV_NULL);
+        return process.waitFor() == 0;
+    }
+
+    /** Returns the last modification time of the project files, except build output and hidden files. */
+    private long getLastModified(Path projectDir) throws IOException {
+        long lastModified = 0;
+        try (Stream<Path> children = Files.list(projectDir)) {
+            for (Path child : (Iterable<Path>)children::iterator) {
+                final String name = child.getFileName().toString();
+                if (name.startsWith(".") || (Files.isDirectory(child) && name.equals("target"))) {
+                    continue;
+                }
+                if (Files.isDirectory(child)) {
+                    try (Stream<Path> files = Files.walk(child)) {
+                        lastModified = Math.max(lastModified, files.mapToLong(this::lastModified).max().orElse(0));
+                    }
+                } else {
+                    lastModified = Math.max(lastModified, lastModified(child));
+                }
+            }
+        }
+        return lastModified;
+    }
 
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private List<URL> getProjectClasspath(String projectPath) throws IOException {
-        List<URL> classUrls = new ArrayList<>();
-        File cpFile = Paths.get(projectPath, "target", "test.classpath.maven").toFile();
-        FileReader fileReader = new FileReader(cpFile);
-        BufferedReader bufferedReader = new BufferedReader(fileReader);
-        String line = bufferedReader.readLine();
-        String[] paths = line.split(":");
-        for (String path : paths) {
-            classUrls.add(new File(path).toURI().toURL());
+    private List<String> getProjectClasspath(String projectPath, MavenProject mavenProject) throws IOException {
+        List<String> classpath = new ArrayList<>();
+        classpath.add(Paths.get(projectPath, "target", "test-classes").toString());
+        classpath.add(Paths.get(projectPath, "target", "classes").toString());
+        if (mavenProject != null) {
+            for (MavenArtifact dependency : mavenProject.getDependencies()) {
+                final File file = dependency.getFile();
+                if (file == null) {
+                    continue;
+                }
+                if (file.getName().equals("pom.xml")) {
+                    // dependency on the other project of the workspace
+                    classpath.add(Paths.get(file.getParent(), "target", "classes").toString());
+                } else {
+                    classpath.add(file.getPath());
+                }
+            }
+        } else {
+            File cpFile = Paths.get(projectPath, "target", CLASSPATH_FILE).toFile();
+            try (BufferedReader reader = new BufferedReader(new FileReader(cpFile))) {
+                String line = reader.readLine();
+                if (line != null && !line.isEmpty()) {
+                    for (String path : line.split(File.pathSeparator)) {
+                        classpath.add(path);
+                    }
+                }
+            }
         }
-        bufferedReader.close();
-        fileReader.close();
-        classUrls.add(Paths.get(projectPath, "target", "classes").toUri().toURL());
-        classUrls.add(Paths.get(projectPath, "target", "test-classes").toUri().toURL());
-        return classUrls;
+        return classpath;
+    }
+
+    /** Class loaders created for the project and the time of its last compilation. */
+    private static class ProjectClasspath {
+        List<String>   libraries;
+        URLClassLoader librariesLoader;
+        URLClassLoader classLoader;
+        long           compiledAt;
     }
 }
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.classpath.maven.server;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests {@link MavenTestClasspathProvider}.
+ */
+public class MavenTestClasspathProviderTest {
+
+    private static final List<String> COMPILE_COMMANDS = asList("mvn dependency:build-classpath", "mvn test-compile");
+
+    private Path                       workspace;
+    private Path                       project;
+    private Path                       library;
+    private List<String>               executed;
+    private MavenTestClasspathProvider provider;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspace = Files.createTempDirectory("workspace");
+        project = Files.createDirectories(workspace.resolve("project"));
+        Files.createDirectories(project.resolve("src"));
+        Files.write(project.resolve("src").resolve("Test.java"), Collections.singletonList("class Test {}"), UTF_8);
+        Files.write(project.resolve("pom.xml"), Collections.singletonList("<project/>"), UTF_8);
+        setModifiedInPast(project.resolve("src").resolve("Test.java"));
+        setModifiedInPast(project.resolve("pom.xml"));
+        library = createLibrary("library.jar");
+        executed = new ArrayList<>();
+        // the project is not in the workspace of the maven plugin, so its classpath is built by maven
+        provider = new MavenTestClasspathProvider(null, workspace.resolve("maven-workspace").toString()) {
+            @Override
+            boolean execute(String projectPath, String... command) throws IOException {
+                executed.add(String.join(" ", command[0], command[1]));
+                final Path target = Files.createDirectories(project.resolve("target"));
+                if (command[1].equals("dependency:build-classpath")) {
+                    Files.write(target.resolve("test.classpath.maven"), Collections.singletonList(library.toString()), UTF_8);
+                } else {
+                    Files.createDirectories(target.resolve("classes"));
+                    Files.createDirectories(target.resolve("test-classes"));
+                }
+                return true;
+            }
+        };
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(workspace.toFile());
+    }
+
+    @Test
+    public void shouldCompileProjectWhenClassLoaderIsRequestedFirstTime() throws Exception {
+        provider.getClassLoader(project.toString(), false);
+
+        assertEquals(executed, COMPILE_COMMANDS);
+    }
+
+    @Test
+    public void shouldNotCompileProjectWhichIsNotModifiedSincePreviousCompilation() throws Exception {
+        provider.getClassLoader(project.toString(), true);
+        executed.clear();
+
+        provider.getClassLoader(project.toString(), true);
+
+        assertEquals(executed, Collections.emptyList());
+    }
+
+    @Test
+    public void shouldCompileProjectAgainWhenItsFilesAreModified() throws Exception {
+        provider.getClassLoader(project.toString(), true);
+        executed.clear();
+        Files.setLastModifiedTime(project.resolve("src").resolve("Test.java"),
+                                  FileTime.fromMillis(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1)));
+
+        provider.getClassLoader(project.toString(), true);
+
+        assertEquals(executed, COMPILE_COMMANDS);
+    }
+
+    @Test
+    public void shouldNotCompileProjectWhenClasspathIsNotUpdated() throws Exception {
+        provider.getClassLoader(project.toString(), true);
+        executed.clear();
+        Files.setLastModifiedTime(project.resolve("src").resolve("Test.java"),
+                                  FileTime.fromMillis(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1)));
+
+        provider.getClassLoader(project.toString(), false);
+
+        assertEquals(executed, Collections.emptyList());
+    }
+
+    @Test
+    public void shouldReuseLibrariesLoaderAndLoadProjectClassesByNewLoader() throws Exception {
+        final ClassLoader first = provider.getClassLoader(project.toString(), true);
+        final ClassLoader second = provider.getClassLoader(project.toString(), true);
+
+        assertNotSame(second, first);
+        assertSame(second.getParent(), first.getParent());
+        assertEquals(asList(((URLClassLoader)second.getParent()).getURLs()), Collections.singletonList(library.toUri().toURL()));
+    }
+
+    @Test
+    public void shouldCloseReplacedProjectClassesLoader() throws Exception {
+        final Path testClasses = Files.createDirectories(project.resolve("target").resolve("test-classes"));
+        Files.write(testClasses.resolve("resource.txt"), new byte[0]);
+        final ClassLoader first = provider.getClassLoader(project.toString(), true);
+        assertNotNull(first.getResource("resource.txt"));
+
+        provider.getClassLoader(project.toString(), true);
+
+        assertNull(first.getResource("resource.txt"));
+    }
+
+    @Test
+    public void shouldCreateNewLibrariesLoaderAndCloseReplacedOneWhenLibrariesChange() throws Exception {
+        final ClassLoader first = provider.getClassLoader(project.toString(), true);
+        assertNotNull(first.getParent().getResource("library.txt"));
+        library = createLibrary("another-library.jar");
+        // dependencies are resolved again only when the project is compiled
+        Files.setLastModifiedTime(project.resolve("pom.xml"),
+                                  FileTime.fromMillis(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1)));
+
+        final ClassLoader second = provider.getClassLoader(project.toString(), true);
+
+        assertNotSame(second.getParent(), first.getParent());
+        assertEquals(asList(((URLClassLoader)second.getParent()).getURLs()), Collections.singletonList(library.toUri().toURL()));
+        assertNull(first.getParent().getResource("library.txt"));
+    }
+
+    private Path createLibrary(String name) throws IOException {
+        final Path jar = workspace.resolve(name);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("library.txt"));
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    private static void setModifiedInPast(Path path) throws Exception {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+    }
+}
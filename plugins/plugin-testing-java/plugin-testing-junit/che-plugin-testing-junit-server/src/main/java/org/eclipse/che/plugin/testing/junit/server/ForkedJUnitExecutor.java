@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.testing.server.framework.TestExecutionListener;
+import org.eclipse.che.api.testing.shared.Failure;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker.CPU;
+import static org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker.DONE;
+import static org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker.FAILED;
+import static org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker.FINISHED;
+import static org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker.IGNORED;
+import static org.eclipse.che.plugin.testing.junit.server.worker.JUnitTestWorker.STARTED;
+
+/**
+ * Executes JUnit 4 test classes in the JVMs forked by {@link JUnitTestWorker}.
+ *
+ * <p>Test classes are not split between the workers in advance, each worker takes the next
+ * class from the shared queue as soon as it's done with the previous one, so one slow class
+ * doesn't keep the other workers idle. Progress of the workers is reported to the listener
+ * as soon as it's read from the workers output.
+ *
+ * <p>Interruption of the calling thread destroys the workers.
+ */
+class ForkedJUnitExecutor {
+
+    private final List<String> classpath;
+    private final Path         workingDir;
+    private final Path         logsDir;
+
+    /**
+     * @param classpath
+     *         classpath of the project including test classes and JUnit
+     * @param workingDir
+     *         working directory of the workers, the project directory
+     * @param logsDir
+     *         directory for the output of the tests, each worker writes its own log
+     */
+    ForkedJUnitExecutor(List<String> classpath, Path workingDir, Path logsDir) {
+        this.classpath = classpath;
+        this.workingDir = workingDir;
+        this.logsDir = logsDir;
+    }
+
+    /**
+     * Executes the test classes in at most {@code forkCount} workers.
+     *
+     * @return result of the execution, including wall-clock time and processor time of all the workers
+     */
+    TestResult execute(List<String> testClasses, int forkCount, TestExecutionListener listener) throws Exception {
+        final long start = System.nanoTime();
+        final Queue<String> queue = new ConcurrentLinkedQueue<>(testClasses);
+        final List<Failure> failures = new CopyOnWriteArrayList<>();
+        final int workersCount = Math.max(1, Math.min(forkCount, testClasses.size()));
+        final ExecutorService readers = Executors.newFixedThreadPool(workersCount,
+                                                                     new ThreadFactoryBuilder().setNameFormat("JUnitWorkerReader-%d")
+                                                                                               .setDaemon(true)
+                                                                                               .build());
+        final List<Process> workers = new ArrayList<>(workersCount);
+        long cpuTime = 0;
+        try {
+            final List<Future<Long>> results = new ArrayList<>(workersCount);
+            for (int i = 0; i < workersCount; i++) {
+                final Path log = logsDir.resolve("che-test-worker-" + i + ".log");
+                final Process worker = startWorker(log);
+                workers.add(worker);
+                results.add(readers.submit(() -> drive(worker, log, queue, failures, listener)));
+            }
+            for (Future<Long> result : results) {
+                cpuTime += result.get();
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception)cause : e;
+        } finally {
+            workers.forEach(Process::destroyForcibly);
+            readers.shutdownNow();
+        }
+
+        final TestResult result = DtoFactory.getInstance().createDto(TestResult.class);
+        result.setTestFramework("JUnit4x");
+        result.setSuccess(failures.isEmpty());
+        result.setFailureCount(failures.size());
+        result.setFailures(new ArrayList<>(failures));
+        result.setWallClockTime(NANOSECONDS.toMillis(System.nanoTime() - start));
+        result.setCpuTime(cpuTime);
+        return result;
+    }
+
+    private Process startWorker(Path log) throws IOException {
+        final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        final List<String> workerClasspath = new ArrayList<>(classpath.size() + 1);
+        workerClasspath.add(getWorkerLocation());
+        workerClasspath.addAll(classpath);
+        return new ProcessBuilder(java,
+                                  "-cp", String.join(File.pathSeparator, workerClasspath),
+                                  JUnitTestWorker.class.getName()).directory(workingDir.toFile())
+                                                                  .redirectError(log.toFile())
+                                                                  .start();
+    }
+
+    /** Feeds the worker with test classes until the queue is empty, returns processor time of the worker. */
+    private long drive(Process worker,
+                       Path log,
+                       Queue<String> queue,
+                       List<Failure> failures,
+                       TestExecutionListener listener) throws IOException, InterruptedException {
+        final BufferedReader events = new BufferedReader(new InputStreamReader(worker.getInputStream(), UTF_8));
+        try (BufferedWriter commands = new BufferedWriter(new OutputStreamWriter(worker.getOutputStream(), UTF_8))) {
+            String testClass;
+            while ((testClass = queue.poll()) != null) {
+                commands.write(testClass);
+                commands.newLine();
+                commands.flush();
+                readEvents(events, log, failures, listener);
+            }
+        }
+        final String cpuTime = readEvents(events, log, failures, listener);
+        worker.waitFor();
+        return cpuTime == null ? 0 : Long.parseLong(cpuTime);
+    }
+
+    /**
+     * Reads events of the worker until the test class is done or the worker reports processor time.
+     *
+     * @return processor time of the worker or null if the test class is done
+     */
+    private String readEvents(BufferedReader events,
+                              Path log,
+                              List<Failure> failures,
+                              TestExecutionListener listener) throws IOException {
+        String line;
+        while ((line = events.readLine()) != null) {
+            final String[] event = JUnitTestWorker.decode(line);
+            switch (event[0]) {
+                case STARTED:
+                    listener.testStarted(event[1], event[2]);
+                    break;
+                case FINISHED:
+                    listener.testFinished(event[1], event[2], Long.parseLong(event[3]));
+                    break;
+                case FAILED:
+                    final Failure failure = DtoFactory.getInstance().createDto(Failure.class);
+                    failure.setFailingClass(event[1]);
+                    failure.setFailingMethod(event[2]);
+                    failure.setFailingLine(event[3].isEmpty() ? null : Integer.valueOf(event[3]));
+                    failure.setMessage(event[4].isEmpty() ? null : event[4]);
+                    failure.setTrace(event[5]);
+                    failures.add(failure);
+                    listener.testFailed(failure);
+                    break;
+                case IGNORED:
+                    listener.testIgnored(event[1], event[2]);
+                    break;
+                case DONE:
+                    return null;
+                case CPU:
+                    return event[1];
+            }
+        }
+        throw new IOException("Test worker exited unexpectedly, see " + log);
+    }
+
+    private static String getWorkerLocation() {
+        try {
+            return Paths.get(JUnitTestWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("Can't find location of the test worker", e);
+        }
+    }
+}
@@ -12,18 +12,25 @@ package org.eclipse.che.plugin.testing.junit.server;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.testing.server.framework.TestExecutionListener;
 import org.eclipse.che.api.testing.server.framework.TestRunner;
 import org.eclipse.che.api.testing.shared.Failure;
 import org.eclipse.che.api.testing.shared.TestResult;
@@ -42,6 +49,9 @@ import org.eclipse.che.plugin.testing.classpath.server.TestClasspathRegistry;
  * <em>runClass</em> : A boolean indicating whether the test runner should execute all the test cases or a test class
  *            indicated by <em>fqn</em> parameter.
  * <em>fqn</em> : Fully qualified class name of the test class if the <em>runClass</em> is true.
+ * <em>forkCount</em> : Number of the JVMs forked for executing JUnit 4 tests in parallel, if it's not set
+ *            the tests are executed in one forked JVM when the progress is reported to the listener,
+ *            otherwise in the workspace agent JVM.
  * </pre>
  *
  * @author Mirage Abeysekara
@@ -66,15 +76,96 @@ public class JUnitTestRunner implements TestRunner {
      */
     @Override
     public TestResult execute(Map<String, String> testParameters) throws Exception {
+        return execute(testParameters, TestExecutionListener.NOOP, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Progress is reported and the execution can be interrupted only when the tests are executed
+     * in the forked JVMs, so they are forked unless the fork count is explicitly set to 0.
+     */
+    @Override
+    public TestResult execute(Map<String, String> testParameters, TestExecutionListener listener) throws Exception {
+        return execute(testParameters, listener, 1);
+    }
+
+    private TestResult execute(Map<String, String> testParameters,
+                               TestExecutionListener listener,
+                               int defaultForkCount) throws Exception {
+        final int forkCount = testParameters.containsKey("forkCount") ? Integer.parseInt(testParameters.get("forkCount"))
+                                                                      : defaultForkCount;
+        if (forkCount > 0) {
+            final TestResult result = executeForked(testParameters, forkCount, listener);
+            if (result != null) {
+                return result;
+            }
+        }
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        final long start = System.nanoTime();
+        final long startCpu = threadBean.getCurrentThreadCpuTime();
+        final TestResult result = executeInProcess(testParameters);
+        if (result != null) {
+            result.setWallClockTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            result.setCpuTime(TimeUnit.NANOSECONDS.toMillis(threadBean.getCurrentThreadCpuTime() - startCpu));
+        }
+        return result;
+    }
+
+    /**
+     * Executes JUnit 4 tests in the forked JVMs, returns null if the tests can't be forked,
+     * e.g. the project doesn't depend on JUnit 4.
+     */
+    private TestResult executeForked(Map<String, String> testParameters,
+                                     int forkCount,
+                                     TestExecutionListener listener) throws Exception {
         String projectAbsolutePath = testParameters.get("absoluteProjectPath");
         boolean updateClasspath = Boolean.valueOf(testParameters.get("updateClasspath"));
-        boolean runClass = Boolean.valueOf(testParameters.get("runClass"));
+        ClassLoader classLoader = getClasspathProvider(testParameters).getClassLoader(projectAbsolutePath, updateClasspath);
+        if (!(classLoader instanceof URLClassLoader)) {
+            return null;
+        }
+        try {
+            Class.forName(JUNIT4X_RUNNER_CLASS, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        List<String> testClasses = new ArrayList<>();
+        if (Boolean.valueOf(testParameters.get("runClass"))) {
+            testClasses.add(testParameters.get("fqn"));
+        } else {
+            for (String className : findTestClassNames(projectAbsolutePath)) {
+                if (isTestable4x(Class.forName(className, false, classLoader))) {
+                    testClasses.add(className);
+                }
+            }
+        }
+        // project classes and libraries may be loaded by the different class loaders of the chain
+        List<String> classpath = new ArrayList<>();
+        for (ClassLoader loader = classLoader; loader instanceof URLClassLoader; loader = loader.getParent()) {
+            for (URL url : ((URLClassLoader)loader).getURLs()) {
+                classpath.add(Paths.get(url.toURI()).toString());
+            }
+        }
+        Path projectDir = Paths.get(projectAbsolutePath);
+        return new ForkedJUnitExecutor(classpath, projectDir, projectDir.resolve("target")).execute(testClasses, forkCount, listener);
+    }
+
+    private TestClasspathProvider getClasspathProvider(Map<String, String> testParameters) throws Exception {
         String projectPath = testParameters.get("projectPath");
         String projectType = "";
         if (projectManager != null) {
             projectType = projectManager.getProject(projectPath).getType();
         }
-        TestClasspathProvider classpathProvider = classpathRegistry.getTestClasspathProvider(projectType);
+        return classpathRegistry.getTestClasspathProvider(projectType);
+    }
+
+    // the runner is shared between the executions, while the in process execution keeps the class loader in the field
+    private synchronized TestResult executeInProcess(Map<String, String> testParameters) throws Exception {
+        String projectAbsolutePath = testParameters.get("absoluteProjectPath");
+        boolean updateClasspath = Boolean.valueOf(testParameters.get("updateClasspath"));
+        boolean runClass = Boolean.valueOf(testParameters.get("runClass"));
+        TestClasspathProvider classpathProvider = getClasspathProvider(testParameters);
         projectClassLoader = classpathProvider.getClassLoader(projectAbsolutePath, updateClasspath);
         TestResult testResult;
         try {
@@ -117,6 +208,18 @@ public class JUnitTestRunner implements TestRunner {
     }
 
     private TestResult runAll4x(String projectAbsolutePath) throws Exception {
+        @SuppressWarnings("rawtypes")
+        List<Class> testableClasses = new ArrayList<>();
+        for (String className : findTestClassNames(projectAbsolutePath)) {
+            Class<?> clazz = Class.forName(className, false, projectClassLoader);
+            if (isTestable4x(clazz)) {
+                testableClasses.add(clazz);
+            }
+        }
+        return run4xTestClasses(testableClasses.toArray(new Class[testableClasses.size()]));
+    }
+
+    private List<String> findTestClassNames(String projectAbsolutePath) throws Exception {
         List<String> testClassNames = new ArrayList<>();
         Files.walk(Paths.get(projectAbsolutePath, "target", "test-classes")).forEach(filePath -> {
             if (Files.isRegularFile(filePath) && filePath.toString().toLowerCase().endsWith(".class")) {
@@ -126,15 +229,7 @@ public class JUnitTestRunner implements TestRunner {
                 testClassNames.add(className);
             }
         });
-        @SuppressWarnings("rawtypes")
-        List<Class> testableClasses = new ArrayList<>();
-        for (String className : testClassNames) {
-            Class<?> clazz = Class.forName(className, false, projectClassLoader);
-            if (isTestable4x(clazz)) {
-                testableClasses.add(clazz);
-            }
-        }
-        return run4xTestClasses(testableClasses.toArray(new Class[testableClasses.size()]));
+        return testClassNames;
     }
 
     private boolean isTestable4x(Class<?> clazz) throws ClassNotFoundException {
@@ -205,18 +300,9 @@ public class JUnitTestRunner implements TestRunner {
     }
 
     private TestResult runAll3x(String projectAbsolutePath) throws Exception {
-        List<String> testClassNames = new ArrayList<>();
-        Files.walk(Paths.get(projectAbsolutePath, "target", "test-classes")).forEach(filePath -> {
-            if (Files.isRegularFile(filePath) && filePath.toString().toLowerCase().endsWith(".class")) {
-                String path = Paths.get(projectAbsolutePath, "target", "test-classes").relativize(filePath).toString();
-                String className = path.replace(File.separatorChar, '.');
-                className = className.substring(0, className.length() - 6);
-                testClassNames.add(className);
-            }
-        });
         @SuppressWarnings("rawtypes")
         List<Class> testableClasses = new ArrayList<>();
-        for (String className : testClassNames) {
+        for (String className : findTestClassNames(projectAbsolutePath)) {
             Class<?> clazz = Class.forName(className, false, projectClassLoader);
             if (isTestable3x(clazz)) {
                 testableClasses.add(clazz);
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.worker;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Entry point of the JVM forked for executing JUnit tests.
+ *
+ * <p>Reads names of the test classes from the standard input one per line and executes them
+ * one by one, the worker exits when the input is closed. The progress is written to the
+ * standard output one event per line, fields of the event are URL-encoded and separated
+ * by tabs:
+ * <pre>
+ * STARTED  class method
+ * FINISHED class method duration
+ * FAILED   class method line message trace
+ * IGNORED  class method
+ * DONE     class                 - all the tests of the class are executed
+ * CPU      time                  - processor time consumed by the worker, the last event
+ * </pre>
+ * Output of the tests is redirected to the standard error, so it can't break the events.
+ *
+ * <p>The class must not depend on anything but JDK and JUnit, which are the only
+ * libraries available in the forked JVM besides the project classpath.
+ */
+public final class JUnitTestWorker {
+
+    public static final String STARTED  = "STARTED";
+    public static final String FINISHED = "FINISHED";
+    public static final String FAILED   = "FAILED";
+    public static final String IGNORED  = "IGNORED";
+    public static final String DONE     = "DONE";
+    public static final String CPU      = "CPU";
+
+    public static void main(String[] args) throws IOException {
+        final PrintStream events = new PrintStream(new FileOutputStream(FileDescriptor.out), true, UTF_8.name());
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+
+        final JUnitCore core = new JUnitCore();
+        core.addListener(new EventsWriter(events));
+        final BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, UTF_8));
+        String testClass;
+        while ((testClass = commands.readLine()) != null && !testClass.isEmpty()) {
+            try {
+                core.run(Class.forName(testClass));
+            } catch (ClassNotFoundException | LinkageError e) {
+                write(events, FAILED, testClass, "", "", "Can't load test class: " + e, "");
+            }
+            write(events, DONE, testClass);
+        }
+        write(events, CPU, Long.toString(TimeUnit.NANOSECONDS.toMillis(getCpuTime())));
+        System.exit(0);
+    }
+
+    /** Encodes the event as a line of the worker output. */
+    public static String encode(String... fields) {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            for (String field : fields) {
+                if (sb.length() > 0) {
+                    sb.append('\t');
+                }
+                sb.append(URLEncoder.encode(field == null ? "" : field, UTF_8.name()));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    /** Decodes the line of the worker output encoded with {@link #encode(String...)}. */
+    public static String[] decode(String line) {
+        final String[] fields = line.split("\t", -1);
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = URLDecoder.decode(fields[i], UTF_8.name());
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return fields;
+    }
+
+    private static synchronized void write(PrintStream events, String... fields) {
+        events.println(encode(fields));
+    }
+
+    private static long getCpuTime() {
+        final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean)osBean).getProcessCpuTime();
+        }
+        return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+    }
+
+    private static class EventsWriter extends RunListener {
+        private final PrintStream             events;
+        private final Map<Description, Long>  startTimes;
+
+        EventsWriter(PrintStream events) {
+            this.events = events;
+            this.startTimes = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public void testStarted(Description description) {
+            startTimes.put(description, System.nanoTime());
+            write(events, STARTED, description.getClassName(), description.getMethodName());
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            final Long startTime = startTimes.remove(description);
+            final long duration = startTime == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            write(events, FINISHED, description.getClassName(), description.getMethodName(), Long.toString(duration));
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            final Description description = failure.getDescription();
+            String line = "";
+            for (StackTraceElement element : failure.getException().getStackTrace()) {
+                if (element.getClassName().equals(description.getClassName())) {
+                    line = Integer.toString(element.getLineNumber());
+                    break;
+                }
+            }
+            write(events,
+                  FAILED,
+                  description.getClassName(),
+                  description.getMethodName(),
+                  line,
+                  failure.getMessage(),
+                  failure.getTrace());
+        }
+
+        @Override
+        public void testAssumptionFailure(Failure failure) {
+            final Description description = failure.getDescription();
+            write(events, IGNORED, description.getClassName(), description.getMethodName());
+        }
+
+        @Override
+        public void testIgnored(Description description) {
+            write(events, IGNORED, description.getClassName(), description.getMethodName());
+        }
+    }
+}
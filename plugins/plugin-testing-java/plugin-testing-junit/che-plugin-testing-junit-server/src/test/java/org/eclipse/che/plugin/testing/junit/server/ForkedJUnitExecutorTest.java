@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import org.eclipse.che.api.testing.server.framework.TestExecutionListener;
+import org.eclipse.che.api.testing.shared.Failure;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.testing.junit.server.samples.ExitingSample;
+import org.eclipse.che.plugin.testing.junit.server.samples.FailingSample;
+import org.eclipse.che.plugin.testing.junit.server.samples.PassingSample;
+import org.eclipse.che.plugin.testing.junit.server.samples.RunningSample;
+import org.junit.runner.JUnitCore;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link ForkedJUnitExecutor} executing the sample test classes in the real forked JVMs.
+ */
+public class ForkedJUnitExecutorTest {
+
+    private Path                projectDir;
+    private RecordingListener   listener;
+    private ForkedJUnitExecutor executor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        projectDir = Files.createTempDirectory("project");
+        listener = new RecordingListener();
+        // sample classes and JUnit with its dependencies
+        final List<String> classpath = new ArrayList<>();
+        classpath.add(getLocation(PassingSample.class));
+        classpath.add(getLocation(JUnitCore.class));
+        classpath.add(getLocation(org.hamcrest.Matcher.class));
+        executor = new ForkedJUnitExecutor(classpath, projectDir, projectDir);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(projectDir.toFile());
+    }
+
+    @Test(timeOut = 60_000)
+    public void shouldExecuteEveryQueuedClassOnceInSharedWorkers() throws Exception {
+        final List<String> testClasses = asList(PassingSample.class.getName(),
+                                                FailingSample.class.getName(),
+                                                PassingSample.class.getName());
+
+        final TestResult result = executor.execute(testClasses, 2, listener);
+
+        assertEquals(listener.events("started"), asList(FailingSample.class.getName() + "#failing",
+                                                        PassingSample.class.getName() + "#first",
+                                                        PassingSample.class.getName() + "#first",
+                                                        PassingSample.class.getName() + "#second",
+                                                        PassingSample.class.getName() + "#second"));
+        assertEquals(listener.events("finished").size(), 5);
+        assertEquals(listener.events("ignored"), asList(PassingSample.class.getName() + "#ignored",
+                                                        PassingSample.class.getName() + "#ignored"));
+        assertFalse(result.isSuccess());
+        assertEquals(result.getFailureCount(), 1);
+        assertTrue(Files.exists(projectDir.resolve("che-test-worker-0.log")));
+        assertTrue(Files.exists(projectDir.resolve("che-test-worker-1.log")));
+    }
+
+    @Test(timeOut = 60_000)
+    public void shouldDecodeFailuresReportedByWorker() throws Exception {
+        final TestResult result = executor.execute(Collections.singletonList(FailingSample.class.getName()), 1, listener);
+
+        assertEquals(result.getFailures().size(), 1);
+        final Failure failure = result.getFailures().get(0);
+        assertEquals(failure.getFailingClass(), FailingSample.class.getName());
+        assertEquals(failure.getFailingMethod(), "failing");
+        assertEquals(failure.getMessage(), "expected\tfailure");
+        assertTrue(failure.getFailingLine() > 0);
+        assertTrue(failure.getTrace().contains("java.lang.AssertionError"));
+        assertEquals(listener.events("failed"), Collections.singletonList(FailingSample.class.getName() + "#failing"));
+    }
+
+    @Test(timeOut = 60_000)
+    public void shouldReportFailedLoadingOfTestClass() throws Exception {
+        final TestResult result = executor.execute(Collections.singletonList("org.test.MissingTest"), 1, listener);
+
+        assertEquals(result.getFailureCount(), 1);
+        assertEquals(result.getFailures().get(0).getFailingClass(), "org.test.MissingTest");
+    }
+
+    @Test(timeOut = 60_000)
+    public void shouldFailWhenWorkerDiesInTheMiddleOfExecution() throws Exception {
+        try {
+            executor.execute(asList(ExitingSample.class.getName(), PassingSample.class.getName()), 1, listener);
+            fail("Execution must fail when the worker exits unexpectedly");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("che-test-worker-0.log"), e.getMessage());
+        }
+        assertEquals(listener.events("started"), Collections.singletonList(ExitingSample.class.getName() + "#exiting"));
+    }
+
+    @Test(timeOut = 60_000)
+    public void shouldDestroyWorkersWhenExecutionIsInterrupted() throws Exception {
+        final AtomicReference<Exception> error = new AtomicReference<>();
+        final Thread execution = new Thread(() -> {
+            try {
+                executor.execute(Collections.singletonList(RunningSample.class.getName()), 1, listener);
+            } catch (Exception e) {
+                error.set(e);
+            }
+        });
+        execution.start();
+        assertTrue(listener.started.await(30, TimeUnit.SECONDS));
+        final Path heartbeat = projectDir.resolve(RunningSample.HEARTBEAT_FILE);
+        while (!Files.exists(heartbeat)) {
+            Thread.sleep(20);
+        }
+
+        execution.interrupt();
+        execution.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(execution.isAlive());
+        assertTrue(error.get() instanceof InterruptedException, String.valueOf(error.get()));
+        // the worker stops appending to the file when it's destroyed
+        long size = -1;
+        for (int i = 0; i < 50 && size != Files.size(heartbeat); i++) {
+            size = Files.size(heartbeat);
+            Thread.sleep(200);
+        }
+        assertEquals(Files.size(heartbeat), size);
+    }
+
+    private static String getLocation(Class<?> cls) throws Exception {
+        return Paths.get(cls.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static class RecordingListener implements TestExecutionListener {
+        final List<String>   events  = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public void testStarted(String testClass, String testMethod) {
+            events.add("started:" + testClass + '#' + testMethod);
+            started.countDown();
+        }
+
+        @Override
+        public void testFinished(String testClass, String testMethod, long duration) {
+            events.add("finished:" + testClass + '#' + testMethod);
+        }
+
+        @Override
+        public void testFailed(Failure failure) {
+            events.add("failed:" + failure.getFailingClass() + '#' + failure.getFailingMethod());
+        }
+
+        @Override
+        public void testIgnored(String testClass, String testMethod) {
+            events.add("ignored:" + testClass + '#' + testMethod);
+        }
+
+        /** Returns the events of the given type sorted, as the workers report them in parallel. */
+        List<String> events(String type) {
+            final List<String> result = new ArrayList<>();
+            synchronized (events) {
+                for (String event : events) {
+                    if (event.startsWith(type + ':')) {
+                        result.add(event.substring(type.length() + 1));
+                    }
+                }
+            }
+            Collections.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.samples;
+
+import org.junit.Test;
+
+/** Executed by the forked workers in the tests, it terminates the worker in the middle of the execution. */
+public class ExitingSample {
+
+    @Test
+    public void exiting() {
+        Runtime.getRuntime().halt(1);
+    }
+}
@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.samples;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Executed by the forked workers in the tests, its test fails. */
+public class FailingSample {
+
+    @Test
+    public void failing() {
+        Assert.fail("expected\tfailure");
+    }
+}
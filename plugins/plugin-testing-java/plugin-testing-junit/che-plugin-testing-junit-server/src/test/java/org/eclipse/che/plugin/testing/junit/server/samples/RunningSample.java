@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.samples;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Executed by the forked workers in the tests, its test never finishes and appends
+ * to the {@value #HEARTBEAT_FILE} file of the working directory while the worker is alive.
+ */
+public class RunningSample {
+
+    public static final String HEARTBEAT_FILE = "heartbeat";
+
+    @Test
+    public void running() throws Exception {
+        while (true) {
+            Files.write(Paths.get(HEARTBEAT_FILE), new byte[] {1}, CREATE, APPEND);
+            Thread.sleep(20);
+        }
+    }
+}
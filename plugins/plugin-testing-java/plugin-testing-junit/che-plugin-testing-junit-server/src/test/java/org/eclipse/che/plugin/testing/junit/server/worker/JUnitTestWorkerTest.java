@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.worker;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests encoding of the events of {@link JUnitTestWorker}.
+ */
+public class JUnitTestWorkerTest {
+
+    @Test
+    public void shouldDecodeEncodedFields() {
+        final String[] fields = {JUnitTestWorker.FAILED, "org.test.ATest", "test", "", "tab\tand\nnew line", "100% ünicode + spaces"};
+
+        assertEquals(JUnitTestWorker.decode(JUnitTestWorker.encode(fields)), fields);
+    }
+
+    @Test
+    public void shouldEncodeEventAsSingleLine() {
+        final String line = JUnitTestWorker.encode(JUnitTestWorker.FAILED, "trace\nat line 1\r\nat line 2");
+
+        assertFalse(line.contains("\n"));
+        assertFalse(line.contains("\r"));
+    }
+
+    @Test
+    public void shouldEncodeNullFieldAsEmptyOne() {
+        assertEquals(JUnitTestWorker.decode(JUnitTestWorker.encode(JUnitTestWorker.FAILED, null, "")),
+                     new String[] {JUnitTestWorker.FAILED, "", ""});
+    }
+}
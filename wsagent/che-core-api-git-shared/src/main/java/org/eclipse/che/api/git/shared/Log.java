@@ -20,4 +20,10 @@ import java.util.List;
 @DTO
 public interface Log {
     List<Revision> getCommits();
+
+    /**
+     * Returns the token of the next page of the log, which is passed to the next log request to continue
+     * the log from the same revisions, or null if there are no more commits.
+     */
+    String getNextPageToken();
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ public class LogParams {
     private String       revisionRangeSince;
     private String       revisionRangeUntil;
     private String       filePath;
+    private String       pageToken;
     private int          skip;
     private int          maxCount;
 
@@ -146,6 +147,28 @@ public class LogParams {
         return this;
     }
 
+    /** Returns the token of the log page returned by the previous log command, which is continued. */
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    /** Set the token of the log page returned by the previous log command, which is continued. */
+    public void setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given token of the log page returned by the previous log command.
+     * Skip value is counted from the end of that page.
+     *
+     * @param pageToken
+     *         token of the log page returned by the previous log command
+     */
+    public LogParams withPageToken(String pageToken) {
+        this.pageToken = pageToken;
+        return this;
+    }
+
     /** Returns the Filter revisions list by range of files. */
     public List<String> getFileFilter() {
         return fileFilter == null ? new ArrayList<>() : fileFilter;
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Statistics of the requests of one method sent to the language servers of one language.
+ */
+@DTO
+public interface RequestStatisticsDto {
+
+    /** Identifier of the language served by the language server. */
+    String getLanguageId();
+
+    void setLanguageId(String languageId);
+
+    RequestStatisticsDto withLanguageId(String languageId);
+
+    /** Method of the request, e.g. textDocument/completion. */
+    String getMethod();
+
+    void setMethod(String method);
+
+    RequestStatisticsDto withMethod(String method);
+
+    /** Number of the requests answered by the language server, including failed requests. */
+    long getCompleted();
+
+    void setCompleted(long completed);
+
+    RequestStatisticsDto withCompleted(long completed);
+
+    /** Number of the requests which failed on the language server side. */
+    long getFailed();
+
+    void setFailed(long failed);
+
+    RequestStatisticsDto withFailed(long failed);
+
+    /** Number of the requests cancelled because they weren't answered in time. */
+    long getTimedOut();
+
+    void setTimedOut(long timedOut);
+
+    RequestStatisticsDto withTimedOut(long timedOut);
+
+    /** Number of the requests cancelled because newer request for the same document was sent. */
+    long getSuperseded();
+
+    void setSuperseded(long superseded);
+
+    RequestStatisticsDto withSuperseded(long superseded);
+
+    /** Number of the requests which joined identical request being in progress. */
+    long getCoalesced();
+
+    void setCoalesced(long coalesced);
+
+    RequestStatisticsDto withCoalesced(long coalesced);
+
+    /** Inclusive upper bounds of the latency buckets in milliseconds. */
+    List<Long> getLatencyBounds();
+
+    void setLatencyBounds(List<Long> latencyBounds);
+
+    RequestStatisticsDto withLatencyBounds(List<Long> latencyBounds);
+
+    /**
+     * Number of the completed requests in the latency buckets, the last value is the number
+     * of the requests slower than the last bound.
+     */
+    List<Long> getLatencyCounts();
+
+    void setLatencyCounts(List<Long> latencyCounts);
+
+    RequestStatisticsDto withLatencyCounts(List<Long> latencyCounts);
+}
@@ -19,6 +19,7 @@ import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
 import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
+import org.eclipse.che.api.languageserver.shared.RequestStatisticsDto;
 import org.eclipse.che.api.languageserver.shared.lsapi.InitializeResultDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.LanguageDescriptionDTO;
 
@@ -39,11 +40,13 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Path("languageserver")
 public class LanguageRegistryService {
 
-	private final LanguageServerRegistry registry;
+	private final LanguageServerRegistry        registry;
+	private final LanguageServerRequestExecutor requestExecutor;
 
 	@Inject
-	public LanguageRegistryService(LanguageServerRegistry registry) {
+	public LanguageRegistryService(LanguageServerRegistry registry, LanguageServerRequestExecutor requestExecutor) {
 		this.registry = registry;
+		this.requestExecutor = requestExecutor;
 	}
 
 	@GET
@@ -80,6 +83,13 @@ public class LanguageRegistryService {
 
 	}
 
+	@GET
+	@Produces(MediaType.APPLICATION_JSON)
+	@Path("statistics")
+	public List<RequestStatisticsDto> getRequestStatistics() {
+		return requestExecutor.getStatistics();
+	}
+
 	@POST
     @Path("initialize")
 	public void initialize(@QueryParam("path") String path) throws LanguageServerException {
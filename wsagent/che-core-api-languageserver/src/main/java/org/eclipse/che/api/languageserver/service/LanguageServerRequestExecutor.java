@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.shared.RequestStatisticsDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Waits for the answers of the language servers on the requests sent by {@link TextDocumentService}.
+ *
+ * <p>Each request method has its own timeout, request which isn't answered in time is cancelled,
+ * which makes the language server connection send {@code $/cancelRequest} to the server.
+ *
+ * <p>Only the latest request of the same method for the same document is of interest for the client,
+ * e.g. completion requested on the previous key stroke isn't needed anymore. So when the next request
+ * for the document comes the previous one is cancelled and the thread waiting for it is released
+ * with the default result. If the next request has the same parameters it joins the request in progress
+ * instead of sending one more request to the language server.
+ *
+ * <p>Outcomes and latency of the requests are accumulated per language and method,
+ * see {@link #getStatistics()}.
+ */
+@Singleton
+public class LanguageServerRequestExecutor {
+    public static final String COMPLETION              = "textDocument/completion";
+    public static final String RESOLVE_COMPLETION_ITEM = "completionItem/resolve";
+    public static final String HOVER                   = "textDocument/hover";
+    public static final String SIGNATURE_HELP          = "textDocument/signatureHelp";
+    public static final String DEFINITION              = "textDocument/definition";
+    public static final String REFERENCES              = "textDocument/references";
+    public static final String DOCUMENT_HIGHLIGHT      = "textDocument/documentHighlight";
+    public static final String DOCUMENT_SYMBOL         = "textDocument/documentSymbol";
+    public static final String FORMATTING              = "textDocument/formatting";
+    public static final String RANGE_FORMATTING        = "textDocument/rangeFormatting";
+    public static final String ON_TYPE_FORMATTING      = "textDocument/onTypeFormatting";
+
+    static final long DEFAULT_TIMEOUT_MS = 10_000;
+
+    private static final Map<String, Long> TIMEOUTS = ImmutableMap.<String, Long>builder()
+                                                                  .put(COMPLETION, 10_000L)
+                                                                  .put(RESOLVE_COMPLETION_ITEM, 5_000L)
+                                                                  .put(HOVER, 5_000L)
+                                                                  .put(SIGNATURE_HELP, 5_000L)
+                                                                  .put(DOCUMENT_HIGHLIGHT, 5_000L)
+                                                                  .put(ON_TYPE_FORMATTING, 5_000L)
+                                                                  .put(DEFINITION, 15_000L)
+                                                                  .put(DOCUMENT_SYMBOL, 15_000L)
+                                                                  .put(REFERENCES, 30_000L)
+                                                                  .put(FORMATTING, 30_000L)
+                                                                  .put(RANGE_FORMATTING, 30_000L)
+                                                                  .build();
+
+    private final Map<String, Long>                     timeouts;
+    private final Map<List<String>, InFlightRequest<?>> inFlight;
+    private final Map<List<String>, RequestStatistics>  statistics;
+
+    @Inject
+    public LanguageServerRequestExecutor() {
+        this(TIMEOUTS);
+    }
+
+    LanguageServerRequestExecutor(Map<String, Long> timeouts) {
+        this.timeouts = timeouts;
+        this.inFlight = new ConcurrentHashMap<>();
+        this.statistics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sends request to the language server and waits for the answer.
+     *
+     * @param languageId
+     *         identifier of the language served by the language server, used for the statistics
+     * @param method
+     *         method of the request
+     * @param documentUri
+     *         uri of the document the request is sent for
+     * @param params
+     *         parameters of the request, requests with equal parameters are coalesced
+     * @param request
+     *         sends the request to the language server
+     * @param superseded
+     *         result returned when the request is superseded by the newer request for the same document
+     * @return answer of the language server
+     * @throws LanguageServerException
+     *         when the language server fails to answer the request or doesn't answer it in time
+     */
+    public <T> T execute(String languageId,
+                         String method,
+                         String documentUri,
+                         Object params,
+                         Supplier<CompletableFuture<T>> request,
+                         T superseded) throws LanguageServerException {
+        final RequestStatistics stats = statistics.computeIfAbsent(asList(languageId, method),
+                                                                   key -> new RequestStatistics(languageId, method));
+        final List<String> key = asList(method, documentUri);
+        final long timeout = timeouts.getOrDefault(method, DEFAULT_TIMEOUT_MS);
+        final long start = System.nanoTime();
+        final InFlightRequest<T> inFlightRequest = start(key, params, request, stats);
+        try {
+            final T result = inFlightRequest.future.get(timeout, MILLISECONDS);
+            if (inFlightRequest.owner == Thread.currentThread()) {
+                stats.completed(NANOSECONDS.toMillis(System.nanoTime() - start), false);
+            }
+            return result;
+        } catch (CancellationException | ExecutionException e) {
+            if (inFlightRequest.isSuperseded()) {
+                stats.superseded();
+                return superseded;
+            }
+            if (e instanceof CancellationException) {
+                throw new LanguageServerException(format("Request '%s' for '%s' was cancelled", method, documentUri));
+            }
+            if (inFlightRequest.owner == Thread.currentThread()) {
+                stats.completed(NANOSECONDS.toMillis(System.nanoTime() - start), true);
+            }
+            final Throwable cause = e.getCause();
+            throw new LanguageServerException(format("Request '%s' for '%s' failed: %s", method, documentUri, cause.getMessage()),
+                                              cause);
+        } catch (TimeoutException e) {
+            stats.timedOut();
+            throw new LanguageServerException(format("Language server of '%s' didn't answer request '%s' for '%s' in %d ms",
+                                                     languageId, method, documentUri, timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LanguageServerException(format("Interrupted while waiting for request '%s' for '%s'", method, documentUri));
+        } finally {
+            if (inFlightRequest.leave()) {
+                // nobody waits for the answer anymore, no-op if the request is already answered
+                inFlightRequest.future.cancel(true);
+                inFlight.remove(key, inFlightRequest);
+            }
+        }
+    }
+
+    /**
+     * Cancels all the requests in progress for the given document, threads waiting for them
+     * are released with the default results, e.g. when the document is closed.
+     */
+    public void cancelRequests(String documentUri) {
+        inFlight.forEach((key, request) -> {
+            if (key.get(1).equals(documentUri) && inFlight.remove(key, request)) {
+                request.supersede();
+            }
+        });
+    }
+
+    /** Returns statistics of the requests sent so far. */
+    public List<RequestStatisticsDto> getStatistics() {
+        return statistics.values()
+                         .stream()
+                         .map(RequestStatistics::asDto)
+                         .collect(toList());
+    }
+
+    RequestStatistics getStatistics(String languageId, String method) {
+        return statistics.get(asList(languageId, method));
+    }
+
+    @SuppressWarnings("unchecked") // requests with the same key are requests of the same method
+    private <T> InFlightRequest<T> start(List<String> key,
+                                         Object params,
+                                         Supplier<CompletableFuture<T>> request,
+                                         RequestStatistics stats) {
+        final InFlightRequest<?> current = inFlight.get(key);
+        if (current != null && Objects.equals(current.params, params) && current.join()) {
+            stats.coalesced();
+            return (InFlightRequest<T>)current;
+        }
+        // request is registered before it is sent, so it can be superseded even if it's still being sent
+        final InFlightRequest<T> started = new InFlightRequest<>(params);
+        final InFlightRequest<?> previous = inFlight.put(key, started);
+        if (previous != null) {
+            previous.supersede();
+        }
+        final CompletableFuture<T> sent;
+        try {
+            sent = request.get();
+        } catch (RuntimeException e) {
+            started.future.completeExceptionally(e);
+            return started;
+        }
+        sent.whenComplete((result, error) -> {
+            if (error == null) {
+                started.future.complete(result);
+            } else {
+                started.future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                                     ? error.getCause() : error);
+            }
+        });
+        started.future.whenComplete((result, error) -> {
+            if (started.future.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return started;
+    }
+
+    /** Request sent to the language server and threads waiting for its answer. */
+    private static class InFlightRequest<T> {
+        final Object               params;
+        final CompletableFuture<T> future;
+        final Thread               owner;
+
+        int     waiters;
+        boolean superseded;
+
+        InFlightRequest(Object params) {
+            this.params = params;
+            this.future = new CompletableFuture<>();
+            this.owner = Thread.currentThread();
+            this.waiters = 1;
+        }
+
+        /** Adds one more waiter, returns false if the request can't be joined anymore. */
+        synchronized boolean join() {
+            if (waiters == 0 || superseded || future.isDone()) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /** Removes the waiter, returns true if it was the last one. */
+        synchronized boolean leave() {
+            return --waiters == 0;
+        }
+
+        synchronized void supersede() {
+            superseded = true;
+            future.cancel(true);
+        }
+
+        synchronized boolean isSuperseded() {
+            return superseded;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import org.eclipse.che.api.languageserver.shared.RequestStatisticsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Outcomes and latency histogram of the requests of one method sent to the language servers of one language.
+ *
+ * <p>This class is thread-safe.
+ */
+class RequestStatistics {
+    static final long[] LATENCY_BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10_000, 30_000};
+
+    private final String          languageId;
+    private final String          method;
+    private final AtomicLongArray latencyCounts;
+    private final LongAdder       failed;
+    private final LongAdder       timedOut;
+    private final LongAdder       superseded;
+    private final LongAdder       coalesced;
+
+    RequestStatistics(String languageId, String method) {
+        this.languageId = languageId;
+        this.method = method;
+        this.latencyCounts = new AtomicLongArray(LATENCY_BOUNDS.length + 1);
+        this.failed = new LongAdder();
+        this.timedOut = new LongAdder();
+        this.superseded = new LongAdder();
+        this.coalesced = new LongAdder();
+    }
+
+    /** Records request answered by the language server in the given number of milliseconds. */
+    void completed(long millis, boolean failure) {
+        int bucket = 0;
+        while (bucket < LATENCY_BOUNDS.length && millis > LATENCY_BOUNDS[bucket]) {
+            bucket++;
+        }
+        latencyCounts.incrementAndGet(bucket);
+        if (failure) {
+            failed.increment();
+        }
+    }
+
+    void timedOut() {
+        timedOut.increment();
+    }
+
+    void superseded() {
+        superseded.increment();
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    long getCompleted() {
+        long completed = 0;
+        for (int i = 0; i < latencyCounts.length(); i++) {
+            completed += latencyCounts.get(i);
+        }
+        return completed;
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    long getSuperseded() {
+        return superseded.sum();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /** Returns number of the completed requests in each latency bucket. */
+    List<Long> getLatencyCounts() {
+        final List<Long> counts = new ArrayList<>(latencyCounts.length());
+        for (int i = 0; i < latencyCounts.length(); i++) {
+            counts.add(latencyCounts.get(i));
+        }
+        return counts;
+    }
+
+    RequestStatisticsDto asDto() {
+        final List<Long> bounds = new ArrayList<>(LATENCY_BOUNDS.length);
+        for (long bound : LATENCY_BOUNDS) {
+            bounds.add(bound);
+        }
+        final List<Long> counts = getLatencyCounts();
+        long completed = 0;
+        for (long count : counts) {
+            completed += count;
+        }
+        return newDto(RequestStatisticsDto.class).withLanguageId(languageId)
+                                                 .withMethod(method)
+                                                 .withCompleted(completed)
+                                                 .withFailed(getFailed())
+                                                 .withTimedOut(getTimedOut())
+                                                 .withSuperseded(getSuperseded())
+                                                 .withCoalesced(getCoalesced())
+                                                 .withLatencyBounds(bounds)
+                                                 .withLatencyCounts(counts);
+    }
+}
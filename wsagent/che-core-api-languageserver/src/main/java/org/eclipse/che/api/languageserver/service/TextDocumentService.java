@@ -25,8 +25,10 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
+import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.shared.lsapi.CompletionItemDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.DidChangeTextDocumentParamsDTO;
 import org.eclipse.che.api.languageserver.shared.lsapi.DidCloseTextDocumentParamsDTO;
@@ -45,13 +47,26 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 import static java.util.Collections.emptyList;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.COMPLETION;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.DEFINITION;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.DOCUMENT_HIGHLIGHT;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.DOCUMENT_SYMBOL;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.FORMATTING;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.HOVER;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.ON_TYPE_FORMATTING;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.RANGE_FORMATTING;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.REFERENCES;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.RESOLVE_COMPLETION_ITEM;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.SIGNATURE_HELP;
 
 /**
  * REST API for the textDocument/* services defined in https://github.com/Microsoft/vscode-languageserver-protocol
  * Dispatches onto the {@link LanguageServerRegistryImpl}.
+ *
+ * <p>Requests are sent through the {@link LanguageServerRequestExecutor}, which limits the time spent
+ * waiting for the answers and cancels requests superseded by the newer ones.
  */
 @Singleton
 @Path("languageserver/textDocument")
@@ -59,11 +74,17 @@ public class TextDocumentService {
 
     private static final String FILE_PROJECTS = "file:///projects";
 
-    private final LanguageServerRegistry languageServerRegistry;
+    private final LanguageServerRegistry        languageServerRegistry;
+    private final ServerInitializer             serverInitializer;
+    private final LanguageServerRequestExecutor requestExecutor;
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry,
+                               ServerInitializer serverInitializer,
+                               LanguageServerRequestExecutor requestExecutor) {
         this.languageServerRegistry = languageServerRegistry;
+        this.serverInitializer = serverInitializer;
+        this.requestExecutor = requestExecutor;
     }
 
     static String prefixURI(String relativePath) {
@@ -81,49 +102,58 @@ public class TextDocumentService {
     @Path("completion")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionList completion(TextDocumentPositionParamsDTO textDocumentPositionParams) throws InterruptedException,
-                                                                                                      ExecutionException,
-                                                                                                      LanguageServerException {
+    public CompletionList completion(TextDocumentPositionParamsDTO textDocumentPositionParams) throws LanguageServerException {
         textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
         textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
         LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
         if (server == null) {
             return null;
         }
-        return server.getTextDocumentService()
-                     .completion(textDocumentPositionParams).get();
+        return requestExecutor.execute(getLanguageId(server),
+                                       COMPLETION,
+                                       textDocumentPositionParams.getTextDocument().getUri(),
+                                       textDocumentPositionParams,
+                                       () -> server.getTextDocumentService().completion(textDocumentPositionParams),
+                                       null);
     }
 
     @POST
     @Path("documentSymbol")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public List<? extends SymbolInformation> documentSymbol(DocumentSymbolParamsDTO documentSymbolParams) throws ExecutionException,
-                                                                                                                 InterruptedException,
-                                                                                                                 LanguageServerException {
+    public List<? extends SymbolInformation> documentSymbol(DocumentSymbolParamsDTO documentSymbolParams)
+            throws LanguageServerException {
         documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
         LanguageServer server = getServer(documentSymbolParams.getTextDocument().getUri());
         if (server == null) {
             return emptyList();
         }
 
-        return server.getTextDocumentService().documentSymbol(documentSymbolParams).get();
+        return requestExecutor.execute(getLanguageId(server),
+                                       DOCUMENT_SYMBOL,
+                                       documentSymbolParams.getTextDocument().getUri(),
+                                       documentSymbolParams,
+                                       () -> server.getTextDocumentService().documentSymbol(documentSymbolParams),
+                                       emptyList());
     }
 
     @POST
     @Path("references")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public List<? extends Location> references(ReferenceParamsDTO params) throws ExecutionException,
-                                                                                 InterruptedException,
-                                                                                 LanguageServerException {
+    public List<? extends Location> references(ReferenceParamsDTO params) throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return emptyList();
         }
 
-        List<? extends Location> locations = server.getTextDocumentService().references(params).get();
+        List<? extends Location> locations = requestExecutor.execute(getLanguageId(server),
+                                                                     REFERENCES,
+                                                                     params.getTextDocument().getUri(),
+                                                                     params,
+                                                                     () -> server.getTextDocumentService().references(params),
+                                                                     emptyList());
         locations.forEach(o -> {
             if (o instanceof LocationImpl) {
                 ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
@@ -137,16 +167,19 @@ public class TextDocumentService {
     @Path("definition")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public List<? extends Location> definition(TextDocumentPositionParamsDTO params) throws ExecutionException,
-                                                                                            InterruptedException,
-                                                                                            LanguageServerException {
+    public List<? extends Location> definition(TextDocumentPositionParamsDTO params) throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return emptyList();
         }
 
-        List<? extends Location> locations = server.getTextDocumentService().definition(params).get();
+        List<? extends Location> locations = requestExecutor.execute(getLanguageId(server),
+                                                                     DEFINITION,
+                                                                     params.getTextDocument().getUri(),
+                                                                     params,
+                                                                     () -> server.getTextDocumentService().definition(params),
+                                                                     emptyList());
         locations.forEach(o -> {
             if (o instanceof LocationImpl) {
                 ((LocationImpl)o).setUri(removePrefixUri(o.getUri()));
@@ -160,12 +193,16 @@ public class TextDocumentService {
     @Path("completionItem/resolve")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionItem resolveCompletionItem(CompletionItemDTO unresolved) throws InterruptedException,
-                                                                                     ExecutionException,
-                                                                                     LanguageServerException {
-        LanguageServer server = getServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()));
+    public CompletionItem resolveCompletionItem(CompletionItemDTO unresolved) throws LanguageServerException {
+        String uri = prefixURI(unresolved.getTextDocumentIdentifier().getUri());
+        LanguageServer server = getServer(uri);
         if (server != null) {
-            return server.getTextDocumentService().resolveCompletionItem(unresolved).get();
+            return requestExecutor.execute(getLanguageId(server),
+                                           RESOLVE_COMPLETION_ITEM,
+                                           uri,
+                                           unresolved,
+                                           () -> server.getTextDocumentService().resolveCompletionItem(unresolved),
+                                           unresolved);
         } else {
             return unresolved;
         }
@@ -175,13 +212,17 @@ public class TextDocumentService {
     @Path("hover")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Hover hover(TextDocumentPositionParamsDTO positionParams)
-            throws LanguageServerException, ExecutionException, InterruptedException {
+    public Hover hover(TextDocumentPositionParamsDTO positionParams) throws LanguageServerException {
         positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
         positionParams.setUri(prefixURI(positionParams.getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return server.getTextDocumentService().hover(positionParams).get();
+            return requestExecutor.execute(getLanguageId(server),
+                                           HOVER,
+                                           positionParams.getTextDocument().getUri(),
+                                           positionParams,
+                                           () -> server.getTextDocumentService().hover(positionParams),
+                                           null);
         } else {
             return null;
         }
@@ -191,13 +232,17 @@ public class TextDocumentService {
     @Path("signatureHelp")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public SignatureHelp signatureHelp(TextDocumentPositionParamsDTO positionParams)
-            throws LanguageServerException, ExecutionException, InterruptedException {
+    public SignatureHelp signatureHelp(TextDocumentPositionParamsDTO positionParams) throws LanguageServerException {
         positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
         positionParams.setUri(prefixURI(positionParams.getUri()));
         LanguageServer server = getServer(positionParams.getTextDocument().getUri());
         if (server != null) {
-            return server.getTextDocumentService().signatureHelp(positionParams).get();
+            return requestExecutor.execute(getLanguageId(server),
+                                           SIGNATURE_HELP,
+                                           positionParams.getTextDocument().getUri(),
+                                           positionParams,
+                                           () -> server.getTextDocumentService().signatureHelp(positionParams),
+                                           null);
         } else {
             return null;
         }
@@ -207,14 +252,18 @@ public class TextDocumentService {
     @Path("formatting")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public List<? extends TextEdit> formatting(DocumentFormattingParamsDTO params)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+    public List<? extends TextEdit> formatting(DocumentFormattingParamsDTO params) throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService().formatting(params).get();
+        return requestExecutor.execute(getLanguageId(server),
+                                       FORMATTING,
+                                       params.getTextDocument().getUri(),
+                                       params,
+                                       () -> server.getTextDocumentService().formatting(params),
+                                       emptyList());
 
     }
 
@@ -222,14 +271,18 @@ public class TextDocumentService {
     @Path("rangeFormatting")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public List<? extends TextEdit> rangeFormatting(DocumentRangeFormattingParamsDTO params)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+    public List<? extends TextEdit> rangeFormatting(DocumentRangeFormattingParamsDTO params) throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService().rangeFormatting(params).get();
+        return requestExecutor.execute(getLanguageId(server),
+                                       RANGE_FORMATTING,
+                                       params.getTextDocument().getUri(),
+                                       params,
+                                       () -> server.getTextDocumentService().rangeFormatting(params),
+                                       emptyList());
 
     }
 
@@ -237,14 +290,18 @@ public class TextDocumentService {
     @Path("onTypeFormatting")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public List<? extends TextEdit> onTypeFormatting(DocumentOnTypeFormattingParamsDTO params)
-            throws InterruptedException, ExecutionException, LanguageServerException {
+    public List<? extends TextEdit> onTypeFormatting(DocumentOnTypeFormattingParamsDTO params) throws LanguageServerException {
         params.getTextDocument().setUri(prefixURI(params.getTextDocument().getUri()));
         LanguageServer server = getServer(params.getTextDocument().getUri());
         if (server == null) {
             return emptyList();
         }
-        return server.getTextDocumentService().onTypeFormatting(params).get();
+        return requestExecutor.execute(getLanguageId(server),
+                                       ON_TYPE_FORMATTING,
+                                       params.getTextDocument().getUri(),
+                                       params,
+                                       () -> server.getTextDocumentService().onTypeFormatting(params),
+                                       emptyList());
 
     }
 
@@ -277,6 +334,7 @@ public class TextDocumentService {
     @Consumes(MediaType.APPLICATION_JSON)
     public void didClose(DidCloseTextDocumentParamsDTO closeEvent) throws LanguageServerException {
         closeEvent.getTextDocument().setUri(prefixURI(closeEvent.getTextDocument().getUri()));
+        requestExecutor.cancelRequests(closeEvent.getTextDocument().getUri());
         LanguageServer server = getServer(closeEvent.getTextDocument().getUri());
         if (server != null) {
             server.getTextDocumentService().didClose(closeEvent);
@@ -297,12 +355,16 @@ public class TextDocumentService {
     @POST
     @Path("documentHighlight")
     @Consumes(MediaType.APPLICATION_JSON)
-	public DocumentHighlight documentHighlight(TextDocumentPositionParamsDTO positionParams)
-			throws LanguageServerException, InterruptedException, ExecutionException {
+	public DocumentHighlight documentHighlight(TextDocumentPositionParamsDTO positionParams) throws LanguageServerException {
     	positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
     	LanguageServer server = getServer(positionParams.getTextDocument().getUri());
     	if (server != null) {
-    		return server.getTextDocumentService().documentHighlight(positionParams).get();
+    		return requestExecutor.execute(getLanguageId(server),
+    		                               DOCUMENT_HIGHLIGHT,
+    		                               positionParams.getTextDocument().getUri(),
+    		                               positionParams,
+    		                               () -> server.getTextDocumentService().documentHighlight(positionParams),
+    		                               null);
     	}
     	return null;
     }
@@ -310,4 +372,9 @@ public class TextDocumentService {
     private LanguageServer getServer(String uri) throws LanguageServerException {
         return languageServerRegistry.findServer(uri);
     }
+
+    private String getLanguageId(LanguageServer server) {
+        LanguageServerDescription description = serverInitializer.getInitializedServers().get(server);
+        return description != null ? description.getLanguageDescription().getLanguageId() : "unknown";
+    }
 }
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.COMPLETION;
+import static org.eclipse.che.api.languageserver.service.LanguageServerRequestExecutor.HOVER;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link LanguageServerRequestExecutor}.
+ */
+public class LanguageServerRequestExecutorTest {
+    private static final String LANGUAGE_ID = "java";
+    private static final String URI         = "file:///projects/p/A.java";
+
+    private LanguageServerRequestExecutor requestExecutor;
+    private ExecutorService               threads;
+
+    @BeforeMethod
+    public void setUp() {
+        requestExecutor = new LanguageServerRequestExecutor(ImmutableMap.of(HOVER, 100L));
+        threads = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnAnswerOfLanguageServer() throws Exception {
+        final String result = requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "params",
+                                                      () -> CompletableFuture.completedFuture("answer"), "superseded");
+
+        assertEquals(result, "answer");
+        final RequestStatistics statistics = requestExecutor.getStatistics(LANGUAGE_ID, COMPLETION);
+        assertEquals(statistics.getCompleted(), 1);
+        assertEquals((long)statistics.getLatencyCounts().get(0), 1);
+    }
+
+    @Test
+    public void shouldCancelRequestWhichIsNotAnsweredInTime() throws Exception {
+        final CompletableFuture<String> answer = new CompletableFuture<>();
+
+        try {
+            requestExecutor.execute(LANGUAGE_ID, HOVER, URI, "params", () -> answer, "superseded");
+            fail("Request must time out");
+        } catch (LanguageServerException e) {
+            assertTrue(e.getMessage().contains("in 100 ms"), e.getMessage());
+        }
+
+        assertTrue(answer.isCancelled());
+        assertEquals(requestExecutor.getStatistics(LANGUAGE_ID, HOVER).getTimedOut(), 1);
+    }
+
+    @Test
+    public void shouldCountFailedRequests() throws Exception {
+        final CompletableFuture<String> answer = new CompletableFuture<>();
+        answer.completeExceptionally(new IllegalStateException("server failed"));
+
+        try {
+            requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "params", () -> answer, "superseded");
+            fail("Request must fail");
+        } catch (LanguageServerException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        final RequestStatistics statistics = requestExecutor.getStatistics(LANGUAGE_ID, COMPLETION);
+        assertEquals(statistics.getCompleted(), 1);
+        assertEquals(statistics.getFailed(), 1);
+    }
+
+    @Test
+    public void shouldSupersedeRequestForTheSameDocument() throws Exception {
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Future<String> firstResult = threads.submit(() -> requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "first", () -> {
+            sent.countDown();
+            return first;
+        }, "superseded"));
+        assertTrue(sent.await(5, SECONDS));
+
+        final String secondResult = requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "second",
+                                                            () -> CompletableFuture.completedFuture("second answer"), "superseded");
+
+        assertEquals(secondResult, "second answer");
+        assertEquals(firstResult.get(5, SECONDS), "superseded");
+        assertTrue(first.isCancelled());
+        assertEquals(requestExecutor.getStatistics(LANGUAGE_ID, COMPLETION).getSuperseded(), 1);
+    }
+
+    @Test
+    public void shouldNotSupersedeRequestForAnotherDocument() throws Exception {
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Future<String> firstResult = threads.submit(() -> requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "params", () -> {
+            sent.countDown();
+            return first;
+        }, "superseded"));
+        assertTrue(sent.await(5, SECONDS));
+
+        requestExecutor.execute(LANGUAGE_ID, COMPLETION, "file:///projects/p/B.java", "params",
+                                () -> CompletableFuture.completedFuture("answer"), "superseded");
+        first.complete("first answer");
+
+        assertEquals(firstResult.get(5, SECONDS), "first answer");
+    }
+
+    @Test
+    public void shouldJoinRequestWithTheSameParameters() throws Exception {
+        final CompletableFuture<String> answer = new CompletableFuture<>();
+        final AtomicInteger sentRequests = new AtomicInteger();
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Future<String> firstResult = threads.submit(() -> requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "params", () -> {
+            sentRequests.incrementAndGet();
+            sent.countDown();
+            return answer;
+        }, "superseded"));
+        assertTrue(sent.await(5, SECONDS));
+
+        final Future<String> secondResult = threads.submit(() -> requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "params", () -> {
+            sentRequests.incrementAndGet();
+            return new CompletableFuture<>();
+        }, "superseded"));
+        while (requestExecutor.getStatistics(LANGUAGE_ID, COMPLETION).getCoalesced() == 0) {
+            Thread.sleep(10);
+        }
+        answer.complete("answer");
+
+        assertEquals(firstResult.get(5, SECONDS), "answer");
+        assertEquals(secondResult.get(5, SECONDS), "answer");
+        assertEquals(sentRequests.get(), 1);
+    }
+
+    @Test
+    public void shouldReleaseRequestsOfClosedDocument() throws Exception {
+        final CompletableFuture<String> answer = new CompletableFuture<>();
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Future<String> result = threads.submit(() -> requestExecutor.execute(LANGUAGE_ID, COMPLETION, URI, "params", () -> {
+            sent.countDown();
+            return answer;
+        }, "superseded"));
+        assertTrue(sent.await(5, SECONDS));
+
+        requestExecutor.cancelRequests(URI);
+
+        assertEquals(result.get(5, SECONDS), "superseded");
+        assertTrue(answer.isCancelled());
+    }
+
+    @Test
+    public void shouldPutLatencyIntoBuckets() {
+        final RequestStatistics statistics = new RequestStatistics(LANGUAGE_ID, COMPLETION);
+
+        statistics.completed(5, false);
+        statistics.completed(6, false);
+        statistics.completed(60_000, true);
+
+        assertEquals((long)statistics.getLatencyCounts().get(0), 1);
+        assertEquals((long)statistics.getLatencyCounts().get(1), 1);
+        assertEquals((long)statistics.getLatencyCounts().get(RequestStatistics.LATENCY_BOUNDS.length), 1);
+        assertEquals(statistics.getCompleted(), 3);
+        assertEquals(statistics.getFailed(), 1);
+    }
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Changes of the project tree made since the revision requested with {@link ProjectTreeDeltaRequestDto}.
+ */
+@DTO
+public interface ProjectTreeDeltaDto {
+
+    /** Current revision of the tree, the client should request next delta from it. */
+    long getRevision();
+
+    ProjectTreeDeltaDto withRevision(long revision);
+
+    /**
+     * Whether the delta is the snapshot of the folder, so the client should replace the children
+     * of the folder with the items listed in the changes instead of applying them and reload
+     * the subfolders it shows, happens when the requested revision is too old or unknown to the server.
+     */
+    boolean isSnapshot();
+
+    ProjectTreeDeltaDto withSnapshot(boolean snapshot);
+
+    /** Changes of the tree, at most one per item, or the direct children of the folder if it's the snapshot. */
+    List<ProjectTreeStateUpdateDto> getChanges();
+
+    ProjectTreeDeltaDto withChanges(List<ProjectTreeStateUpdateDto> changes);
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Request for the changes of the project tree made after the given revision.
+ */
+@DTO
+public interface ProjectTreeDeltaRequestDto {
+
+    /** Path of the folder which changes are requested, the whole workspace if not set. */
+    String getPath();
+
+    ProjectTreeDeltaRequestDto withPath(String path);
+
+    /** Revision of the tree known to the client, the one returned with the previous delta. */
+    long getRevision();
+
+    ProjectTreeDeltaRequestDto withRevision(long revision);
+}
@@ -21,4 +21,9 @@ public interface ProjectTreeStateUpdateDto {
     FileWatcherEventType getType();
 
     ProjectTreeStateUpdateDto withType(FileWatcherEventType type);
+
+    /** Whether the item is a folder, known only for the items which exist, e.g. not for deleted ones. */
+    boolean isFolder();
+
+    ProjectTreeStateUpdateDto withFolder(boolean folder);
 }
@@ -33,6 +33,7 @@ import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.EditorFileTracker;
+import org.eclipse.che.api.vfs.impl.file.event.detectors.ProjectTreeJournal;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.ProjectTreeTracker;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
@@ -113,6 +114,7 @@ public class ProjectApiModule extends AbstractModule {
     private void configureVfsEvent() {
         bind(EditorFileTracker.class).asEagerSingleton();
         bind(ProjectTreeTracker.class).asEagerSingleton();
+        bind(ProjectTreeJournal.class).asEagerSingleton();
     }
 
     @Provides
@@ -10,6 +10,18 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -30,15 +42,31 @@ package org.eclipse.che.api.vfs;
  *         }
  *      }
  * </pre>
+ * <p/>
+ * Lock of a path also protects all its children. Exclusive lock can't be obtained while other thread
+ * holds any lock of the path, its parents or children, shared lock can't be obtained while other thread
+ * holds exclusive lock of any of them. Thread which already holds a lock may lock the same path, its parents
+ * or children again without waiting.
+ * <p/>
+ * It is implemented as hierarchical intention locking: lock of a path takes intention lock of each parent,
+ * so conflicts are found by looking at the locked path and its parents only. Locks are kept in a table
+ * of hashed stripes, and each locked path has own queue of waiting threads, so threads which lock
+ * unrelated paths don't contend with each other. Waiting threads get the lock in order of arrival.
  *
  * @author andrew00x>
  */
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final int STRIPES             = 64;
+
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int      maxThreads;
+    private final Stripe[] stripes;
+
+    private final AtomicLong acquired;
+    private final AtomicLong contended;
+    private final AtomicLong timedOut;
+    private final AtomicLong waitTimeNanos;
 
     /**
      * @param maxThreads
@@ -50,145 +78,295 @@ public final class PathLockFactory {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.acquired = new AtomicLong();
+        this.contended = new AtomicLong();
+        this.timedOut = new AtomicLong();
+        this.waitTimeNanos = new AtomicLong();
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
+    /** Returns statistics of locks usage since this factory has been created. */
+    public PathLockStatistics getStatistics() {
+        int lockedPaths = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
             try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+                lockedPaths += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
             }
         }
+        return new PathLockStatistics(acquired.get(),
+                                      contended.get(),
+                                      timedOut.get(),
+                                      TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.get()),
+                                      lockedPaths);
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Locks parents of the path with intention mode from the root down to the path, then the path itself.
+     *
+     * @param timeoutNanos
+     *         maximum time to wait for the lock, negative value means no timeout
+     */
+    private void acquire(Path path, boolean exclusive, Thread thread, long timeoutNanos) {
+        final List<Path> paths = pathWithParents(path);
+        final long startTime = System.nanoTime();
+        int locked = 0;
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                final Mode mode = i == paths.size() - 1 ? (exclusive ? Mode.EXCLUSIVE : Mode.SHARED)
+                                                        : (exclusive ? Mode.INTENTION_EXCLUSIVE : Mode.INTENTION_SHARED);
+                acquire(paths.get(i), mode, thread, startTime, timeoutNanos);
+                locked++;
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            acquired.incrementAndGet();
+        } finally {
+            if (locked < paths.size()) {
+                for (int i = locked - 1; i >= 0; i--) {
+                    release(paths.get(i), exclusive ? Mode.INTENTION_EXCLUSIVE : Mode.INTENTION_SHARED, thread);
+                }
             }
-            waitTime = endTime - now;
         }
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
+    private void acquire(Path path, Mode mode, Thread thread, long startTime, long timeoutNanos) {
+        final Stripe stripe = getStripe(path);
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.entries.get(path);
+            if (entry == null) {
+                entry = new Entry(stripe.lock.newCondition());
+                stripe.entries.put(path, entry);
+            }
+            if (entry.canGrant(mode, thread, null)) {
+                entry.grant(mode, thread);
+                return;
             }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+            contended.incrementAndGet();
+            final long waitStartTime = System.nanoTime();
+            final Waiter waiter = new Waiter(mode);
+            entry.queue.add(waiter);
+            boolean granted = false;
+            try {
+                while (!entry.canGrant(mode, thread, waiter)) {
+                    if (timeoutNanos < 0) {
+                        entry.released.await();
+                    } else {
+                        final long waitTime = timeoutNanos - (System.nanoTime() - startTime);
+                        if (waitTime <= 0) {
+                            timedOut.incrementAndGet();
+                            throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                        }
+                        entry.released.awaitNanos(waitTime);
                     }
-                } else {
-                    --prev.threadDeep;
+                }
+                entry.grant(mode, thread);
+                granted = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                waitTimeNanos.addAndGet(System.nanoTime() - waitStartTime);
+                entry.queue.remove(waiter);
+                if (!granted) {
+                    // waiters behind this one might be able to get the lock now
+                    entry.released.signalAll();
+                    removeIfUnused(stripe, path, entry);
                 }
             }
-            node = node.prev;
+        } finally {
+            stripe.lock.unlock();
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
-                }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
-                }
+    private void release(Path path, boolean exclusive, Thread thread) {
+        final List<Path> paths = pathWithParents(path);
+        release(paths.get(paths.size() - 1), exclusive ? Mode.EXCLUSIVE : Mode.SHARED, thread);
+        for (int i = paths.size() - 2; i >= 0; i--) {
+            release(paths.get(i), exclusive ? Mode.INTENTION_EXCLUSIVE : Mode.INTENTION_SHARED, thread);
+        }
+    }
+
+    private void release(Path path, Mode mode, Thread thread) {
+        final Stripe stripe = getStripe(path);
+        stripe.lock.lock();
+        try {
+            final Entry entry = stripe.entries.get(path);
+            if (entry == null || !entry.release(mode, thread)) {
+                throw new IllegalStateException(String.format("Lock for '%s' is not held. ", path));
             }
-            node = node.prev;
+            if (!entry.queue.isEmpty()) {
+                entry.released.signalAll();
+            }
+            removeIfUnused(stripe, path, entry);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static void removeIfUnused(Stripe stripe, Path path, Entry entry) {
+        if (entry.holders.isEmpty() && entry.queue.isEmpty()) {
+            stripe.entries.remove(path);
+        }
+    }
+
+    private Stripe getStripe(Path path) {
+        final int hash = path.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /** Returns the path and all its parents, starting from the root. */
+    private static List<Path> pathWithParents(Path path) {
+        final List<Path> paths = new ArrayList<>(path.length() + 1);
+        for (Path current = path; current != null; current = current.getParent()) {
+            paths.add(current);
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
+        Collections.reverse(paths);
+        return paths;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    public void checkClean() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                assert stripe.entries.isEmpty();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
     }
 
    /* =============================================== */
 
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+    private enum Mode {
+        INTENTION_SHARED,
+        INTENTION_EXCLUSIVE,
+        SHARED,
+        EXCLUSIVE;
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        boolean isCompatible(Mode other) {
+            switch (this) {
+                case INTENTION_SHARED:
+                    return other != EXCLUSIVE;
+                case INTENTION_EXCLUSIVE:
+                    return other == INTENTION_SHARED || other == INTENTION_EXCLUSIVE;
+                case SHARED:
+                    return other == INTENTION_SHARED || other == SHARED;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    private static class Stripe {
+        final ReentrantLock     lock    = new ReentrantLock();
+        final Map<Path, Entry> entries = new HashMap<>();
+    }
+
+    private static class Waiter {
+        final Mode mode;
+
+        Waiter(Mode mode) {
+            this.mode = mode;
+        }
+    }
+
+    /** Locks of a single path. Guarded by the lock of stripe. */
+    private class Entry {
+        final Condition          released;
+        final int[]              counts  = new int[Mode.values().length];
+        final Map<Thread, int[]> holders = new HashMap<>(4);
+        final ArrayDeque<Waiter> queue   = new ArrayDeque<>();
+        int sharedHolders;
+
+        Entry(Condition released) {
+            this.released = released;
+        }
+
+        /**
+         * Checks whether the lock is compatible with locks of other threads and requests queued before
+         * the given waiter. Thread which already holds a lock of the path doesn't wait for the queued
+         * requests, otherwise it might wait for a request which is blocked by this thread itself.
+         */
+        boolean canGrant(Mode mode, Thread thread, Waiter waiter) {
+            final int[] own = holders.get(thread);
+            if (own != null && own[mode.ordinal()] >= MAX_RECURSIVE_LOCKS) {
+                throw new Error("Max number of recursive locks exceeded. ");
+            }
+            for (Mode held : Mode.values()) {
+                final int others = counts[held.ordinal()] - (own == null ? 0 : own[held.ordinal()]);
+                if (others > 0 && !mode.isCompatible(held)) {
+                    return false;
+                }
+            }
+            if (mode == Mode.SHARED && (own == null || own[Mode.SHARED.ordinal()] == 0) && sharedHolders >= maxThreads) {
+                return false;
+            }
+            if (own == null) {
+                for (Iterator<Waiter> it = queue.iterator(); it.hasNext(); ) {
+                    final Waiter queued = it.next();
+                    if (queued == waiter) {
+                        break;
+                    }
+                    if (!mode.isCompatible(queued.mode)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        void grant(Mode mode, Thread thread) {
+            int[] own = holders.get(thread);
+            if (own == null) {
+                own = new int[Mode.values().length];
+                holders.put(thread, own);
+            }
+            if (mode == Mode.SHARED && own[mode.ordinal()] == 0) {
+                sharedHolders++;
+            }
+            own[mode.ordinal()]++;
+            counts[mode.ordinal()]++;
         }
 
-        @Override
-        public String toString() {
-            return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
-                   '}';
+        /** Returns {@code false} if thread doesn't hold such lock. */
+        boolean release(Mode mode, Thread thread) {
+            final int[] own = holders.get(thread);
+            if (own == null || own[mode.ordinal()] == 0) {
+                return false;
+            }
+            own[mode.ordinal()]--;
+            counts[mode.ordinal()]--;
+            if (mode == Mode.SHARED && own[mode.ordinal()] == 0) {
+                sharedHolders--;
+            }
+            for (int count : own) {
+                if (count > 0) {
+                    return true;
+                }
+            }
+            holders.remove(thread);
+            return true;
         }
     }
 
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path    path;
+        private final boolean exclusive;
+
+        private volatile Thread owner;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
         }
 
         /**
@@ -197,7 +375,9 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            final Thread current = Thread.currentThread();
+            PathLockFactory.this.acquire(path, exclusive, current, -1);
+            owner = current;
             return this;
         }
 
@@ -212,18 +392,21 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            final Thread current = Thread.currentThread();
+            PathLockFactory.this.acquire(path, exclusive, current, TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMilliseconds)));
+            owner = current;
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            final Thread lockOwner = owner;
+            PathLockFactory.this.release(path, exclusive, lockOwner == null ? Thread.currentThread() : lockOwner);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
         }
     }
 }
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of usage and contention of locks created by {@link PathLockFactory}.
+ */
+public class PathLockStatistics {
+    private final long acquired;
+    private final long contended;
+    private final long timedOut;
+    private final long waitTimeMillis;
+    private final int  lockedPaths;
+
+    public PathLockStatistics(long acquired, long contended, long timedOut, long waitTimeMillis, int lockedPaths) {
+        this.acquired = acquired;
+        this.contended = contended;
+        this.timedOut = timedOut;
+        this.waitTimeMillis = waitTimeMillis;
+        this.lockedPaths = lockedPaths;
+    }
+
+    /** Returns how many times locks have been acquired. */
+    public long getAcquired() {
+        return acquired;
+    }
+
+    /** Returns how many times threads had to wait for locks of other threads, including timed out attempts. */
+    public long getContended() {
+        return contended;
+    }
+
+    /** Returns how many times waiting for a lock has been timed out. */
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    /** Returns the total time threads waited for locks. */
+    public long getWaitTimeMillis() {
+        return waitTimeMillis;
+    }
+
+    /** Returns the number of paths which are locked or waited for at the moment, including parents of locked paths. */
+    public int getLockedPaths() {
+        return lockedPaths;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PathLockStatistics)) {
+            return false;
+        }
+        final PathLockStatistics that = (PathLockStatistics)obj;
+        return acquired == that.acquired
+               && contended == that.contended
+               && timedOut == that.timedOut
+               && waitTimeMillis == that.waitTimeMillis
+               && lockedPaths == that.lockedPaths;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(acquired, contended, timedOut, waitTimeMillis, lockedPaths);
+    }
+
+    @Override
+    public String toString() {
+        return "PathLockStatistics{" +
+               "acquired=" + acquired +
+               ", contended=" + contended +
+               ", timedOut=" + timedOut +
+               ", waitTimeMillis=" + waitTimeMillis +
+               ", lockedPaths=" + lockedPaths +
+               '}';
+    }
+}
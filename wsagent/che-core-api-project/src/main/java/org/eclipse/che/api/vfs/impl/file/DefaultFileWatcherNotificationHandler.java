@@ -22,7 +22,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import static org.eclipse.che.api.vfs.Path.ROOT;
 
@@ -32,11 +34,13 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     private final VirtualFileSystemProvider             virtualFileSystemProvider;
     private final List<FileWatcherNotificationListener> fileWatcherNotificationListeners;
+    private final Set<File>                             watchRoots;
 
     @Inject
     public DefaultFileWatcherNotificationHandler(VirtualFileSystemProvider virtualFileSystemProvider) {
         this.virtualFileSystemProvider = virtualFileSystemProvider;
         fileWatcherNotificationListeners = new CopyOnWriteArrayList<>();
+        watchRoots = new CopyOnWriteArraySet<>();
     }
 
     @Override
@@ -52,17 +56,36 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         }
     }
 
+    @Override
+    public void changesPending(File watchRoot, String subPath) {
+        for (FileWatcherNotificationListener virtualFileListener : fileWatcherNotificationListeners) {
+            virtualFileListener.onChangesPending(watchRoot, subPath);
+        }
+    }
+
     public void started(File watchRoot) {
         LOG.debug("Start watching file events on {}", watchRoot);
+        watchRoots.add(watchRoot);
+        for (FileWatcherNotificationListener virtualFileListener : fileWatcherNotificationListeners) {
+            virtualFileListener.onWatcherStarted(watchRoot);
+        }
     }
 
     public void errorOccurred(File watchRoot, Throwable cause) {
         LOG.warn("Error occurs while watching file events on {}: {}", watchRoot, cause.getMessage());
+        watchRoots.remove(watchRoot);
+        for (FileWatcherNotificationListener virtualFileListener : fileWatcherNotificationListeners) {
+            virtualFileListener.onWatcherError(watchRoot, cause);
+        }
     }
 
     @Override
     public boolean addNotificationListener(FileWatcherNotificationListener fileWatcherNotificationListener) {
-        return fileWatcherNotificationListeners.add(fileWatcherNotificationListener);
+        final boolean added = fileWatcherNotificationListeners.add(fileWatcherNotificationListener);
+        for (File watchRoot : watchRoots) {
+            fileWatcherNotificationListener.onWatcherStarted(watchRoot);
+        }
+        return added;
     }
 
     @Override
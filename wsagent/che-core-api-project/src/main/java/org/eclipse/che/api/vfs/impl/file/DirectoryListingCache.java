@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Keeps names and types of entries of recently listed directories.
+ *
+ * <p>Cached listing is used only while modification time of the directory stays the same,
+ * so changes made by other programs, e.g. git or build tools, are visible immediately.
+ * Modification time is updated by file system when an entry is added, removed or renamed.
+ * Listing of a directory modified less than {@link #MODIFICATION_TIME_PRECISION_MS} ago is not cached,
+ * since the next change in the same directory might not change its modification time then.
+ *
+ * <p>This class is thread-safe, directories are listed without any locking.
+ */
+class DirectoryListingCache {
+    /** Coarse resolution of modification time of file systems, e.g. FAT has resolution of 2 seconds. */
+    private static final long MODIFICATION_TIME_PRECISION_MS = 2000;
+
+    /** Folders first, then files, both ordered by name, that is the order of {@link LocalVirtualFile#compareTo}. */
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing((Entry entry) -> !entry.isFolder())
+                                                                   .thenComparing(Entry::getName);
+
+    private final Cache<Path, Listing> listings;
+
+    DirectoryListingCache(int maxSize) {
+        listings = CacheBuilder.newBuilder()
+                               .concurrencyLevel(8)
+                               .maximumSize(maxSize)
+                               .expireAfterAccess(10, MINUTES)
+                               .build();
+    }
+
+    /**
+     * Returns entries of the directory, folders first, then files.
+     *
+     * @return entries of the directory or empty list if the file is not a directory
+     * @throws java.nio.file.NoSuchFileException
+     *         if directory doesn't exist
+     * @throws IOException
+     *         if directory can't be read
+     */
+    List<Entry> list(File directory) throws IOException {
+        final Path dir = directory.toPath();
+        final BasicFileAttributes attributes = Files.readAttributes(dir, BasicFileAttributes.class);
+        if (!attributes.isDirectory()) {
+            listings.invalidate(dir);
+            return Collections.emptyList();
+        }
+        final FileTime modified = attributes.lastModifiedTime();
+        final Listing cached = listings.getIfPresent(dir);
+        if (cached != null && cached.modified.equals(modified)) {
+            return cached.entries;
+        }
+        final long listedAt = System.currentTimeMillis();
+        final List<Entry> entries = read(dir);
+        if (listedAt - modified.toMillis() > MODIFICATION_TIME_PRECISION_MS) {
+            listings.put(dir, new Listing(modified, entries));
+        } else {
+            listings.invalidate(dir);
+        }
+        return entries;
+    }
+
+    void invalidateAll() {
+        listings.invalidateAll();
+    }
+
+    private static List<Entry> read(Path dir) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                entries.add(new Entry(child.getFileName().toString(), Files.isDirectory(child)));
+            }
+        }
+        entries.sort(ENTRY_ORDER);
+        return ImmutableList.copyOf(entries);
+    }
+
+    static final class Entry {
+        private final String  name;
+        private final boolean folder;
+
+        Entry(String name, boolean folder) {
+            this.name = name;
+            this.folder = folder;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isFolder() {
+            return folder;
+        }
+    }
+
+    private static final class Listing {
+        final FileTime    modified;
+        final List<Entry> entries;
+
+        Listing(FileTime modified, List<Entry> entries) {
+            this.modified = modified;
+            this.entries = entries;
+        }
+    }
+}
@@ -265,7 +265,10 @@ public class FileTreeWatcher {
                         }
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
+                        final Path eventDirectoryPath = (Path)watchKey.watchable();
+                        if (pendingEvents.add(new PendingEvent(eventDirectoryPath))) {
+                            fireChangesPending(eventDirectoryPath);
+                        }
                         watchKey.pollEvents();
                         watchKey.reset();
                     }
@@ -352,6 +355,13 @@ public class FileTreeWatcher {
         }
     }
 
+    private void fireChangesPending(Path directoryPath) {
+        Path relativePath = watchRootPath.relativize(directoryPath);
+        if (shouldNotify(relativePath)) {
+            fileWatcherNotificationHandler.changesPending(watchRoot, relativePath.toString());
+        }
+    }
+
     private long getLastModifiedInMillis(Path path) throws IOException {
         return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
     }
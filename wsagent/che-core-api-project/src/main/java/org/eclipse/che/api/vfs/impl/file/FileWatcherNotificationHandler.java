@@ -17,6 +17,15 @@ import java.io.File;
 public interface FileWatcherNotificationHandler {
     void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir);
 
+    /**
+     * Called as soon as the watcher gets a native event for the directory, the changes made in the directory
+     * are examined and reported by {@link #handleFileWatcherEvent} later, when no more events come for a while.
+     *
+     * @param subPath
+     *         path of the directory relative to the watch root
+     */
+    void changesPending(File watchRoot, String subPath);
+
     void started(File watchRoot);
 
     void errorOccurred(File watchRoot, Throwable cause);
@@ -14,6 +14,7 @@ import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
@@ -45,4 +46,22 @@ public abstract class FileWatcherNotificationListener {
     }
 
     public abstract void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType);
+
+    /**
+     * Called when the watcher starts reporting events of the given root folder, or when the listener is added
+     * while the watcher is already running. Paths of the reported files are relative to this folder.
+     */
+    public void onWatcherStarted(File watchRoot) {
+    }
+
+    /**
+     * Called as soon as something is changed in the given directory, before the changes are reported with
+     * {@link #onFileWatcherEvent}, which happens with a delay. The path of the directory is relative to the watch root.
+     */
+    public void onChangesPending(File watchRoot, String subPath) {
+    }
+
+    /** Called when the watcher of the given root folder stops reporting events because of an error. */
+    public void onWatcherError(File watchRoot, Throwable cause) {
+    }
 }
@@ -52,7 +52,7 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -79,8 +79,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     static final int MAX_BUFFER_SIZE = 200 * 1024; // 200k
 
-    private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
-    private static final int  FILE_LOCK_MAX_THREADS      = 1024;
+    private static final long WAIT_FOR_FILE_LOCK_TIMEOUT    = 60000; // 60 seconds
+    private static final int  FILE_LOCK_MAX_THREADS         = 1024;
+    private static final int  DIRECTORY_LISTINGS_CACHE_SIZE = 1024;
 
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -89,8 +90,6 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
 
-    private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
-
     private static final FilenameFilter VFS_LOCK_FILTER =
             (dir, name) -> !(dir.getAbsolutePath().endsWith(FILE_LOCKS_DIR) || name.endsWith(LOCK_FILE_SUFFIX));
 
@@ -136,6 +135,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final DirectoryListingCache directoryListingCache;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +163,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        directoryListingCache = new DirectoryListingCache(DIRECTORY_LISTINGS_CACHE_SIZE);
     }
 
     @Override
@@ -208,6 +211,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        directoryListingCache.invalidateAll();
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -243,40 +247,32 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
-        if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
-            return children;
-        }
-        return emptyList();
-    }
-
-
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
-        }
-
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+        final List<DirectoryListingCache.Entry> entries;
+        try {
+            entries = directoryListingCache.list(parent.toIoFile());
+        } catch (NoSuchFileException e) {
+            return emptyList();
+        } catch (IOException e) {
             throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
         }
 
-        if (vfsFilter == null) {
-            vfsFilter = VirtualFileFilter.ACCEPT_ALL;
+        if (filter == null) {
+            filter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
+        // entries are already in order of LocalVirtualFile.compareTo
+        final List<VirtualFile> children = newArrayListWithCapacity(entries.size());
+        for (DirectoryListingCache.Entry entry : entries) {
+            if (VFS_SERVICE_DIR.equals(entry.getName())) {
+                continue;
+            }
+            final Path childPath = parent.getPath().newPath(entry.getName());
             final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-            if (vfsFilter.accept(child)) {
+            if (filter.accept(child)) {
                 children.add(child);
             }
         }
-
         return children;
     }
 
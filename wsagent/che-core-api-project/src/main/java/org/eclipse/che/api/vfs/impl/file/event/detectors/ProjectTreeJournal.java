@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import com.google.common.collect.Sets;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeDeltaDto;
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeDeltaRequestDto;
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeStateUpdateDto;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toNormalPath;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the journal of the latest changes of the workspace tree reported by {@link FileWatcherManager},
+ * so the client can synchronize its project tree by requesting the changes made since the revision
+ * it knows instead of reloading the whole tree.
+ *
+ * <p>Each change gets the next revision. The journal keeps a limited number of the latest changes,
+ * the client which requests changes older than the journal keeps gets the snapshot of the folder
+ * instead, i.e. its direct children. Changes of the same item are merged into one, e.g. the item
+ * created and then deleted since the requested revision isn't reported at all.
+ *
+ * <p>Items excluded from file watching or indexing, e.g. 'node_modules', and '.git' folders
+ * are neither watched nor reported.
+ */
+@Singleton
+public class ProjectTreeJournal {
+    private static final Logger LOG = getLogger(ProjectTreeJournal.class);
+
+    private static final String INCOMING_METHOD = "request:project-tree-delta";
+
+    static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final PathMatcher GIT_MATCHER = path -> {
+        for (Path element : path) {
+            if (".git".equals(element.toString())) {
+                return true;
+            }
+        }
+        return false;
+    };
+
+    private final Path               root;
+    private final Set<PathMatcher>   excludes;
+    private final FileWatcherManager fileWatcherManager;
+    private final int                capacity;
+    private final ArrayDeque<Change> changes;
+
+    /** Revision of the latest change. */
+    private long revision;
+    /** Revision after which all the changes are kept in the journal. */
+    private long windowStart;
+    private int  watchId;
+
+    @Inject
+    public ProjectTreeJournal(@Named("che.user.workspaces.storage") File root,
+                              @Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
+                              @Named("vfs.index_filter_matcher") Set<PathMatcher> indexExcludes,
+                              FileWatcherManager fileWatcherManager) {
+        this(root, Sets.union(excludes, indexExcludes), fileWatcherManager, DEFAULT_CAPACITY);
+    }
+
+    ProjectTreeJournal(File root, Set<PathMatcher> excludes, FileWatcherManager fileWatcherManager, int capacity) {
+        this.root = root.toPath().normalize().toAbsolutePath();
+        this.excludes = new HashSet<>(excludes);
+        this.excludes.add(GIT_MATCHER);
+        this.fileWatcherManager = fileWatcherManager;
+        this.capacity = capacity;
+        this.changes = new ArrayDeque<>();
+        // revisions known to the clients from the previous run of the agent are older than the journal
+        this.revision = System.currentTimeMillis();
+        this.windowStart = revision;
+        this.watchId = -1;
+    }
+
+    @Inject
+    public void configureHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(INCOMING_METHOD)
+                    .paramsAsDto(ProjectTreeDeltaRequestDto.class)
+                    .resultAsDto(ProjectTreeDeltaDto.class)
+                    .withFunction((endpointId, request) -> getDelta(request.getPath(), request.getRevision()));
+    }
+
+    @PostConstruct
+    public void start() {
+        watchId = fileWatcherManager.registerByMatcher(it -> isDirectory(it) && !isExcluded(excludes, it),
+                                                       it -> record(it, CREATED),
+                                                       it -> record(it, MODIFIED),
+                                                       it -> record(it, DELETED));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchId != -1) {
+            fileWatcherManager.unRegisterByMatcher(watchId);
+        }
+    }
+
+    /**
+     * Adds the change to the journal.
+     *
+     * @param path
+     *         internal path of the changed item
+     * @param type
+     *         type of the change
+     */
+    void record(String path, FileWatcherEventType type) {
+        final Path normalPath = toNormalPath(root, path);
+        if (isExcluded(excludes, normalPath)) {
+            // reported by the watcher of the parent folder
+            return;
+        }
+        final boolean folder = type != DELETED && isDirectory(normalPath);
+        synchronized (this) {
+            final Change last = changes.peekLast();
+            if (last != null && last.path.equals(path) && last.type == type) {
+                // the same event is reported for the folder itself and for its parent
+                return;
+            }
+            changes.addLast(new Change(++revision, path, type, folder));
+            if (changes.size() > capacity) {
+                windowStart = changes.removeFirst().revision;
+            }
+        }
+    }
+
+    /**
+     * Forgets all the changes, so all the clients get snapshots with their next requests,
+     * e.g. when file watching was suspended and some changes weren't reported.
+     */
+    public synchronized void invalidate() {
+        changes.clear();
+        windowStart = ++revision;
+    }
+
+    /**
+     * Returns the changes of the folder made after the given revision.
+     *
+     * @param path
+     *         internal path of the folder, the whole workspace if null or empty
+     * @param since
+     *         revision known to the client
+     * @return changes of the folder or the snapshot of the folder, i.e. its direct children,
+     * if the changes made after the given revision aren't kept in the journal anymore
+     */
+    public ProjectTreeDeltaDto getDelta(String path, long since) {
+        final String folder = path == null || path.isEmpty() || path.equals("/") ? "/" : path.replaceAll("/+$", "");
+        final List<Change> newChanges = new ArrayList<>();
+        final long current;
+        final boolean outOfJournal;
+        synchronized (this) {
+            current = revision;
+            outOfJournal = since < windowStart || since > current;
+            if (!outOfJournal) {
+                for (Iterator<Change> it = changes.descendingIterator(); it.hasNext(); ) {
+                    final Change change = it.next();
+                    if (change.revision <= since) {
+                        break;
+                    }
+                    if (isWithin(folder, change.path)) {
+                        newChanges.add(change);
+                    }
+                }
+            }
+        }
+        if (outOfJournal) {
+            LOG.debug("Revision {} is out of the journal, sending snapshot of '{}'", since, folder);
+            return getSnapshot(folder, current);
+        }
+
+        final Map<String, Change> merged = new LinkedHashMap<>();
+        for (int i = newChanges.size() - 1; i >= 0; i--) {
+            merge(merged, newChanges.get(i));
+        }
+        final List<String> deletedFolders = merged.values()
+                                                  .stream()
+                                                  .filter(it -> it.type == DELETED)
+                                                  .map(it -> it.path + '/')
+                                                  .collect(toList());
+        if (!deletedFolders.isEmpty()) {
+            // changes inside of the deleted folders are of no interest for the client
+            merged.keySet().removeIf(it -> deletedFolders.stream().anyMatch(it::startsWith));
+        }
+        return newDto(ProjectTreeDeltaDto.class).withRevision(current)
+                                                .withSnapshot(false)
+                                                .withChanges(merged.values()
+                                                                   .stream()
+                                                                   .map(Change::asDto)
+                                                                   .collect(toList()));
+    }
+
+    private static void merge(Map<String, Change> merged, Change change) {
+        final Change previous = merged.get(change.path);
+        if (previous == null) {
+            merged.put(change.path, change);
+        } else if (previous.type == CREATED) {
+            if (change.type == DELETED) {
+                // the client has never seen the item
+                merged.remove(change.path);
+            } else {
+                merged.put(change.path, new Change(change.revision, change.path, CREATED, change.folder));
+            }
+        } else if (previous.type == DELETED && change.type != DELETED) {
+            // the item is replaced, the client has to reload it
+            merged.put(change.path, new Change(change.revision, change.path, MODIFIED, change.folder));
+        } else {
+            merged.put(change.path, change);
+        }
+    }
+
+    private ProjectTreeDeltaDto getSnapshot(String folder, long revision) {
+        final Path start = toNormalPath(root, folder);
+        final List<ProjectTreeStateUpdateDto> items = new ArrayList<>();
+        if (isDirectory(start)) {
+            try (DirectoryStream<Path> children = newDirectoryStream(start, it -> !isExcluded(excludes, it))) {
+                for (Path child : children) {
+                    items.add(newItem(child, isDirectory(child)));
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                LOG.warn("Can't list items of folder '{}': {}", folder, e.getMessage());
+            }
+        }
+        return newDto(ProjectTreeDeltaDto.class).withRevision(revision)
+                                                .withSnapshot(true)
+                                                .withChanges(items);
+    }
+
+    private ProjectTreeStateUpdateDto newItem(Path path, boolean folder) {
+        return newDto(ProjectTreeStateUpdateDto.class).withPath(toInternalPath(root, path))
+                                                      .withType(CREATED)
+                                                      .withFolder(folder);
+    }
+
+    private static boolean isWithin(String folder, String path) {
+        return folder.equals("/") || path.equals(folder) || path.startsWith(folder + '/');
+    }
+
+    private static class Change {
+        final long                 revision;
+        final String               path;
+        final FileWatcherEventType type;
+        final boolean              folder;
+
+        Change(long revision, String path, FileWatcherEventType type, boolean folder) {
+            this.revision = revision;
+            this.path = path;
+            this.type = type;
+            this.folder = folder;
+        }
+
+        ProjectTreeStateUpdateDto asDto() {
+            return newDto(ProjectTreeStateUpdateDto.class).withPath(path).withType(type).withFolder(folder);
+        }
+    }
+}
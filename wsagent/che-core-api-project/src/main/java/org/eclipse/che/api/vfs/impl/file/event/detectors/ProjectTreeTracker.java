@@ -51,11 +51,13 @@ public class ProjectTreeTracker {
 
     private final RequestTransmitter transmitter;
     private final FileWatcherManager fileWatcherManager;
+    private final ProjectTreeJournal journal;
 
     @Inject
-    public ProjectTreeTracker(FileWatcherManager fileWatcherManager, RequestTransmitter transmitter) {
+    public ProjectTreeTracker(FileWatcherManager fileWatcherManager, RequestTransmitter transmitter, ProjectTreeJournal journal) {
         this.fileWatcherManager = fileWatcherManager;
         this.transmitter = transmitter;
+        this.journal = journal;
     }
 
     @Inject
@@ -110,6 +112,8 @@ public class ProjectTreeTracker {
                     LOG.debug("Received project tree tracking operation RESUME trigger.");
 
                     fileWatcherManager.resume();
+                    // changes made while suspended aren't reported
+                    journal.invalidate();
 
                     break;
                 }
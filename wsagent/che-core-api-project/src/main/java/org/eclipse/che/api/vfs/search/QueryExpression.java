@@ -17,6 +17,7 @@ public class QueryExpression {
     private String text;
     private int    skipCount;
     private int    maxItems;
+    private String searchAfter;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -68,6 +69,22 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional position in search result after which the items should be returned.
+     * It is set by searcher in query expression for retrieving next page, so the next page
+     * is retrieved without skipping the items of the previous pages.
+     * Searcher falls back to {@link #getSkipCount() skip count} if the position is not valid anymore,
+     * e.g. index has been changed since the previous page was retrieved.
+     */
+    public String getSearchAfter() {
+        return searchAfter;
+    }
+
+    public QueryExpression setSearchAfter(String searchAfter) {
+        this.searchAfter = searchAfter;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -76,6 +93,7 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", searchAfter='" + searchAfter + '\'' +
                '}';
     }
 }
@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.base.Splitter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
@@ -17,15 +20,22 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TrackingIndexWriter;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
@@ -34,6 +44,7 @@ import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -46,6 +57,7 @@ import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,12 +69,26 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
 
 /**
  * Lucene based searcher.
  *
+ * <p>Files of a tree are indexed in parallel by a pool of indexing threads.
+ * Index searcher is reopened by a background thread instead of on each search,
+ * so a search waits only for the changes made before it, at most {@link #MIN_STALE_SEC}.
+ * Query for the next page of results continues from the last document of the previous page
+ * unless the index has been changed meanwhile, so retrieving of a page doesn't depend on its number.
+ *
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
@@ -72,11 +98,32 @@ public abstract class LuceneSearcher implements Searcher {
     private static final String NAME_FIELD   = "name";
     private static final String TEXT_FIELD   = "text";
 
+    private static final char SEARCH_AFTER_SEPARATOR = '.';
+
+    /** Maximum time changes of index may be invisible to searches if nobody waits for them. */
+    private static final double MAX_STALE_SEC    = 1.0;
+    /** Maximum time a search waits for the changes of index made before it. */
+    private static final double MIN_STALE_SEC    = 0.025;
+    /** Maximum number of files of a tree queued for indexing, limits memory used by the queue. */
+    private static final int    MAX_QUEUED_FILES = 1024;
+    private static final int    INDEXING_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final AtomicLong                                   lastGeneration;
+    private final AtomicLong                                   queuedFiles;
+    private final AtomicLong                                   indexedFiles;
+    private final AtomicLong                                   indexingTimeNanos;
+    private final AtomicLong                                   searches;
+    private final AtomicLong                                   searchTimeNanos;
+
+    private IndexWriter                                   luceneIndexWriter;
+    private SearcherManager                               searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private ThreadPoolExecutor                            indexingExecutor;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    /** Used by indexing threads without locking of the searcher, which might be being closed. */
+    private volatile TrackingIndexWriter trackingIndexWriter;
 
     private boolean closed = true;
 
@@ -97,6 +144,12 @@ public abstract class LuceneSearcher implements Searcher {
         this.closeCallback = closeCallback;
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
+        lastGeneration = new AtomicLong();
+        queuedFiles = new AtomicLong();
+        indexedFiles = new AtomicLong();
+        indexingTimeNanos = new AtomicLong();
+        searches = new AtomicLong();
+        searchTimeNanos = new AtomicLong();
     }
 
     @Override
@@ -151,7 +204,23 @@ public abstract class LuceneSearcher implements Searcher {
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            trackingIndexWriter = new TrackingIndexWriter(luceneIndexWriter);
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            reopenThread = new ControlledRealTimeReopenThread<>(trackingIndexWriter, searcherManager, MAX_STALE_SEC, MIN_STALE_SEC);
+            reopenThread.setName("LuceneSearcherReopenThread");
+            reopenThread.setDaemon(true);
+            reopenThread.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance());
+            reopenThread.start();
+            indexingExecutor = new ThreadPoolExecutor(INDEXING_THREADS,
+                                                      INDEXING_THREADS,
+                                                      0L,
+                                                      TimeUnit.MILLISECONDS,
+                                                      new LinkedBlockingQueue<>(),
+                                                      new ThreadFactoryBuilder().setNameFormat("LuceneSearcherIndexer-%d")
+                                                                                .setUncaughtExceptionHandler(
+                                                                                        LoggingUncaughtExceptionHandler.getInstance())
+                                                                                .setDaemon(true)
+                                                                                .build());
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
@@ -161,7 +230,11 @@ public abstract class LuceneSearcher implements Searcher {
     public final synchronized void close() {
         if (!closed) {
             try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                // files which are not being indexed yet are skipped, indexing threads
+                // are not interrupted since interruption may break index files
+                indexingExecutor.getQueue().clear();
+                indexingExecutor.shutdown();
+                IOUtils.close(reopenThread, getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
             } catch (IOException e) {
                 LOG.error(e.getMessage(), e);
@@ -185,19 +258,39 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    private TrackingIndexWriter getTrackingIndexWriter() {
+        return trackingIndexWriter;
+    }
+
+    /** Returns progress and latency of indexing and searching. */
+    public LuceneSearcherStatistics getStatistics() {
+        return new LuceneSearcherStatistics(queuedFiles.get(),
+                                            indexedFiles.get(),
+                                            TimeUnit.NANOSECONDS.toMillis(indexingTimeNanos.get()),
+                                            searches.get(),
+                                            TimeUnit.NANOSECONDS.toMillis(searchTimeNanos.get()));
+    }
+
+    /** Remembers generation of index change, so the following searches see the change. */
+    private void changed(long generation) {
+        lastGeneration.accumulateAndGet(generation, Math::max);
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
+        final long startNanos = System.nanoTime();
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
+            reopenThread.waitForGeneration(lastGeneration.get());
             luceneSearcher = searcherManager.acquire();
 
             Query luceneQuery = createLuceneQuery(query);
 
-            ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
+            final long indexVersion = ((DirectoryReader)luceneSearcher.getIndexReader()).getVersion();
+            ScoreDoc after = parseSearchAfter(query.getSearchAfter(), indexVersion);
+            if (after == null && numSkipDocs > 0) {
                 after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
             }
 
@@ -208,16 +301,18 @@ public abstract class LuceneSearcher implements Searcher {
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
-                results.add(new SearchResultEntry(filePath));
+                results.add(new SearchResultEntry(getPath(luceneSearcher, scoreDoc.doc)));
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                nextPageQueryExpression = createNextPageQuery(query,
+                                                              numSkipDocs + topDocs.scoreDocs.length,
+                                                              formatSearchAfter(topDocs.scoreDocs[topDocs.scoreDocs.length - 1],
+                                                                                indexVersion));
             }
 
             return SearchResult.aSearchResult()
@@ -228,12 +323,19 @@ public abstract class LuceneSearcher implements Searcher {
                                .build();
         } catch (IOException | ParseException e) {
             throw new ServerException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Search has been interrupted", e);
         } finally {
-            try {
-                searcherManager.release(luceneSearcher);
-            } catch (IOException e) {
-                LOG.error(e.getMessage());
+            if (luceneSearcher != null) {
+                try {
+                    searcherManager.release(luceneSearcher);
+                } catch (IOException e) {
+                    LOG.error(e.getMessage());
+                }
             }
+            searches.incrementAndGet();
+            searchTimeNanos.addAndGet(System.nanoTime() - startNanos);
         }
     }
 
@@ -279,14 +381,62 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String searchAfter) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
+                                    .setSearchAfter(searchAfter)
                                     .setMaxItems(originalQuery.getMaxItems());
     }
 
+    /**
+     * Creates position of the last retrieved document, it consists of version of the index,
+     * document number and score. Document numbers are valid only for the same version of the index.
+     */
+    private static String formatSearchAfter(ScoreDoc last, long indexVersion) {
+        return Long.toHexString(indexVersion) + SEARCH_AFTER_SEPARATOR
+               + Integer.toHexString(last.doc) + SEARCH_AFTER_SEPARATOR
+               + Integer.toHexString(Float.floatToIntBits(last.score));
+    }
+
+    /**
+     * Returns document after which the search is continued or {@code null} if position is not set,
+     * is malformed or belongs to other version of the index, then skip count must be used instead.
+     */
+    private static ScoreDoc parseSearchAfter(String searchAfter, long indexVersion) {
+        if (isNullOrEmpty(searchAfter)) {
+            return null;
+        }
+        final List<String> parts = Splitter.on(SEARCH_AFTER_SEPARATOR).splitToList(searchAfter);
+        if (parts.size() != 3) {
+            return null;
+        }
+        try {
+            if (Long.parseUnsignedLong(parts.get(0), 16) != indexVersion) {
+                return null;
+            }
+            return new ScoreDoc(Integer.parseUnsignedInt(parts.get(1), 16),
+                                Float.intBitsToFloat(Integer.parseUnsignedInt(parts.get(2), 16)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Reads path of the document from doc values, falls back to stored field for documents indexed without doc values. */
+    private static String getPath(IndexSearcher luceneSearcher, int doc) throws IOException {
+        final List<LeafReaderContext> leaves = luceneSearcher.getIndexReader().leaves();
+        final LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        final SortedDocValues paths = leaf.reader().getSortedDocValues(PATH_FIELD);
+        if (paths != null) {
+            final BytesRef path = paths.get(doc - leaf.docBase);
+            if (path.length > 0) {
+                return path.utf8ToString();
+            }
+        }
+        return luceneSearcher.doc(doc).getField(PATH_FIELD).stringValue();
+    }
+
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
         doAdd(virtualFile);
@@ -304,22 +454,72 @@ public abstract class LuceneSearcher implements Searcher {
         final long start = System.currentTimeMillis();
         final LinkedList<VirtualFile> q = new LinkedList<>();
         q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
+        final Semaphore queueSlots = new Semaphore(MAX_QUEUED_FILES);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        int treeFiles = 0;
+        try {
+            while (!q.isEmpty() && failure.get() == null) {
+                final VirtualFile folder = q.pop();
+                if (folder.exists()) {
+                    for (VirtualFile child : folder.getChildren()) {
+                        if (child.isFolder()) {
+                            q.push(child);
+                        } else {
+                            acquire(queueSlots, 1);
+                            submitFile(child, queueSlots, failure);
+                            treeFiles++;
+                        }
                     }
                 }
             }
+            // wait for all the queued files
+            acquire(queueSlots, MAX_QUEUED_FILES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Indexing of " + tree.getPath() + " has been interrupted", e);
+        }
+        final Throwable error = failure.get();
+        if (error instanceof ServerException) {
+            throw (ServerException)error;
+        } else if (error instanceof Error) {
+            throw (Error)error;
+        } else if (error != null) {
+            throw new ServerException(error.getMessage(), error);
         }
         final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+        LOG.debug("Indexed {} files from {}, time: {} ms", treeFiles, tree.getPath(), (end - start));
+    }
+
+    /** Waits for the permits, fails if searcher is closed meanwhile since queued files are never indexed then. */
+    private void acquire(Semaphore queueSlots, int permits) throws InterruptedException, ServerException {
+        while (!queueSlots.tryAcquire(permits, 1, TimeUnit.SECONDS)) {
+            if (isClosed()) {
+                throw new ServerException("Searcher is closed");
+            }
+        }
+    }
+
+    private void submitFile(VirtualFile file, Semaphore queueSlots, AtomicReference<Throwable> failure) {
+        queuedFiles.incrementAndGet();
+        try {
+            indexingExecutor.execute(() -> {
+                try {
+                    if (failure.get() == null) {
+                        addFile(file);
+                    }
+                } catch (ServerException | RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    queuedFiles.decrementAndGet();
+                    queueSlots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // searcher is closed
+            queuedFiles.decrementAndGet();
+            queueSlots.release();
+            failure.compareAndSet(null, e);
+        }
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
@@ -327,8 +527,10 @@ public abstract class LuceneSearcher implements Searcher {
             try (Reader fContentReader = shouldIndexContent(virtualFile)
                                          ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
                                          : null) {
-                getIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                                                createDocument(virtualFile, fContentReader));
+                final long startNanos = System.nanoTime();
+                changed(getTrackingIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
+                                                                createDocument(virtualFile, fContentReader)));
+                indexed(startNanos);
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
@@ -345,10 +547,10 @@ public abstract class LuceneSearcher implements Searcher {
         try {
             if (isFile) {
                 Term term = new Term(PATH_FIELD, path);
-                getIndexWriter().deleteDocuments(term);
+                changed(getTrackingIndexWriter().deleteDocuments(term));
             } else {
                 Term term = new Term(PATH_FIELD, path + '/');
-                getIndexWriter().deleteDocuments(new PrefixQuery(term));
+                changed(getTrackingIndexWriter().deleteDocuments(new PrefixQuery(term)));
             }
         } catch (OutOfMemoryError oome) {
             close();
@@ -367,7 +569,9 @@ public abstract class LuceneSearcher implements Searcher {
         try (Reader fContentReader = shouldIndexContent(virtualFile)
                                      ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
                                      : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+            final long startNanos = System.nanoTime();
+            changed(getTrackingIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader)));
+            indexed(startNanos);
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -378,9 +582,15 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    private void indexed(long startNanos) {
+        indexedFiles.incrementAndGet();
+        indexingTimeNanos.addAndGet(System.nanoTime() - startNanos);
+    }
+
     protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(PATH_FIELD, new BytesRef(virtualFile.getPath().toString())));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
         if (reader != null) {
             doc.add(new TextField(TEXT_FIELD, reader));
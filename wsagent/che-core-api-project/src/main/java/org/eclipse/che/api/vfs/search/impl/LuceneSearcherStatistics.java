@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of indexing progress and latency of {@link LuceneSearcher}.
+ */
+public class LuceneSearcherStatistics {
+    private final long queuedFiles;
+    private final long indexedFiles;
+    private final long indexingTimeMillis;
+    private final long searches;
+    private final long searchTimeMillis;
+
+    public LuceneSearcherStatistics(long queuedFiles,
+                                    long indexedFiles,
+                                    long indexingTimeMillis,
+                                    long searches,
+                                    long searchTimeMillis) {
+        this.queuedFiles = queuedFiles;
+        this.indexedFiles = indexedFiles;
+        this.indexingTimeMillis = indexingTimeMillis;
+        this.searches = searches;
+        this.searchTimeMillis = searchTimeMillis;
+    }
+
+    /** Returns the number of files waiting for indexing, e.g. while the initial index is being built. */
+    public long getQueuedFiles() {
+        return queuedFiles;
+    }
+
+    /** Returns how many times files have been added to or updated in the index. */
+    public long getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    /** Returns the total time spent on indexing of files, summed over all indexing threads. */
+    public long getIndexingTimeMillis() {
+        return indexingTimeMillis;
+    }
+
+    /** Returns the number of performed searches. */
+    public long getSearches() {
+        return searches;
+    }
+
+    /** Returns the total time of all the searches, including waiting for the latest index changes. */
+    public long getSearchTimeMillis() {
+        return searchTimeMillis;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LuceneSearcherStatistics)) {
+            return false;
+        }
+        final LuceneSearcherStatistics that = (LuceneSearcherStatistics)obj;
+        return queuedFiles == that.queuedFiles
+               && indexedFiles == that.indexedFiles
+               && indexingTimeMillis == that.indexingTimeMillis
+               && searches == that.searches
+               && searchTimeMillis == that.searchTimeMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(queuedFiles, indexedFiles, indexingTimeMillis, searches, searchTimeMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "LuceneSearcherStatistics{" +
+               "queuedFiles=" + queuedFiles +
+               ", indexedFiles=" + indexedFiles +
+               ", indexingTimeMillis=" + indexingTimeMillis +
+               ", searches=" + searches +
+               ", searchTimeMillis=" + searchTimeMillis +
+               '}';
+    }
+}
@@ -128,6 +128,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 /**
  * @author andrew00x
@@ -1963,6 +1964,43 @@ public class ProjectServiceTest {
                             });
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchReturnsLinkToNextPage() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("b").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+        myProject.getBaseFolder().createFolder("c").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?text=test&maxItems=2",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> firstPage = (List<ItemReference>)response.getEntity();
+        assertEquals(firstPage.size(), 2);
+        String link = (String)response.getHttpHeaders().getFirst("Link");
+        assertNotNull(link);
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        assertTrue(next, next.contains("searchAfter="));
+        assertTrue(next, next.contains("skipCount=2"));
+
+        response = launcher.service(GET, next, "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> secondPage = (List<ItemReference>)response.getEntity();
+        assertEquals(secondPage.size(), 1);
+        assertNull(response.getHttpHeaders().getFirst("Link"));
+        assertEqualsNoOrder(new Object[]{
+                                    firstPage.get(0).getPath(),
+                                    firstPage.get(1).getPath(),
+                                    secondPage.get(0).getPath()
+                            },
+                            new Object[]{
+                                    "/my_project/a/test.txt",
+                                    "/my_project/b/test.txt",
+                                    "/my_project/c/test.txt"
+                            });
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchFromWSRoot() throws Exception {
@@ -236,4 +236,156 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testSiblingLocksDoNotBlockEachOther() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            PathLockFactory.PathLock siblingLock = pathLockFactory.getLock(path.getParent().newPath("d"), true).acquire(100);
+            siblingLock.release();
+        } finally {
+            finisher.countDown();
+            t.join();
+        }
+        assertEquals(0, pathLockFactory.getStatistics().getContended());
+        assertEquals(0, pathLockFactory.getStatistics().getLockedPaths());
+    }
+
+    public void testLocksOfDisjointPathsAreNeverContendedByAnyNumberOfThreads() throws Throwable {
+        final int iterations = 1000;
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            final PathLockFactory factory = new PathLockFactory(threads);
+            final CountDownLatch starter = new CountDownLatch(1);
+            final List<Throwable> errors = new ArrayList<>();
+            final List<Thread> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                // all the paths share parents, so each lock takes intention locks of the same entries
+                final Path file = Path.of("/project/src/module-" + i % 4 + "/File" + i + ".java");
+                final Thread worker = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            starter.await();
+                            for (int j = 0; j < iterations; j++) {
+                                factory.getLock(file, j % 2 == 0).acquire().release();
+                            }
+                        } catch (Throwable e) {
+                            synchronized (errors) {
+                                errors.add(e);
+                            }
+                        }
+                    }
+                };
+                worker.start();
+                workers.add(worker);
+            }
+            starter.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            if (!errors.isEmpty()) {
+                throw errors.get(0);
+            }
+            final PathLockStatistics statistics = factory.getStatistics();
+            assertEquals(threads * iterations, statistics.getAcquired());
+            assertEquals("Locks of disjoint paths must not wait for each other, threads: " + threads, 0, statistics.getContended());
+            assertEquals(0, statistics.getLockedPaths());
+            factory.checkClean();
+        }
+    }
+
+    public void testChildLockBlocksParentLock() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            pathLockFactory.getLock(path.getParent(), false).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        } finally {
+            finisher.countDown();
+            t.join();
+        }
+        PathLockStatistics statistics = pathLockFactory.getStatistics();
+        assertEquals(1, statistics.getAcquired());
+        assertEquals(1, statistics.getTimedOut());
+        assertEquals(1, statistics.getContended());
+        // intention locks of timed out thread must be released as well
+        assertEquals(0, statistics.getLockedPaths());
+    }
+
+    public void testSharedLockDoesNotOvertakeWaitingExclusiveLock() throws Throwable {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        final AtomicBoolean exclusiveAcquired = new AtomicBoolean(false);
+        Thread sharedTask = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        Thread exclusiveTask = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+                exclusiveAcquired.set(true);
+                lock.release();
+            }
+        };
+        sharedTask.start();
+        starter.await();
+        exclusiveTask.start();
+        Thread.sleep(100); // let exclusive lock request to be queued
+        try {
+            // Shared lock is compatible with the held one but must wait for the queued exclusive lock.
+            pathLockFactory.getLock(path, false).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        } finally {
+            finisher.countDown();
+            sharedTask.join();
+            exclusiveTask.join();
+        }
+        assertTrue(exclusiveAcquired.get());
+        assertEquals(0, pathLockFactory.getStatistics().getLockedPaths());
+    }
 }
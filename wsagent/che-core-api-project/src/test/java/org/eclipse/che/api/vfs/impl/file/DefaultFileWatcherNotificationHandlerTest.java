@@ -91,4 +91,32 @@ public class DefaultFileWatcherNotificationHandlerTest {
         verify(notificationListener).shouldBeNotifiedFor(virtualFile);
         verify(notificationListener).onFileWatcherEvent(virtualFile, MODIFIED);
     }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenersAboutPendingChanges() throws Exception {
+        notificationHandler.changesPending(testDirectory, "a/b");
+
+        verify(notificationListener).onChangesPending(testDirectory, "a/b");
+    }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenersWhenWatcherIsStartedOrFailed() throws Exception {
+        RuntimeException error = new RuntimeException();
+
+        notificationHandler.started(testDirectory);
+        notificationHandler.errorOccurred(testDirectory, error);
+
+        verify(notificationListener).onWatcherStarted(testDirectory);
+        verify(notificationListener).onWatcherError(testDirectory, error);
+    }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenerAddedAfterWatcherIsStarted() throws Exception {
+        FileWatcherNotificationListener listener = mock(FileWatcherNotificationListener.class);
+        notificationHandler.started(testDirectory);
+
+        notificationHandler.addNotificationListener(listener);
+
+        verify(listener).onWatcherStarted(testDirectory);
+    }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.junit.After;
@@ -188,6 +189,25 @@ public class FileTreeWatcherTest {
         assertEquals(updated, newHashSet(updatedEvents.getAllValues()));
     }
 
+    @Test
+    public void notifiesAboutPendingChangesBeforeChangesAreReported() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+        String notifiedFile = fileWatcherTestTree.createFile("watched");
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.startup();
+
+        Thread.sleep(1000);
+
+        fileWatcherTestTree.updateFile(notifiedFile);
+
+        verify(notificationHandler, timeout(1000)).changesPending(eq(testDirectory), eq("watched"));
+        verify(notificationHandler, never()).handleFileWatcherEvent(any(FileWatcherEventType.class), eq(testDirectory), anyString(),
+                                                                    anyBoolean());
+        verify(notificationHandler, timeout(5000)).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), eq(notifiedFile), eq(false));
+    }
+
     @Test
     public void watchesFolderModifiedOnDelete() throws Exception {
         final String watchedDir = fileWatcherTestTree.createDirectory("", "watched");
@@ -50,6 +50,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -341,6 +344,48 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void getsChildrenCreatedByOtherProgramAfterListingOfCachedFolder() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        // folder modified long ago, so its listing is cached
+        assertTrue(folder.toIoFile().setLastModified(System.currentTimeMillis() - 60_000));
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(folder.toIoFile(), name).createNewFile());
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
+    @Test
+    public void getsSameChildrenConcurrently() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        List<VirtualFile> expectedResult = newArrayList();
+        for (int i = 0; i < 20; i++) {
+            expectedResult.add(folder.createFile(generateFileName(), DEFAULT_CONTENT));
+            expectedResult.add(folder.createFolder(generateFolderName()));
+        }
+        Collections.sort(expectedResult);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<VirtualFile>>> results = newArrayList();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> folder.getChildren()));
+            }
+            for (Future<List<VirtualFile>> result : results) {
+                assertEquals(expectedResult, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void getsChildrenWithFilter() throws Exception {
         VirtualFile root = getRoot();
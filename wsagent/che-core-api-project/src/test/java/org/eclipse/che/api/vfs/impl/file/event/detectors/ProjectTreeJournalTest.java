@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeDeltaDto;
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeStateUpdateDto;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ProjectTreeJournal}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectTreeJournalTest {
+
+    @Rule
+    public TemporaryFolder rootFolder = new TemporaryFolder();
+
+    private static final PathMatcher NODE_MODULES = path -> path.endsWith("node_modules");
+
+    @Mock
+    FileWatcherManager fileWatcherManager;
+
+    ProjectTreeJournal journal;
+
+    @Before
+    public void setUp() throws Exception {
+        journal = new ProjectTreeJournal(rootFolder.getRoot(), Collections.singleton(NODE_MODULES), fileWatcherManager, 10);
+    }
+
+    @Test
+    public void shouldReturnChangesMadeAfterRevision() throws Exception {
+        journal.record("/project/a", CREATED);
+        final long revision = journal.getDelta("/", 0).getRevision();
+        journal.record("/project/b", CREATED);
+        journal.record("/project/a", MODIFIED);
+
+        final ProjectTreeDeltaDto delta = journal.getDelta("/", revision);
+
+        assertFalse(delta.isSnapshot());
+        assertEquals(delta.getRevision(), revision + 2);
+        final Map<String, ProjectTreeStateUpdateDto> changes = byPath(delta.getChanges());
+        assertEquals(changes.size(), 2);
+        assertEquals(changes.get("/project/b").getType(), CREATED);
+        assertEquals(changes.get("/project/a").getType(), MODIFIED);
+    }
+
+    @Test
+    public void shouldReturnNoChangesForCurrentRevision() throws Exception {
+        journal.record("/project/a", CREATED);
+        final long revision = journal.getDelta("/", 0).getRevision();
+
+        final ProjectTreeDeltaDto delta = journal.getDelta("/", revision);
+
+        assertFalse(delta.isSnapshot());
+        assertTrue(delta.getChanges().isEmpty());
+    }
+
+    @Test
+    public void shouldMergeChangesOfTheSameItem() throws Exception {
+        final long revision = journal.getDelta("/", 0).getRevision();
+        journal.record("/project/created", CREATED);
+        journal.record("/project/created", MODIFIED);
+        journal.record("/project/temp", CREATED);
+        journal.record("/project/temp", DELETED);
+        journal.record("/project/replaced", DELETED);
+        journal.record("/project/replaced", CREATED);
+
+        final Map<String, ProjectTreeStateUpdateDto> changes = byPath(journal.getDelta("/", revision).getChanges());
+
+        assertEquals(changes.size(), 2);
+        assertEquals(changes.get("/project/created").getType(), CREATED);
+        assertEquals(changes.get("/project/replaced").getType(), MODIFIED);
+    }
+
+    @Test
+    public void shouldSkipChangesInsideOfDeletedFolder() throws Exception {
+        final long revision = journal.getDelta("/", 0).getRevision();
+        journal.record("/project/folder/file", MODIFIED);
+        journal.record("/project/folder", DELETED);
+
+        final List<ProjectTreeStateUpdateDto> changes = journal.getDelta("/", revision).getChanges();
+
+        assertEquals(changes.size(), 1);
+        assertEquals(changes.get(0).getPath(), "/project/folder");
+        assertEquals(changes.get(0).getType(), DELETED);
+    }
+
+    @Test
+    public void shouldReturnChangesOfRequestedFolderOnly() throws Exception {
+        final long revision = journal.getDelta("/", 0).getRevision();
+        journal.record("/project/a", CREATED);
+        journal.record("/project2/a", CREATED);
+
+        final List<ProjectTreeStateUpdateDto> changes = journal.getDelta("/project/", revision).getChanges();
+
+        assertEquals(changes.size(), 1);
+        assertEquals(changes.get(0).getPath(), "/project/a");
+    }
+
+    @Test
+    public void shouldReturnSnapshotWhenRevisionIsOutOfJournal() throws Exception {
+        rootFolder.newFolder("project", "src");
+        rootFolder.newFile("project/src/A.java");
+        rootFolder.newFile("project/pom.xml");
+        final long revision = journal.getDelta("/", 0).getRevision();
+        for (int i = 0; i < 11; i++) {
+            journal.record("/project/file" + i, CREATED);
+        }
+
+        final ProjectTreeDeltaDto delta = journal.getDelta("/project", revision);
+
+        assertTrue(delta.isSnapshot());
+        assertEquals(delta.getRevision(), revision + 11);
+        final Map<String, ProjectTreeStateUpdateDto> items = byPath(delta.getChanges());
+        assertEquals(items.size(), 2);
+        assertTrue(items.get("/project/src").isFolder());
+        assertFalse(items.get("/project/pom.xml").isFolder());
+    }
+
+    @Test
+    public void shouldNotIncludeExcludedItemsIntoSnapshot() throws Exception {
+        rootFolder.newFolder("project", ".git");
+        rootFolder.newFolder("project", "node_modules");
+        rootFolder.newFolder("project", "src");
+        journal.invalidate();
+
+        final ProjectTreeDeltaDto delta = journal.getDelta("/project", 0);
+
+        assertTrue(delta.isSnapshot());
+        assertEquals(byPath(delta.getChanges()).keySet(), Collections.singleton("/project/src"));
+    }
+
+    @Test
+    public void shouldNotRecordChangesOfExcludedItems() throws Exception {
+        final long revision = journal.getDelta("/", 0).getRevision();
+        journal.record("/project/.git", MODIFIED);
+        journal.record("/project/.git/index", MODIFIED);
+        journal.record("/project/node_modules", CREATED);
+        journal.record("/project/src", CREATED);
+
+        final ProjectTreeDeltaDto delta = journal.getDelta("/", revision);
+
+        assertEquals(delta.getRevision(), revision + 1);
+        assertEquals(byPath(delta.getChanges()).keySet(), Collections.singleton("/project/src"));
+    }
+
+    @Test
+    public void shouldNotWatchExcludedFolders() throws Exception {
+        final ArgumentCaptor<PathMatcher> matcher = ArgumentCaptor.forClass(PathMatcher.class);
+        final Path project = rootFolder.newFolder("project").toPath();
+        rootFolder.newFolder("project", ".git");
+        rootFolder.newFolder("project", "node_modules");
+
+        journal.start();
+
+        verify(fileWatcherManager).registerByMatcher(matcher.capture(), any(), any(), any());
+        assertTrue(matcher.getValue().matches(project));
+        assertFalse(matcher.getValue().matches(project.resolve(".git")));
+        assertFalse(matcher.getValue().matches(project.resolve("node_modules")));
+    }
+
+    @Test
+    public void shouldReturnSnapshotForUnknownRevision() throws Exception {
+        final long revision = journal.getDelta("/", 0).getRevision();
+
+        assertTrue(journal.getDelta("/", revision + 1).isSnapshot());
+    }
+
+    @Test
+    public void shouldReturnSnapshotAfterInvalidation() throws Exception {
+        final long revision = journal.getDelta("/", 0).getRevision();
+
+        journal.invalidate();
+
+        assertTrue(journal.getDelta("/", revision).isSnapshot());
+    }
+
+    private static Map<String, ProjectTreeStateUpdateDto> byPath(List<ProjectTreeStateUpdateDto> changes) {
+        return changes.stream().collect(toMap(ProjectTreeStateUpdateDto::getPath, it -> it));
+    }
+}
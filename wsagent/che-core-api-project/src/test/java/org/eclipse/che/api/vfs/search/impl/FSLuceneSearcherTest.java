@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.mock;
@@ -39,6 +40,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("Duplicates")
@@ -336,6 +338,85 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesAllPagesAfterPositionOfPreviousPage() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(3);
+        int pages = 0;
+        while (query != null) {
+            SearchResult page = searcher.search(query);
+            paths.addAll(page.getFilePaths());
+            pages++;
+            query = page.getNextPageQueryExpression().orNull();
+            if (query != null) {
+                assertNotNull(query.getSearchAfter());
+            }
+        }
+
+        assertEquals(9, pages);
+        assertEquals(25, paths.size());
+        assertEquals(25, newHashSet(paths).size());
+    }
+
+    @Test
+    public void fallsBackToSkipCountWhenIndexIsChangedBetweenPages() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        searcher.add(virtualFileSystem.getRoot().createFile("file100", TEST_CONTENT[0]));
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        nextPageQueryExpression.setMaxItems(100);
+        SearchResult lastPage = searcher.search(nextPageQueryExpression);
+
+        assertEquals(26, lastPage.getTotalHits());
+        assertEquals(18, lastPage.getFilePaths().size());
+    }
+
+    @Test
+    public void ignoresMalformedSearchAfterPosition() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                   .setSkipCount(20)
+                                                                   .setSearchAfter("not a position"));
+
+        assertEquals(5, result.getFilePaths().size());
+    }
+
+    @Test
+    public void indexesFileTreeLargerThanIndexingQueue() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 30; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%02d", i));
+            for (int j = 0; j < 100; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight"));
+
+        assertEquals(750, result.getTotalHits());
+        LuceneSearcherStatistics statistics = searcher.getStatistics();
+        assertEquals(3000, statistics.getIndexedFiles());
+        assertEquals(0, statistics.getQueuedFiles());
+        assertEquals(1, statistics.getSearches());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.testing.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * DTO for reporting the progress of the test execution while it is running.
+ */
+@DTO
+public interface TestExecutionEvent {
+
+    enum Type {
+        /** Test case is started. */
+        TEST_STARTED,
+        /** Test case is finished, whether it passed or failed. */
+        TEST_FINISHED,
+        /** Test case is failed, the event is followed by {@link #TEST_FINISHED}. */
+        TEST_FAILED,
+        /** Test case is skipped. */
+        TEST_IGNORED,
+        /** All the test cases are executed, the event contains the result. */
+        EXECUTION_FINISHED,
+        /** Execution is failed or cancelled, the event contains the error message. */
+        EXECUTION_FAILED
+    }
+
+    /**
+     * Returns the identifier of the execution returned by the run request.
+     *
+     * @return the execution identifier
+     */
+    String getExecutionId();
+
+    void setExecutionId(String executionId);
+
+    TestExecutionEvent withExecutionId(String executionId);
+
+    Type getType();
+
+    void setType(Type type);
+
+    TestExecutionEvent withType(Type type);
+
+    /**
+     * Returns the fully qualified name of the test class, set for the test case events.
+     *
+     * @return the test class name
+     */
+    String getTestClass();
+
+    void setTestClass(String testClass);
+
+    TestExecutionEvent withTestClass(String testClass);
+
+    /**
+     * Returns the name of the test method, set for the test case events.
+     *
+     * @return the test method name
+     */
+    String getTestMethod();
+
+    void setTestMethod(String testMethod);
+
+    TestExecutionEvent withTestMethod(String testMethod);
+
+    /**
+     * Returns the duration of the test case in milliseconds, set for {@link Type#TEST_FINISHED} events.
+     *
+     * @return the test case duration
+     */
+    long getDuration();
+
+    void setDuration(long duration);
+
+    TestExecutionEvent withDuration(long duration);
+
+    /**
+     * Returns the details of the failure, set for {@link Type#TEST_FAILED} events.
+     *
+     * @return the test failure
+     */
+    Failure getFailure();
+
+    void setFailure(Failure failure);
+
+    TestExecutionEvent withFailure(Failure failure);
+
+    /**
+     * Returns the result of the execution, set for {@link Type#EXECUTION_FINISHED} events.
+     *
+     * @return the test result
+     */
+    TestResult getResult();
+
+    void setResult(TestResult result);
+
+    TestExecutionEvent withResult(TestResult result);
+
+    /**
+     * Returns the error message, set for {@link Type#EXECUTION_FAILED} events.
+     *
+     * @return the error message
+     */
+    String getError();
+
+    void setError(String error);
+
+    TestExecutionEvent withError(String error);
+}
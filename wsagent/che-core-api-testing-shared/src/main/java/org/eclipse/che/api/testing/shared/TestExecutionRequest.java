@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.testing.shared;
+
+import java.util.Map;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * DTO for requesting the test execution over JSON-RPC, progress of the execution
+ * is reported with {@link TestExecutionEvent} notifications.
+ */
+@DTO
+public interface TestExecutionRequest {
+
+    /**
+     * Returns the name of the test framework where the tests should be run on.
+     *
+     * @return the framework name
+     */
+    String getTestFramework();
+
+    void setTestFramework(String testFramework);
+
+    TestExecutionRequest withTestFramework(String testFramework);
+
+    /**
+     * Returns the path to the project directory relative to the workspace root.
+     *
+     * @return the project path
+     */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    TestExecutionRequest withProjectPath(String projectPath);
+
+    /**
+     * Returns the parameters passed to the test framework implementation,
+     * the same as query parameters of the REST service.
+     *
+     * @return the parameters of the test framework
+     */
+    Map<String, String> getParameters();
+
+    void setParameters(Map<String, String> parameters);
+
+    TestExecutionRequest withParameters(Map<String, String> parameters);
+}
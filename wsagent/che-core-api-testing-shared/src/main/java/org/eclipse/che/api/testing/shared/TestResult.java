@@ -77,4 +77,33 @@ public interface TestResult {
      * @param count
      */
     void setFailureCount(int count);
+
+    /**
+     * Returns the time elapsed from the start till the end of the execution in milliseconds.
+     *
+     * @return the wall-clock time of the execution.
+     */
+    long getWallClockTime();
+
+    /**
+     * Sets the time elapsed from the start till the end of the execution in milliseconds.
+     *
+     * @param wallClockTime
+     */
+    void setWallClockTime(long wallClockTime);
+
+    /**
+     * Returns the processor time consumed by the execution in milliseconds, when tests are executed
+     * in parallel it is the sum of the processor time consumed by all the test workers.
+     *
+     * @return the processor time of the execution.
+     */
+    long getCpuTime();
+
+    /**
+     * Sets the processor time consumed by the execution in milliseconds.
+     *
+     * @param cpuTime
+     */
+    void setCpuTime(long cpuTime);
 }
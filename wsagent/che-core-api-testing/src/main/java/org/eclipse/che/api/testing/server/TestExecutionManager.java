@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.testing.server;
+
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.EXECUTION_FAILED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.EXECUTION_FINISHED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.TEST_FAILED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.TEST_FINISHED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.TEST_IGNORED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.TEST_STARTED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.testing.server.framework.TestExecutionListener;
+import org.eclipse.che.api.testing.server.framework.TestFrameworkRegistry;
+import org.eclipse.che.api.testing.server.framework.TestRunner;
+import org.eclipse.che.api.testing.shared.Failure;
+import org.eclipse.che.api.testing.shared.TestExecutionEvent;
+import org.eclipse.che.api.testing.shared.TestExecutionRequest;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Executes tests requested over JSON-RPC in the background and streams
+ * the progress of the execution back to the requesting endpoint.
+ *
+ * <pre>
+ * <em>testing:run</em> : starts the execution of {@link TestExecutionRequest}, returns the execution identifier.
+ * <em>testing:cancel</em> : cancels the execution with the given identifier.
+ * <em>event:test-execution</em> : {@link TestExecutionEvent} sent to the client while the tests are running,
+ *                        the last event of the execution is either EXECUTION_FINISHED or EXECUTION_FAILED.
+ * </pre>
+ *
+ * <p>Cancellation interrupts the execution and the client is notified that the execution is cancelled
+ * only when it's actually stopped. Test runners which can't be interrupted finish the execution as usual,
+ * so the client receives the progress and the result of such execution even if it's cancelled.
+ */
+@Singleton
+public class TestExecutionManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestExecutionManager.class);
+
+    static final String RUN_METHOD      = "testing:run";
+    static final String CANCEL_METHOD   = "testing:cancel";
+    static final String OUTGOING_METHOD = "event:test-execution";
+
+    private final TestFrameworkRegistry  frameworkRegistry;
+    private final RequestTransmitter     transmitter;
+    private final ExecutorService        executor;
+    private final Map<String, Execution> executions;
+
+    @Inject
+    public TestExecutionManager(TestFrameworkRegistry frameworkRegistry, RequestTransmitter transmitter) {
+        this.frameworkRegistry = frameworkRegistry;
+        this.transmitter = transmitter;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("TestExecution-%d")
+                                                                                .setUncaughtExceptionHandler(
+                                                                                        LoggingUncaughtExceptionHandler.getInstance())
+                                                                                .setDaemon(true)
+                                                                                .build());
+        this.executions = new ConcurrentHashMap<>();
+    }
+
+    @Inject
+    public void configureHandlers(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(RUN_METHOD)
+                    .paramsAsDto(TestExecutionRequest.class)
+                    .resultAsString()
+                    .withFunction(this::run);
+        configurator.newConfiguration()
+                    .methodName(CANCEL_METHOD)
+                    .paramsAsString()
+                    .noResult()
+                    .withConsumer((endpointId, executionId) -> cancel(executionId));
+    }
+
+    /**
+     * Starts the execution of the tests in the background.
+     *
+     * @param endpointId
+     *            endpoint which receives the progress of the execution
+     * @param request
+     *            tests to execute
+     * @return identifier of the started execution
+     */
+    String run(String endpointId, TestExecutionRequest request) {
+        final String executionId = NameGenerator.generate("execution", 16);
+        final Map<String, String> parameters = new HashMap<>();
+        if (request.getParameters() != null) {
+            parameters.putAll(request.getParameters());
+        }
+        parameters.put("projectPath", request.getProjectPath());
+        parameters.put("absoluteProjectPath", ResourcesPlugin.getPathToWorkspace() + request.getProjectPath());
+        parameters.put("testFramework", request.getTestFramework());
+        final Execution execution = new Execution(endpointId);
+        execution.task = new FutureTask<>(() -> execute(execution, executionId, request.getTestFramework(), parameters), null);
+        // registered before started, so quick execution can't finish before it's registered
+        executions.put(executionId, execution);
+        executor.execute(execution.task);
+        return executionId;
+    }
+
+    /**
+     * Cancels the execution, does nothing if it is already finished. The execution which is not started
+     * yet is cancelled immediately, the running one is interrupted and reports the cancellation when it stops.
+     */
+    void cancel(String executionId) {
+        final Execution execution = executions.get(executionId);
+        if (execution == null) {
+            return;
+        }
+        if (execution.started.compareAndSet(false, true)) {
+            executions.remove(executionId);
+            sendCancelled(execution.endpointId, executionId);
+        } else {
+            execution.task.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void execute(Execution execution, String executionId, String testFramework, Map<String, String> parameters) {
+        if (!execution.started.compareAndSet(false, true)) {
+            // cancelled before started, the client is already notified
+            return;
+        }
+        final String endpointId = execution.endpointId;
+        try {
+            final TestRunner runner = frameworkRegistry.getTestRunner(testFramework);
+            if (runner == null) {
+                executions.remove(executionId);
+                send(endpointId, newEvent(executionId, EXECUTION_FAILED).withError("No test frameworks found: " + testFramework));
+                return;
+            }
+            final TestResult result = runner.execute(parameters, new TestExecutionListener() {
+                @Override
+                public void testStarted(String testClass, String testMethod) {
+                    send(endpointId, newEvent(executionId, TEST_STARTED).withTestClass(testClass).withTestMethod(testMethod));
+                }
+
+                @Override
+                public void testFinished(String testClass, String testMethod, long duration) {
+                    send(endpointId, newEvent(executionId, TEST_FINISHED).withTestClass(testClass)
+                                                                          .withTestMethod(testMethod)
+                                                                          .withDuration(duration));
+                }
+
+                @Override
+                public void testFailed(Failure failure) {
+                    send(endpointId, newEvent(executionId, TEST_FAILED).withTestClass(failure.getFailingClass())
+                                                                        .withTestMethod(failure.getFailingMethod())
+                                                                        .withFailure(failure));
+                }
+
+                @Override
+                public void testIgnored(String testClass, String testMethod) {
+                    send(endpointId, newEvent(executionId, TEST_IGNORED).withTestClass(testClass).withTestMethod(testMethod));
+                }
+            });
+            // the runner may ignore the interruption, then the result is reported even if the execution is cancelled
+            executions.remove(executionId);
+            send(endpointId, newEvent(executionId, EXECUTION_FINISHED).withResult(result));
+        } catch (InterruptedException e) {
+            executions.remove(executionId);
+            sendCancelled(endpointId, executionId);
+        } catch (Exception e) {
+            executions.remove(executionId);
+            if (execution.task.isCancelled()) {
+                // the runner failed because of the interruption
+                sendCancelled(endpointId, executionId);
+            } else {
+                LOG.warn("Test execution '{}' failed: {}", executionId, e.getMessage());
+                send(endpointId, newEvent(executionId, EXECUTION_FAILED).withError(e.getMessage()));
+            }
+        }
+    }
+
+    private TestExecutionEvent newEvent(String executionId, TestExecutionEvent.Type type) {
+        return newDto(TestExecutionEvent.class).withExecutionId(executionId).withType(type);
+    }
+
+    private void sendCancelled(String endpointId, String executionId) {
+        send(endpointId, newEvent(executionId, EXECUTION_FAILED).withError("Test execution is cancelled"));
+    }
+
+    private void send(String endpointId, TestExecutionEvent event) {
+        transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, event);
+    }
+
+    private static class Execution {
+        final String        endpointId;
+        final AtomicBoolean started;
+
+        volatile FutureTask<Void> task;
+
+        Execution(String endpointId) {
+            this.endpointId = endpointId;
+            this.started = new AtomicBoolean();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.testing.server.framework;
+
+import org.eclipse.che.api.testing.shared.Failure;
+
+/**
+ * Receives the progress of the test execution from the {@link TestRunner},
+ * methods may be called concurrently when the tests are executed in parallel.
+ */
+public interface TestExecutionListener {
+
+    /** Listener which ignores the progress. */
+    TestExecutionListener NOOP = new TestExecutionListener() {
+        @Override
+        public void testStarted(String testClass, String testMethod) {
+        }
+
+        @Override
+        public void testFinished(String testClass, String testMethod, long duration) {
+        }
+
+        @Override
+        public void testFailed(Failure failure) {
+        }
+
+        @Override
+        public void testIgnored(String testClass, String testMethod) {
+        }
+    };
+
+    /** Called when the test case is started. */
+    void testStarted(String testClass, String testMethod);
+
+    /** Called when the test case is finished, whether it passed or failed, duration is in milliseconds. */
+    void testFinished(String testClass, String testMethod, long duration);
+
+    /** Called when the test case is failed, before it is finished. */
+    void testFailed(Failure failure);
+
+    /** Called when the test case is skipped. */
+    void testIgnored(String testClass, String testMethod);
+}
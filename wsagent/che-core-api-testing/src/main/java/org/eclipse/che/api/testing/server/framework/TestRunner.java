@@ -38,6 +38,24 @@ public interface TestRunner {
      */
     TestResult execute(Map<String, String> testParameters) throws Exception;
 
+    /**
+     * Executes the test cases reporting the progress to the given listener while they
+     * are running. The execution is cancelled by interrupting the calling thread.
+     *
+     * <p>By default the progress is not reported, only the result is returned.
+     *
+     * @param testParameters
+     *            Map of parameters for executing the test cases.
+     * @param listener
+     *            receives the progress of the execution.
+     * @return the test results.
+     * @throws Exception
+     *             when test runner execution fails.
+     */
+    default TestResult execute(Map<String, String> testParameters, TestExecutionListener listener) throws Exception {
+        return execute(testParameters);
+    }
+
     /**
      * The test runner framework will call this method to get the framework name
      * for registration.
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.testing.server;
+
+import static org.eclipse.che.api.testing.server.TestExecutionManager.OUTGOING_METHOD;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.EXECUTION_FAILED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.EXECUTION_FINISHED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.TEST_FINISHED;
+import static org.eclipse.che.api.testing.shared.TestExecutionEvent.Type.TEST_STARTED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.testing.server.framework.TestExecutionListener;
+import org.eclipse.che.api.testing.server.framework.TestFrameworkRegistry;
+import org.eclipse.che.api.testing.server.framework.TestRunner;
+import org.eclipse.che.api.testing.shared.TestExecutionEvent;
+import org.eclipse.che.api.testing.shared.TestExecutionRequest;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link TestExecutionManager}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TestExecutionManagerTest {
+
+    private static final String ENDPOINT_ID    = "endpoint";
+    private static final String TEST_FRAMEWORK = "junit";
+
+    @Mock
+    private TestFrameworkRegistry frameworkRegistry;
+    @Mock
+    private RequestTransmitter    transmitter;
+    @Mock
+    private TestRunner            testRunner;
+
+    private TestExecutionManager executionManager;
+
+    @BeforeMethod
+    public void setUp() {
+        when(frameworkRegistry.getTestRunner(TEST_FRAMEWORK)).thenReturn(testRunner);
+        executionManager = new TestExecutionManager(frameworkRegistry, transmitter);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executionManager.stop();
+    }
+
+    @Test
+    public void shouldStreamProgressOfExecution() throws Exception {
+        final TestResult result = newDto(TestResult.class);
+        result.setSuccess(true);
+        when(testRunner.execute(anyMapOf(String.class, String.class), any(TestExecutionListener.class))).thenAnswer(invocation -> {
+            final TestExecutionListener listener = (TestExecutionListener)invocation.getArguments()[1];
+            listener.testStarted("org.test.ATest", "test");
+            listener.testFinished("org.test.ATest", "test", 10);
+            return result;
+        });
+
+        final String executionId = executionManager.run(ENDPOINT_ID, newRequest());
+
+        final List<TestExecutionEvent> events = captureEvents(3);
+        assertEquals(events.get(0).getType(), TEST_STARTED);
+        assertEquals(events.get(0).getTestClass(), "org.test.ATest");
+        assertEquals(events.get(1).getType(), TEST_FINISHED);
+        assertEquals(events.get(1).getDuration(), 10);
+        assertEquals(events.get(2).getType(), EXECUTION_FINISHED);
+        assertEquals(events.get(2).getExecutionId(), executionId);
+        assertTrue(events.get(2).getResult().isSuccess());
+    }
+
+    @Test
+    public void shouldReportFailureOfExecution() throws Exception {
+        when(testRunner.execute(anyMapOf(String.class, String.class), any(TestExecutionListener.class)))
+                .thenThrow(new IllegalStateException("no tests"));
+
+        executionManager.run(ENDPOINT_ID, newRequest());
+
+        final TestExecutionEvent event = captureEvents(1).get(0);
+        assertEquals(event.getType(), EXECUTION_FAILED);
+        assertEquals(event.getError(), "no tests");
+    }
+
+    @Test
+    public void shouldInterruptCancelledExecution() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(testRunner.execute(anyMapOf(String.class, String.class), any(TestExecutionListener.class))).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        final String executionId = executionManager.run(ENDPOINT_ID, newRequest());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        executionManager.cancel(executionId);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        final TestExecutionEvent event = captureEvents(1).get(0);
+        assertEquals(event.getType(), EXECUTION_FAILED);
+        assertEquals(event.getExecutionId(), executionId);
+    }
+
+    @Test
+    public void shouldReportResultOfCancelledExecutionWhichIsNotInterruptible() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final TestResult result = newDto(TestResult.class);
+        when(testRunner.execute(anyMapOf(String.class, String.class), any(TestExecutionListener.class))).thenAnswer(invocation -> {
+            started.countDown();
+            while (cancelled.getCount() != 0) {
+                try {
+                    cancelled.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            return result;
+        });
+        final String executionId = executionManager.run(ENDPOINT_ID, newRequest());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        executionManager.cancel(executionId);
+        cancelled.countDown();
+
+        final TestExecutionEvent event = captureEvents(1).get(0);
+        assertEquals(event.getType(), EXECUTION_FINISHED);
+        assertEquals(event.getExecutionId(), executionId);
+    }
+
+    private TestExecutionRequest newRequest() {
+        return newDto(TestExecutionRequest.class).withTestFramework(TEST_FRAMEWORK).withProjectPath("/project");
+    }
+
+    private List<TestExecutionEvent> captureEvents(int count) {
+        final ArgumentCaptor<TestExecutionEvent> captor = ArgumentCaptor.forClass(TestExecutionEvent.class);
+        verify(transmitter, timeout(5000).times(count)).transmitOneToNone(eq(ENDPOINT_ID), eq(OUTGOING_METHOD), captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,526 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectIdOwnerMap;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Commit graph of the repository: parent links and commit times of the commits, and bloom filters
+ * of the paths changed by the commits, which are computed when the history of paths is requested
+ * for the first time.
+ *
+ * <p>Commits are walked over the graph without parsing them, so skipping commits of the history is cheap,
+ * and the history of paths is filtered with bloom filters, so trees are compared only for the commits
+ * which may change the paths. Commits are added to the graph when they are reached by a walk for the
+ * first time, so the graph covers only the part of the history which was requested.
+ *
+ * <p>The graph is saved to the repository folder as a log of records, each change of the graph appends
+ * the records describing it, and it's loaded by replaying the records when it is needed again.
+ *
+ * <p>Parents of the boundary commits of a shallow repository are not known, such commits are added
+ * to the graph without parents and their parents are loaded again when the repository is unshallowed,
+ * see {@link #setShallowCommits(Set)}.
+ *
+ * <p>This class is not thread-safe, the callers must hold the lock of the graph file,
+ * see {@link JGitCommitGraphCache}.
+ */
+class CommitGraph {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitGraph.class);
+
+    static final String FILE_NAME = "che-commit-graph";
+
+    private static final int                      MAGIC             = 0x43434702;
+    private static final int                      NODE_RECORD       = 1;
+    private static final int                      PARENTS_RECORD    = 2;
+    private static final int                      PATHS_RECORD      = 3;
+    /** Paths of the commits which change more paths are not filtered. */
+    private static final int                      MAX_CHANGED_PATHS = 512;
+    private static final double                   FALSE_POSITIVES   = 0.01;
+    /** Tolerated difference of the clocks of the committers, in seconds. */
+    private static final int                      COMMIT_TIME_SLOP  = 24 * 60 * 60;
+    private static final Funnel<CharSequence>     PATH_FUNNEL       = Funnels.stringFunnel(StandardCharsets.UTF_8);
+    /** Marks commits which change too many paths. */
+    private static final BloomFilter<CharSequence> ANY_PATH         = BloomFilter.create(PATH_FUNNEL, 1);
+
+    private final File                   file;
+    private final ObjectIdOwnerMap<Node> nodes;
+    private final List<Node>             nodesList;
+    /** Commits which are added without parents as the boundary of the shallow repository. */
+    private final Set<Node>              shallowNodes;
+    /** Records of the changes which are not saved yet. */
+    private final ByteArrayOutputStream  pending;
+    private final DataOutputStream       pendingOut;
+
+    private Set<ObjectId> shallowCommits;
+    /** Whether the file must be written from scratch, e.g. it doesn't exist or it's broken. */
+    private boolean       rewrite;
+
+    CommitGraph(File file) {
+        this.file = file;
+        this.nodes = new ObjectIdOwnerMap<>();
+        this.nodesList = new ArrayList<>();
+        this.shallowNodes = new HashSet<>();
+        this.pending = new ByteArrayOutputStream();
+        this.pendingOut = new DataOutputStream(pending);
+        this.shallowCommits = Collections.emptySet();
+        this.rewrite = true;
+    }
+
+    /** Returns the commit of the graph, or null if the commit is not added to the graph yet. */
+    Node get(AnyObjectId id) {
+        return nodes.get(id);
+    }
+
+    int size() {
+        return nodesList.size();
+    }
+
+    /**
+     * Sets the boundary commits of the shallow repository, which must be added without parents.
+     * Commits which were added as the boundary before and aren't the boundary anymore, because
+     * the repository is unshallowed, get their parents loaded again when they are walked.
+     */
+    void setShallowCommits(Set<ObjectId> shallowCommits) {
+        this.shallowCommits = shallowCommits;
+        for (Iterator<Node> it = shallowNodes.iterator(); it.hasNext(); ) {
+            final Node node = it.next();
+            if (!shallowCommits.contains(node)) {
+                node.parents = null;
+                node.changedPaths = null;
+                it.remove();
+            }
+        }
+    }
+
+    /** Adds the given commits to the graph, returns nodes of the given commits. */
+    List<Node> add(RevWalk revWalk, Collection<? extends AnyObjectId> commits) throws IOException {
+        final List<Node> result = new ArrayList<>(commits.size());
+        for (AnyObjectId id : commits) {
+            result.add(getOrAdd(revWalk, id));
+        }
+        return result;
+    }
+
+    /**
+     * Walks commits which are reachable from the given commits, except the ones reachable from
+     * the uninteresting commits, newest commits first.
+     *
+     * <p>If paths are given, only commits which change the paths are returned and the history is simplified
+     * as git does by default: merge commit is not returned and only its parent is walked when the paths
+     * are the same in the merge commit and that parent. The commits must be {@link #add(RevWalk, Collection) added}
+     * to the graph before walking.
+     *
+     * @param paths
+     *         paths of files or folders relative to the working tree, or empty collection to walk all the commits
+     */
+    Walk walk(RevWalk revWalk, Collection<Node> starts, Collection<Node> uninteresting, Collection<String> paths) {
+        return new Walk(revWalk, starts, uninteresting, paths);
+    }
+
+    /**
+     * Finds which of the given branches contain the given commits.
+     *
+     * <p>Branches are walked back to the commits made a day before the oldest of the given commits,
+     * so a commit which is dated more than a day later than its descendant is not found.
+     *
+     * @param branches
+     *         tips of the branches by branch name, the tips must be added to the graph
+     * @return names of the branches containing a commit, by commit
+     */
+    Map<Node, List<String>> getBranches(RevWalk revWalk, Collection<Node> commits, Map<String, Node> branches) throws IOException {
+        final Map<Node, List<String>> result = new HashMap<>();
+        if (commits.isEmpty()) {
+            return result;
+        }
+        final Set<Node> targets = new HashSet<>(commits);
+        final int minCommitTime = commits.stream().mapToInt(node -> node.commitTime).min().getAsInt() - COMMIT_TIME_SLOP;
+        for (Map.Entry<String, Node> branch : branches.entrySet()) {
+            final BitSet visited = new BitSet(nodesList.size());
+            final Deque<Node> stack = new ArrayDeque<>();
+            stack.push(branch.getValue());
+            int found = 0;
+            while (!stack.isEmpty() && found < targets.size()) {
+                final Node node = stack.pop();
+                if (node.commitTime < minCommitTime || visited.get(node.index)) {
+                    continue;
+                }
+                visited.set(node.index);
+                if (targets.contains(node)) {
+                    result.computeIfAbsent(node, key -> new ArrayList<>()).add(branch.getKey());
+                    found++;
+                }
+                for (Node parent : getParents(revWalk, node)) {
+                    stack.push(parent);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Returns true if the graph is changed since it was loaded or saved. */
+    boolean isModified() {
+        return rewrite || pending.size() > 0;
+    }
+
+    /**
+     * Saves the changes of the graph made since it was loaded or saved, appending them to the file.
+     * If the file doesn't exist or it's broken the whole graph is written.
+     */
+    void save() throws IOException {
+        if (rewrite) {
+            // the file may be left with the partial records if writing fails, it's written once again then
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                out.writeInt(MAGIC);
+                for (Node node : nodesList) {
+                    writeNode(out, node);
+                }
+                for (Node node : nodesList) {
+                    if (node.parents != null) {
+                        writeParents(out, node);
+                    }
+                    if (node.changedPaths != null) {
+                        writeChangedPaths(out, node);
+                    }
+                }
+            }
+            rewrite = false;
+        } else if (pending.size() > 0) {
+            rewrite = true;
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                pending.writeTo(out);
+            }
+            rewrite = false;
+        }
+        pending.reset();
+    }
+
+    /**
+     * Loads the graph saved to the given file, returns empty graph if the file doesn't exist or can't be read.
+     * If the last record of the file is not complete, e.g. saving was interrupted, all the previous records are loaded.
+     */
+    static CommitGraph load(File file) {
+        final CommitGraph graph = new CommitGraph(file);
+        if (!file.exists()) {
+            return graph;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unknown format");
+            }
+            graph.rewrite = false;
+            final byte[] id = new byte[Constants.OBJECT_ID_LENGTH];
+            for (int type = in.read(); type != -1; type = in.read()) {
+                if (type == NODE_RECORD) {
+                    in.readFully(id);
+                    graph.addNode(new Node(ObjectId.fromRaw(id), graph.nodesList.size(), in.readInt()));
+                } else if (type == PARENTS_RECORD) {
+                    final Node node = graph.nodesList.get(in.readInt());
+                    final boolean shallow = in.readBoolean();
+                    final Node[] parents = new Node[in.readUnsignedByte()];
+                    for (int i = 0; i < parents.length; i++) {
+                        parents[i] = graph.nodesList.get(in.readInt());
+                    }
+                    graph.setParents(node, parents, shallow);
+                } else if (type == PATHS_RECORD) {
+                    final Node node = graph.nodesList.get(in.readInt());
+                    node.changedPaths = in.readBoolean() ? ANY_PATH : BloomFilter.readFrom(in, PATH_FUNNEL);
+                } else {
+                    throw new IOException("Unknown record " + type);
+                }
+            }
+        } catch (EOFException e) {
+            LOG.warn("Commit graph {} is not complete, the last record is dropped", file);
+            graph.rewrite = true;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Commit graph {} can't be read and will be created again: {}", file, e.getMessage());
+            return new CommitGraph(file);
+        }
+        return graph;
+    }
+
+    private Node getOrAdd(RevWalk revWalk, AnyObjectId id) throws IOException {
+        Node node = nodes.get(id);
+        if (node == null) {
+            final RevCommit commit = revWalk.parseCommit(id);
+            node = new Node(commit, nodesList.size(), commit.getCommitTime());
+            addNode(node);
+            writeNode(pendingOut, node);
+        }
+        return node;
+    }
+
+    private void addNode(Node node) {
+        nodes.add(node);
+        nodesList.add(node);
+    }
+
+    /** Returns parents of the commit, adding them to the graph if they are not added yet. */
+    private Node[] getParents(RevWalk revWalk, Node node) throws IOException {
+        if (node.parents == null) {
+            final boolean shallow = shallowCommits.contains(node);
+            final RevCommit commit = revWalk.parseCommit(node);
+            final Node[] parents = new Node[shallow ? 0 : commit.getParentCount()];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = getOrAdd(revWalk, commit.getParent(i));
+            }
+            setParents(node, parents, shallow);
+            writeParents(pendingOut, node);
+        }
+        return node.parents;
+    }
+
+    private void setParents(Node node, Node[] parents, boolean shallow) {
+        node.parents = parents;
+        // the paths are compared to the first parent, which might be unknown before
+        node.changedPaths = null;
+        if (shallow) {
+            shallowNodes.add(node);
+        } else {
+            shallowNodes.remove(node);
+        }
+    }
+
+    /**
+     * Returns the filter of paths changed by the commit comparing to its first parent, including parent
+     * folders of the changed files. Filter is computed when it is requested for the first time.
+     */
+    private BloomFilter<CharSequence> getChangedPaths(RevWalk revWalk, Node node) throws IOException {
+        if (node.changedPaths == null) {
+            final Node[] parents = getParents(revWalk, node);
+            final Set<String> paths = new HashSet<>();
+            try (TreeWalk treeWalk = newTreeWalk(revWalk, node, parents.length == 0 ? null : parents[0])) {
+                treeWalk.setFilter(TreeFilter.ANY_DIFF);
+                while (treeWalk.next() && paths.size() <= MAX_CHANGED_PATHS) {
+                    for (String path = treeWalk.getPathString(); paths.add(path) && path.lastIndexOf('/') > 0; ) {
+                        path = path.substring(0, path.lastIndexOf('/'));
+                    }
+                }
+            }
+            if (paths.size() > MAX_CHANGED_PATHS) {
+                node.changedPaths = ANY_PATH;
+            } else {
+                node.changedPaths = BloomFilter.create(PATH_FUNNEL, Math.max(paths.size(), 1), FALSE_POSITIVES);
+                paths.forEach(node.changedPaths::put);
+            }
+            writeChangedPaths(pendingOut, node);
+        }
+        return node.changedPaths;
+    }
+
+    private static void writeNode(DataOutputStream out, Node node) throws IOException {
+        final byte[] id = new byte[Constants.OBJECT_ID_LENGTH];
+        node.copyRawTo(id, 0);
+        out.writeByte(NODE_RECORD);
+        out.write(id);
+        out.writeInt(node.commitTime);
+    }
+
+    private void writeParents(DataOutputStream out, Node node) throws IOException {
+        out.writeByte(PARENTS_RECORD);
+        out.writeInt(node.index);
+        out.writeBoolean(shallowNodes.contains(node));
+        out.writeByte(node.parents.length);
+        for (Node parent : node.parents) {
+            out.writeInt(parent.index);
+        }
+    }
+
+    private static void writeChangedPaths(DataOutputStream out, Node node) throws IOException {
+        out.writeByte(PATHS_RECORD);
+        out.writeInt(node.index);
+        out.writeBoolean(node.changedPaths == ANY_PATH);
+        if (node.changedPaths != ANY_PATH) {
+            node.changedPaths.writeTo(out);
+        }
+    }
+
+    /** Creates recursive tree walk over the trees of the parent, or empty tree if parent is null, and the commit. */
+    private static TreeWalk newTreeWalk(RevWalk revWalk, Node node, Node parent) throws IOException {
+        final TreeWalk treeWalk = new TreeWalk(revWalk.getObjectReader());
+        treeWalk.setRecursive(true);
+        if (parent == null) {
+            treeWalk.addTree(new EmptyTreeIterator());
+        } else {
+            treeWalk.addTree(revWalk.parseCommit(parent).getTree());
+        }
+        treeWalk.addTree(revWalk.parseCommit(node).getTree());
+        return treeWalk;
+    }
+
+    /** Commit of the graph. */
+    static final class Node extends ObjectIdOwnerMap.Entry {
+        final int index;
+        final int commitTime;
+
+        /** Parents of the commit, null if they are not added to the graph yet. */
+        private Node[]                    parents;
+        private BloomFilter<CharSequence> changedPaths;
+
+        Node(AnyObjectId id, int index, int commitTime) {
+            super(id);
+            this.index = index;
+            this.commitTime = commitTime;
+        }
+    }
+
+    /** Walk over the commits of the graph, similar to {@link RevWalk}. */
+    class Walk {
+        private final RevWalk             revWalk;
+        private final List<String>        paths;
+        private final TreeFilter          pathFilter;
+        private final BitSet              seen;
+        private final BitSet              queued;
+        private final BitSet              uninteresting;
+        private final PriorityQueue<Node> queue;
+
+        /** The number of the queued commits which are not uninteresting, the walk ends when there are none. */
+        private int interesting;
+
+        private Walk(RevWalk revWalk, Collection<Node> starts, Collection<Node> uninteresting, Collection<String> paths) {
+            this.revWalk = revWalk;
+            this.paths = new ArrayList<>(paths);
+            this.pathFilter = paths.isEmpty() ? null : AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF);
+            this.seen = new BitSet(nodesList.size());
+            this.queued = new BitSet(nodesList.size());
+            this.uninteresting = new BitSet(nodesList.size());
+            this.queue = new PriorityQueue<>((a, b) -> a.commitTime != b.commitTime ? Integer.compare(b.commitTime, a.commitTime)
+                                                                                    : Integer.compare(a.index, b.index));
+            uninteresting.forEach(this::markUninteresting);
+            starts.forEach(this::enqueue);
+        }
+
+        /** Returns the next commit of the walk, or null if there are no more commits. */
+        Node next() throws IOException {
+            while (interesting > 0) {
+                final Node node = queue.poll();
+                queued.clear(node.index);
+                final Node[] parents = getParents(revWalk, node);
+                if (uninteresting.get(node.index)) {
+                    // commits are walked newest first, so the ancestors are marked before they are reached
+                    for (Node parent : parents) {
+                        markUninteresting(parent);
+                    }
+                    continue;
+                }
+                interesting--;
+                if (pathFilter == null) {
+                    enqueueAll(parents);
+                    return node;
+                }
+                if (parents.length == 0) {
+                    if (changes(node, null)) {
+                        return node;
+                    }
+                    continue;
+                }
+                Node sameParent = null;
+                for (int i = 0; i < parents.length && sameParent == null; i++) {
+                    if (!changes(node, parents[i])) {
+                        sameParent = parents[i];
+                    }
+                }
+                if (sameParent != null) {
+                    // paths are not changed by this commit, follow only the parent which has the same paths
+                    enqueue(sameParent);
+                } else {
+                    enqueueAll(parents);
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        /** Returns true if any of the paths is different in the commit and its parent, or its tree if parent is null. */
+        private boolean changes(Node node, Node parent) throws IOException {
+            if (parent == null || parent == node.parents[0]) {
+                final BloomFilter<CharSequence> changedPaths = getChangedPaths(revWalk, node);
+                if (changedPaths != ANY_PATH && paths.stream().noneMatch(changedPaths::mightContain)) {
+                    return false;
+                }
+            }
+            try (TreeWalk treeWalk = newTreeWalk(revWalk, node, parent)) {
+                treeWalk.setFilter(pathFilter);
+                return treeWalk.next();
+            }
+        }
+
+        private void markUninteresting(Node node) {
+            if (uninteresting.get(node.index)) {
+                return;
+            }
+            uninteresting.set(node.index);
+            if (!seen.get(node.index)) {
+                seen.set(node.index);
+                queued.set(node.index);
+                queue.add(node);
+            } else if (queued.get(node.index)) {
+                // queued as interesting before
+                interesting--;
+            }
+        }
+
+        private void enqueueAll(Node[] nodes) {
+            for (Node node : nodes) {
+                enqueue(node);
+            }
+        }
+
+        private void enqueue(Node node) {
+            if (!seen.get(node.index)) {
+                seen.set(node.index);
+                queued.set(node.index);
+                queue.add(node);
+                interesting++;
+            }
+        }
+    }
+}
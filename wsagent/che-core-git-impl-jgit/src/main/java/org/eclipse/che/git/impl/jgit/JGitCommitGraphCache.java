@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Striped;
+
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.Lock;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Keeps {@link CommitGraph commit graphs} of the repositories in memory, the graphs are loaded from
+ * the repository folders when they are needed and their changes are appended to the files.
+ *
+ * <p>Commits are identified by their content, so the graph never becomes invalid: commits which are not
+ * reachable anymore, e.g. after rebase, stay in the graph until it is removed together with the repository.
+ * Only the boundary commits of a shallow repository get their parents again when the repository is unshallowed.
+ *
+ * <p>All the operations over the graph of the same repository, including its loading and saving,
+ * are serialized by the lock of the graph file, so a graph which is evicted from the cache while
+ * it's in use and the graph loaded again never access the file at the same time.
+ *
+ * <p>This class is thread-safe.
+ */
+@Singleton
+public class JGitCommitGraphCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitCommitGraphCache.class);
+
+    private static final int MAX_CACHED_GRAPHS = 10;
+
+    private final Cache<File, CommitGraph> graphs;
+    private final Striped<Lock>            locks;
+
+    public JGitCommitGraphCache() {
+        this.graphs = CacheBuilder.newBuilder()
+                                  .maximumSize(MAX_CACHED_GRAPHS)
+                                  .expireAfterAccess(10, MINUTES)
+                                  .build();
+        this.locks = Striped.lock(MAX_CACHED_GRAPHS * 4);
+    }
+
+    /** Operation over the commit graph. */
+    interface GraphOperation<T> {
+        T apply(CommitGraph graph) throws IOException;
+    }
+
+    /**
+     * Applies the given operation to the commit graph of the given repository, operations over
+     * the graph of the same repository are serialized. Changes made by the operation are saved.
+     */
+    <T> T withGraph(Repository repository, GraphOperation<T> operation) throws IOException {
+        final File file = new File(repository.getDirectory(), CommitGraph.FILE_NAME).getAbsoluteFile();
+        final Lock lock = locks.get(file);
+        lock.lock();
+        try {
+            CommitGraph graph = graphs.getIfPresent(file);
+            if (graph == null) {
+                graph = CommitGraph.load(file);
+                graphs.put(file, graph);
+            }
+            try (ObjectReader reader = repository.newObjectReader()) {
+                graph.setShallowCommits(reader.getShallowCommits());
+            }
+            try {
+                return operation.apply(graph);
+            } finally {
+                if (graph.isModified()) {
+                    try {
+                        graph.save();
+                    } catch (IOException e) {
+                        LOG.warn("Commit graph {} can't be saved: {}", file, e.getMessage());
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
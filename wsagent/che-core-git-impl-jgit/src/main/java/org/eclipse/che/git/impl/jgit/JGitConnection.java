@@ -164,7 +164,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -249,18 +249,22 @@ class JGitConnection implements GitConnection {
     private JGitConfigImpl      config;
     private LineConsumerFactory lineConsumerFactory;
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
-    private final Repository        repository;
+    private final CredentialsLoader    credentialsLoader;
+    private final SshKeyProvider       sshKeyProvider;
+    private final GitUserResolver      userResolver;
+    private final Repository           repository;
+    private final JGitStatusCache      statusCache;
+    private final JGitCommitGraphCache commitGraphCache;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
-                   GitUserResolver userResolver) {
+                   GitUserResolver userResolver, JGitStatusCache statusCache, JGitCommitGraphCache commitGraphCache) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.statusCache = statusCache;
+        this.commitGraphCache = commitGraphCache;
     }
 
     @Override
@@ -715,39 +719,84 @@ class JGitConnection implements GitConnection {
     /** @see org.eclipse.che.api.git.GitConnection#log(LogParams) */
     @Override
     public LogPage log(LogParams params) throws GitException {
-        LogCommand logCommand = getGit().log();
-        try {
-            setRevisionRange(logCommand, params);
-            logCommand.setSkip(params.getSkip());
-            logCommand.setMaxCount(params.getMaxCount());
-            List<String> fileFilter = params.getFileFilter();
-            if (fileFilter != null) {
-                fileFilter.forEach(logCommand::addPath);
-            }
-            String filePath = params.getFilePath();
-            if (!isNullOrEmpty(filePath)) {
-                logCommand.addPath(filePath);
-            }
-            Iterator<RevCommit> revIterator = logCommand.call().iterator();
-            List<Revision> commits = new ArrayList<>();
-            while (revIterator.hasNext()) {
-                RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
-                commits.add(revision);
-            }
-            return new LogPage(commits);
+        final LogPageToken token = params.getPageToken() == null ? resolveLogStart(params) : LogPageToken.parse(params.getPageToken());
+        final List<String> paths = new ArrayList<>(params.getFileFilter());
+        final String filePath = params.getFilePath();
+        if (!isNullOrEmpty(filePath)) {
+            paths.add(filePath);
+        }
+        final int offset = token.getOffset() + Math.max(params.getSkip(), 0);
+        final int maxCount = params.getMaxCount();
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            final List<Ref> branches = getGit().branchList().setListMode(ListMode.ALL).call();
+            final List<CommitGraph.Node> page = new ArrayList<>();
+            final Map<CommitGraph.Node, List<String>> pageBranches = new HashMap<>();
+            final boolean hasMore = commitGraphCache.withGraph(repository, graph -> {
+                final CommitGraph.Walk walk = graph.walk(revWalk,
+                                                         graph.add(revWalk, token.getStarts()),
+                                                         graph.add(revWalk, token.getUninteresting()),
+                                                         paths);
+                int skipped = 0;
+                while (skipped < offset && walk.next() != null) {
+                    skipped++;
+                }
+                CommitGraph.Node node;
+                while ((maxCount < 0 || page.size() < maxCount) && (node = walk.next()) != null) {
+                    page.add(node);
+                }
+                final Map<String, CommitGraph.Node> branchTips = new LinkedHashMap<>();
+                for (Ref branch : branches) {
+                    if (branch.getObjectId() != null) {
+                        branchTips.put(branch.getName(), graph.add(revWalk, Collections.singletonList(branch.getObjectId())).get(0));
+                    }
+                }
+                pageBranches.putAll(graph.getBranches(revWalk, page, branchTips));
+                return page.size() == maxCount && walk.next() != null;
+            });
+            final List<Revision> commits = new ArrayList<>(page.size());
+            for (CommitGraph.Node node : page) {
+                commits.add(getRevision(revWalk.parseCommit(node), filePath, pageBranches.getOrDefault(node, Collections.emptyList())));
+            }
+            final String nextPageToken = hasMore ? new LogPageToken(token.getStarts(),
+                                                                    token.getUninteresting(),
+                                                                    offset + commits.size()).toString()
+                                                 : null;
+            return new LogPage(commits, nextPageToken);
         } catch (GitAPIException | IOException exception) {
-            String errorMessage = exception.getMessage();
-            if (ERROR_LOG_NO_HEAD_EXISTS.equals(errorMessage)) {
-                throw new GitException(errorMessage, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
-            } else {
-                LOG.error("Failed to retrieve log. ", exception);
-                throw new GitException(exception);
+            LOG.error("Failed to retrieve log. ", exception);
+            throw new GitException(exception);
+        }
+    }
+
+    /** Resolves commits the log is started from, the same way as {@link LogCommand} does. */
+    private LogPageToken resolveLogStart(LogParams params) throws GitException {
+        try {
+            final String revisionRangeSince = params.getRevisionRangeSince();
+            final String revisionRangeUntil = params.getRevisionRangeUntil();
+            if (revisionRangeSince != null && revisionRangeUntil != null) {
+                return new LogPageToken(Collections.singletonList(resolveCommit(revisionRangeUntil)),
+                                        Collections.singletonList(resolveCommit(revisionRangeSince)),
+                                        0);
+            }
+            final ObjectId head = repository.resolve(Constants.HEAD);
+            if (head == null) {
+                throw new GitException(ERROR_LOG_NO_HEAD_EXISTS, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
             }
+            return new LogPageToken(Collections.singletonList(head), Collections.emptyList(), 0);
+        } catch (IOException exception) {
+            throw new GitException(exception.getMessage(), exception);
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    private ObjectId resolveCommit(String revision) throws IOException, GitException {
+        final ObjectId commit = repository.resolve(revision + "^{commit}");
+        if (commit == null) {
+            throw new GitException(format("Revision %s not found", revision));
+        }
+        return commit;
+    }
+
+    private Revision getRevision(RevCommit commit, String filePath, List<String> branches) throws IOException {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
@@ -757,7 +806,9 @@ class JGitConnection implements GitConnection {
                                      .withCommitTime((long)commit.getCommitTime() * 1000)
                                      .withCommitter(getCommitCommitter(commit))
                                      .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+                                     .withBranches(branches.stream()
+                                                           .map(branch -> newDto(Branch.class).withName(branch))
+                                                           .collect(Collectors.toList()))
                                      .withCommitParent(commitParentsList)
                                      .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
     }
@@ -774,16 +825,6 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
-    }
-
     private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
         List<DiffEntry> diffs;
         TreeFilter filter = null;
@@ -838,18 +879,6 @@ class JGitConnection implements GitConnection {
     }
 
 
-    private void setRevisionRange(LogCommand logCommand, LogParams params) throws IOException {
-        if (params != null && logCommand != null) {
-            String revisionRangeSince = params.getRevisionRangeSince();
-            String revisionRangeUntil = params.getRevisionRangeUntil();
-            if (revisionRangeSince != null && revisionRangeUntil != null) {
-                ObjectId since = repository.resolve(revisionRangeSince);
-                ObjectId until = repository.resolve(revisionRangeUntil);
-                logCommand.addRange(since, until);
-            }
-        }
-    }
-
     @Override
     public List<GitUser> getCommiters() throws GitException {
         List<GitUser> gitUsers = new ArrayList<>();
@@ -1466,7 +1495,7 @@ class JGitConnection implements GitConnection {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
-        return new JGitStatusImpl(branchName, getGit().status(), format);
+        return statusCache.getStatus(getRepository(), branchName, format);
     }
 
     @Override
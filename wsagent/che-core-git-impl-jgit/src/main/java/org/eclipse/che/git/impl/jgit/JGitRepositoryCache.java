@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static java.nio.file.Files.isDirectory;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
+
+/**
+ * Keeps opened repositories of the projects, so the git connections to the same project
+ * don't re-read configuration, references and pack indexes of the repository every time.
+ *
+ * <p>Repositories are shared using reference counting of {@link Repository}: the cache holds
+ * one reference while the repository is cached and every {@link #getRepository(File)} call adds one,
+ * which is released by {@link Repository#close()}. Repository is closed when the last reference is released.
+ * Changes of configuration, references and objects made by other programs are picked up
+ * by the cached repositories, as JGit checks modification of the corresponding files.
+ *
+ * <p>Repository is evicted when its {@code HEAD} or {@code config} file is created or removed, that is when
+ * the repository is removed or initialized again, which is reported by {@link FileWatcherManager}.
+ * Repository is also evicted when its {@code .git} folder is replaced by another one before the event is delivered.
+ * Repositories which don't exist yet, e.g. the ones which are going to be initialized or cloned, are not cached.
+ *
+ * <p>This class is thread-safe.
+ */
+@Singleton
+public class JGitRepositoryCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryCache.class);
+
+    private static final int         MAX_CACHED_REPOSITORIES = 100;
+    /** Files which are created when repository is initialized or cloned and removed with the repository. */
+    private static final Set<String> REPOSITORY_FILES        = ImmutableSet.of(Constants.HEAD, Constants.CONFIG);
+
+    private final FileWatcherManager            manager;
+    private final Path                          root;
+    private final Cache<Path, CachedRepository> repositories;
+
+    private int watcherId;
+
+    @Inject
+    public JGitRepositoryCache(@Named("che.user.workspaces.storage") File root, FileWatcherManager manager) {
+        this.root = root.toPath().toAbsolutePath().normalize();
+        this.manager = manager;
+        this.repositories = CacheBuilder.newBuilder()
+                                        .concurrencyLevel(8)
+                                        .maximumSize(MAX_CACHED_REPOSITORIES)
+                                        .expireAfterAccess(10, MINUTES)
+                                        .recordStats()
+                                        .removalListener((RemovalListener<Path, CachedRepository>)n -> n.getValue().release())
+                                        .build();
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        watcherId = manager.registerByMatcher(matcher(), fsEventConsumer(), EMPTY_CONSUMER, fsEventConsumer());
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        manager.unRegisterByMatcher(watcherId);
+        repositories.invalidateAll();
+    }
+
+    /**
+     * Returns repository of the given working directory, the caller must {@link Repository#close() close}
+     * the returned repository when it is not needed anymore.
+     */
+    public Repository getRepository(File workDir) throws IOException {
+        final Path gitDir = workDir.toPath().toAbsolutePath().normalize().resolve(Constants.DOT_GIT);
+        List<Object> identity = getIdentity(gitDir);
+        if (identity == null) {
+            return new FileRepository(gitDir.toFile());
+        }
+        while (true) {
+            final CachedRepository cached = getOrOpen(gitDir, identity);
+            if (!cached.identity.equals(identity)) {
+                // .git folder is replaced and the watcher hasn't evicted the repository yet
+                repositories.asMap().remove(gitDir, cached);
+            } else if (cached.acquire()) {
+                return cached.repository;
+            }
+            // the repository has been evicted and released concurrently, so it is not in the cache anymore
+        }
+    }
+
+    /** Returns statistics of the repositories requests, e.g. hit rate or number of evictions. */
+    public CacheStats getStats() {
+        return repositories.stats();
+    }
+
+    /** Evicts repository of the given working directory if it is cached. */
+    public void invalidate(File workDir) {
+        repositories.invalidate(workDir.toPath().toAbsolutePath().normalize().resolve(Constants.DOT_GIT));
+    }
+
+    private CachedRepository getOrOpen(Path gitDir, List<Object> identity) throws IOException {
+        try {
+            return repositories.get(gitDir, () -> new CachedRepository(openRepository(gitDir.toFile()), identity));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException)e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @VisibleForTesting
+    Repository openRepository(File gitDir) throws IOException {
+        return new FileRepository(gitDir);
+    }
+
+    /**
+     * Identifies the git folder, the identity is changed when the folder is replaced with another one.
+     * Returns null if the folder doesn't exist.
+     */
+    private static List<Object> getIdentity(Path gitDir) throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(gitDir, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attributes.isDirectory()) {
+            return null;
+        }
+        return Arrays.asList(attributes.fileKey(), attributes.creationTime());
+    }
+
+    private PathMatcher matcher() {
+        return it -> !isDirectory(it) &&
+                     REPOSITORY_FILES.contains(it.getFileName().toString()) &&
+                     Constants.DOT_GIT.equals(it.getParent().getFileName().toString());
+    }
+
+    private Consumer<String> fsEventConsumer() {
+        return it -> {
+            final Path gitDir = root.resolve(it.startsWith("/") ? it.substring(1) : it).normalize().getParent();
+            if (repositories.asMap().remove(gitDir) != null) {
+                LOG.debug("Repository {} is evicted, repositories cache stats: {}", gitDir, repositories.stats());
+            }
+        };
+    }
+
+    /**
+     * Holds the reference of the cache to the repository. Acquiring and releasing are mutually exclusive,
+     * so the repository is never acquired after the cache reference is released and it may have been closed.
+     */
+    private static final class CachedRepository {
+        final Repository   repository;
+        final List<Object> identity;
+
+        private boolean released;
+
+        CachedRepository(Repository repository, List<Object> identity) {
+            this.repository = repository;
+            this.identity = identity;
+        }
+
+        /** Adds a reference to the repository, returns false if the cache reference is already released. */
+        synchronized boolean acquire() {
+            if (released) {
+                return false;
+            }
+            repository.incrementOpen();
+            return true;
+        }
+
+        /** Releases the cache reference to the repository. */
+        synchronized void release() {
+            if (!released) {
+                released = true;
+                repository.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.StatusCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Computes status of the repositories incrementally.
+ *
+ * <p>The last computed status is kept per repository together with the files which identify the state of
+ * the repository: {@code HEAD}, index, configuration and {@code info/exclude}. While these files are not changed,
+ * only the paths reported by the file watcher since the previous computation are examined again, and
+ * the working tree entries of the kept status under these paths are replaced with the new results.
+ * The whole working tree is walked when any of these files is changed, when a {@code .gitignore} file is changed,
+ * when there are too many changed paths or when the status wasn't fully computed for a while,
+ * so the changes missed by the watcher don't stay in the status forever.
+ *
+ * <p>File events are delivered with a delay, so a directory is examined again as soon as the watcher learns
+ * that something is changed in it, without waiting for the events of the changed files. Thus the status
+ * never misses the changes the watcher has got native events for. Repositories which are not watched,
+ * e.g. before the watcher is started, after it failed or outside the watched folder, are always walked fully.
+ *
+ * <p>This class is thread-safe.
+ */
+@Singleton
+public class JGitStatusCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitStatusCache.class);
+
+    private static final int  MAX_CACHED_STATUSES = 100;
+    private static final int  MAX_CHANGED_PATHS   = 1000;
+    private static final long FULL_WALK_PERIOD_MS = MINUTES.toMillis(5);
+
+    private final FileWatcherNotificationHandler  handler;
+    private final FileWatcherNotificationListener listener;
+    private final Cache<Path, RepositoryStatus>   statuses;
+
+    private volatile Path watchRoot;
+
+    @Inject
+    public JGitStatusCache(FileWatcherNotificationHandler handler) {
+        this.handler = handler;
+        this.listener = new StatusInvalidatingListener();
+        this.statuses = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(MAX_CACHED_STATUSES)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .build();
+    }
+
+    @PostConstruct
+    public void startListening() {
+        handler.addNotificationListener(listener);
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        handler.removeNotificationListener(listener);
+        watchRoot = null;
+        statuses.invalidateAll();
+    }
+
+    /**
+     * Returns status of the given repository.
+     *
+     * @param branchName
+     *         current repository branch name
+     * @param format
+     *         the output format for the status
+     * @throws GitException
+     *         when any error occurs
+     */
+    public JGitStatusImpl getStatus(Repository repository, String branchName, StatusFormat format) throws GitException {
+        final Path root = watchRoot;
+        final Path workTree = repository.getWorkTree().toPath().toAbsolutePath().normalize();
+        if (root == null || !workTree.startsWith(root)) {
+            return new JGitStatusImpl(branchName, Git.wrap(repository).status(), format);
+        }
+        final RepositoryStatus status = statuses.asMap().computeIfAbsent(workTree, path -> new RepositoryStatus());
+        try {
+            return status.update(repository, branchName, format);
+        } catch (IOException | GitAPIException e) {
+            throw new GitException(e.getMessage(), e);
+        }
+    }
+
+    private class StatusInvalidatingListener extends FileWatcherNotificationListener {
+        StatusInvalidatingListener() {
+            super(file -> true);
+        }
+
+        @Override
+        public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+            final Path root = watchRoot;
+            if (root == null || virtualFile.getPath().isRoot()) {
+                return;
+            }
+            final Path path = root.resolve(virtualFile.getPath().toString().substring(1)).normalize();
+            for (Map.Entry<Path, RepositoryStatus> entry : statuses.asMap().entrySet()) {
+                if (path.startsWith(entry.getKey()) && !path.equals(entry.getKey())) {
+                    entry.getValue().pathChanged(entry.getKey().relativize(path).toString().replace(File.separatorChar, '/'));
+                }
+            }
+        }
+
+        @Override
+        public void onChangesPending(File rootFolder, String subPath) {
+            final Path root = watchRoot;
+            if (root == null) {
+                return;
+            }
+            final Path directory = root.resolve(subPath).normalize();
+            for (Map.Entry<Path, RepositoryStatus> entry : statuses.asMap().entrySet()) {
+                if (directory.startsWith(entry.getKey())) {
+                    entry.getValue().pathChanged(entry.getKey().relativize(directory).toString().replace(File.separatorChar, '/'));
+                }
+            }
+        }
+
+        @Override
+        public void onWatcherStarted(File root) {
+            statuses.invalidateAll();
+            watchRoot = root.toPath().toAbsolutePath().normalize();
+        }
+
+        @Override
+        public void onWatcherError(File root, Throwable cause) {
+            LOG.debug("Status of the repositories is not computed incrementally because of the watcher error: {}", cause.getMessage());
+            watchRoot = null;
+            statuses.invalidateAll();
+        }
+    }
+
+    /** The last computed status of the repository and the paths which are changed since it was computed. */
+    private static final class RepositoryStatus {
+        private final Set<String> changedPaths = new HashSet<>();
+        private boolean fullWalkRequired;
+
+        // guarded by 'this'
+        private List<Object> repositoryState;
+        private long         lastFullWalk;
+        private Set<String>  added;
+        private Set<String>  changed;
+        private Set<String>  removed;
+        private Set<String>  conflicting;
+        private Set<String>  missing;
+        private Set<String>  modified;
+        private Set<String>  untracked;
+        private Set<String>  untrackedFolders;
+
+        /**
+         * Remembers the path which is relative to the working tree, the path is examined by the next update.
+         * The whole working tree is examined when the path is empty.
+         */
+        void pathChanged(String path) {
+            if (path.equals(Constants.DOT_GIT) || path.startsWith(Constants.DOT_GIT + '/')) {
+                // changes of the index and references are detected by the repository state
+                return;
+            }
+            synchronized (changedPaths) {
+                if (path.isEmpty() || path.equals(Constants.GITIGNORE_FILENAME) || path.endsWith('/' + Constants.GITIGNORE_FILENAME)) {
+                    fullWalkRequired = true;
+                } else {
+                    changedPaths.add(path);
+                }
+            }
+        }
+
+        synchronized JGitStatusImpl update(Repository repository, String branchName, StatusFormat format) throws IOException,
+                                                                                                              GitAPIException {
+            final List<Object> state = readRepositoryState(repository);
+            final long now = System.currentTimeMillis();
+            final Set<String> paths;
+            final boolean fullWalk;
+            synchronized (changedPaths) {
+                fullWalk = fullWalkRequired
+                           || !state.equals(repositoryState)
+                           || now - lastFullWalk > FULL_WALK_PERIOD_MS
+                           || changedPaths.size() > MAX_CHANGED_PATHS;
+                paths = fullWalk ? null : new HashSet<>(changedPaths);
+                changedPaths.clear();
+                fullWalkRequired = false;
+            }
+            boolean updated = false;
+            try {
+                final StatusCommand statusCommand = Git.wrap(repository).status();
+                if (fullWalk) {
+                    reset(statusCommand.call());
+                    repositoryState = state;
+                    lastFullWalk = now;
+                } else if (!paths.isEmpty()) {
+                    paths.forEach(statusCommand::addPath);
+                    merge(paths, statusCommand.call());
+                }
+                updated = true;
+            } finally {
+                if (!updated) {
+                    // changed paths are already forgotten, so the kept status can't be updated incrementally
+                    repositoryState = null;
+                }
+            }
+            return toStatus(branchName, format);
+        }
+
+        private void reset(org.eclipse.jgit.api.Status status) {
+            added = new HashSet<>(status.getAdded());
+            changed = new HashSet<>(status.getChanged());
+            removed = new HashSet<>(status.getRemoved());
+            conflicting = new HashSet<>(status.getConflicting());
+            missing = new HashSet<>(status.getMissing());
+            modified = new HashSet<>(status.getModified());
+            untracked = new HashSet<>(status.getUntracked());
+            untrackedFolders = new HashSet<>(status.getUntrackedFolders());
+        }
+
+        /**
+         * Replaces working tree entries under the given paths with the given status of these paths.
+         * Entries which compare {@code HEAD} with the index are not affected, as they change only with the index.
+         */
+        private void merge(Set<String> paths, org.eclipse.jgit.api.Status status) {
+            for (Set<String> entries : Arrays.asList(missing, modified, untracked, untrackedFolders)) {
+                entries.removeIf(entry -> isUnder(entry, paths));
+            }
+            missing.addAll(status.getMissing());
+            modified.addAll(status.getModified());
+            untracked.addAll(status.getUntracked());
+            untrackedFolders.addAll(status.getUntrackedFolders());
+            // folder stops being untracked when the last untracked file is removed from it
+            untrackedFolders.removeIf(folder -> untracked.stream().noneMatch(file -> file.startsWith(folder + '/')));
+        }
+
+        private JGitStatusImpl toStatus(String branchName, StatusFormat format) {
+            final JGitStatusImpl status = new JGitStatusImpl(branchName, format);
+            status.setAdded(new ArrayList<>(added));
+            status.setChanged(new ArrayList<>(changed));
+            status.setRemoved(new ArrayList<>(removed));
+            status.setConflicting(new ArrayList<>(conflicting));
+            status.setMissing(new ArrayList<>(missing));
+            status.setModified(new ArrayList<>(modified));
+            status.setUntracked(new ArrayList<>(untracked));
+            status.setUntrackedFolders(new ArrayList<>(untrackedFolders));
+            status.setClean(isEmpty(added, changed, removed, conflicting, missing, modified, untracked));
+            return status;
+        }
+
+        /** Returns true if the given path or any of its parents is one of the given paths. */
+        private static boolean isUnder(String path, Set<String> paths) {
+            for (String current = path; ; current = current.substring(0, current.lastIndexOf('/'))) {
+                if (paths.contains(current)) {
+                    return true;
+                }
+                if (current.indexOf('/') < 0) {
+                    return false;
+                }
+            }
+        }
+
+        @SafeVarargs
+        private static boolean isEmpty(Collection<String>... collections) {
+            return Arrays.stream(collections).allMatch(Collection::isEmpty);
+        }
+
+        /** Describes the files of the repository, the status must be fully computed again when it is changed. */
+        private static List<Object> readRepositoryState(Repository repository) throws IOException {
+            final Ref head = repository.exactRef(Constants.HEAD);
+            final File gitDir = repository.getDirectory();
+            final List<Object> state = new ArrayList<>();
+            state.add(head == null ? null : head.getTarget().getName());
+            state.add(head == null ? null : head.getObjectId());
+            state.add(readAttributes(repository.getIndexFile()));
+            state.add(readAttributes(new File(gitDir, Constants.CONFIG)));
+            state.add(readAttributes(new File(gitDir, Constants.INFO_EXCLUDE)));
+            return state;
+        }
+
+        private static List<Object> readAttributes(File file) throws IOException {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+        }
+    }
+}
@@ -45,6 +45,19 @@ public class JGitStatusImpl implements Status, InfoPage {
     private List<String> conflicting;
     private String       repositoryState;
 
+    /**
+     * Creates status which files are set by the caller.
+     *
+     * @param branchName
+     *         current repository branch name
+     * @param format
+     *         the output format for the status
+     */
+    JGitStatusImpl(String branchName, StatusFormat format) {
+        this.branchName = branchName;
+        this.format = format;
+    }
+
     /**
      * @param branchName
      *         current repository branch name
@@ -56,8 +69,7 @@ public class JGitStatusImpl implements Status, InfoPage {
      *         when any error occurs
      */
     public JGitStatusImpl(String branchName, StatusCommand statusCommand, StatusFormat format) throws GitException {
-        this.branchName = branchName;
-        this.format = format;
+        this(branchName, format);
 
         org.eclipse.jgit.api.Status gitStatus;
         try {
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Continuation token of the paged log.
+ *
+ * <p>Token keeps the commits the log was started from, so the next pages are read from the same history
+ * even if new commits are added meanwhile, and the number of commits returned by the previous pages.
+ * Token is opaque for the clients.
+ */
+class LogPageToken {
+    private static final String VERSION = "1";
+
+    private final List<ObjectId> starts;
+    private final List<ObjectId> uninteresting;
+    private final int            offset;
+
+    LogPageToken(List<ObjectId> starts, List<ObjectId> uninteresting, int offset) {
+        this.starts = starts;
+        this.uninteresting = uninteresting;
+        this.offset = offset;
+    }
+
+    /** Commits the log is started from. */
+    List<ObjectId> getStarts() {
+        return starts;
+    }
+
+    /** Commits which ancestors are excluded from the log. */
+    List<ObjectId> getUninteresting() {
+        return uninteresting;
+    }
+
+    /** Number of commits returned by the previous pages. */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Parses the token.
+     *
+     * @throws GitException
+     *         when the token is malformed
+     */
+    static LogPageToken parse(String token) throws GitException {
+        try {
+            final List<String> parts = Splitter.on(';').splitToList(new String(Base64.getUrlDecoder().decode(token),
+                                                                               StandardCharsets.UTF_8));
+            if (parts.size() != 4 || !VERSION.equals(parts.get(0))) {
+                throw new IllegalArgumentException();
+            }
+            final int offset = Integer.parseInt(parts.get(3));
+            if (offset < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new LogPageToken(parseIds(parts.get(1)), parseIds(parts.get(2)), offset);
+        } catch (IllegalArgumentException e) {
+            throw new GitException("Invalid log page token: " + token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final String token = Joiner.on(';').join(VERSION, joinIds(starts), joinIds(uninteresting), offset);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<ObjectId> parseIds(String ids) {
+        final List<ObjectId> result = new ArrayList<>();
+        for (String id : Splitter.on(',').omitEmptyStrings().split(ids)) {
+            if (!ObjectId.isId(id)) {
+                throw new IllegalArgumentException();
+            }
+            result.add(ObjectId.fromString(id));
+        }
+        return result;
+    }
+
+    private static String joinIds(List<ObjectId> ids) {
+        return Joiner.on(',').join(ids.stream().map(ObjectId::getName).collect(toList()));
+    }
+}
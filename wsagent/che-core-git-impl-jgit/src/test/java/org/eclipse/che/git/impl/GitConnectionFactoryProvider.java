@@ -16,10 +16,17 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.git.impl.jgit.JGitCommitGraphCache;
 import org.eclipse.che.git.impl.jgit.JGitConnectionFactory;
+import org.eclipse.che.git.impl.jgit.JGitRepositoryCache;
+import org.eclipse.che.git.impl.jgit.JGitStatusCache;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.testng.annotations.DataProvider;
 
+import java.io.File;
+
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -37,7 +44,11 @@ public class GitConnectionFactoryProvider {
                         new JGitConnectionFactory(
                                 mock(CredentialsLoader.class),
                                 mock(SshKeyProvider.class),
-                                resolver
+                                resolver,
+                                new JGitRepositoryCache(new File(System.getProperty("java.io.tmpdir")),
+                                                        mock(FileWatcherManager.class)),
+                                new JGitStatusCache(mock(FileWatcherNotificationHandler.class)),
+                                new JGitCommitGraphCache()
                         )
                 }
         };
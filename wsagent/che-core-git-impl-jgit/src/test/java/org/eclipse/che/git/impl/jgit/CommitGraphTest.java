@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.LogCommand;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link CommitGraph}.
+ */
+public class CommitGraphTest {
+    private File      project;
+    private Git       git;
+    private RevWalk   revWalk;
+    private File      graphFile;
+    private int       time;
+    private RevCommit initial;
+    private RevCommit sideChange;
+    private RevCommit masterChange;
+    private RevCommit merge;
+    private RevCommit last;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        project = Files.createTempDirectory("project").toFile();
+        git = Git.init().setDirectory(project).call();
+        revWalk = new RevWalk(git.getRepository());
+        graphFile = new File(git.getRepository().getDirectory(), CommitGraph.FILE_NAME);
+
+        write("a.txt", "a");
+        write("dir/b.txt", "b");
+        initial = commit("initial");
+        git.checkout().setCreateBranch(true).setName("side").call();
+        write("a.txt", "side a");
+        sideChange = commit("side change");
+        git.checkout().setName("master").call();
+        write("dir/b.txt", "master b");
+        masterChange = commit("master change");
+        git.merge().include(sideChange).setCommit(false).call();
+        merge = commit("merge");
+        write("a.txt", "last a");
+        last = commit("last");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        revWalk.close();
+        git.close();
+        IoUtil.deleteRecursive(project);
+    }
+
+    @Test
+    public void shouldWalkAllCommitsNewestFirst() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+
+        assertEquals(walk(graph, emptyList()), asList(last, merge, masterChange, sideChange, initial));
+        assertEquals(graph.size(), 5);
+    }
+
+    @Test
+    public void shouldWalkCommitsChangingPathsAsGitLogDoes() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+
+        assertEquals(walk(graph, singletonList("a.txt")), gitLog("a.txt"));
+        assertEquals(walk(graph, singletonList("dir")), gitLog("dir"));
+        assertEquals(walk(graph, singletonList("dir")), asList(masterChange, initial));
+        assertEquals(walk(graph, asList("a.txt", "dir/b.txt")), gitLog("a.txt", "dir/b.txt"));
+    }
+
+    @Test
+    public void shouldExcludeCommitsReachableFromUninterestingCommits() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+
+        final CommitGraph.Walk walk = graph.walk(revWalk,
+                                                 graph.add(revWalk, singletonList(last)),
+                                                 graph.add(revWalk, singletonList(masterChange)),
+                                                 emptyList());
+
+        assertEquals(toCommits(walk), asList(last, merge, sideChange));
+    }
+
+    @Test
+    public void shouldAddOnlyWalkedCommitsAndTheirParents() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+        final CommitGraph.Walk walk = graph.walk(revWalk, graph.add(revWalk, singletonList(last)), emptyList(), emptyList());
+
+        walk.next();
+        walk.next();
+
+        assertEquals(graph.size(), 4);
+        assertNull(graph.get(initial));
+    }
+
+    @Test
+    public void shouldSaveAndLoadGraphWithChangedPaths() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+        walk(graph, singletonList("a.txt"));
+        assertTrue(graph.isModified());
+
+        graph.save();
+        final CommitGraph loaded = CommitGraph.load(graphFile);
+
+        assertFalse(graph.isModified());
+        assertEquals(loaded.size(), 5);
+        assertEquals(walk(loaded, singletonList("a.txt")), asList(last, sideChange, initial));
+        assertFalse(loaded.isModified());
+    }
+
+    @Test
+    public void shouldAppendChangesToSavedGraph() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+        final CommitGraph.Walk walk = graph.walk(revWalk, graph.add(revWalk, singletonList(last)), emptyList(), emptyList());
+        walk.next();
+        graph.save();
+        final byte[] saved = Files.readAllBytes(graphFile.toPath());
+
+        while (walk.next() != null) {
+        }
+        graph.save();
+
+        final byte[] appended = Files.readAllBytes(graphFile.toPath());
+        assertTrue(appended.length > saved.length);
+        assertEquals(Arrays.copyOf(appended, saved.length), saved);
+        assertEquals(walk(CommitGraph.load(graphFile), emptyList()), asList(last, merge, masterChange, sideChange, initial));
+    }
+
+    @Test
+    public void shouldLoadCompleteRecordsWhenLastRecordIsTruncated() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+        walk(graph, emptyList());
+        graph.save();
+        final byte[] saved = Files.readAllBytes(graphFile.toPath());
+        Files.write(graphFile.toPath(), Arrays.copyOf(saved, saved.length - 1));
+
+        final CommitGraph loaded = CommitGraph.load(graphFile);
+
+        assertEquals(loaded.size(), 5);
+        assertTrue(loaded.isModified());
+        assertEquals(walk(loaded, emptyList()), asList(last, merge, masterChange, sideChange, initial));
+    }
+
+    @Test
+    public void shouldCreateEmptyGraphWhenFileCannotBeRead() throws Exception {
+        Files.write(graphFile.toPath(), "broken".getBytes());
+
+        assertEquals(CommitGraph.load(graphFile).size(), 0);
+    }
+
+    @Test
+    public void shouldWalkParentsOfShallowBoundaryWhenRepositoryIsUnshallowed() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+        graph.setShallowCommits(singleton(merge.copy()));
+        assertEquals(walk(graph, emptyList()), asList(last, merge));
+        graph.save();
+
+        final CommitGraph loaded = CommitGraph.load(graphFile);
+        loaded.setShallowCommits(emptySet());
+
+        assertEquals(walk(loaded, emptyList()), asList(last, merge, masterChange, sideChange, initial));
+        loaded.save();
+        final CommitGraph reloaded = CommitGraph.load(graphFile);
+        reloaded.setShallowCommits(emptySet());
+        assertEquals(walk(reloaded, emptyList()), asList(last, merge, masterChange, sideChange, initial));
+        assertFalse(reloaded.isModified());
+    }
+
+    @Test
+    public void shouldFindBranchesContainingCommits() throws Exception {
+        final CommitGraph graph = new CommitGraph(graphFile);
+        final Map<String, CommitGraph.Node> branches = ImmutableMap.of("master", graph.add(revWalk, singletonList(last)).get(0),
+                                                                       "side", graph.add(revWalk, singletonList(sideChange)).get(0));
+        final List<CommitGraph.Node> commits = graph.add(revWalk, asList(initial, masterChange, sideChange));
+
+        final Map<CommitGraph.Node, List<String>> result = graph.getBranches(revWalk, commits, branches);
+
+        assertEquals(result.get(graph.get(initial)), asList("master", "side"));
+        assertEquals(result.get(graph.get(masterChange)), singletonList("master"));
+        assertEquals(result.get(graph.get(sideChange)), asList("master", "side"));
+    }
+
+    private List<RevCommit> walk(CommitGraph graph, Collection<String> paths) throws IOException {
+        return toCommits(graph.walk(revWalk, graph.add(revWalk, singletonList(last)), emptyList(), paths));
+    }
+
+    private List<RevCommit> toCommits(CommitGraph.Walk walk) throws IOException {
+        final List<RevCommit> commits = new ArrayList<>();
+        for (CommitGraph.Node node = walk.next(); node != null; node = walk.next()) {
+            commits.add(revWalk.parseCommit(node));
+        }
+        return commits;
+    }
+
+    private List<RevCommit> gitLog(String... paths) throws Exception {
+        final LogCommand log = git.log().add(last);
+        for (String path : paths) {
+            log.addPath(path);
+        }
+        final List<RevCommit> commits = new ArrayList<>();
+        log.call().forEach(commits::add);
+        return commits;
+    }
+
+    private void write(String path, String content) throws Exception {
+        final File file = new File(project, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes());
+    }
+
+    private RevCommit commit(String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        final PersonIdent ident = new PersonIdent("test", "test@codenvy.com", new Date(1_000_000_000_000L + ++time * 1000L),
+                                                  TimeZone.getTimeZone("UTC"));
+        final RevCommit commit = git.commit().setMessage(message).setAuthor(ident).setCommitter(ident).call();
+        return revWalk.parseCommit(ObjectId.fromString(commit.getName()));
+    }
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests {@link JGitRepositoryCache}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JGitRepositoryCacheTest {
+
+    @Mock
+    private FileWatcherManager watcherManager;
+
+    private File                root;
+    private File                project;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("projects").toFile();
+        project = new File(root, "project");
+        cache = new JGitRepositoryCache(root, watcherManager);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cache.stopWatcher();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldReuseRepositoryOfTheSameProject() throws Exception {
+        initRepository();
+
+        final Repository repository = cache.getRepository(project);
+        repository.close();
+
+        assertSame(cache.getRepository(project), repository);
+        assertEquals(cache.getStats().hitCount(), 1);
+        assertEquals(cache.getStats().missCount(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoryWhichDoesNotExist() throws Exception {
+        project.mkdirs();
+
+        final Repository repository = cache.getRepository(project);
+
+        assertNotSame(cache.getRepository(project), repository);
+        assertEquals(cache.getStats().requestCount(), 0);
+    }
+
+    @Test
+    public void shouldOpenRepositoryAgainWhenGitFolderIsReplaced() throws Exception {
+        initRepository();
+        final Repository repository = cache.getRepository(project);
+        repository.close();
+
+        IoUtil.deleteRecursive(new File(project, Constants.DOT_GIT));
+        initRepository();
+
+        assertNotSame(cache.getRepository(project), repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldEvictRepositoryWhenItsFilesAreCreatedOrRemoved() throws Exception {
+        final ArgumentCaptor<Consumer> createConsumer = ArgumentCaptor.forClass(Consumer.class);
+        cache.startWatcher();
+        verify(watcherManager).registerByMatcher(any(), createConsumer.capture(), any(), any());
+        initRepository();
+        final Repository repository = cache.getRepository(project);
+        repository.close();
+
+        createConsumer.getValue().accept("/project/.git/HEAD");
+
+        assertNotSame(cache.getRepository(project), repository);
+        assertEquals(cache.getStats().missCount(), 2);
+    }
+
+    @Test
+    public void shouldNotReturnRepositoryClosedByConcurrentEviction() throws Exception {
+        final Set<Repository> closedRepositories = ConcurrentHashMap.newKeySet();
+        cache = new JGitRepositoryCache(root, watcherManager) {
+            @Override
+            Repository openRepository(File gitDir) throws IOException {
+                return new FileRepository(gitDir) {
+                    @Override
+                    protected void doClose() {
+                        closedRepositories.add(this);
+                        super.doClose();
+                    }
+                };
+            }
+        };
+        initRepository();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread evictor = new Thread(() -> {
+            while (running.get()) {
+                cache.invalidate(project);
+            }
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        evictor.start();
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    int closedOnReturn = 0;
+                    for (int j = 0; j < 10_000; j++) {
+                        final Repository repository = cache.getRepository(project);
+                        if (closedRepositories.contains(repository)) {
+                            closedOnReturn++;
+                        }
+                        repository.close();
+                    }
+                    return closedOnReturn;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(result.get().intValue(), 0);
+            }
+        } finally {
+            running.set(false);
+            evictor.join();
+            executor.shutdownNow();
+        }
+    }
+
+    private void initRepository() throws Exception {
+        final Repository repository = new FileRepository(new File(project, Constants.DOT_GIT));
+        repository.create();
+        repository.close();
+    }
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.git.shared.StatusFormat.SHORT;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link JGitStatusCache}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JGitStatusCacheTest {
+
+    @Mock
+    private FileWatcherNotificationHandler handler;
+
+    private File                            root;
+    private File                            project;
+    private Git                             git;
+    private JGitStatusCache                 cache;
+    private FileWatcherNotificationListener listener;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("projects").toFile();
+        project = new File(root, "project");
+        git = Git.init().setDirectory(project).call();
+        write("README.txt", "readme");
+        git.add().addFilepattern("README.txt").call();
+        git.commit().setMessage("init").setAuthor("test", "test@codenvy.com").call();
+
+        cache = new JGitStatusCache(handler);
+        cache.startListening();
+        final ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(handler).addNotificationListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cache.stopListening();
+        git.close();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldWalkWholeWorkingTreeWhenRepositoryIsNotWatched() throws Exception {
+        assertTrue(getStatus().isClean());
+
+        write("README.txt", "changed");
+
+        assertEquals(getStatus().getModified(), singletonList("README.txt"));
+    }
+
+    @Test
+    public void shouldExamineOnlyPathsReportedByWatcher() throws Exception {
+        listener.onWatcherStarted(root);
+        assertTrue(getStatus().isClean());
+
+        write("README.txt", "changed");
+        write("new.txt", "new");
+        notifyChanged("/project/new.txt");
+
+        final Status status = getStatus();
+        assertFalse(status.isClean());
+        assertEquals(status.getUntracked(), singletonList("new.txt"));
+        assertEquals(status.getModified(), emptyList());
+
+        notifyChanged("/project/README.txt");
+
+        assertEquals(getStatus().getModified(), singletonList("README.txt"));
+    }
+
+    @Test
+    public void shouldExamineDirectoryWithPendingChangesBeforeChangesAreReported() throws Exception {
+        listener.onWatcherStarted(root);
+        write("dir/a.txt", "a");
+        git.add().addFilepattern("dir/a.txt").call();
+        git.commit().setMessage("add dir").setAuthor("test", "test@codenvy.com").call();
+        assertTrue(getStatus().isClean());
+
+        write("dir/a.txt", "changed");
+        write("dir/b.txt", "b");
+        listener.onChangesPending(root, "project/dir");
+
+        final Status status = getStatus();
+        assertEquals(status.getModified(), singletonList("dir/a.txt"));
+        assertEquals(status.getUntracked(), singletonList("dir/b.txt"));
+    }
+
+    @Test
+    public void shouldWalkWholeWorkingTreeWhenRepositoryRootHasPendingChanges() throws Exception {
+        listener.onWatcherStarted(root);
+        assertTrue(getStatus().isClean());
+
+        write("README.txt", "changed");
+        listener.onChangesPending(root, "project");
+
+        assertEquals(getStatus().getModified(), singletonList("README.txt"));
+    }
+
+    @Test
+    public void shouldWalkWholeWorkingTreeWhenIndexIsChanged() throws Exception {
+        listener.onWatcherStarted(root);
+        assertTrue(getStatus().isClean());
+
+        write("README.txt", "changed");
+        write("new.txt", "new");
+        git.add().addFilepattern("new.txt").call();
+
+        final Status status = getStatus();
+        assertEquals(status.getAdded(), singletonList("new.txt"));
+        assertEquals(status.getModified(), singletonList("README.txt"));
+    }
+
+    @Test
+    public void shouldReplaceEntriesUnderChangedFolder() throws Exception {
+        listener.onWatcherStarted(root);
+        write("dir/a.txt", "a");
+        write("dir/b.txt", "b");
+        assertEquals(getStatus().getUntrackedFolders(), singletonList("dir"));
+
+        Files.delete(new File(project, "dir/a.txt").toPath());
+        notifyDeleted("/project/dir/a.txt");
+
+        assertEquals(getStatus().getUntracked(), singletonList("dir/b.txt"));
+        assertEquals(getStatus().getUntrackedFolders(), singletonList("dir"));
+
+        IoUtil.deleteRecursive(new File(project, "dir"));
+        notifyDeleted("/project/dir");
+
+        final Status status = getStatus();
+        assertTrue(status.isClean());
+        assertEquals(status.getUntrackedFolders(), emptyList());
+    }
+
+    @Test
+    public void shouldWalkWholeWorkingTreeWhenWatcherFails() throws Exception {
+        listener.onWatcherStarted(root);
+        assertTrue(getStatus().isClean());
+
+        listener.onWatcherError(root, new RuntimeException("watcher failed"));
+        write("README.txt", "changed");
+
+        assertEquals(getStatus().getModified(), singletonList("README.txt"));
+    }
+
+    private Status getStatus() throws Exception {
+        return cache.getStatus(git.getRepository(), "master", SHORT);
+    }
+
+    private void notifyChanged(String path) {
+        listener.onFileWatcherEvent(virtualFile(path), MODIFIED);
+    }
+
+    private void notifyDeleted(String path) {
+        listener.onFileWatcherEvent(virtualFile(path), DELETED);
+    }
+
+    private static VirtualFile virtualFile(String path) {
+        final VirtualFile file = mock(VirtualFile.class);
+        when(file.getPath()).thenReturn(Path.of(path));
+        return file;
+    }
+
+    private void write(String path, String content) throws Exception {
+        final File file = new File(project, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes());
+        // make sure the modification isn't hidden by the timestamp resolution
+        file.setLastModified(System.currentTimeMillis() + 10_000);
+    }
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests {@link LogPageToken}.
+ */
+public class LogPageTokenTest {
+    private static final ObjectId FIRST  = ObjectId.fromString("0123456789abcdef0123456789abcdef01234567");
+    private static final ObjectId SECOND = ObjectId.fromString("fedcba9876543210fedcba9876543210fedcba98");
+
+    @Test
+    public void shouldParseFormattedToken() throws Exception {
+        final LogPageToken token = LogPageToken.parse(new LogPageToken(asList(FIRST, SECOND), singletonList(SECOND), 30).toString());
+
+        assertEquals(token.getStarts(), asList(FIRST, SECOND));
+        assertEquals(token.getUninteresting(), singletonList(SECOND));
+        assertEquals(token.getOffset(), 30);
+    }
+
+    @Test
+    public void shouldParseTokenWithoutUninterestingCommits() throws Exception {
+        final LogPageToken token = LogPageToken.parse(new LogPageToken(singletonList(FIRST), emptyList(), 1).toString());
+
+        assertEquals(token.getUninteresting(), emptyList());
+    }
+
+    @Test(expectedExceptions = GitException.class, expectedExceptionsMessageRegExp = "Invalid log page token: .*")
+    public void shouldRejectMalformedToken() throws Exception {
+        LogPageToken.parse("bm90IGEgdG9rZW4");
+    }
+}
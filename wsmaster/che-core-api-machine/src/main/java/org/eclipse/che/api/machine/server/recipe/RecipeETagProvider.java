@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.recipe;
+
+import org.eclipse.che.everrest.ETagProvider;
+import org.eclipse.che.everrest.EntityVersions;
+
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+
+/**
+ * Provides tags of recipes returned by {@link RecipeService#getRecipe(String)}
+ * based on versions of recipes which are changed by {@link RecipeService}.
+ */
+@Singleton
+public class RecipeETagProvider implements ETagProvider {
+    private static final int MAX_VERSIONS = 10_000;
+
+    private final EntityVersions versions = new EntityVersions(MAX_VERSIONS);
+
+    @Override
+    public String getETag(Method method, Object[] arguments) {
+        if (method.getDeclaringClass() == RecipeService.class && "getRecipe".equals(method.getName())) {
+            return "recipe-" + versions.getVersion((String)arguments[0]);
+        }
+        return null;
+    }
+
+    /** Must be called after the recipe with given id is created, updated or removed. */
+    public void recipeModified(String id) {
+        versions.update(id);
+    }
+}
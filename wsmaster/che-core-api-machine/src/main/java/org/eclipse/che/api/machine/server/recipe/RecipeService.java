@@ -63,11 +63,13 @@ import static org.eclipse.che.api.machine.shared.Constants.LINK_REL_UPDATE_RECIP
 @Path("/recipe")
 public class RecipeService extends Service {
 
-    private final RecipeDao recipeDao;
+    private final RecipeDao          recipeDao;
+    private final RecipeETagProvider recipeETagProvider;
 
     @Inject
-    public RecipeService(RecipeDao recipeDao) {
+    public RecipeService(RecipeDao recipeDao, RecipeETagProvider recipeETagProvider) {
         this.recipeDao = recipeDao;
+        this.recipeETagProvider = recipeETagProvider;
     }
 
     @POST
@@ -96,6 +98,7 @@ public class RecipeService extends Service {
                                                   .withScript(newRecipe.getScript())
                                                   .withTags(newRecipe.getTags());
         recipeDao.create(recipe);
+        recipeETagProvider.recipeModified(recipe.getId());
 
         return Response.status(CREATED)
                        .entity(asRecipeDescriptor(recipe))
@@ -147,13 +150,16 @@ public class RecipeService extends Service {
             throw new BadRequestException("Recipe id required");
         }
 
-        return asRecipeDescriptor(recipeDao.update(new RecipeImpl(update)));
+        final RecipeImpl updated = recipeDao.update(new RecipeImpl(update));
+        recipeETagProvider.recipeModified(update.getId());
+        return asRecipeDescriptor(updated);
     }
 
     @DELETE
     @Path("/{id}")
     public void removeRecipe(@PathParam("id") String id) throws ApiException {
         recipeDao.remove(id);
+        recipeETagProvider.recipeModified(id);
     }
 
     /**
@@ -64,11 +64,13 @@ public class RecipeServiceTest {
     static final String             USER_ID = "user123";
 
     @Mock
-    RecipeDao     recipeDao;
+    RecipeDao          recipeDao;
     @Mock
-    UriInfo       uriInfo;
+    RecipeETagProvider eTagProvider;
+    @Mock
+    UriInfo            uriInfo;
     @InjectMocks
-    RecipeService service;
+    RecipeService      service;
 
     @BeforeMethod
     public void setUpUriInfo() throws NoSuchFieldException, IllegalAccessException {
@@ -248,6 +250,7 @@ public class RecipeServiceTest {
 
         assertEquals(response.getStatusCode(), 204);
         verify(recipeDao).remove(recipe.getId());
+        verify(eTagProvider).recipeModified(recipe.getId());
     }
 
     @Test
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Short description of the workspace used for listing workspaces,
+ * it doesn't contain neither workspace configuration nor runtime.
+ */
+@DTO
+public interface WorkspaceSummaryDto {
+
+    String getId();
+
+    void setId(String id);
+
+    WorkspaceSummaryDto withId(String id);
+
+    /** Name of the workspace, the same as the name of the workspace configuration. */
+    String getName();
+
+    void setName(String name);
+
+    WorkspaceSummaryDto withName(String name);
+
+    String getNamespace();
+
+    void setNamespace(String namespace);
+
+    WorkspaceSummaryDto withNamespace(String namespace);
+
+    WorkspaceStatus getStatus();
+
+    void setStatus(WorkspaceStatus status);
+
+    WorkspaceSummaryDto withStatus(WorkspaceStatus status);
+
+    boolean isTemporary();
+
+    void setTemporary(boolean temporary);
+
+    WorkspaceSummaryDto withTemporary(boolean temporary);
+
+    /** Time when the workspace was created in milliseconds, 0 if unknown. */
+    long getCreated();
+
+    void setCreated(long created);
+
+    WorkspaceSummaryDto withCreated(long created);
+
+    /** Time when the workspace was last updated, started or stopped in milliseconds, 0 if unknown. */
+    long getUpdated();
+
+    void setUpdated(long updated);
+
+    WorkspaceSummaryDto withUpdated(long updated);
+}
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -31,11 +32,11 @@ import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
 import org.eclipse.che.api.core.model.workspace.ServerConf2;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
-import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
-import org.eclipse.che.api.core.util.lineconsumer.ConcurrentFileLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.RotatingFileWriter;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterruptedException;
@@ -66,7 +67,9 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -79,16 +82,27 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
@@ -124,6 +138,13 @@ public class CheEnvironmentEngine {
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
     private final WorkspaceSharedPool            sharedPool;
+    private final ThreadPoolExecutor             machineStartExecutor;
+    private final int                            machineLogBufferSize;
+    private final long                           machineLogFlushDelayMs;
+    private final long                           machineLogMaxFileSize;
+    private final int                            machineLogMaxRolledFiles;
+    private final long                           machineLogMessageDelayMs;
+    private final int                            machineLogMessageMaxLines;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -141,7 +162,14 @@ public class CheEnvironmentEngine {
                                 RecipeDownloader recipeDownloader,
                                 ContainerNameGenerator containerNameGenerator,
                                 AgentRegistry agentRegistry,
-                                WorkspaceSharedPool sharedPool) {
+                                WorkspaceSharedPool sharedPool,
+                                @Named("che.workspace.machine_start_parallelism") int machineStartParallelism,
+                                @Named("che.workspace.machine_logs.buffer_size") int machineLogBufferSize,
+                                @Named("che.workspace.machine_logs.flush_delay_ms") long machineLogFlushDelayMs,
+                                @Named("che.workspace.machine_logs.max_file_size_bytes") long machineLogMaxFileSize,
+                                @Named("che.workspace.machine_logs.max_rolled_files") int machineLogMaxRolledFiles,
+                                @Named("che.workspace.machine_logs.message_delay_ms") long machineLogMessageDelayMs,
+                                @Named("che.workspace.machine_logs.message_max_lines") int machineLogMessageMaxLines) {
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -161,6 +189,22 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$)|(^/recipe/.*$)");
         this.containerNameGenerator = containerNameGenerator;
+        this.machineLogBufferSize = machineLogBufferSize;
+        this.machineLogFlushDelayMs = machineLogFlushDelayMs;
+        this.machineLogMaxFileSize = machineLogMaxFileSize;
+        this.machineLogMaxRolledFiles = machineLogMaxRolledFiles;
+        this.machineLogMessageDelayMs = machineLogMessageDelayMs;
+        this.machineLogMessageMaxLines = machineLogMessageMaxLines;
+        // machines of all the environments share the same limit, the rest of them wait in the queue
+        final int poolSize = Math.max(1, machineStartParallelism);
+        this.machineStartExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                                                           new LinkedBlockingQueue<>(),
+                                                           new ThreadFactoryBuilder()
+                                                                   .setNameFormat("CheEnvironmentEngine-MachineStarter-%d")
+                                                                   .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                                                   .setDaemon(true)
+                                                                   .build());
+        this.machineStartExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -578,10 +622,12 @@ public class CheEnvironmentEngine {
                   internalEnv);
 
         List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> servicesDependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    servicesDependencies,
                                                                     internalEnv,
                                                                     envConfig,
                                                                     messageConsumer,
@@ -721,7 +767,14 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Starts all machine from machine queue of environment.
+     * Starts all machines from machine queue of environment.
+     *
+     * <p>Machines are started as soon as all the machines they depend on are started,
+     * so independent machines are started simultaneously, but not more than
+     * {@code che.workspace.machine_start_parallelism} machines of all the environments
+     * at a time, the rest of them wait for their turn.
+     * If start of any machine fails or the environment start is interrupted
+     * then start of the rest machines is cancelled and the environment is destroyed.
      */
     private void startEnvironmentQueue(String namespace,
                                        String workspaceId,
@@ -731,11 +784,10 @@ public class CheEnvironmentEngine {
                                        MachineStartedHandler startedHandler)
             throws ServerException,
                    EnvironmentException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        List<String> notStarted;
+        Map<String, Set<String>> dependencies;
         String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -744,138 +796,82 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            notStarted = new ArrayList<>(environmentHolder.startQueue);
+            dependencies = environmentHolder.dependencies;
         }
 
+        long envStartTime = System.currentTimeMillis();
+        BlockingQueue<MachineStartTask> completed = new LinkedBlockingQueue<>();
+        List<MachineStartTask> inProgress = new ArrayList<>();
+        Set<String> started = new HashSet<>();
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-
-                CheServiceImpl service;
-                @Nullable ExtendedMachine extendedMachine;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
+            while (!notStarted.isEmpty() || !inProgress.isEmpty()) {
+                // Schedules start of all the machines whose dependencies are already
+                // started, the queue is ordered by weight of machines in dependency graph
+                for (Iterator<String> it = notStarted.iterator(); it.hasNext(); ) {
+                    String machineName = it.next();
+                    if (started.containsAll(dependencies.getOrDefault(machineName, emptySet()))) {
+                        it.remove();
+                        checkEnvironmentIsStarting(workspaceId);
+                        checkInterruption(workspaceId, envName);
+                        MachineStartTask task = new MachineStartTask(machineName, completed, () -> {
+                            startQueuedMachine(namespace,
+                                               workspaceId,
+                                               envName,
+                                               machineName,
+                                               devMachineName.equals(machineName),
+                                               networkId,
+                                               creator,
+                                               recover,
+                                               envLogger,
+                                               startedHandler);
+                            return null;
+                        });
+                        task.future = machineStartExecutor.submit(task);
+                        inProgress.add(task);
                     }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                    extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
                 }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
+                // should not happen, circular dependencies are rejected by start strategy
+                if (inProgress.isEmpty()) {
+                    LOG.error("Start of machines {} in workspace {} failed. Dependencies of machines can't be satisfied",
+                              notStarted, workspaceId);
                     throw new ServerException(
                             format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
                 }
 
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                checkInterruption(workspaceId, envName);
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-                checkInterruption(workspaceId, envName);
-
-                startedHandler.started(instance, extendedMachine);
-                checkInterruption(workspaceId, envName);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
-                }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+                MachineStartTask task;
+                try {
+                    task = completed.take();
+                } catch (InterruptedException x) {
+                    Thread.currentThread().interrupt();
+                    throw new EnvironmentStartInterruptedException(workspaceId, envName);
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
+                inProgress.remove(task);
+                task.rethrowError();
+                started.add(task.machineName);
             }
+            LOG.info("Environment '{}' of workspace '{}' started in {} ms",
+                     envName, workspaceId, System.currentTimeMillis() - envStartTime);
         } catch (RuntimeException | ServerException | EnvironmentStartInterruptedException e) {
             boolean interrupted = Thread.interrupted();
+
+            // machines which are being started at the moment must be stopped
+            // before environment destroying, otherwise they may be left running
+            interrupted |= cancelAndAwait(inProgress, completed);
+
             EnvironmentHolder env;
             try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
                 env = environments.remove(workspaceId);
             }
 
-            try {
-                destroyEnvironment(env.networkId, env.machines);
-            } catch (Exception remEx) {
-                LOG.error(remEx.getLocalizedMessage(), remEx);
+            if (env != null) {
+                try {
+                    destroyEnvironment(env.networkId, env.machines);
+                } catch (Exception remEx) {
+                    LOG.error(remEx.getLocalizedMessage(), remEx);
+                }
             }
 
             if (interrupted) {
@@ -891,6 +887,168 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machine from the queue of the environment and removes it from the queue
+     * when the machine is started. Performed by {@link #machineStartExecutor} threads.
+     */
+    private void startQueuedMachine(String namespace,
+                                    String workspaceId,
+                                    String envName,
+                                    String machineName,
+                                    boolean isDev,
+                                    String networkId,
+                                    String creator,
+                                    boolean recover,
+                                    MessageConsumer<MachineLogMessage> envLogger,
+                                    MachineStartedHandler startedHandler) throws ServerException,
+                                                                                 EnvironmentException {
+        long machineStartTime = System.currentTimeMillis();
+        // Environment start is failed when any machine start is failed, so if any error
+        // occurs during machine creation then environment start fail is reported and
+        // start resources such as queue and descriptor must be cleaned up
+
+        CheServiceImpl service;
+        @Nullable ExtendedMachine extendedMachine;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new ServerException("Environment start is interrupted.");
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+            extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithNormalizedSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        checkInterruption(workspaceId, envName);
+        Instance instance;
+        try {
+            instance = startInstance(recover,
+                                     envLogger,
+                                     machine,
+                                     machineStarter);
+        } catch (ServerException x) {
+            // start of the machine is failed because the thread was interrupted
+            checkInterruption(workspaceId, envName);
+            throw x;
+        }
+        checkInterruption(workspaceId, envName);
+
+        startedHandler.started(instance, extendedMachine);
+        checkInterruption(workspaceId, envName);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+
+        LOG.info("Machine '{}' of environment '{}' in workspace '{}' started in {} ms",
+                 machineName, envName, workspaceId, System.currentTimeMillis() - machineStartTime);
+    }
+
+    /**
+     * Cancels machine start tasks which are in progress and waits until
+     * those of them which are already running complete.
+     *
+     * @return true if the current thread was interrupted while waiting
+     */
+    private boolean cancelAndAwait(List<MachineStartTask> inProgress, BlockingQueue<MachineStartTask> completed) {
+        int running = 0;
+        for (MachineStartTask task : inProgress) {
+            if (!task.cancel()) {
+                running++;
+            }
+        }
+        boolean interrupted = false;
+        while (running > 0) {
+            try {
+                completed.take();
+                running--;
+            } catch (InterruptedException x) {
+                interrupted = true;
+            }
+        }
+        return interrupted;
+    }
+
     private void checkInterruption(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
         if (Thread.interrupted()) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -1115,21 +1273,16 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
-     *
-     * <p>Note that this method won't actually poll the queue.
+     * Checks that start of the environment associated with the given {@code workspaceId}
+     * may be continued.
      *
-     * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
-     *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
      * @throws ServerException
      *         if queue doesn't exist which means that {@link #stop(String)} executed
      *         before all the machines started
      * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
+     *         if pre destroy has been invoked
      */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
+    private void checkEnvironmentIsStarting(String workspaceId) throws ServerException {
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -1137,7 +1290,6 @@ public class CheEnvironmentEngine {
                 throw new ServerException("Workspace " + workspaceId +
                                           " start interrupted. Workspace was stopped before all its machines were started");
             }
-            return environmentHolder.startQueue.peek();
         }
     }
 
@@ -1201,6 +1353,7 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        machineStartExecutor.shutdownNow();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1216,16 +1369,27 @@ public class CheEnvironmentEngine {
                                           String machineName) throws ServerException {
         createMachineLogsDir(machineId);
 
-        LineConsumer lineConsumer = new AbstractLineConsumer() {
-            @Override
-            public void writeLine(String line) throws IOException {
+        // lines are sent to clients one per message, those which don't fit the buffer are skipped
+        final BatchingLineConsumer messageLogger = new BatchingLineConsumer(lines -> {
+            for (String line : lines) {
                 environmentLogger.consume(new MachineLogMessageImpl(machineName, line));
             }
-        };
+        }, machineLogBufferSize, machineLogMessageDelayMs, machineLogMessageMaxLines, true);
         try {
-            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
-                                                       lineConsumer);
+            // the log file must be complete, so writing threads wait while its buffer is full
+            LineConsumer fileLogger = new BatchingLineConsumer(new RotatingFileWriter(getMachineLogsFile(machineId),
+                                                                                      machineLogMaxFileSize,
+                                                                                      machineLogMaxRolledFiles),
+                                                               machineLogBufferSize,
+                                                               machineLogFlushDelayMs,
+                                                               machineLogBufferSize);
+            return new ConcurrentCompositeLineConsumer(fileLogger, messageLogger);
         } catch (IOException e) {
+            try {
+                messageLogger.close();
+            } catch (IOException ioEx) {
+                LOG.error(ioEx.getLocalizedMessage(), ioEx);
+            }
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
                                               e.getLocalizedMessage(),
                                               machineId));
@@ -1312,6 +1476,7 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           dependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1322,6 +1487,7 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> dependencies,
                           CheServicesEnvironmentImpl environment,
                           Environment environmentConfig,
                           MessageConsumer<MachineLogMessage> envLogger,
@@ -1329,6 +1495,7 @@ public class CheEnvironmentEngine {
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.dependencies = dependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -1406,6 +1573,70 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Start of a single machine of the environment which reports itself
+     * into the {@code completed} queue when it is finished, either successfully or not.
+     */
+    private static class MachineStartTask implements Runnable {
+        final String                          machineName;
+        final BlockingQueue<MachineStartTask> completed;
+        final Callable<Void>                  action;
+        final AtomicBoolean                   claimed;
+
+        volatile Future<?> future;
+        volatile Throwable error;
+
+        MachineStartTask(String machineName, BlockingQueue<MachineStartTask> completed, Callable<Void> action) {
+            this.machineName = machineName;
+            this.completed = completed;
+            this.action = ThreadLocalPropagateContext.wrap(action);
+            this.claimed = new AtomicBoolean();
+        }
+
+        @Override
+        public void run() {
+            // the task is cancelled before it is started
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                action.call();
+            } catch (Throwable x) {
+                error = x;
+            } finally {
+                completed.add(this);
+            }
+        }
+
+        /**
+         * Cancels the task, interrupting the thread which runs it.
+         *
+         * @return true if the task was not started and it never reports itself as completed,
+         * false if the task is running or already completed
+         */
+        boolean cancel() {
+            boolean notStarted = claimed.compareAndSet(false, true);
+            if (future != null) {
+                future.cancel(!notStarted);
+            }
+            return notStarted;
+        }
+
+        /** Rethrows an error occurred while machine start. */
+        void rethrowError() throws ServerException, EnvironmentStartInterruptedException {
+            if (error == null) {
+                return;
+            }
+            try {
+                throw error;
+            } catch (ServerException | EnvironmentStartInterruptedException | RuntimeException | Error rethrow) {
+                throw rethrow;
+            } catch (Throwable wrap) {
+                throw new ServerException(wrap.getLocalizedMessage(), wrap);
+            }
+        }
+    }
+
     private static class NoOpStartedHandler implements MachineStartedHandler {
         @Override
         public void started(Instance machine, ExtendedMachine extendedMachine) throws ServerException {}
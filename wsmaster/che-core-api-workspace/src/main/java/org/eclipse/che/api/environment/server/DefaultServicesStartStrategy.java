@@ -41,50 +41,41 @@ public class DefaultServicesStartStrategy {
      */
     public List<String> order(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
 
-        Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+        Map<String, Integer> weights = weightMachines(buildDependencyGraph(composeEnvironment.getServices()));
 
         return sortByWeight(weights);
     }
 
     /**
-     * Returns mapping of names of machines to its weights in dependency graph.
+     * Resolves dependencies of each machine in an environment.
+     *
+     * <p>Returned mapping contains names of all the machines of the environment
+     * as keys and names of machines each machine depends on as values.
+     * Machines which don't depend on each other can be started simultaneously.
      *
      * @throws IllegalArgumentException
-     *         if weights of machines can not be calculated
+     *         if dependencies of machines can not be resolved or contain a cycle
      */
-    private Map<String, Integer> weightMachines(Map<String, CheServiceImpl> services)
+    public Map<String, Set<String>> dependencies(CheServicesEnvironmentImpl composeEnvironment)
             throws IllegalArgumentException {
 
-        HashMap<String, Integer> weights = new HashMap<>();
-
-        // create machines dependency graph
-        Map<String, Set<String>> dependencies = new HashMap<>(services.size());
-        for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
-            CheServiceImpl service = serviceEntry.getValue();
+        Map<String, Set<String>> dependencies = buildDependencyGraph(composeEnvironment.getServices());
+        // ensures that there are no circular dependencies
+        weightMachines(new HashMap<>(dependencies));
 
-            Set<String> machineDependencies = Sets.newHashSetWithExpectedSize(service.getDependsOn().size() +
-                                                                              service.getLinks().size() +
-                                                                              service.getVolumesFrom().size());
+        return dependencies;
+    }
 
-            for (String dependsOn : service.getDependsOn()) {
-                checkDependency(dependsOn, serviceEntry.getKey(), services, "A machine can not depend on itself");
-                machineDependencies.add(dependsOn);
-            }
+    /**
+     * Returns mapping of names of machines to its weights in dependency graph.
+     *
+     * @throws IllegalArgumentException
+     *         if weights of machines can not be calculated
+     */
+    private Map<String, Integer> weightMachines(Map<String, Set<String>> dependencies)
+            throws IllegalArgumentException {
 
-            // links also counts as dependencies
-            for (String link : service.getLinks()) {
-                String dependency = getServiceFromLink(link);
-                checkDependency(dependency, serviceEntry.getKey(), services, "A machine can not link to itself");
-                machineDependencies.add(dependency);
-            }
-            // volumesFrom also counts as dependencies
-            for (String volumesFrom : service.getVolumesFrom()) {
-                String dependency = getServiceFromVolumesFrom(volumesFrom);
-                checkDependency(dependency, serviceEntry.getKey(), services, "A machine can not contain 'volumes_from' to itself");
-                machineDependencies.add(dependency);
-            }
-            dependencies.put(serviceEntry.getKey(), machineDependencies);
-        }
+        HashMap<String, Integer> weights = new HashMap<>();
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
@@ -124,6 +115,46 @@ public class DefaultServicesStartStrategy {
         return weights;
     }
 
+    /**
+     * Returns mapping of names of machines to names of machines they depend on.
+     *
+     * @throws IllegalArgumentException
+     *         if dependency points to unknown machine or to the machine itself
+     */
+    private Map<String, Set<String>> buildDependencyGraph(Map<String, CheServiceImpl> services)
+            throws IllegalArgumentException {
+
+        Map<String, Set<String>> dependencies = new HashMap<>(services.size());
+        for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
+            CheServiceImpl service = serviceEntry.getValue();
+
+            Set<String> machineDependencies = Sets.newHashSetWithExpectedSize(service.getDependsOn().size() +
+                                                                              service.getLinks().size() +
+                                                                              service.getVolumesFrom().size());
+
+            for (String dependsOn : service.getDependsOn()) {
+                checkDependency(dependsOn, serviceEntry.getKey(), services, "A machine can not depend on itself");
+                machineDependencies.add(dependsOn);
+            }
+
+            // links also counts as dependencies
+            for (String link : service.getLinks()) {
+                String dependency = getServiceFromLink(link);
+                checkDependency(dependency, serviceEntry.getKey(), services, "A machine can not link to itself");
+                machineDependencies.add(dependency);
+            }
+            // volumesFrom also counts as dependencies
+            for (String volumesFrom : service.getVolumesFrom()) {
+                String dependency = getServiceFromVolumesFrom(volumesFrom);
+                checkDependency(dependency, serviceEntry.getKey(), services, "A machine can not contain 'volumes_from' to itself");
+                machineDependencies.add(dependency);
+            }
+            dependencies.put(serviceEntry.getKey(), machineDependencies);
+        }
+
+        return dependencies;
+    }
+
     /**
      * Parses link content into depends_on field representation - removes column and further chars
      */
@@ -32,6 +32,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -318,6 +319,39 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets summaries of the workspaces which user can read, ordered by workspace identifiers.
+     *
+     * <p>Summaries don't contain workspace configurations and runtimes, which makes them
+     * suitable for listing large number of workspaces. Returned summaries have either
+     * {@link WorkspaceStatus#STOPPED} status or status defined by their runtime instances(if those exist).
+     *
+     * @param user
+     *         the id of the user
+     * @param namespace
+     *         the namespace of the workspaces or null to get workspaces of all the namespaces
+     * @param afterId
+     *         the id of the last workspace of the previous page or null to get the first page
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @return the list of summaries or empty list if there are no more workspaces
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getSummaries}
+     */
+    public List<WorkspaceSummaryImpl> getWorkspaceSummaries(String user,
+                                                            @Nullable String namespace,
+                                                            @Nullable String afterId,
+                                                            int maxItems) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final List<WorkspaceSummaryImpl> summaries = workspaceDao.getSummaries(user, namespace, afterId, maxItems);
+        for (WorkspaceSummaryImpl summary : summaries) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+        return summaries;
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -20,6 +20,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -42,26 +43,33 @@ import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.workspace.server.event.AgentLaunchedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -71,6 +79,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -116,10 +125,17 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final boolean                             agentsParallelLaunch;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
     private final MachineAgentsLauncher machineAgentsLauncher = new MachineAgentsLauncher();
+    private final ExecutorService       agentsLaunchExecutor  =
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WorkspaceRuntimes-AgentsLauncher-%d")
+                                                                    .setUncaughtExceptionHandler(
+                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                    .setDaemon(true)
+                                                                    .build());
 
     @Inject
     public WorkspaceRuntimes(EventService eventsService,
@@ -128,7 +144,8 @@ public class WorkspaceRuntimes {
                              AgentLauncherFactory launcherFactory,
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
-                             WorkspaceSharedPool sharedPool) {
+                             WorkspaceSharedPool sharedPool,
+                             @Named("che.workspace.agents_parallel_launch") boolean agentsParallelLaunch) {
         this(eventsService,
              envEngine,
              agentSorter,
@@ -136,7 +153,8 @@ public class WorkspaceRuntimes {
              agentRegistry,
              snapshotDao,
              sharedPool,
-             new ConcurrentHashMap<>());
+             new ConcurrentHashMap<>(),
+             agentsParallelLaunch);
     }
 
     public WorkspaceRuntimes(EventService eventsService,
@@ -147,6 +165,18 @@ public class WorkspaceRuntimes {
                              SnapshotDao snapshotDao,
                              WorkspaceSharedPool sharedPool,
                              ConcurrentMap<String, RuntimeState> states) {
+        this(eventsService, envEngine, agentSorter, launcherFactory, agentRegistry, snapshotDao, sharedPool, states, false);
+    }
+
+    public WorkspaceRuntimes(EventService eventsService,
+                             CheEnvironmentEngine envEngine,
+                             AgentSorter agentSorter,
+                             AgentLauncherFactory launcherFactory,
+                             AgentRegistry agentRegistry,
+                             SnapshotDao snapshotDao,
+                             WorkspaceSharedPool sharedPool,
+                             ConcurrentMap<String, RuntimeState> states,
+                             boolean agentsParallelLaunch) {
         this.eventsService = eventsService;
         this.envEngine = envEngine;
         this.agentSorter = agentSorter;
@@ -157,6 +187,7 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        this.agentsParallelLaunch = agentsParallelLaunch;
     }
 
     /**
@@ -659,6 +690,20 @@ public class WorkspaceRuntimes {
                 Thread.currentThread().interrupt();
             }
         }
+
+        // give the agents being launched a chance to finish, interrupt them if it takes too long
+        agentsLaunchExecutor.shutdown();
+        try {
+            if (!agentsLaunchExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                agentsLaunchExecutor.shutdownNow();
+                if (!agentsLaunchExecutor.awaitTermination(60, TimeUnit.SECONDS)) {
+                    LOG.error("Unable to stop agents launching pool");
+                }
+            }
+        } catch (InterruptedException e) {
+            agentsLaunchExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void checkIsNotTerminated(String operation) throws ServerException {
@@ -685,19 +730,72 @@ public class WorkspaceRuntimes {
         return state;
     }
 
+    /**
+     * Launches agents in the machine respecting dependencies between them.
+     *
+     * <p>By default agents are launched one by one in the order of {@link AgentSorter}, as installation
+     * scripts of the most agents use the package manager of the machine, which can't be used concurrently.
+     * If parallel launch is enabled, an agent is launched as soon as all the agents it depends on
+     * are launched, so independent agents are launched simultaneously.
+     *
+     * <p>If launching of any agent fails then launching of the other agents is interrupted.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException {
+        final List<AgentKey> notLaunched;
+        final Map<String, Agent> agentsById = new HashMap<>();
+        // dependencies may contain versions, e.g. 'org.eclipse.che.exec:1.0.0', while launched agents are tracked by ids
+        final Map<String, Set<String>> dependencies = new HashMap<>();
         try {
-            for (AgentKey agentKey : agentSorter.sort(agents)) {
-                if (!Thread.currentThread().isInterrupted()) {
-                    LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-                    Agent agent = agentRegistry.getAgent(agentKey);
-                    AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                    launcher.launch(instance, agent);
-                }
+            notLaunched = new ArrayList<>(agentSorter.sort(agents));
+            for (AgentKey agentKey : notLaunched) {
+                final Agent agent = agentRegistry.getAgent(agentKey);
+                agentsById.put(agentKey.getId(), agent);
+                dependencies.put(agentKey.getId(), agent.getDependencies()
+                                                        .stream()
+                                                        .map(dependency -> AgentKeyImpl.parse(dependency).getId())
+                                                        .collect(Collectors.toSet()));
             }
         } catch (AgentException e) {
             throw new MachineException(e.getMessage(), e);
         }
+
+        final BlockingQueue<AgentLaunchTask> completed = new LinkedBlockingQueue<>();
+        final List<AgentLaunchTask> inProgress = new ArrayList<>();
+        final Set<String> launched = new HashSet<>();
+        try {
+            final int maxInProgress = agentsParallelLaunch ? Integer.MAX_VALUE : 1;
+            while (!notLaunched.isEmpty() || !inProgress.isEmpty()) {
+                for (Iterator<AgentKey> it = notLaunched.iterator(); it.hasNext() && inProgress.size() < maxInProgress; ) {
+                    final AgentKey agentKey = it.next();
+                    final Agent agent = agentsById.get(agentKey.getId());
+                    if (launched.containsAll(dependencies.get(agentKey.getId()))) {
+                        it.remove();
+                        final AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+                        final AgentLaunchTask task = new AgentLaunchTask(instance, agent, launcher, completed);
+                        task.future = agentsLaunchExecutor.submit(ThreadLocalPropagateContext.wrap((Runnable)task));
+                        inProgress.add(task);
+                    }
+                }
+                // should not happen, agents with circular dependencies are rejected by sorter
+                if (inProgress.isEmpty()) {
+                    throw new MachineException(format("Dependencies of agents %s can't be satisfied", notLaunched));
+                }
+
+                final AgentLaunchTask task = completed.take();
+                inProgress.remove(task);
+                if (task.failure != null) {
+                    throw task.failure;
+                }
+                launched.add(task.agent.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MachineException(format("Launching agents of machine '%s' is interrupted", instance.getConfig().getName()));
+        } finally {
+            for (AgentLaunchTask task : inProgress) {
+                task.future.cancel(true);
+            }
+        }
     }
 
     /**
@@ -1041,6 +1139,51 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /** Launches single agent and notifies when it's done. */
+    private class AgentLaunchTask implements Runnable {
+        final Instance                       instance;
+        final Agent                          agent;
+        final AgentLauncher                  launcher;
+        final BlockingQueue<AgentLaunchTask> completed;
+
+        volatile Future<?>       future;
+        volatile ServerException failure;
+
+        AgentLaunchTask(Instance instance, Agent agent, AgentLauncher launcher, BlockingQueue<AgentLaunchTask> completed) {
+            this.instance = instance;
+            this.agent = agent;
+            this.launcher = launcher;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            final long startTime = System.currentTimeMillis();
+            try {
+                LOG.info("Launching '{}' agent at workspace {}", agent.getId(), instance.getWorkspaceId());
+                launcher.launch(instance, agent);
+            } catch (ServerException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new ServerException(e.getLocalizedMessage(), e);
+            } finally {
+                final long launchTime = System.currentTimeMillis() - startTime;
+                LOG.info("Agent '{}' at workspace {} {} in {} ms",
+                         agent.getId(),
+                         instance.getWorkspaceId(),
+                         failure == null ? "launched" : "failed",
+                         launchTime);
+                eventsService.publish(new AgentLaunchedEvent(instance.getWorkspaceId(),
+                                                             instance.getId(),
+                                                             instance.getConfig().getName(),
+                                                             agent.getId(),
+                                                             launchTime,
+                                                             failure == null ? null : failure.getLocalizedMessage()));
+                completed.add(this);
+            }
+        }
+    }
+
     private class MachineAgentsLauncher implements MachineStartedHandler {
         @Override
         public void started(Instance machine, @Nullable ExtendedMachine extendedMachine) throws ServerException {
@@ -42,6 +42,7 @@ import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -58,8 +59,10 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -219,6 +222,48 @@ public class WorkspaceService extends Service {
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of the workspaces which user can read",
+                  notes = "Summaries contain neither workspace configurations nor runtimes and are ordered by " +
+                          "workspace ids. The Link header refers to the next page if there may be more workspaces",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "The limit of the items is not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getSummaries(@ApiParam("The namespace of the workspaces, all the namespaces if not specified")
+                                 @QueryParam("namespace")
+                                 String namespace,
+                                 @ApiParam("The id of the last workspace of the previous page")
+                                 @QueryParam("after")
+                                 String afterId,
+                                 @ApiParam("The limit of the items in the response, default is 30")
+                                 @DefaultValue("30")
+                                 @QueryParam("maxItems")
+                                 Integer maxItems) throws ServerException, BadRequestException {
+        if (maxItems == null || maxItems <= 0) {
+            throw new BadRequestException("The number of items to return must be positive");
+        }
+        final List<WorkspaceSummaryDto> summaries =
+                workspaceManager.getWorkspaceSummaries(EnvironmentContext.getCurrent().getSubject().getUserId(),
+                                                       namespace,
+                                                       afterId,
+                                                       maxItems)
+                                .stream()
+                                .map(DtoConverter::asDto)
+                                .collect(toList());
+        final Response.ResponseBuilder response = Response.ok(new GenericEntity<List<WorkspaceSummaryDto>>(summaries) {});
+        if (summaries.size() == maxItems) {
+            final URI next = uriInfo.getRequestUriBuilder()
+                                    .replaceQueryParam("after", summaries.get(summaries.size() - 1).getId())
+                                    .build();
+            response.header("Link", format("<%s>; rel=\"next\"", next));
+        }
+        return response.build();
+    }
+
     @GET
     @Path("/namespace/{namespace:.*}")
     @Produces(APPLICATION_JSON)
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.event;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Published when launching of an agent in a machine of workspace is finished, successfully or not.
+ */
+public class AgentLaunchedEvent {
+
+    private final String workspaceId;
+    private final String machineId;
+    private final String machineName;
+    private final String agentId;
+    private final long   launchTimeMillis;
+    private final String error;
+
+    public AgentLaunchedEvent(String workspaceId,
+                              String machineId,
+                              String machineName,
+                              String agentId,
+                              long launchTimeMillis,
+                              @Nullable String error) {
+        this.workspaceId = workspaceId;
+        this.machineId = machineId;
+        this.machineName = machineName;
+        this.agentId = agentId;
+        this.launchTimeMillis = launchTimeMillis;
+        this.error = error;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getMachineId() {
+        return machineId;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    /** Returns time from the start of the agent till it is ready or failed. */
+    public long getLaunchTimeMillis() {
+        return launchTimeMillis;
+    }
+
+    /** Returns the error message if the agent is not launched, otherwise returns null. */
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "AgentLaunchedEvent{" +
+               "workspaceId='" + workspaceId + '\'' +
+               ", machineId='" + machineId + '\'' +
+               ", machineName='" + machineName + '\'' +
+               ", agentId='" + agentId + '\'' +
+               ", launchTimeMillis=" + launchTimeMillis +
+               ", error='" + error + '\'' +
+               '}';
+    }
+}
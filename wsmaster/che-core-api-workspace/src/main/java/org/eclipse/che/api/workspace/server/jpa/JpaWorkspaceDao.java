@@ -22,6 +22,7 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -33,14 +34,21 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
@@ -183,6 +191,66 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<WorkspaceSummaryImpl> getSummaries(String userId,
+                                                   String namespace,
+                                                   String afterId,
+                                                   int maxItems) throws ServerException {
+        requireNonNull(userId, "Required non-null user id");
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        try {
+            final EntityManager manager = managerProvider.get();
+            final TypedQuery<WorkspaceSummaryImpl> query;
+            if (namespace == null) {
+                query = manager.createNamedQuery("Workspace.getSummaries", WorkspaceSummaryImpl.class);
+            } else {
+                query = manager.createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummaryImpl.class)
+                               .setParameter("namespace", namespace);
+            }
+            final List<WorkspaceSummaryImpl> summaries = query.setParameter("afterId", afterId == null ? "" : afterId)
+                                                              .setMaxResults(maxItems)
+                                                              .getResultList();
+            if (!summaries.isEmpty()) {
+                injectTimestamps(manager, summaries);
+            }
+            return summaries;
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    /**
+     * Reads creation and update times of the workspaces from their attributes,
+     * only these two attributes are read for the whole page.
+     */
+    private void injectTimestamps(EntityManager manager, List<WorkspaceSummaryImpl> summaries) {
+        final Map<String, WorkspaceSummaryImpl> byId = summaries.stream()
+                                                                .collect(toMap(WorkspaceSummaryImpl::getId, identity()));
+        final List<Object[]> attributes = manager.createNamedQuery("Workspace.getAttributesByIds", Object[].class)
+                                                 .setParameter("ids", byId.keySet())
+                                                 .setParameter("keys", asList(CREATED_ATTRIBUTE_NAME,
+                                                                              UPDATED_ATTRIBUTE_NAME))
+                                                 .getResultList();
+        for (Object[] attribute : attributes) {
+            final WorkspaceSummaryImpl summary = byId.get((String)attribute[0]);
+            final long time = parseTime((String)attribute[2]);
+            if (CREATED_ATTRIBUTE_NAME.equals(attribute[1])) {
+                summary.setCreated(time);
+            } else {
+                summary.setUpdated(time);
+            }
+        }
+    }
+
+    private static long parseTime(String value) {
+        try {
+            return value == null ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException x) {
+            return 0;
+        }
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -61,7 +61,23 @@ import java.util.Objects;
                 @NamedQuery(name = "Workspace.getAll",
                             query = "SELECT w FROM Workspace w"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getSummaries",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, w.account.name, w.isTemporary) " +
+                                    "FROM Workspace w " +
+                                    "WHERE w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getSummariesByNamespace",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, w.account.name, w.isTemporary) " +
+                                    "FROM Workspace w " +
+                                    "WHERE w.account.name = :namespace AND w.id > :afterId " +
+                                    "ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getAttributesByIds",
+                            query = "SELECT w.id, KEY(a), VALUE(a) " +
+                                    "FROM Workspace w JOIN w.attributes a " +
+                                    "WHERE w.id IN :ids AND KEY(a) IN :keys")
 
         }
 )
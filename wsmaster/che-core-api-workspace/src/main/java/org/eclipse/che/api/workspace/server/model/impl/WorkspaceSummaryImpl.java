@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+import java.util.Objects;
+
+/**
+ * Short description of the {@link WorkspaceImpl workspace}, which is read without
+ * workspace configuration and runtime, e.g. for listing workspaces.
+ */
+public class WorkspaceSummaryImpl {
+
+    private String          id;
+    private String          name;
+    private String          namespace;
+    private boolean         isTemporary;
+    private long            created;
+    private long            updated;
+    private WorkspaceStatus status;
+
+    public WorkspaceSummaryImpl(String id, String name, String namespace, boolean isTemporary) {
+        this.id = id;
+        this.name = name;
+        this.namespace = namespace;
+        this.isTemporary = isTemporary;
+    }
+
+    public WorkspaceSummaryImpl(String id,
+                                String name,
+                                String namespace,
+                                boolean isTemporary,
+                                long created,
+                                long updated,
+                                WorkspaceStatus status) {
+        this(id, name, namespace, isTemporary);
+        this.created = created;
+        this.updated = updated;
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public boolean isTemporary() {
+        return isTemporary;
+    }
+
+    /** Returns time when the workspace was created in milliseconds or 0 if it is unknown. */
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    /** Returns time when the workspace was last updated, started or stopped in milliseconds or 0 if it is unknown. */
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public WorkspaceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WorkspaceStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof WorkspaceSummaryImpl)) return false;
+        final WorkspaceSummaryImpl other = (WorkspaceSummaryImpl)obj;
+        return Objects.equals(id, other.id)
+               && Objects.equals(name, other.name)
+               && Objects.equals(namespace, other.namespace)
+               && isTemporary == other.isTemporary
+               && created == other.created
+               && updated == other.updated
+               && Objects.equals(status, other.status);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Objects.hashCode(id);
+        hash = 31 * hash + Objects.hashCode(name);
+        hash = 31 * hash + Objects.hashCode(namespace);
+        hash = 31 * hash + Boolean.hashCode(isTemporary);
+        hash = 31 * hash + Long.hashCode(created);
+        hash = 31 * hash + Long.hashCode(updated);
+        hash = 31 * hash + Objects.hashCode(status);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceSummaryImpl{" +
+               "id='" + id + '\'' +
+               ", name='" + name + '\'' +
+               ", namespace='" + namespace + '\'' +
+               ", isTemporary=" + isTemporary +
+               ", created=" + created +
+               ", updated=" + updated +
+               ", status=" + status +
+               '}';
+    }
+}
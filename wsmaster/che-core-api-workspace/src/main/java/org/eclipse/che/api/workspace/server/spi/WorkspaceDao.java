@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import java.util.List;
 
@@ -159,4 +161,41 @@ public interface WorkspaceDao {
      *         when {@code maxItems} or {@code skipCount} is negative
      */
     List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Gets summaries of the workspaces which user can read, ordered by workspace identifiers.
+     *
+     * <p>Summaries are read without workspace configurations, so the page of summaries is much
+     * cheaper than the page of workspaces. Pages are addressed by the identifier of the last workspace
+     * of the previous page, so the cost of the page doesn't depend on its position:
+     * <pre>
+     *     List&lt;WorkspaceSummaryImpl&gt; page = workspaceDao.getSummaries(userId, null, null, 30);
+     *     while (!page.isEmpty()) {
+     *         ...
+     *         page = workspaceDao.getSummaries(userId, null, page.get(page.size() - 1).getId(), 30);
+     *     }
+     * </pre>
+     *
+     * @param userId
+     *         id of user
+     * @param namespace
+     *         namespace of the workspaces, or null to get workspaces of all the namespaces
+     * @param afterId
+     *         identifier of the workspace after which summaries are returned,
+     *         or null to return summaries from the beginning
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @return list of summaries, workspace statuses are not set,
+     * always returns list(even when there are no matching workspaces), never null
+     * @throws NullPointerException
+     *         when {@code userId} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is negative
+     * @throws ServerException
+     *         when any other error occurs during summaries fetching
+     */
+    List<WorkspaceSummaryImpl> getSummaries(String userId,
+                                            @Nullable String namespace,
+                                            @Nullable String afterId,
+                                            int maxItems) throws ServerException;
 }
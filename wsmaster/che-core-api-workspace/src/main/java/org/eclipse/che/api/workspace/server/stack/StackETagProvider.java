@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.stack;
+
+import org.eclipse.che.everrest.ETagProvider;
+import org.eclipse.che.everrest.EntityVersions;
+
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+
+/**
+ * Provides tags of stacks returned by {@link StackService#getStack(String)}
+ * based on versions of stacks which are changed by {@link StackService}.
+ */
+@Singleton
+public class StackETagProvider implements ETagProvider {
+    private static final int MAX_VERSIONS = 10_000;
+
+    private final EntityVersions versions = new EntityVersions(MAX_VERSIONS);
+
+    @Override
+    public String getETag(Method method, Object[] arguments) {
+        if (method.getDeclaringClass() == StackService.class && "getStack".equals(method.getName())) {
+            return "stack-" + versions.getVersion((String)arguments[0]);
+        }
+        return null;
+    }
+
+    /** Must be called after the stack with given id is created, updated or removed. */
+    public void stackModified(String id) {
+        versions.update(id);
+    }
+}
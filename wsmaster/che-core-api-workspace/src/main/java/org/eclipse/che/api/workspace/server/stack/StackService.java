@@ -74,13 +74,15 @@ import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_UPLOAD_ICO
 @Path("/stack")
 public class StackService extends Service {
 
-    private final StackDao       stackDao;
-    private final StackValidator stackValidator;
+    private final StackDao          stackDao;
+    private final StackValidator    stackValidator;
+    private final StackETagProvider stackETagProvider;
 
     @Inject
-    public StackService(StackDao stackDao, StackValidator stackValidator) {
+    public StackService(StackDao stackDao, StackValidator stackValidator, StackETagProvider stackETagProvider) {
         this.stackDao = stackDao;
         this.stackValidator = stackValidator;
+        this.stackETagProvider = stackETagProvider;
     }
 
     @POST
@@ -111,6 +113,7 @@ public class StackService extends Service {
                                             .setComponents(stackDto.getComponents())
                                             .build();
         stackDao.create(newStack);
+        stackETagProvider.stackModified(newStack.getId());
 
         return Response.status(CREATED)
                        .entity(asStackDto(newStack))
@@ -164,7 +167,9 @@ public class StackService extends Service {
                                             .setComponents(updateDto.getComponents())
                                             .build();
 
-        return asStackDto(stackDao.update(stackForUpdate));
+        final StackImpl updated = stackDao.update(stackForUpdate);
+        stackETagProvider.stackModified(id);
+        return asStackDto(updated);
     }
 
     @DELETE
@@ -177,6 +182,7 @@ public class StackService extends Service {
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void removeStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
         stackDao.remove(id);
+        stackETagProvider.stackModified(id);
     }
 
     @GET
@@ -259,6 +265,7 @@ public class StackService extends Service {
 
             stack.setStackIcon(stackIcon);
             stackDao.update(stack);
+            stackETagProvider.stackModified(id);
         }
         return Response.ok().build();
     }
@@ -280,6 +287,7 @@ public class StackService extends Service {
         StackImpl stack = stackDao.getById(id);
         stack.setStackIcon(null);
         stackDao.update(stack);
+        stackETagProvider.stackModified(id);
     }
 
     private StackDto asStackDto(StackImpl stack) {
@@ -70,6 +70,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -106,6 +113,7 @@ import static org.testng.Assert.fail;
 public class CheEnvironmentEngineTest {
     private static final int    DEFAULT_MACHINE_MEM_LIMIT_MB = 256;
     private static final String API_ENDPOINT                 = "http://eclipse.che:8080/api";
+    private static final int    MACHINE_START_PARALLELISM    = 1;
 
     @Mock
     private MessageConsumer<MachineLogMessage> messageConsumer;
@@ -143,20 +151,7 @@ public class CheEnvironmentEngineTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        engine = spy(new CheEnvironmentEngine(snapshotDao,
-                                              machineInstanceProviders,
-                                              System.getProperty("java.io.tmpdir"),
-                                              DEFAULT_MACHINE_MEM_LIMIT_MB,
-                                              eventService,
-                                              environmentParser,
-                                              new DefaultServicesStartStrategy(),
-                                              machineProvider,
-                                              infrastructureProvisioner,
-                                              API_ENDPOINT,
-                                              recipeDownloader,
-                                              containerNameGenerator,
-                                              agentRegistry,
-                                              sharedPool));
+        engine = spy(createEngine(MACHINE_START_PARALLELISM));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -330,6 +325,202 @@ public class CheEnvironmentEngineTest {
         }
     }
 
+    @Test
+    public void shouldStartIndependentMachinesSimultaneously() throws Exception {
+        // given
+        engine = createEngine(2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch startedLatch = new CountDownLatch(2);
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    // each machine waits for the start of another one
+                    startedLatch.countDown();
+                    if (!startedLatch.await(10, TimeUnit.SECONDS)) {
+                        throw new ServerException("Machines are not started simultaneously");
+                    }
+                    Object[] arguments = invocationOnMock.getArguments();
+                    return new NoOpMachineInstance(createMachine(workspaceId,
+                                                                 envName,
+                                                                 (CheServiceImpl)arguments[6],
+                                                                 (String)arguments[3],
+                                                                 (boolean)arguments[4]));
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer,
+                                               startedHandler);
+
+        // then
+        assertEquals(machines.size(), 2);
+        verify(startedHandler, times(2)).started(any(Instance.class), any(ExtendedMachine.class));
+    }
+
+    @Test
+    public void shouldLimitNumberOfMachinesStartedSimultaneouslyByAllEnvironments() throws Exception {
+        // given
+        engine = createEngine(2);
+        AtomicInteger starting = new AtomicInteger();
+        AtomicInteger maxStarting = new AtomicInteger();
+        when(machineProvider.startService(anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    maxStarting.accumulateAndGet(starting.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(100);
+                    } finally {
+                        starting.decrementAndGet();
+                    }
+                    Object[] arguments = invocationOnMock.getArguments();
+                    return new NoOpMachineInstance(createMachine((String)arguments[1],
+                                                                 (String)arguments[2],
+                                                                 (CheServiceImpl)arguments[6],
+                                                                 (String)arguments[3],
+                                                                 (boolean)arguments[4]));
+                });
+        EnvironmentImpl env1 = createEnv();
+        EnvironmentImpl env2 = createEnv();
+        when(environmentParser.parse(env1)).thenReturn(createCheServicesEnv());
+        when(environmentParser.parse(env2)).thenReturn(createCheServicesEnv());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        List<Future<List<Instance>>> results = new ArrayList<>();
+        try {
+            for (EnvironmentImpl env : asList(env1, env2)) {
+                String workspaceId = env == env1 ? "wsId1" : "wsId2";
+                results.add(executor.submit(() -> {
+                    EnvironmentContext.getCurrent().setSubject(new SubjectImpl("name", "id", "token", false));
+                    return engine.start(workspaceId, "env-1", env, false, messageConsumer, startedHandler);
+                }));
+            }
+            for (Future<List<Instance>> result : results) {
+                assertEquals(result.get(10, TimeUnit.SECONDS).size(), 2);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertEquals(maxStarting.get(), 2);
+    }
+
+    @Test
+    public void shouldStartMachineOnlyAfterMachinesItDependsOnAreStarted() throws Exception {
+        // given
+        engine = createEngine(2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().get("machine2").setDependsOn(singletonList("dev-machine"));
+        List<String> startOrder = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    startOrder.add((String)arguments[3]);
+                    return new NoOpMachineInstance(createMachine(workspaceId,
+                                                                 envName,
+                                                                 (CheServiceImpl)arguments[6],
+                                                                 (String)arguments[3],
+                                                                 (boolean)arguments[4]));
+                });
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+        // when
+        engine.start(workspaceId,
+                     envName,
+                     env,
+                     false,
+                     messageConsumer,
+                     startedHandler);
+
+        // then
+        assertEquals(startOrder, asList("dev-machine", "machine2"));
+    }
+
+    @Test
+    public void shouldDestroyStartedMachinesIfStartOfAnotherMachineFails() throws Exception {
+        // given
+        engine = createEngine(2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        List<Instance> created = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    if ("machine2".equals(arguments[3])) {
+                        throw new ServerException("machine start failed");
+                    }
+                    NoOpMachineInstance instance = spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                                             envName,
+                                                                                             (CheServiceImpl)arguments[6],
+                                                                                             (String)arguments[3],
+                                                                                             (boolean)arguments[4])));
+                    created.add(instance);
+                    return instance;
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer,
+                         startedHandler);
+            fail("environment must not be running");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "machine start failed");
+        }
+
+        // then
+        try {
+            engine.getMachines(workspaceId);
+            fail("environment must not be running");
+        } catch (EnvironmentNotRunningException ignored) {
+        }
+        for (Instance instance : created) {
+            verify(instance).destroy();
+        }
+        verify(machineProvider).destroyNetwork(anyString());
+    }
+
     @Test
     public void shouldSetDefaultRamToMachinesWithoutRamOnEnvironmentStart() throws Exception {
         // given
@@ -1338,6 +1529,30 @@ public class CheEnvironmentEngineTest {
                                 .build();
     }
 
+    private CheEnvironmentEngine createEngine(int machineStartParallelism) {
+        return new CheEnvironmentEngine(snapshotDao,
+                                        machineInstanceProviders,
+                                        System.getProperty("java.io.tmpdir"),
+                                        DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                        eventService,
+                                        environmentParser,
+                                        new DefaultServicesStartStrategy(),
+                                        machineProvider,
+                                        infrastructureProvisioner,
+                                        API_ENDPOINT,
+                                        recipeDownloader,
+                                        containerNameGenerator,
+                                        agentRegistry,
+                                        sharedPool,
+                                        machineStartParallelism,
+                                        10_000,
+                                        100,
+                                        10 * 1024 * 1024,
+                                        3,
+                                        200,
+                                        500);
+    }
+
     private EnvironmentImpl createEnv() {
         // singletonMap, asList are wrapped into modifiable collections to ease env modifying by tests
         EnvironmentImpl env = new EnvironmentImpl();
@@ -35,6 +35,7 @@ import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
@@ -272,6 +273,22 @@ public class WorkspaceManagerTest {
         assertFalse(res1.isTemporary(), "Workspace must be permanent");
     }
 
+    @Test
+    public void shouldBeAbleToGetWorkspaceSummariesWithStatuses() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("workspace1", "ws1", NAMESPACE, false);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("workspace2", "ws2", NAMESPACE, false);
+        when(workspaceDao.getSummaries(USER_ID, NAMESPACE, "workspace0", 2)).thenReturn(asList(summary1, summary2));
+        when(runtimes.getStatus("workspace1")).thenReturn(STOPPED);
+        when(runtimes.getStatus("workspace2")).thenReturn(RUNNING);
+
+        final List<WorkspaceSummaryImpl> result = workspaceManager.getWorkspaceSummaries(USER_ID, NAMESPACE, "workspace0", 2);
+
+        assertEquals(result.size(), 2);
+        assertEquals(result.get(0).getStatus(), STOPPED);
+        assertEquals(result.get(1).getStatus(), RUNNING);
+        verify(runtimes, never()).injectRuntime(any());
+    }
+
     @Test
     public void getWorkspaceByNameShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final WorkspaceImpl workspace = createAndMockWorkspace();
@@ -122,7 +122,14 @@ public class WorkspaceRuntimeIntegrationTest {
                                                                           recipeDownloader,
                                                                           containerNameGenerator,
                                                                           agentRegistry,
-                                                                          sharedPool);
+                                                                          sharedPool,
+                                                                          1,
+                                                                          10_000,
+                                                                          100,
+                                                                          10 * 1024 * 1024,
+                                                                          3,
+                                                                          200,
+                                                                          500);
 
         runtimes = new WorkspaceRuntimes(eventService,
                                          environmentEngine,
@@ -130,7 +137,8 @@ public class WorkspaceRuntimeIntegrationTest {
                                          launcherFactory,
                                          agentRegistry,
                                          snapshotDao,
-                                         sharedPool);
+                                         sharedPool,
+                                         false);
 
         executor = Executors.newFixedThreadPool(
                 1, new ThreadFactoryBuilder().setNameFormat(this.getClass().toString() + "-%d").build());
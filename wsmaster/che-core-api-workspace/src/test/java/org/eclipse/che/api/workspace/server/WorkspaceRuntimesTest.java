@@ -16,7 +16,10 @@ import com.google.common.util.concurrent.Futures;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -42,6 +45,7 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeState;
+import org.eclipse.che.api.workspace.server.event.AgentLaunchedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
@@ -79,14 +83,18 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -823,6 +831,154 @@ public class WorkspaceRuntimesTest {
         runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
     }
 
+    @Test
+    public void launchesAgentsOneByOneByDefault() throws Exception {
+        Instance machine = newMachine("workspace", "env-name", "dev-machine", true);
+        AtomicInteger launching = new AtomicInteger();
+        AtomicInteger maxLaunching = new AtomicInteger();
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        for (String id : asList("agent1", "agent2", "agent3")) {
+            mockAgent(id, emptyList(), () -> {
+                maxLaunching.accumulateAndGet(launching.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                launched.add(id);
+                launching.decrementAndGet();
+            });
+        }
+        when(agentSorter.sort(any())).thenReturn(asList(new AgentKeyImpl("agent1"),
+                                                        new AgentKeyImpl("agent2"),
+                                                        new AgentKeyImpl("agent3")));
+
+        runtimes.launchAgents(machine, asList("agent1", "agent2", "agent3"));
+
+        assertEquals(launched, asList("agent1", "agent2", "agent3"));
+        assertEquals(maxLaunching.get(), 1);
+    }
+
+    @Test
+    public void launchesIndependentAgentsSimultaneously() throws Exception {
+        runtimes = newRuntimesLaunchingAgentsInParallel();
+        Instance machine = newMachine("workspace", "env-name", "dev-machine", true);
+        CyclicBarrier bothLaunching = new CyclicBarrier(2);
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        mockAgent("agent1", emptyList(), () -> {
+            bothLaunching.await(5, TimeUnit.SECONDS);
+            launched.add("agent1");
+        });
+        mockAgent("agent2", emptyList(), () -> {
+            bothLaunching.await(5, TimeUnit.SECONDS);
+            launched.add("agent2");
+        });
+        mockAgent("agent3", asList("agent1", "agent2"), () -> launched.add("agent3"));
+        when(agentSorter.sort(any())).thenReturn(asList(new AgentKeyImpl("agent1"),
+                                                        new AgentKeyImpl("agent2"),
+                                                        new AgentKeyImpl("agent3")));
+
+        runtimes.launchAgents(machine, asList("agent1", "agent2", "agent3"));
+
+        assertEquals(Sets.newHashSet(launched.subList(0, 2)), Sets.newHashSet("agent1", "agent2"));
+        assertEquals(launched.get(2), "agent3");
+        verify(eventService, times(3)).publish(any(AgentLaunchedEvent.class));
+    }
+
+    @Test
+    public void launchesAgentsWhichDependOnSpecificVersionsOfOtherAgents() throws Exception {
+        Instance machine = newMachine("workspace", "env-name", "dev-machine", true);
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        mockAgent("agent1", emptyList(), () -> launched.add("agent1"));
+        mockAgent("agent2", singletonList("agent1:1.0.0"), () -> launched.add("agent2"));
+        when(agentSorter.sort(any())).thenReturn(asList(new AgentKeyImpl("agent1"), new AgentKeyImpl("agent2")));
+
+        runtimes.launchAgents(machine, asList("agent1", "agent2"));
+
+        assertEquals(launched, asList("agent1", "agent2"));
+    }
+
+    @Test
+    public void shutdownWaitsForAgentsBeingLaunched() throws Exception {
+        Instance machine = newMachine("workspace", "env-name", "dev-machine", true);
+        CountDownLatch launching = new CountDownLatch(1);
+        CountDownLatch launched = new CountDownLatch(1);
+        mockAgent("agent1", emptyList(), () -> {
+            launching.countDown();
+            Thread.sleep(500);
+            launched.countDown();
+        });
+        when(agentSorter.sort(any())).thenReturn(singletonList(new AgentKeyImpl("agent1")));
+        Thread launcher = new Thread(() -> {
+            try {
+                runtimes.launchAgents(machine, singletonList("agent1"));
+            } catch (ServerException ignored) {
+            }
+        });
+        launcher.start();
+        assertTrue(launching.await(5, TimeUnit.SECONDS));
+
+        runtimes.shutdown();
+
+        assertEquals(launched.getCount(), 0);
+        launcher.join(5000);
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "agent1 failed")
+    public void interruptsLaunchingOfAgentsWhenOneOfThemFails() throws Exception {
+        runtimes = newRuntimesLaunchingAgentsInParallel();
+        Instance machine = newMachine("workspace", "env-name", "dev-machine", true);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch agent2Launching = new CountDownLatch(1);
+        mockAgent("agent1", emptyList(), () -> {
+            agent2Launching.await(5, TimeUnit.SECONDS);
+            throw new ServerException("agent1 failed");
+        });
+        mockAgent("agent2", emptyList(), () -> {
+            agent2Launching.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException x) {
+                interrupted.countDown();
+            }
+        });
+        mockAgent("agent3", singletonList("agent1"), () -> fail("Agent must not be launched"));
+        when(agentSorter.sort(any())).thenReturn(asList(new AgentKeyImpl("agent1"),
+                                                        new AgentKeyImpl("agent2"),
+                                                        new AgentKeyImpl("agent3")));
+
+        try {
+            runtimes.launchAgents(machine, asList("agent1", "agent2", "agent3"));
+        } finally {
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private WorkspaceRuntimes newRuntimesLaunchingAgentsInParallel() {
+        return new WorkspaceRuntimes(eventService,
+                                     envEngine,
+                                     agentSorter,
+                                     launcherFactory,
+                                     agentRegistry,
+                                     snapshotDao,
+                                     sharedPool,
+                                     runtimeStates,
+                                     true);
+    }
+
+    private void mockAgent(String id, List<String> dependencies, AgentAction launchAction) throws Exception {
+        Agent agent = mock(Agent.class);
+        when(agent.getId()).thenReturn(id);
+        when(agent.getDependencies()).thenReturn(dependencies);
+        when(agentRegistry.getAgent(new AgentKeyImpl(id))).thenReturn(agent);
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(invocation -> {
+            launchAction.run();
+            return null;
+        }).when(launcher).launch(any(Instance.class), eq(agent));
+        when(launcherFactory.find(id, "docker")).thenReturn(launcher);
+    }
+
+    private interface AgentAction {
+        void run() throws Exception;
+    }
+
     private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
         verify(sharedPool).submit(taskCaptor.capture());
         taskCaptor.getValue().call();
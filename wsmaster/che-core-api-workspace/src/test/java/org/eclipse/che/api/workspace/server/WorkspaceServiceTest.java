@@ -46,11 +46,13 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -115,6 +117,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -376,6 +379,46 @@ public class WorkspaceServiceTest {
                      singletonList(workspace2));
     }
 
+    @Test
+    public void shouldGetWorkspaceSummariesWithLinkToNextPage() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl("workspace1", "ws1", NAMESPACE, false, 1000, 2000, RUNNING);
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl("workspace2", "ws2", NAMESPACE, false, 3000, 4000, STARTING);
+        when(wsManager.getWorkspaceSummaries(USER_ID, NAMESPACE, "workspace0", 2)).thenReturn(asList(summary1, summary2));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary?namespace=" + NAMESPACE + "&after=workspace0&maxItems=2");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class).stream()
+                                                                       .map(s -> new WorkspaceSummaryImpl(s.getId(),
+                                                                                                          s.getName(),
+                                                                                                          s.getNamespace(),
+                                                                                                          s.isTemporary(),
+                                                                                                          s.getCreated(),
+                                                                                                          s.getUpdated(),
+                                                                                                          s.getStatus()))
+                                                                       .collect(toList()),
+                     asList(summary1, summary2));
+        assertTrue(response.getHeader("Link").contains("after=workspace2"), response.getHeader("Link"));
+    }
+
+    @Test
+    public void shouldNotLinkNextPageOfSummariesWhenPageIsNotFull() throws Exception {
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("workspace1", "ws1", NAMESPACE, false, 1000, 2000, RUNNING);
+        when(wsManager.getWorkspaceSummaries(USER_ID, null, null, 30)).thenReturn(singletonList(summary));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class).size(), 1);
+        assertNull(response.getHeader("Link"));
+    }
+
     @Test
     public void shouldUpdateTheWorkspace() throws Exception {
         final WorkspaceImpl workspace = createWorkspace(createConfigDto());
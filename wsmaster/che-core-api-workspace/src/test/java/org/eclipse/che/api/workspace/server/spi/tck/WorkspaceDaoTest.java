@@ -29,6 +29,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -247,6 +248,58 @@ public class WorkspaceDaoTest {
         workspaceDao.getWorkspaces(true, -2, 0);
     }
 
+    @Test
+    public void shouldGetSummariesPageByPage() throws Exception {
+        final List<WorkspaceSummaryImpl> first = workspaceDao.getSummaries("user123", null, null, 2);
+        final List<WorkspaceSummaryImpl> second = workspaceDao.getSummaries("user123", null, first.get(1).getId(), 2);
+        final List<WorkspaceSummaryImpl> third = workspaceDao.getSummaries("user123", null, second.get(1).getId(), 2);
+
+        assertEquals(Stream.of(first, second, third)
+                           .flatMap(List::stream)
+                           .map(WorkspaceSummaryImpl::getId)
+                           .collect(toList()),
+                     Stream.of(workspaces).map(WorkspaceImpl::getId).sorted().collect(toList()));
+        assertEquals(third.size(), 1);
+        assertTrue(workspaceDao.getSummaries("user123", null, third.get(0).getId(), 2).isEmpty());
+    }
+
+    @Test
+    public void shouldGetSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace1 = workspaces[0];
+        final WorkspaceImpl workspace2 = workspaces[1];
+        assertEquals(workspace1.getNamespace(), workspace2.getNamespace(), "Namespaces must be the same");
+
+        final List<WorkspaceSummaryImpl> found = workspaceDao.getSummaries("user123", workspace1.getNamespace(), null, 30);
+
+        assertEquals(found, asList(new WorkspaceSummaryImpl(workspace1.getId(),
+                                                            workspace1.getConfig().getName(),
+                                                            workspace1.getNamespace(),
+                                                            false),
+                                   new WorkspaceSummaryImpl(workspace2.getId(),
+                                                            workspace2.getConfig().getName(),
+                                                            workspace2.getNamespace(),
+                                                            false)));
+    }
+
+    @Test
+    public void shouldGetSummariesWithCreationAndUpdateTimes() throws Exception {
+        final WorkspaceImpl workspace = workspaces[0];
+        workspace.getAttributes().put("created", "1000");
+        workspace.getAttributes().put("updated", "2000");
+        workspaceDao.update(workspace);
+
+        final WorkspaceSummaryImpl summary = workspaceDao.getSummaries("user123", workspace.getNamespace(), null, 1).get(0);
+
+        assertEquals(summary.getId(), workspace.getId());
+        assertEquals(summary.getCreated(), 1000);
+        assertEquals(summary.getUpdated(), 2000);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNegativeLimit() throws Exception {
+        workspaceDao.getSummaries("user123", null, null, -1);
+    }
+
     @Test
     public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
         final boolean[] isNotified = new boolean[] {false};
@@ -138,6 +138,9 @@ public class StackServiceTest {
     @Mock
     StackValidator validator;
 
+    @Mock
+    StackETagProvider eTagProvider;
+
     @InjectMocks
     StackService service;
 
@@ -343,6 +346,7 @@ public class StackServiceTest {
 
         verify(stackDao).update(any());
         verify(stackDao).getById(STACK_ID);
+        verify(eTagProvider).stackModified(STACK_ID);
     }
 
     @Test
@@ -396,6 +400,7 @@ public class StackServiceTest {
                                    .delete(SECURE_PATH + "/stack/" + STACK_ID);
 
         verify(stackDao).remove(eq(STACK_ID));
+        verify(eTagProvider).stackModified(STACK_ID);
         assertEquals(response.getStatusCode(), 204);
     }
 